@@ -0,0 +1,92 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.io.encoding.DataBlockEncoding;
+import org.apache.hadoop.hbase.regionserver.BloomType;
+
+import java.time.Duration;
+
+/**
+ * 列族定义，为null的属性使用HBase默认值，升级已有表时不修改
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class ColumnFamilySpec {
+
+    /**
+     * 列族名
+     */
+    private final String name;
+
+    /**
+     * 压缩算法，例如SNAPPY、LZ4
+     */
+    private final Compression.Algorithm compression;
+
+    /**
+     * 布隆过滤器，按rowKey读取时使用ROW，按行和列读取时使用ROWCOL
+     */
+    private final BloomType bloomFilter;
+
+    /**
+     * HFile块大小(字节)，随机读多时调小，扫描多时调大
+     */
+    private final Integer blockSize;
+
+    /**
+     * 数据块编码，rowKey前缀重复较多时使用FAST_DIFF或PREFIX
+     */
+    private final DataBlockEncoding dataBlockEncoding;
+
+    /**
+     * 数据过期时间，精确到秒
+     */
+    private final Duration ttl;
+
+    /**
+     * 保留的最大版本数
+     */
+    private final Integer maxVersions;
+
+    /**
+     * 是否在block cache中优先保留
+     */
+    private final Boolean inMemory;
+
+    /**
+     * 将设置的属性应用到列族描述
+     *
+     * @param descriptor 列族描述
+     * @return 传入的列族描述
+     */
+    public HColumnDescriptor applyTo(HColumnDescriptor descriptor) {
+        if (compression != null) {
+            descriptor.setCompressionType(compression);
+        }
+        if (bloomFilter != null) {
+            descriptor.setBloomFilterType(bloomFilter);
+        }
+        if (blockSize != null) {
+            descriptor.setBlocksize(blockSize);
+        }
+        if (dataBlockEncoding != null) {
+            descriptor.setDataBlockEncoding(dataBlockEncoding);
+        }
+        if (ttl != null) {
+            descriptor.setTimeToLive((int) Math.min(Integer.MAX_VALUE, ttl.getSeconds()));
+        }
+        if (maxVersions != null) {
+            descriptor.setMaxVersions(maxVersions);
+        }
+        if (inMemory != null) {
+            descriptor.setInMemory(inMemory);
+        }
+        return descriptor;
+    }
+}
@@ -0,0 +1,124 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import org.apache.hadoop.hbase.ClusterStatus;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.RegionLoad;
+import org.apache.hadoop.hbase.ServerLoad;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 按{@link TableSpec}创建或升级表，以及统计region倾斜
+ * <p>
+ * 新建表时按{@link SplitStrategy}预分区；已有的表只新增缺少的列族、修改spec中设置了且与现有值不同的属性，
+ * 不删除列族，也不重新分区。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseTableManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseTableManager.class);
+
+    private final HBaseTemplate hbaseTemplate;
+
+    public HBaseTableManager(HBaseTemplate hbaseTemplate) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+    }
+
+    public TableSyncResult ensureTable(TableSpec spec) {
+        Assert.notNull(spec, "Table spec must not be null");
+        Assert.hasText(spec.getTableName(), "No table specified");
+        Assert.notEmpty(spec.getFamilies(), "Table spec must have at least one family");
+        final TableName tableName = TableName.valueOf(spec.getTableName());
+        return hbaseTemplate.executeAdmin(admin -> {
+            if (!admin.tableExists(tableName)) {
+                final HTableDescriptor descriptor = new HTableDescriptor(tableName);
+                if (spec.getDurability() != null) {
+                    descriptor.setDurability(spec.getDurability());
+                }
+                for (ColumnFamilySpec family : spec.getFamilies()) {
+                    descriptor.addFamily(family.applyTo(new HColumnDescriptor(family.getName())));
+                }
+                final byte[][] splitKeys = spec.getSplitStrategy() == null ? null : spec.getSplitStrategy().splitKeys();
+                if (splitKeys == null || splitKeys.length == 0) {
+                    admin.createTable(descriptor);
+                } else {
+                    admin.createTable(descriptor, splitKeys);
+                }
+                final int regions = splitKeys == null ? 1 : splitKeys.length + 1;
+                LOGGER.info("创建表{}，预分区{}个region", spec.getTableName(), regions);
+                return new TableSyncResult(true, regions, Collections.emptyList(), Collections.emptyList());
+            }
+
+            final HTableDescriptor current = admin.getTableDescriptor(tableName);
+            final List<String> added = new ArrayList<>();
+            final List<String> modified = new ArrayList<>();
+            for (ColumnFamilySpec family : spec.getFamilies()) {
+                final HColumnDescriptor existing = current.getFamily(Bytes.toBytes(family.getName()));
+                if (existing == null) {
+                    admin.addColumn(tableName, family.applyTo(new HColumnDescriptor(family.getName())));
+                    added.add(family.getName());
+                    continue;
+                }
+                final HColumnDescriptor desired = family.applyTo(new HColumnDescriptor(existing));
+                if (!desired.equals(existing)) {
+                    admin.modifyColumn(tableName, desired);
+                    modified.add(family.getName());
+                }
+            }
+            if (!added.isEmpty() || !modified.isEmpty()) {
+                LOGGER.info("升级表{}，新增列族{}，修改列族{}", spec.getTableName(), added, modified);
+            }
+            return new TableSyncResult(false, 0, added, modified);
+        });
+    }
+
+    public RegionSkewReport regionSkew(String tableName) {
+        Assert.hasText(tableName, "No table specified");
+        return hbaseTemplate.executeAdmin(admin -> {
+            final List<HRegionInfo> regionInfos = admin.getTableRegions(TableName.valueOf(tableName));
+            final ClusterStatus status = admin.getClusterStatus();
+            final Map<String, RegionLoad> loads = new HashMap<>();
+            final Map<String, String> servers = new HashMap<>();
+            for (ServerName server : status.getServers()) {
+                final ServerLoad serverLoad = status.getLoad(server);
+                if (serverLoad == null) {
+                    continue;
+                }
+                for (Map.Entry<byte[], RegionLoad> entry : serverLoad.getRegionsLoad().entrySet()) {
+                    final String regionName = Bytes.toStringBinary(entry.getKey());
+                    loads.put(regionName, entry.getValue());
+                    servers.put(regionName, server.getHostAndPort());
+                }
+            }
+
+            final List<RegionStats> regions = new ArrayList<>(regionInfos.size());
+            for (HRegionInfo info : regionInfos) {
+                final String regionName = Bytes.toStringBinary(info.getRegionName());
+                final RegionLoad load = loads.get(regionName);
+                regions.add(new RegionStats(info.getEncodedName(), servers.get(regionName),
+                        Bytes.toStringBinary(info.getStartKey()), Bytes.toStringBinary(info.getEndKey()),
+                        load == null ? 0 : load.getStorefileSizeMB(),
+                        load == null ? 0 : load.getMemStoreSizeMB(),
+                        load == null ? 0 : load.getReadRequestsCount(),
+                        load == null ? 0 : load.getWriteRequestsCount()));
+            }
+            return new RegionSkewReport(tableName, regions);
+        });
+    }
+}
@@ -0,0 +1,77 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * 表的region倾斜情况，倾斜度为最大值与平均值之比，1表示完全均匀
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString(exclude = "regions")
+public class RegionSkewReport {
+
+    private final String tableName;
+
+    /**
+     * 按rowKey排序的region
+     */
+    private final List<RegionStats> regions;
+
+    /**
+     * 数据量倾斜度
+     */
+    private final double sizeSkew;
+
+    /**
+     * 请求数倾斜度
+     */
+    private final double requestSkew;
+
+    /**
+     * 每个region server上该表的region数
+     */
+    private final Map<String, Integer> serverRegions;
+
+    public RegionSkewReport(String tableName, List<RegionStats> regions) {
+        this.tableName = tableName;
+        this.regions = regions;
+        this.sizeSkew = skew(regions, RegionStats::getSizeMb);
+        this.requestSkew = skew(regions, RegionStats::getRequests);
+        this.serverRegions = new TreeMap<>();
+        for (RegionStats region : regions) {
+            serverRegions.merge(region.getServer(), 1, Integer::sum);
+        }
+    }
+
+    static double skew(List<RegionStats> regions, ToLongFunction<RegionStats> metric) {
+        long max = 0;
+        long total = 0;
+        for (RegionStats region : regions) {
+            final long value = metric.applyAsLong(region);
+            max = Math.max(max, value);
+            total += value;
+        }
+        return total == 0 ? 1 : max * (double) regions.size() / total;
+    }
+
+    /**
+     * @return 请求数最多的region，没有region时返回null
+     */
+    public RegionStats getHottestRegion() {
+        RegionStats hottest = null;
+        for (RegionStats region : regions) {
+            if (hottest == null || region.getRequests() > hottest.getRequests()) {
+                hottest = region;
+            }
+        }
+        return hottest;
+    }
+}
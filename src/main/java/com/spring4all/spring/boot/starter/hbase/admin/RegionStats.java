@@ -0,0 +1,65 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 单个region的负载
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RegionStats {
+
+    /**
+     * region编码名
+     */
+    private final String regionName;
+
+    /**
+     * 所在region server
+     */
+    private final String server;
+
+    /**
+     * 开始rowKey，不可见字符转义
+     */
+    private final String startKey;
+
+    /**
+     * 结束rowKey，不可见字符转义
+     */
+    private final String endKey;
+
+    /**
+     * HFile大小(MB)
+     */
+    private final int storefileSizeMb;
+
+    /**
+     * memstore大小(MB)
+     */
+    private final int memstoreSizeMb;
+
+    /**
+     * region打开以来的读请求数
+     */
+    private final long readRequests;
+
+    /**
+     * region打开以来的写请求数
+     */
+    private final long writeRequests;
+
+    public long getRequests() {
+        return readRequests + writeRequests;
+    }
+
+    public int getSizeMb() {
+        return storefileSizeMb + memstoreSizeMb;
+    }
+}
@@ -0,0 +1,144 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseOperations;
+import com.spring4all.spring.boot.starter.hbase.api.RowKeyList;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.RandomRowFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 常用的预分区方式
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class SplitStrategies {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private SplitStrategies() {
+    }
+
+    /**
+     * rowKey以小写十六进制字符串开头(例如md5前缀)时，按十六进制前缀均匀切分
+     *
+     * @param regions region数
+     * @return 预分区方式
+     */
+    public static SplitStrategy uniformHex(int regions) {
+        Assert.isTrue(regions > 0, "Regions must be positive");
+        return () -> {
+            int width = 1;
+            while (Math.pow(16, width) < regions) {
+                width++;
+            }
+            final long space = (long) Math.pow(16, width);
+            final byte[][] keys = new byte[regions - 1][];
+            for (int i = 1; i < regions; i++) {
+                long value = space * i / regions;
+                final char[] chars = new char[width];
+                for (int j = width - 1; j >= 0; j--) {
+                    chars[j] = HEX[(int) (value & 0xF)];
+                    value >>>= 4;
+                }
+                keys[i - 1] = Bytes.toBytes(new String(chars));
+            }
+            return keys;
+        };
+    }
+
+    /**
+     * rowKey前4个字节均匀分布(例如hash值)时，按前4个字节均匀切分
+     *
+     * @param regions region数
+     * @return 预分区方式
+     */
+    public static SplitStrategy uniformBytes(int regions) {
+        Assert.isTrue(regions > 0, "Regions must be positive");
+        return () -> {
+            final long space = 1L << 32;
+            final byte[][] keys = new byte[regions - 1][];
+            for (int i = 1; i < regions; i++) {
+                keys[i - 1] = Bytes.toBytes((int) (space * i / regions));
+            }
+            return keys;
+        };
+    }
+
+    /**
+     * rowKey使用{@link #salt(byte[], int)}加了1字节前缀时，每个前缀一个region
+     *
+     * @param buckets 前缀个数，不超过256
+     * @return 预分区方式
+     */
+    public static SplitStrategy salted(int buckets) {
+        Assert.isTrue(buckets > 0 && buckets <= 256, "Buckets must be between 1 and 256");
+        return () -> {
+            final byte[][] keys = new byte[buckets - 1][];
+            for (int i = 1; i < buckets; i++) {
+                keys[i - 1] = new byte[]{(byte) i};
+            }
+            return keys;
+        };
+    }
+
+    /**
+     * 按rowKey的hash加1字节前缀，使单调递增的rowKey分散到多个region，
+     * 按rowKey范围扫描时需要对每个前缀分别扫描
+     *
+     * @param rowKey  原rowKey
+     * @param buckets 前缀个数，与{@link #salted(int)}一致
+     * @return 加前缀后的rowKey
+     */
+    public static byte[] salt(byte[] rowKey, int buckets) {
+        final int bucket = (Arrays.hashCode(rowKey) & Integer.MAX_VALUE) % buckets;
+        return Bytes.add(new byte[]{(byte) bucket}, rowKey);
+    }
+
+    /**
+     * 按已有表的rowKey抽样，取分位点作为split key，适合按已有数据重建或迁移表
+     *
+     * @param operations HBase操作
+     * @param tableName  抽样的表
+     * @param regions    region数
+     * @param sampleRate 抽样比例，(0, 1]
+     * @return 预分区方式
+     */
+    public static SplitStrategy sampled(HBaseOperations operations, String tableName, int regions, float sampleRate) {
+        Assert.isTrue(sampleRate > 0 && sampleRate <= 1, "Sample rate must be in (0, 1]");
+        return () -> {
+            final Scan scan = new Scan();
+            if (sampleRate < 1) {
+                scan.setFilter(new RandomRowFilter(sampleRate));
+            }
+            scan.setCacheBlocks(false);
+            final RowKeyList rowKeys = operations.findRowKeys(tableName, scan);
+            return quantiles(rowKeys, regions);
+        };
+    }
+
+    /**
+     * 取有序rowKey的分位点，重复的key只保留一个
+     *
+     * @param sortedKeys 按字节序排列的rowKey
+     * @param regions    region数
+     * @return split key
+     */
+    public static byte[][] quantiles(List<byte[]> sortedKeys, int regions) {
+        Assert.isTrue(regions > 0, "Regions must be positive");
+        final List<byte[]> keys = new ArrayList<>(regions - 1);
+        final int size = sortedKeys.size();
+        for (int i = 1; i < regions && size > 0; i++) {
+            final byte[] key = sortedKeys.get((int) ((long) size * i / regions));
+            if (key.length > 0 && (keys.isEmpty() || Bytes.compareTo(keys.get(keys.size() - 1), key) < 0)) {
+                keys.add(key);
+            }
+        }
+        return keys.toArray(new byte[0][]);
+    }
+}
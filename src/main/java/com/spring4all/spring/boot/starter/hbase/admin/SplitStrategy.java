@@ -0,0 +1,16 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+/**
+ * 建表时预分区的split key计算方式，常用实现见{@link SplitStrategies}
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@FunctionalInterface
+public interface SplitStrategy {
+
+    /**
+     * @return 按字节序递增、不含空数组的split key，n个key得到n+1个region
+     */
+    byte[][] splitKeys();
+}
@@ -0,0 +1,40 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import org.apache.hadoop.hbase.client.Durability;
+
+import java.util.List;
+
+/**
+ * 表定义，用于创建或升级表
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class TableSpec {
+
+    /**
+     * 表名
+     */
+    private final String tableName;
+
+    /**
+     * 列族
+     */
+    @Singular
+    private final List<ColumnFamilySpec> families;
+
+    /**
+     * 建表时的预分区方式，为null时只有一个region，已有的表不会重新分区
+     */
+    private final SplitStrategy splitStrategy;
+
+    /**
+     * 写WAL的方式，为null时使用默认值
+     */
+    private final Durability durability;
+}
@@ -0,0 +1,43 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * 按{@link TableSpec}创建或升级表的结果
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TableSyncResult {
+
+    /**
+     * 是否新建了表
+     */
+    private final boolean created;
+
+    /**
+     * 新建时的region数
+     */
+    private final int regions;
+
+    /**
+     * 已有表中新增的列族
+     */
+    private final List<String> addedFamilies;
+
+    /**
+     * 已有表中属性被修改的列族
+     */
+    private final List<String> modifiedFamilies;
+
+    public boolean isChanged() {
+        return created || !addedFamilies.isEmpty() || !modifiedFamilies.isEmpty();
+    }
+}
@@ -1,8 +1,27 @@
 package com.spring4all.spring.boot.starter.hbase.api;
 
+import com.spring4all.spring.boot.starter.hbase.admin.RegionSkewReport;
+import com.spring4all.spring.boot.starter.hbase.admin.TableSpec;
+import com.spring4all.spring.boot.starter.hbase.admin.TableSyncResult;
+import com.spring4all.spring.boot.starter.hbase.batch.BatchCallback;
+import com.spring4all.spring.boot.starter.hbase.batch.BatchResult;
+import com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema;
+import com.spring4all.spring.boot.starter.hbase.delete.RangeDeleteRequest;
+import com.spring4all.spring.boot.starter.hbase.delete.RangeDeleteStats;
+import com.spring4all.spring.boot.starter.hbase.export.ExportRequest;
+import com.spring4all.spring.boot.starter.hbase.export.ExportStats;
 import com.spring4all.spring.boot.starter.hbase.page.Column;
+import com.spring4all.spring.boot.starter.hbase.snapshot.SnapshotRowConsumer;
+import com.spring4all.spring.boot.starter.hbase.snapshot.SnapshotScanRequest;
+import com.spring4all.spring.boot.starter.hbase.widerow.CellChunkCallback;
+import com.spring4all.spring.boot.starter.hbase.widerow.WideRowPage;
+import com.spring4all.spring.boot.starter.hbase.widerow.WideRowRequest;
+import com.spring4all.spring.boot.starter.hbase.widerow.WideRowStats;
+import com.spring4all.spring.boot.starter.hbase.write.WriteBatchScope;
 import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Row;
 import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
 
 import java.util.List;
@@ -28,6 +47,22 @@ public interface HBaseOperations {
      */
     <T> T executeAdmin(AdminCallback<T> action);
 
+    /**
+     * 按定义创建表，表不存在时按{@link TableSpec#getSplitStrategy()}预分区；已存在时只新增列族和修改列族属性
+     *
+     * @param spec 表定义
+     * @return 变更结果
+     */
+    TableSyncResult ensureTable(TableSpec spec);
+
+    /**
+     * 统计表的region数据量、请求数分布
+     *
+     * @param tableName 表名
+     * @return region倾斜报告
+     */
+    RegionSkewReport regionSkew(String tableName);
+
     /**
      * Executes the given action against the specified table handling resource management.
      * <p>
@@ -234,6 +269,64 @@ public interface HBaseOperations {
      */
     <T> List<T> find(String tableName, final Scan scan, final RowMapper<T> mapper);
 
+    /**
+     * 使用指定的scan配置扫描数据，scan上已显式设置的caching、batch等参数优先
+     *
+     * @param tableName   target table
+     * @param scan        table scanner
+     * @param scanProfile scan配置名，内置point、page、export，参见{@link com.spring4all.spring.boot.starter.hbase.scan.ScanProfile}
+     * @param mapper      mapper type, implemented by {@link RowMapper}
+     * @return a list of objects mapping the scanned rows
+     */
+    <T> List<T> find(String tableName, final Scan scan, String scanProfile, final RowMapper<T> mapper);
+
+    /**
+     * 按region并行导出数据到本地文件，每个region一个分片文件，支持断点续导
+     *
+     * @param request 导出参数
+     * @return 导出统计
+     */
+    ExportStats export(ExportRequest request);
+
+    /**
+     * 在一次请求中混合执行Get、Put、Delete、Increment等操作，由客户端按region server分组发送，
+     * 部分失败时只重试失败的操作
+     *
+     * @param tableName 表名
+     * @param actions   操作列表
+     * @param callback  单个操作的结果回调，允许null
+     * @return 与操作列表顺序一致的结果
+     */
+    BatchResult batch(String tableName, List<? extends Row> actions, BatchCallback callback);
+
+    /**
+     * 删除rowKey范围内的整行数据，只扫描rowKey，不读取列值
+     *
+     * @param tableName 表名
+     * @param startRow  开始rowKey，为空时从表头开始
+     * @param stopRow   结束rowKey(不包含)，为空时到表尾结束
+     * @param filter    过滤器，只删除满足条件的行，允许null
+     * @return 删除统计
+     */
+    RangeDeleteStats deleteRange(String tableName, String startRow, String stopRow, Filter filter);
+
+    /**
+     * 按region并行删除rowKey范围内的整行数据，表上加载了服务端批量删除协处理器时优先在服务端完成
+     *
+     * @param request 删除参数
+     * @return 删除统计
+     */
+    RangeDeleteStats deleteRange(RangeDeleteRequest request);
+
+    /**
+     * 基于表快照离线扫描，直接读取HFile而不经过region server，需要引入hbase-server依赖
+     *
+     * @param request  扫描参数
+     * @param consumer 行消费者，多个region并行时并发回调
+     * @return 扫描的行数
+     */
+    long findInSnapshot(SnapshotScanRequest request, SnapshotRowConsumer consumer);
+
     /**
      * 根据rowKey范围获取总条数，使用协处理器服务端并行统计
      *
@@ -289,6 +382,55 @@ public interface HBaseOperations {
      */
     <T> List<T> multiGet(String tableName, RowMapper<T> mapper, List<Column> columns, String... rowNames);
 
+    /**
+     * 批量判断rowKey是否存在，服务端只返回是否存在，不传输列值
+     *
+     * @param tableName 表名
+     * @param rowNames  rowKey列表
+     * @return 与rowNames顺序一致的结果
+     */
+    boolean[] exists(String tableName, String... rowNames);
+
+    /**
+     * 只扫描rowKey，服务端不返回列值
+     *
+     * @param tableName 表名
+     * @param startRow  开始rowKey，为空时从表头开始
+     * @param stopRow   结束rowKey(不包含)，为空时到表尾结束
+     * @return rowKey列表
+     */
+    RowKeyList findRowKeys(String tableName, String startRow, String stopRow);
+
+    /**
+     * 只扫描rowKey，scan中已有的过滤器保留，服务端不返回列值
+     *
+     * @param tableName 表名
+     * @param scan      scan
+     * @return rowKey列表
+     */
+    RowKeyList findRowKeys(String tableName, Scan scan);
+
+    /**
+     * 分批流式读取一行，按cell数和字节数拆分，适合有大量列的行，不会一次加载整行
+     *
+     * @param request  读取参数
+     * @param callback 每批cell的回调
+     * @return 读取统计
+     */
+    WideRowStats streamRow(WideRowRequest request, CellChunkCallback callback);
+
+    /**
+     * 按列名分页读取一行中一个列族的列
+     *
+     * @param tableName   表名
+     * @param rowName     rowKey
+     * @param familyName  列族
+     * @param startColumn 开始列(包含)，为null或空时从第一列开始，下一页使用{@link WideRowPage#getNextColumn()}
+     * @param limit       每页列数
+     * @return 一页数据
+     */
+    WideRowPage findColumns(String tableName, String rowName, String familyName, byte[] startColumn, int limit);
+
     /**
      * 执行put update or delete
      *
@@ -312,4 +454,34 @@ public interface HBaseOperations {
      * @param mutations 数据
      */
     void saveOrUpdates(String tableName, List<Mutation> mutations);
+
+    /**
+     * 打开当前线程的批量写入，范围内saveOrUpdate、saveOrUpdates的数据在提交时合并为一个批次写入，
+     * 未提交就关闭时丢弃；execute(tableName, MutatorCallback)不受影响
+     *
+     * @return 批量写入范围
+     */
+    WriteBatchScope openWriteBatch();
+
+    /**
+     * 计数器累加，高频计数时在客户端合并后按时间或次数批量写入，调用时不等待写入完成
+     *
+     * @param tableName  target table
+     * @param rowName    rowKey
+     * @param familyName 列族
+     * @param qualifier  列名
+     * @param delta      增量
+     */
+    void increment(String tableName, String rowName, String familyName, String qualifier, long delta);
+
+    /**
+     * 按schema编码后新增或者修改单行数据，值为null的列忽略
+     *
+     * @param tableName  target table
+     * @param rowName    rowKey
+     * @param familyName 列族
+     * @param values     Map或javaBean，key或属性名为列名
+     * @param schema     列编解码schema
+     */
+    void saveOrUpdate(String tableName, String rowName, String familyName, Object values, ColumnSchema schema);
 }
\ No newline at end of file
@@ -1,23 +1,81 @@
 package com.spring4all.spring.boot.starter.hbase.api;
 
+import com.spring4all.spring.boot.starter.hbase.admin.HBaseTableManager;
+import com.spring4all.spring.boot.starter.hbase.admin.RegionSkewReport;
+import com.spring4all.spring.boot.starter.hbase.admin.TableSpec;
+import com.spring4all.spring.boot.starter.hbase.admin.TableSyncResult;
+import com.spring4all.spring.boot.starter.hbase.batch.BatchCallback;
+import com.spring4all.spring.boot.starter.hbase.batch.BatchExecutor;
+import com.spring4all.spring.boot.starter.hbase.batch.BatchResult;
+import com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema;
+import com.spring4all.spring.boot.starter.hbase.counter.CounterFlushListener;
+import com.spring4all.spring.boot.starter.hbase.counter.IncrementCoalescer;
+import com.spring4all.spring.boot.starter.hbase.delete.BulkDeleteEndpoint;
+import com.spring4all.spring.boot.starter.hbase.delete.HBaseRangeDeleter;
+import com.spring4all.spring.boot.starter.hbase.delete.RangeDeleteRequest;
+import com.spring4all.spring.boot.starter.hbase.delete.RangeDeleteStats;
+import com.spring4all.spring.boot.starter.hbase.diagnostics.SlowOperationLog;
+import com.spring4all.spring.boot.starter.hbase.export.ExportRequest;
+import com.spring4all.spring.boot.starter.hbase.export.ExportStats;
+import com.spring4all.spring.boot.starter.hbase.export.HBaseExporter;
 import com.spring4all.spring.boot.starter.hbase.page.Column;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaBufferedMutator;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaExceededException;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaManager;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaResultScanner;
+import com.spring4all.spring.boot.starter.hbase.resilience.RegionServerGuard;
+import com.spring4all.spring.boot.starter.hbase.scan.KeyOnlyFilters;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanProfile;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanProfiles;
+import com.spring4all.spring.boot.starter.hbase.snapshot.HBaseSnapshotScanner;
+import com.spring4all.spring.boot.starter.hbase.snapshot.SnapshotRowConsumer;
+import com.spring4all.spring.boot.starter.hbase.snapshot.SnapshotScanRequest;
+import com.spring4all.spring.boot.starter.hbase.spool.SpoolReplayer;
+import com.spring4all.spring.boot.starter.hbase.spool.WriteSpool;
+import com.spring4all.spring.boot.starter.hbase.tracing.HBaseTracer;
+import com.spring4all.spring.boot.starter.hbase.tracing.TraceScope;
+import com.spring4all.spring.boot.starter.hbase.utils.HBaseErrors;
+import com.spring4all.spring.boot.starter.hbase.widerow.CellChunkCallback;
+import com.spring4all.spring.boot.starter.hbase.widerow.WideRowPage;
+import com.spring4all.spring.boot.starter.hbase.widerow.WideRowRequest;
+import com.spring4all.spring.boot.starter.hbase.widerow.WideRowStats;
+import com.spring4all.spring.boot.starter.hbase.write.CoalesceResult;
+import com.spring4all.spring.boot.starter.hbase.write.MutationCoalescer;
+import com.spring4all.spring.boot.starter.hbase.write.WriteBatch;
+import com.spring4all.spring.boot.starter.hbase.write.WriteBatchScope;
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.*;
 import org.apache.hadoop.hbase.client.coprocessor.AggregationClient;
 import org.apache.hadoop.hbase.client.coprocessor.LongColumnInterpreter;
+import org.apache.hadoop.hbase.filter.ColumnPaginationFilter;
+import org.apache.hadoop.hbase.filter.ColumnRangeFilter;
+import org.apache.hadoop.hbase.filter.Filter;
 import org.apache.hadoop.hbase.filter.FilterList;
 import org.apache.hadoop.hbase.filter.PageFilter;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.util.Assert;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Central class for accessing the HBase API. Simplifies the use of HBase and helps to avoid common errors.
@@ -28,33 +86,84 @@ import java.util.Map;
  * @author Shaun Elliott
  * @author JThink
  */
-public class HBaseTemplate implements HBaseOperations {
+public class HBaseTemplate implements HBaseOperations, DisposableBean {
 
     final String MAX_ASCLL = Bytes.toString(Bytes.fromHex("7F"));
 
+    private static final long DEFAULT_COUNTER_FLUSH_INTERVAL_MS = 1000;
+
+    private static final long DEFAULT_COUNTER_MAX_PENDING = 10000;
+
+    private static final int DEFAULT_BATCH_MAX_RETRIES = 1;
+
+    private static final long DEFAULT_BATCH_RETRY_PAUSE_MS = 100;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(HBaseTemplate.class);
 
     private Configuration configuration;
 
     private volatile Connection connection;
 
-    private final AggregationClient aggregationClient;
+    private volatile AggregationClient aggregationClient;
+
+    private ScanProfiles scanProfiles = new ScanProfiles();
+
+    private MutatorSettings mutatorSettings = new MutatorSettings(3 * 1024 * 1024, 0);
+
+    private Map<String, MutatorSettings> tableMutatorSettings = new ConcurrentHashMap<>();
+
+    private volatile ScheduledExecutorService flushScheduler;
+
+    private ExecutorService executorService;
+
+    private volatile IncrementCoalescer incrementCoalescer;
+
+    private long counterFlushIntervalMs = DEFAULT_COUNTER_FLUSH_INTERVAL_MS;
+
+    private long counterMaxPending = DEFAULT_COUNTER_MAX_PENDING;
+
+    private CounterFlushListener counterFlushListener;
+
+    private MutationCoalescer mutationCoalescer;
+
+    private final ThreadLocal<WriteBatch> writeBatch = new ThreadLocal<>();
+
+    private BulkDeleteEndpoint bulkDeleteEndpoint;
+
+    private int batchMaxRetries = DEFAULT_BATCH_MAX_RETRIES;
+
+    private SlowOperationLog slowOperationLog;
+
+    private HBaseTracer tracer = HBaseTracer.NOOP;
+
+    private WriteSpool writeSpool;
+
+    private RegionServerGuard regionServerGuard;
+
+    private SpoolReplayer spoolReplayer;
+
+    private QuotaManager quotaManager;
+
+    private long batchRetryPauseMs = DEFAULT_BATCH_RETRY_PAUSE_MS;
+
+    private boolean ownsConnection;
 
     public HBaseTemplate(Configuration configuration) {
         this.setConfiguration(configuration);
         Assert.notNull(configuration, " a valid configuration is required");
-        aggregationClient = new AggregationClient(this.configuration);
     }
 
     @Override
     public <T> T executeAdmin(AdminCallback<T> action) {
         Assert.notNull(action, "Callback object must not be null");
 
+        final TraceScope trace = this.tracer.start("admin", null);
         Admin admin = null;
         try {
             admin = this.getConnection().getAdmin();
             return action.doInAdmin(admin);
         } catch (Throwable throwable) {
+            trace.recordError(throwable);
             throw new HBaseSystemException(throwable);
         } finally {
             if (null != admin) {
@@ -64,19 +173,46 @@ public class HBaseTemplate implements HBaseOperations {
                     LOGGER.error("hbase资源释放失败", e);
                 }
             }
+            trace.close();
         }
     }
 
+    /**
+     * 回调中的操作不确定是读还是写，不获取客户端限额令牌；只读的回调使用{@link #executeRead(String, long, TableCallback)}
+     */
     @Override
     public <T> T execute(String tableName, TableCallback<T> action) {
         Assert.notNull(action, "Callback object must not be null");
+        return this.doExecute("execute", tableName, (table, trace) -> action.doInTable(table));
+    }
+
+    /**
+     * 执行只读的回调，配置了客户端限额时先获取读请求令牌
+     *
+     * @param tableName 表名
+     * @param reads     回调中的读请求数
+     * @param action    回调
+     * @param <T>       返回值类型
+     * @return 回调的返回值
+     */
+    public <T> T executeRead(String tableName, long reads, TableCallback<T> action) {
+        Assert.notNull(action, "Callback object must not be null");
+        return this.doExecute("execute", tableName, (table, trace) -> {
+            this.acquireReads(tableName, reads);
+            return action.doInTable(table);
+        });
+    }
+
+    private <T> T doExecute(String operation, String tableName, TracedTableCallback<T> action) {
         Assert.notNull(tableName, "No table specified");
 
+        final TraceScope trace = this.tracer.start(operation, tableName);
         Table table = null;
         try {
             table = this.getConnection().getTable(TableName.valueOf(tableName));
-            return action.doInTable(table);
+            return action.doInTable(table, trace);
         } catch (Throwable throwable) {
+            trace.recordError(throwable);
             throw new HBaseSystemException(throwable);
         } finally {
             if (null != table) {
@@ -86,6 +222,7 @@ public class HBaseTemplate implements HBaseOperations {
                     LOGGER.error("hbase资源释放失败", e);
                 }
             }
+            trace.close();
         }
     }
 
@@ -110,13 +247,85 @@ public class HBaseTemplate implements HBaseOperations {
 
     @Override
     public <T> T find(String tableName, final Scan scan, final ScannerCallback<T> scannerCallback) {
-        return this.execute(tableName, table -> {
-            try (ResultScanner scanner = table.getScanner(scan)) {
-                return scannerCallback.doInScanner(scanner);
+        final Scan profiled = this.scanProfiles.applyTableProfile(tableName, copyOf(scan));
+        return this.doScan(tableName, profiled, (scanner, trace) -> scannerCallback.doInScanner(scanner));
+    }
+
+    private <T> T doScan(String tableName, final Scan scan, final TracedScannerCallback<T> scannerCallback) {
+        final SlowOperationLog slowLog = this.slowOperationLog;
+        if (null != slowLog) {
+            slowLog.beforeScan(scan);
+        }
+        final long begin = System.nanoTime();
+        try {
+            return this.doExecute("scan", tableName, (table, trace) -> {
+                try (ResultScanner scanner = table.getScanner(scan)) {
+                    final QuotaManager quota = this.quotaManager;
+                    if (null != quota && quota.isLimited(tableName)) {
+                        return scannerCallback.doInScanner(new QuotaResultScanner(scanner, tableName, quota), trace);
+                    }
+                    return scannerCallback.doInScanner(scanner, trace);
+                }
+            });
+        } finally {
+            if (null != slowLog) {
+                slowLog.afterScan(tableName, scan, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
             }
-        });
+        }
+    }
+
+    /**
+     * 开启region server熔断时，经过熔断器和单次操作超时保护后调用
+     */
+    private <T> T guard(Table table, List<byte[]> rows, RegionServerGuard.Call<T> call) throws Exception {
+        final RegionServerGuard guard = this.regionServerGuard;
+        return null == guard ? call.call() : guard.call(this.getConnection(), table, rows, call);
     }
 
+    /**
+     * 配置了客户端限额时获取读请求令牌
+     */
+    private void acquireReads(String tableName, long requests) throws IOException {
+        final QuotaManager quota = this.quotaManager;
+        if (null != quota) {
+            quota.acquireReads(tableName, requests);
+        }
+    }
+
+    /**
+     * 复制scan后再应用scan配置，不修改调用方的对象
+     */
+    private static Scan copyOf(Scan scan) {
+        Assert.notNull(scan, "Scan must not be null");
+        try {
+            return new Scan(scan);
+        } catch (IOException e) {
+            throw new HBaseSystemException(e);
+        }
+    }
+
+    private static long sizeOf(Result result) {
+        final Cell[] cells = result.rawCells();
+        if (null == cells) {
+            return 0;
+        }
+        long size = 0;
+        for (Cell cell : cells) {
+            size += CellUtil.estimatedSerializedSizeOf(cell);
+        }
+        return size;
+    }
+
+    /**
+     * 按行操作完成后记录慢操作
+     */
+    private void recordOperation(String operation, String tableName, byte[] firstRow, byte[] lastRow, int actions, long beginNanos) {
+        final SlowOperationLog slowLog = this.slowOperationLog;
+        if (null != slowLog) {
+            slowLog.afterOperation(operation, tableName, firstRow, lastRow, actions,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - beginNanos));
+        }
+    }
 
     @Override
     public <T> List<T> findFirstPage(String tableName, String startRow, String stopRow, int pageSize, RowMapper<T> mapper) {
@@ -203,8 +412,9 @@ public class HBaseTemplate implements HBaseOperations {
         }
 
         scan.setFilter(setPageFilter(filterList, pageSize));
+        this.scanProfiles.get(ScanProfile.PAGE).forPageSize(pageSize).applyTo(scan);
 
-        List<T> result = this.find(tableName, scan, mapper);
+        List<T> result = this.doFind(tableName, scan, mapper);
         if (result.size() < pageSize) {
             return result;
         }
@@ -222,8 +432,9 @@ public class HBaseTemplate implements HBaseOperations {
 
         final int getSize = pageSize + 1;
         scan.setFilter(setPageFilter(filterList, pageSize));
+        this.scanProfiles.get(ScanProfile.PAGE).forPageSize(pageSize).applyTo(scan);
 
-        List<T> result = this.find(tableName, scan, mapper);
+        List<T> result = this.doFind(tableName, scan, mapper);
         if (result.size() < getSize) {
             return result.subList(1, result.size());
         }
@@ -275,39 +486,117 @@ public class HBaseTemplate implements HBaseOperations {
             }
         }
 
+        this.scanProfiles.get(ScanProfile.PAGE).forPageSize(pageEndNo).applyTo(scan);
+
         final int finalPageSize = pageSize;
-        return this.execute(tableName, table -> {
-            try (ResultScanner scanner = table.getScanner(scan)) {
-                List<T> rs = new ArrayList<>();
-                int rowNum = 0;
-                for (Result result : scanner) {
-                    if (finalPageSize == rs.size()) {
-                        break;
-                    }
-                    if (rowNum >= pageStartNo && rowNum < pageEndNo) {
-                        rs.add(mapper.mapRow(result, rowNum++));
-                    }
-                    rowNum++;
+        return this.doScan(tableName, scan, (scanner, trace) -> {
+            List<T> rs = new ArrayList<>();
+            int rowNum = 0;
+            for (Result result : scanner) {
+                if (finalPageSize == rs.size()) {
+                    break;
                 }
-                return rs;
+                if (rowNum >= pageStartNo && rowNum < pageEndNo) {
+                    rs.add(mapper.mapRow(result, rowNum++));
+                }
+                rowNum++;
             }
+            trace.setRows(rs.size());
+            return rs;
         });
     }
 
     @Override
     public <T> List<T> find(String tableName, final Scan scan, final RowMapper<T> mapper) {
-        return this.execute(tableName, table -> {
-            try (ResultScanner scanner = table.getScanner(scan)) {
-                List<T> rs = new ArrayList<>();
-                int rowNum = 0;
-                for (Result result : scanner) {
-                    rs.add(mapper.mapRow(result, rowNum++));
+        return this.doFind(tableName, this.scanProfiles.applyTableProfile(tableName, copyOf(scan)), mapper);
+    }
+
+    @Override
+    public <T> List<T> find(String tableName, final Scan scan, String scanProfile, final RowMapper<T> mapper) {
+        return this.doFind(tableName, this.scanProfiles.get(scanProfile).applyTo(copyOf(scan)), mapper);
+    }
+
+    private <T> List<T> doFind(String tableName, final Scan scan, final RowMapper<T> mapper) {
+        return this.doScan(tableName, scan, (scanner, trace) -> {
+            final boolean recording = trace.isRecording();
+            List<T> rs = new ArrayList<>();
+            int rowNum = 0;
+            long bytes = 0;
+            for (Result result : scanner) {
+                if (recording) {
+                    bytes += sizeOf(result);
                 }
-                return rs;
+                rs.add(mapper.mapRow(result, rowNum++));
             }
+            trace.setRows(rs.size());
+            trace.setBytes(bytes);
+            return rs;
         });
     }
 
+    @Override
+    public ExportStats export(ExportRequest request) {
+        return new HBaseExporter(this).export(request);
+    }
+
+    @Override
+    public BatchResult batch(String tableName, List<? extends Row> actions, BatchCallback callback) {
+        final QuotaManager quota = this.quotaManager;
+        if (null != quota) {
+            long reads = 0;
+            long bytes = 0;
+            for (Row action : actions) {
+                if (action instanceof Get) {
+                    reads++;
+                } else if (action instanceof Mutation) {
+                    bytes += ((Mutation) action).heapSize();
+                }
+            }
+            try {
+                quota.acquireReads(tableName, reads);
+                quota.acquireWriteBytes(tableName, bytes);
+            } catch (IOException e) {
+                throw new HBaseSystemException(e);
+            }
+        }
+        final long begin = System.nanoTime();
+        final BatchResult result = new BatchExecutor(this, this.batchMaxRetries, this.batchRetryPauseMs).batch(tableName, actions, callback);
+        if (!actions.isEmpty()) {
+            this.recordOperation("batch", tableName, actions.get(0).getRow(), actions.get(actions.size() - 1).getRow(), actions.size(), begin);
+        }
+        return result;
+    }
+
+    @Override
+    public RangeDeleteStats deleteRange(String tableName, String startRow, String stopRow, Filter filter) {
+        return this.deleteRange(RangeDeleteRequest.builder()
+                .tableName(tableName)
+                .startRow(startRow)
+                .stopRow(stopRow)
+                .filter(filter)
+                .build());
+    }
+
+    @Override
+    public TableSyncResult ensureTable(TableSpec spec) {
+        return new HBaseTableManager(this).ensureTable(spec);
+    }
+
+    @Override
+    public RegionSkewReport regionSkew(String tableName) {
+        return new HBaseTableManager(this).regionSkew(tableName);
+    }
+
+    @Override
+    public RangeDeleteStats deleteRange(RangeDeleteRequest request) {
+        return new HBaseRangeDeleter(this).delete(request);
+    }
+
+    @Override
+    public long findInSnapshot(SnapshotScanRequest request, SnapshotRowConsumer consumer) {
+        return new HBaseSnapshotScanner(this).scan(request, consumer);
+    }
+
     @Override
     public long findRowCount(String tableName, String startRow, String stopRow, FilterList filterList) {
         final Scan scan = new Scan();
@@ -320,8 +609,8 @@ public class HBaseTemplate implements HBaseOperations {
             filterList.getFilters().removeIf(filter -> filter instanceof PageFilter);
             scan.setFilter(filterList);
         }
-        return this.execute(tableName, table -> {
-            return aggregationClient.rowCount(table, new LongColumnInterpreter(), scan);
+        return this.doExecute("rowCount", tableName, (table, trace) -> {
+            return getAggregationClient().rowCount(table, new LongColumnInterpreter(), scan);
         });
     }
 
@@ -337,7 +626,7 @@ public class HBaseTemplate implements HBaseOperations {
 
     @Override
     public <T> T get(String tableName, final String rowName, final String familyName, final String qualifier, final RowMapper<T> mapper) {
-        return this.execute(tableName, table -> {
+        return this.doExecute("get", tableName, (table, trace) -> {
             Get get = new Get(Bytes.toBytes(rowName));
             get.setMaxVersions();
             if (StringUtils.isNotBlank(familyName)) {
@@ -348,14 +637,21 @@ public class HBaseTemplate implements HBaseOperations {
                     get.addFamily(family);
                 }
             }
-            Result result = table.get(get);
+            this.acquireReads(tableName, 1);
+            final long begin = System.nanoTime();
+            Result result = this.guard(table, Collections.singletonList(get.getRow()), () -> table.get(get));
+            this.recordOperation("get", tableName, get.getRow(), null, 1, begin);
+            trace.setRows(result.isEmpty() ? 0 : 1);
+            if (trace.isRecording()) {
+                trace.setBytes(sizeOf(result));
+            }
             return mapper.mapRow(result, 0);
         });
     }
 
     @Override
     public <T> List<T> multiGet(String tableName, final RowMapper<T> mapper, List<Column> columns, final String... rowNames) {
-        return this.execute(tableName, table -> {
+        return this.doExecute("multiGet", tableName, (table, trace) -> {
             List<Get> gets = new ArrayList<>();
             for (String row : rowNames) {
                 final Get get = new Get(Bytes.toBytes(row));
@@ -367,7 +663,24 @@ public class HBaseTemplate implements HBaseOperations {
                 }
                 gets.add(get);
             }
-            Result[] results = table.get(gets);
+            this.acquireReads(tableName, gets.size());
+            final long begin = System.nanoTime();
+            final List<byte[]> rows = new ArrayList<>(gets.size());
+            for (Get get : gets) {
+                rows.add(get.getRow());
+            }
+            Result[] results = this.guard(table, rows, () -> table.get(gets));
+            if (!gets.isEmpty()) {
+                this.recordOperation("multiGet", tableName, gets.get(0).getRow(), gets.get(gets.size() - 1).getRow(), gets.size(), begin);
+            }
+            trace.setActions(gets.size());
+            if (trace.isRecording()) {
+                long bytes = 0;
+                for (Result result : results) {
+                    bytes += sizeOf(result);
+                }
+                trace.setBytes(bytes);
+            }
 
             List<T> rs = new ArrayList<>();
             int rowNum = 0;
@@ -378,46 +691,562 @@ public class HBaseTemplate implements HBaseOperations {
         });
     }
 
+    @Override
+    public boolean[] exists(String tableName, final String... rowNames) {
+        return this.doExecute("exists", tableName, (table, trace) -> {
+            final List<Get> gets = new ArrayList<>(rowNames.length);
+            final List<byte[]> rows = new ArrayList<>(rowNames.length);
+            for (String row : rowNames) {
+                final Get get = new Get(Bytes.toBytes(row));
+                gets.add(get);
+                rows.add(get.getRow());
+            }
+            if (gets.isEmpty()) {
+                return new boolean[0];
+            }
+            this.acquireReads(tableName, gets.size());
+            final long begin = System.nanoTime();
+            final boolean[] exists = this.guard(table, rows, () -> table.existsAll(gets));
+            this.recordOperation("exists", tableName, rows.get(0), rows.get(rows.size() - 1), gets.size(), begin);
+            trace.setActions(gets.size());
+            return exists;
+        });
+    }
+
+    @Override
+    public RowKeyList findRowKeys(String tableName, String startRow, String stopRow) {
+        final Scan scan = new Scan();
+        if (StringUtils.isNotEmpty(startRow)) {
+            scan.setStartRow(Bytes.toBytes(startRow));
+        }
+        if (StringUtils.isNotEmpty(stopRow)) {
+            scan.setStopRow(Bytes.toBytes(stopRow));
+        }
+        return this.findRowKeys(tableName, scan);
+    }
+
+    @Override
+    public RowKeyList findRowKeys(String tableName, final Scan scan) {
+        Assert.notNull(scan, "Scan must not be null");
+        // 复制一份，不修改调用方的scan；batch或partial result会把一行拆成多个Result，这里不需要
+        final Scan keyScan = copyOf(scan);
+        this.scanProfiles.applyTableProfile(tableName, keyScan);
+        if (keyScan.getBatch() > 0) {
+            // 带有filterRow的过滤器不允许调用setBatch
+            keyScan.setBatch(-1);
+        }
+        keyScan.setAllowPartialResults(false);
+        keyScan.setFilter(KeyOnlyFilters.of(scan.getFilter()));
+        return this.doScan(tableName, keyScan, (scanner, trace) -> {
+            final RowKeyList rowKeys = new RowKeyList();
+            Cell previous = null;
+            for (Result result : scanner) {
+                final Cell cell = result.rawCells()[0];
+                // 同一行拆成多个Result时只保留一次
+                if (previous == null || !CellUtil.matchingRow(previous, cell)) {
+                    rowKeys.append(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength());
+                }
+                previous = cell;
+            }
+            trace.setRows(rowKeys.size());
+            if (trace.isRecording()) {
+                trace.setBytes(rowKeys.getDataSize());
+            }
+            return rowKeys;
+        });
+    }
+
+    @Override
+    public WideRowStats streamRow(final WideRowRequest request, final CellChunkCallback callback) {
+        Assert.notNull(request.getRow(), "Row must not be null");
+        Assert.isTrue(request.getBatchSize() > 0, "Batch size must be positive");
+        Assert.notNull(callback, "Callback object must not be null");
+        final byte[] row = request.getRow();
+        final Scan scan = new Scan(row, Bytes.add(row, new byte[]{0}));
+        if (StringUtils.isNotEmpty(request.getFamily())) {
+            scan.addFamily(Bytes.toBytes(request.getFamily()));
+        }
+        if (null != request.getStartColumn() && request.getStartColumn().length > 0) {
+            scan.setFilter(new ColumnRangeFilter(request.getStartColumn(), true, null, false));
+        }
+        // 按cell数和字节数把一行拆成多个Result返回，客户端同一时间只持有一次RPC的数据
+        scan.setBatch(request.getBatchSize());
+        scan.setAllowPartialResults(true);
+        if (null != request.getMaxChunkSize()) {
+            scan.setMaxResultSize(request.getMaxChunkSize().toBytes());
+        }
+        scan.setCacheBlocks(false);
+        return this.doScan(request.getTableName(), scan, (scanner, trace) -> {
+            long chunks = 0;
+            long cells = 0;
+            int maxChunkCells = 0;
+            boolean complete = true;
+            for (Result result : scanner) {
+                final Cell[] chunk = result.rawCells();
+                if (null == chunk || chunk.length == 0) {
+                    continue;
+                }
+                chunks++;
+                cells += chunk.length;
+                maxChunkCells = Math.max(maxChunkCells, chunk.length);
+                if (!callback.doInChunk(chunk)) {
+                    complete = false;
+                    break;
+                }
+            }
+            trace.setRows(cells);
+            return new WideRowStats(chunks, cells, maxChunkCells, complete);
+        });
+    }
+
+    @Override
+    public WideRowPage findColumns(String tableName, String rowName, String familyName, byte[] startColumn, int limit) {
+        Assert.hasText(familyName, "Family must not be empty");
+        Assert.isTrue(limit > 0, "Limit must be positive");
+        final Get get = new Get(Bytes.toBytes(rowName)).addFamily(Bytes.toBytes(familyName));
+        // 多取一列判断是否有下一页
+        get.setFilter(null != startColumn && startColumn.length > 0
+                ? new ColumnPaginationFilter(limit + 1, startColumn)
+                : new ColumnPaginationFilter(limit + 1, 0));
+        final Cell[] cells = this.executeRead(tableName, 1, table -> table.get(get).rawCells());
+        if (null == cells) {
+            return new WideRowPage(Collections.emptyList(), null);
+        }
+        if (cells.length <= limit) {
+            return new WideRowPage(Arrays.asList(cells), null);
+        }
+        return new WideRowPage(Arrays.asList(cells).subList(0, limit), CellUtil.cloneQualifier(cells[limit]));
+    }
+
     @Override
     public void execute(String tableName, MutatorCallback action) {
         Assert.notNull(action, "Callback object must not be null");
+        this.doMutate("mutate", tableName, (mutator, trace) -> action.doInMutator(mutator));
+    }
+
+    private void doMutate(String operation, String tableName, TracedMutatorCallback action) {
         Assert.notNull(tableName, "No table specified");
 
+        final MutatorSettings settings = this.getMutatorSettings(tableName);
+        final TraceScope trace = this.tracer.start(operation, tableName);
         BufferedMutator mutator = null;
+        ScheduledFuture<?> periodicFlush = null;
         try {
             BufferedMutatorParams mutatorParams = new BufferedMutatorParams(TableName.valueOf(tableName));
-            mutator = this.getConnection().getBufferedMutator(mutatorParams.writeBufferSize(3 * 1024 * 1024));
-            action.doInMutator(mutator);
+            if (settings.getWriteBufferSize() > 0) {
+                mutatorParams.writeBufferSize(settings.getWriteBufferSize());
+            }
+            mutator = this.getConnection().getBufferedMutator(mutatorParams);
+            periodicFlush = this.schedulePeriodicFlush(tableName, mutator, settings.getPeriodicFlushIntervalMs());
+            final QuotaManager quota = this.quotaManager;
+            if (null != quota && quota.isLimited(tableName)) {
+                action.doInMutator(QuotaBufferedMutator.wrap(mutator, tableName, quota), trace);
+            } else {
+                action.doInMutator(mutator, trace);
+            }
         } catch (Throwable throwable) {
+            trace.recordError(throwable);
             throw new HBaseSystemException(throwable);
         } finally {
+            if (null != periodicFlush) {
+                periodicFlush.cancel(false);
+            }
             if (null != mutator) {
                 try {
                     mutator.flush();
                     mutator.close();
                 } catch (IOException e) {
+                    trace.recordError(e);
                     LOGGER.error("hbase mutator资源释放失败", e);
                 }
             }
+            trace.close();
         }
     }
 
+    private ScheduledFuture<?> schedulePeriodicFlush(String tableName, BufferedMutator mutator, long intervalMs) {
+        if (intervalMs <= 0) {
+            return null;
+        }
+        return this.getFlushScheduler().scheduleWithFixedDelay(() -> {
+            try {
+                mutator.flush();
+            } catch (Throwable e) {
+                LOGGER.error("hbase mutator定时flush失败, table: {}", tableName, e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private ScheduledExecutorService getFlushScheduler() {
+        if (null == this.flushScheduler) {
+            synchronized (this) {
+                if (null == this.flushScheduler) {
+                    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                        Thread thread = new Thread(runnable, "hbase-mutator-flush");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    scheduler.setRemoveOnCancelPolicy(true);
+                    this.flushScheduler = scheduler;
+                }
+            }
+        }
+        return this.flushScheduler;
+    }
+
+    private MutatorSettings getMutatorSettings(String tableName) {
+        final MutatorSettings settings = this.tableMutatorSettings.get(tableName);
+        return settings != null ? settings : this.mutatorSettings;
+    }
+
     @Override
     public void saveOrUpdate(String tableName, final Mutation mutation) {
-        this.execute(tableName, mutator -> {
-            mutator.mutate(mutation);
-        });
+        final long begin = System.nanoTime();
+        this.write("saveOrUpdate", tableName, Collections.singletonList(mutation));
+        this.recordOperation("saveOrUpdate", tableName, mutation.getRow(), null, 1, begin);
     }
 
     @Override
     public void saveOrUpdates(String tableName, final List<Mutation> mutations) {
-        this.execute(tableName, mutator -> {
+        final List<? extends Mutation> toWrite;
+        if (null != this.mutationCoalescer && mutations.size() > 1) {
+            final CoalesceResult result = this.mutationCoalescer.coalesce(mutations);
+            if (LOGGER.isDebugEnabled() && result.getRemovedMutations() > 0) {
+                LOGGER.debug("表{}合并写入数据，原{}条，合并后{}条，丢弃cell {}个", tableName,
+                        result.getOriginalCount(), result.getMutations().size(), result.getDroppedCells());
+            }
+            toWrite = result.getMutations();
+        } else {
+            toWrite = mutations;
+        }
+        final long begin = System.nanoTime();
+        this.write("saveOrUpdates", tableName, toWrite);
+        if (!toWrite.isEmpty()) {
+            this.recordOperation("saveOrUpdates", tableName, toWrite.get(0).getRow(),
+                    toWrite.get(toWrite.size() - 1).getRow(), toWrite.size(), begin);
+        }
+    }
+
+    @Override
+    public WriteBatchScope openWriteBatch() {
+        WriteBatch batch = this.writeBatch.get();
+        if (null == batch) {
+            batch = new WriteBatch(this::flushWriteBatch, this.writeBatch::remove);
+            this.writeBatch.set(batch);
+        }
+        return batch.open();
+    }
+
+    /**
+     * 每张表合并后按rowKey排序，使用一个mutator写入
+     */
+    private void flushWriteBatch(WriteBatch batch) {
+        final MutationCoalescer coalescer = null != this.mutationCoalescer ? this.mutationCoalescer : new MutationCoalescer();
+        batch.getMutations().forEach((tableName, mutations) -> {
+            final List<Mutation> toWrite = coalescer.coalesce(mutations).getMutations();
+            // 已有的合并处理可能未开启排序，同一行内的顺序不变
+            toWrite.sort((a, b) -> Bytes.compareTo(a.getRow(), b.getRow()));
+            final long begin = System.nanoTime();
+            this.write("writeBatch", tableName, toWrite);
+            if (!toWrite.isEmpty()) {
+                this.recordOperation("writeBatch", tableName, toWrite.get(0).getRow(),
+                        toWrite.get(toWrite.size() - 1).getRow(), toWrite.size(), begin);
+            }
+        });
+    }
+
+    /**
+     * 当前线程打开了批量写入时只加入批次；开启spool时，spool中有未重放的数据或直接写入失败，数据写入spool由后台重放。
+     * <p>
+     * 写入spool的cell未指定时间戳时使用写入失败的时间，重放时不会覆盖之后直接写入的新数据；
+     * 部分失败时只写入失败的操作。Increment、Append重放不是幂等的，不写入spool，失败时直接抛出异常。
+     * 被拒绝的操作(参数非法、表或列族不存在等，见{@link HBaseErrors})重放也不会成功，不写入spool；
+     * 部分操作被拒绝时，其余失败的操作写入spool后仍然抛出异常。
+     */
+    private void write(String operation, String tableName, List<? extends Mutation> mutations) {
+        final WriteBatch batch = this.writeBatch.get();
+        if (null != batch) {
+            batch.add(tableName, mutations);
+            return;
+        }
+        final WriteSpool spool = this.writeSpool;
+        if (null == spool || !isIdempotent(mutations)) {
+            this.mutate(operation, tableName, mutations, null != spool);
+            return;
+        }
+        try {
+            // 检查和追加在spool的锁内完成，spool中有数据时新的写入排在后面
+            if (spool.appendIfPending(tableName, mutations, System.currentTimeMillis())) {
+                return;
+            }
+        } catch (IOException e) {
+            throw new HBaseSystemException(e);
+        }
+        final HBaseSystemException failure;
+        try {
+            this.mutate(operation, tableName, mutations, true);
+            return;
+        } catch (HBaseSystemException e) {
+            if (e.getCause() instanceof QuotaExceededException) {
+                // 超过客户端限额不是集群故障，不写入spool
+                throw e;
+            }
+            failure = e;
+        }
+        final long failedAt = System.currentTimeMillis();
+        final List<? extends Mutation> failed = failedMutations(failure, mutations);
+        final List<? extends Mutation> rejected = HBaseErrors.rejectedActions(failure, failed);
+        if (rejected.size() == failed.size()) {
+            throw failure;
+        }
+        final Set<Mutation> rejectedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        rejectedSet.addAll(rejected);
+        final List<Mutation> retriable = new ArrayList<>(failed.size() - rejected.size());
+        for (Mutation mutation : failed) {
+            if (!rejectedSet.contains(mutation)) {
+                retriable.add(mutation);
+            }
+        }
+        LOGGER.warn("hbase写入失败，写入本地spool稍后重放, table: {}, 失败数: {}/{}, 被拒绝数: {}",
+                tableName, retriable.size(), mutations.size(), rejected.size(), failure);
+        try {
+            spool.append(tableName, retriable, failedAt);
+        } catch (IOException e) {
+            final HBaseSystemException exception = new HBaseSystemException(e);
+            exception.addSuppressed(failure);
+            throw exception;
+        }
+        if (!rejected.isEmpty()) {
+            throw failure;
+        }
+    }
+
+    private static boolean isIdempotent(List<? extends Mutation> mutations) {
+        for (Mutation mutation : mutations) {
+            if (mutation instanceof Increment || mutation instanceof Append) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return 部分失败时返回{@link RetriesExhaustedWithDetailsException}中失败的操作，无法确定时返回全部
+     */
+    private static List<? extends Mutation> failedMutations(HBaseSystemException failure, List<? extends Mutation> mutations) {
+        if (!(failure.getCause() instanceof RetriesExhaustedWithDetailsException)) {
+            return mutations;
+        }
+        final RetriesExhaustedWithDetailsException details = (RetriesExhaustedWithDetailsException) failure.getCause();
+        final List<Mutation> failed = new ArrayList<>(details.getNumExceptions());
+        for (int i = 0; i < details.getNumExceptions(); i++) {
+            if (!(details.getRow(i) instanceof Mutation)) {
+                return mutations;
+            }
+            failed.add((Mutation) details.getRow(i));
+        }
+        return failed.isEmpty() ? mutations : failed;
+    }
+
+    /**
+     * @param flush 是否在回调内flush，flush失败时抛出异常，而不是在关闭mutator时只记录日志
+     */
+    private void mutate(String operation, String tableName, List<? extends Mutation> mutations, boolean flush) {
+        this.doMutate(operation, tableName, (mutator, trace) -> {
             mutator.mutate(mutations);
+            if (flush) {
+                mutator.flush();
+            }
+            trace.setActions(mutations.size());
+            if (trace.isRecording()) {
+                long bytes = 0;
+                for (Mutation mutation : mutations) {
+                    bytes += mutation.heapSize();
+                }
+                trace.setBytes(bytes);
+            }
         });
     }
 
+    @Override
+    public void increment(String tableName, String rowName, String familyName, String qualifier, long delta) {
+        Assert.notNull(tableName, "No table specified");
+        this.getIncrementCoalescer().increment(tableName, rowName, familyName, qualifier, delta);
+    }
+
+    /**
+     * 立即写入客户端合并中的计数器增量
+     */
+    public void flushIncrements() {
+        if (null != this.incrementCoalescer) {
+            this.incrementCoalescer.flush();
+        }
+    }
+
+    public IncrementCoalescer getIncrementCoalescer() {
+        if (null == this.incrementCoalescer) {
+            synchronized (this) {
+                if (null == this.incrementCoalescer) {
+                    IncrementCoalescer coalescer = new IncrementCoalescer(this, this.counterFlushIntervalMs, this.counterMaxPending);
+                    if (null != this.counterFlushListener) {
+                        coalescer.setListener(this.counterFlushListener);
+                    }
+                    this.incrementCoalescer = coalescer;
+                }
+            }
+        }
+        return this.incrementCoalescer;
+    }
+
+    public boolean isIncrementCoalescerCreated() {
+        return null != this.incrementCoalescer;
+    }
+
+    public void setIncrementCoalescer(IncrementCoalescer incrementCoalescer) {
+        this.incrementCoalescer = incrementCoalescer;
+    }
+
+    /**
+     * 设置计数器合并参数，需要在第一次调用{@link #increment}之前设置
+     *
+     * @param flushIntervalMs 定时flush间隔(毫秒)
+     * @param maxPending      累计多少次increment后提前flush
+     * @param listener        flush结果回调，允许null
+     */
+    public void setCounterSettings(long flushIntervalMs, long maxPending, CounterFlushListener listener) {
+        this.counterFlushIntervalMs = flushIntervalMs;
+        this.counterMaxPending = maxPending;
+        this.counterFlushListener = listener;
+    }
+
+    /**
+     * 设置batch中失败操作的重新提交参数
+     *
+     * @param maxRetries   最大重新提交次数
+     * @param retryPauseMs 基础等待时间(毫秒)
+     */
+    public void setBatchRetrySettings(int maxRetries, long retryPauseMs) {
+        this.batchMaxRetries = maxRetries;
+        this.batchRetryPauseMs = retryPauseMs;
+    }
+
+    public RegionServerGuard getRegionServerGuard() {
+        return regionServerGuard;
+    }
+
+    /**
+     * 设置region server熔断及单次操作超时，对get、multiGet、batch生效，为null时不开启
+     *
+     * @param regionServerGuard 熔断保护
+     */
+    public void setRegionServerGuard(RegionServerGuard regionServerGuard) {
+        this.regionServerGuard = regionServerGuard;
+    }
+
+    public QuotaManager getQuotaManager() {
+        return quotaManager;
+    }
+
+    /**
+     * 设置按表、按调用方的客户端限额，为null时不限流
+     *
+     * @param quotaManager 限额
+     */
+    public void setQuotaManager(QuotaManager quotaManager) {
+        this.quotaManager = quotaManager;
+    }
+
+    public WriteSpool getWriteSpool() {
+        return writeSpool;
+    }
+
+    /**
+     * 设置本地写入spool并启动后台重放，spool由HBaseTemplate关闭
+     *
+     * @param writeSpool     spool
+     * @param retryBackoffMs 重放失败后的初始等待时间(毫秒)
+     */
+    public synchronized void setWriteSpool(WriteSpool writeSpool, long retryBackoffMs) {
+        Assert.state(null == this.writeSpool, "Write spool already set");
+        this.writeSpool = writeSpool;
+        this.spoolReplayer = new SpoolReplayer(writeSpool, (tableName, mutations) -> this.mutate("replay", tableName, mutations, true), retryBackoffMs);
+        this.spoolReplayer.start();
+    }
+
+    public HBaseTracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * 设置操作追踪，为null时不追踪
+     *
+     * @param tracer 追踪实现
+     */
+    public void setTracer(HBaseTracer tracer) {
+        this.tracer = tracer != null ? tracer : HBaseTracer.NOOP;
+    }
+
+    public SlowOperationLog getSlowOperationLog() {
+        return slowOperationLog;
+    }
+
+    /**
+     * 设置慢操作日志及scan指标采集，为null时不记录
+     *
+     * @param slowOperationLog 慢操作日志
+     */
+    public void setSlowOperationLog(SlowOperationLog slowOperationLog) {
+        this.slowOperationLog = slowOperationLog;
+    }
+
+    public BulkDeleteEndpoint getBulkDeleteEndpoint() {
+        return bulkDeleteEndpoint;
+    }
+
+    /**
+     * 设置服务端批量删除，为null时范围删除总是在客户端扫描rowKey后删除
+     *
+     * @param bulkDeleteEndpoint 服务端批量删除
+     */
+    public void setBulkDeleteEndpoint(BulkDeleteEndpoint bulkDeleteEndpoint) {
+        this.bulkDeleteEndpoint = bulkDeleteEndpoint;
+    }
+
+    public MutationCoalescer getMutationCoalescer() {
+        return mutationCoalescer;
+    }
+
+    /**
+     * 设置批量写入前的合并处理，为null时不合并
+     *
+     * @param mutationCoalescer 合并处理
+     */
+    public void setMutationCoalescer(MutationCoalescer mutationCoalescer) {
+        this.mutationCoalescer = mutationCoalescer;
+    }
+
+    @Override
+    public void saveOrUpdate(String tableName, String rowName, String familyName, Object values, ColumnSchema schema) {
+        Assert.notNull(schema, "Schema must not be null");
+        this.saveOrUpdate(tableName, schema.toPut(Bytes.toBytes(rowName), familyName, values));
+    }
+
     public void setConnection(Connection connection) {
         this.connection = connection;
+        this.ownsConnection = false;
+    }
+
+    /**
+     * 设置HBase连接使用的线程池，需要在连接创建之前设置，线程池的生命周期由调用方管理
+     *
+     * @param executorService 线程池
+     */
+    public void setExecutorService(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    public ExecutorService getExecutorService() {
+        return executorService;
     }
 
     public Connection getConnection() {
@@ -425,7 +1254,10 @@ public class HBaseTemplate implements HBaseOperations {
             synchronized (this) {
                 if (null == this.connection) {
                     try {
-                        this.connection = ConnectionFactory.createConnection(configuration);
+                        this.connection = null == this.executorService
+                                ? ConnectionFactory.createConnection(configuration)
+                                : ConnectionFactory.createConnection(configuration, this.executorService);
+                        this.ownsConnection = true;
                     } catch (IOException e) {
                         LOGGER.error("hbase connection资源池创建失败");
                     }
@@ -435,6 +1267,84 @@ public class HBaseTemplate implements HBaseOperations {
         return this.connection;
     }
 
+    public ScanProfiles getScanProfiles() {
+        return scanProfiles;
+    }
+
+    public void setScanProfiles(ScanProfiles scanProfiles) {
+        Assert.notNull(scanProfiles, "Scan profiles must not be null");
+        this.scanProfiles = scanProfiles;
+    }
+
+    public MutatorSettings getMutatorSettings() {
+        return mutatorSettings;
+    }
+
+    public void setMutatorSettings(MutatorSettings mutatorSettings) {
+        Assert.notNull(mutatorSettings, "Mutator settings must not be null");
+        this.mutatorSettings = mutatorSettings;
+    }
+
+    /**
+     * 按表设置mutator参数，未设置的表使用{@link #setMutatorSettings(MutatorSettings)}
+     *
+     * @param tableMutatorSettings 表名 -> mutator参数
+     */
+    public void setTableMutatorSettings(Map<String, MutatorSettings> tableMutatorSettings) {
+        Assert.notNull(tableMutatorSettings, "Mutator settings must not be null");
+        this.tableMutatorSettings = new ConcurrentHashMap<>(tableMutatorSettings);
+    }
+
+    @Override
+    public void destroy() {
+        if (null != this.incrementCoalescer) {
+            this.incrementCoalescer.close();
+        }
+        if (null != this.flushScheduler) {
+            this.flushScheduler.shutdownNow();
+        }
+        if (null != this.spoolReplayer) {
+            this.spoolReplayer.close();
+        }
+        if (null != this.writeSpool) {
+            try {
+                this.writeSpool.close();
+            } catch (IOException e) {
+                LOGGER.error("hbase spool资源释放失败", e);
+            }
+        }
+        if (null != this.aggregationClient) {
+            try {
+                this.aggregationClient.close();
+            } catch (IOException e) {
+                LOGGER.error("hbase aggregation client资源释放失败", e);
+            }
+        }
+        if (this.ownsConnection && null != this.connection) {
+            try {
+                this.connection.close();
+            } catch (IOException e) {
+                LOGGER.error("hbase connection资源释放失败", e);
+            }
+        }
+    }
+
+    /**
+     * 服务端聚合客户端，需要表上加载AggregateImplementation协处理器
+     * <p>
+     * 聚合客户端会单独创建连接，第一次使用时才创建，不使用聚合时不需要能连上集群
+     */
+    public AggregationClient getAggregationClient() {
+        if (null == this.aggregationClient) {
+            synchronized (this) {
+                if (null == this.aggregationClient) {
+                    this.aggregationClient = new AggregationClient(this.configuration);
+                }
+            }
+        }
+        return this.aggregationClient;
+    }
+
     public Configuration getConfiguration() {
         return configuration;
     }
@@ -442,4 +1352,22 @@ public class HBaseTemplate implements HBaseOperations {
     public void setConfiguration(Configuration configuration) {
         this.configuration = configuration;
     }
+
+    /**
+     * 带追踪范围的表操作回调，内部操作用于补充行数、字节数等信息
+     */
+    private interface TracedTableCallback<T> {
+
+        T doInTable(Table table, TraceScope trace) throws Throwable;
+    }
+
+    private interface TracedScannerCallback<T> {
+
+        T doInScanner(ResultScanner scanner, TraceScope trace) throws Throwable;
+    }
+
+    private interface TracedMutatorCallback {
+
+        void doInMutator(BufferedMutator mutator, TraceScope trace) throws Throwable;
+    }
 }
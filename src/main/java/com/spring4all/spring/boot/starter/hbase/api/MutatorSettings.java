@@ -0,0 +1,27 @@
+package com.spring4all.spring.boot.starter.hbase.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * {@link org.apache.hadoop.hbase.client.BufferedMutator}的创建参数
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MutatorSettings {
+
+    /**
+     * 写缓冲大小(字节)，小于等于0时使用hbase.client.write.buffer
+     */
+    private long writeBufferSize;
+
+    /**
+     * 定时flush间隔(毫秒)，小于等于0时不开启
+     */
+    private long periodicFlushIntervalMs;
+}
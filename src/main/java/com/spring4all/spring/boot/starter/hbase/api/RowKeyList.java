@@ -0,0 +1,160 @@
+package com.spring4all.spring.boot.starter.hbase.api;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * 紧凑存储的rowKey列表，所有rowKey连续存放在一个字节数组中，每个rowKey只额外占用一个int偏移量
+ * <p>
+ * {@link #get(int)}返回副本，遍历时使用{@link #compareTo(int, byte[])}、{@link #contains(byte[])}等方法可以避免复制。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class RowKeyList extends AbstractList<byte[]> implements RandomAccess {
+
+    private byte[] data;
+
+    /**
+     * 第i个rowKey的起始位置为offsets[i]，结束位置为offsets[i + 1]
+     */
+    private int[] offsets;
+
+    private int size;
+
+    private boolean sorted = true;
+
+    public RowKeyList() {
+        this(16, 256);
+    }
+
+    /**
+     * @param expectedRows  预计行数
+     * @param expectedBytes 预计rowKey总字节数
+     */
+    public RowKeyList(int expectedRows, int expectedBytes) {
+        this.data = new byte[Math.max(expectedBytes, 16)];
+        this.offsets = new int[Math.max(expectedRows, 1) + 1];
+    }
+
+    @Override
+    public boolean add(byte[] rowKey) {
+        append(rowKey, 0, rowKey.length);
+        return true;
+    }
+
+    /**
+     * 追加rowKey，复制指定范围的字节
+     *
+     * @param buffer 数组
+     * @param offset 起始位置
+     * @param length 长度
+     */
+    public void append(byte[] buffer, int offset, int length) {
+        final int end = offsets[size];
+        if (end + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, end + length));
+        }
+        if (size + 2 > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        System.arraycopy(buffer, offset, data, end, length);
+        offsets[size + 1] = end + length;
+        if (sorted && size > 0 && Bytes.compareTo(data, offsets[size - 1], offsets[size] - offsets[size - 1], data, end, length) > 0) {
+            sorted = false;
+        }
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public byte[] get(int index) {
+        checkIndex(index);
+        return Arrays.copyOfRange(data, offsets[index], offsets[index + 1]);
+    }
+
+    /**
+     * 比较第index个rowKey与给定rowKey，不复制
+     */
+    public int compareTo(int index, byte[] rowKey) {
+        checkIndex(index);
+        return Bytes.compareTo(data, offsets[index], offsets[index + 1] - offsets[index], rowKey, 0, rowKey.length);
+    }
+
+    /**
+     * 判断是否包含rowKey，按rowKey顺序追加(例如scan结果)时使用二分查找
+     */
+    public boolean contains(byte[] rowKey) {
+        return indexOf(rowKey) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof byte[] && contains((byte[]) o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof byte[] ? indexOf((byte[]) o) : -1;
+    }
+
+    private int indexOf(byte[] rowKey) {
+        if (sorted) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final int cmp = compareTo(mid, rowKey);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+        for (int i = 0; i < size; i++) {
+            if (compareTo(i, rowKey) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return 是否按rowKey升序排列
+     */
+    public boolean isSorted() {
+        return sorted;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        sorted = true;
+        modCount++;
+    }
+
+    /**
+     * @return rowKey总字节数
+     */
+    public int getDataSize() {
+        return offsets[size];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.spring4all.spring.boot.starter.hbase.batch;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Row;
+
+/**
+ * 批量操作中单个操作的结果回调，在调用线程中按操作顺序调用
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface BatchCallback {
+
+    /**
+     * 操作成功
+     *
+     * @param index  操作在列表中的序号
+     * @param action 操作
+     * @param result Get、Increment、Append返回对应的结果，Put、Delete返回空Result
+     */
+    default void onSuccess(int index, Row action, Result result) {
+    }
+
+    /**
+     * 操作经过重试后仍然失败
+     *
+     * @param index  操作在列表中的序号
+     * @param action 操作
+     * @param cause  失败原因
+     */
+    default void onFailure(int index, Row action, Throwable cause) {
+    }
+}
@@ -0,0 +1,140 @@
+package com.spring4all.spring.boot.starter.hbase.batch;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.resilience.RegionServerGuard;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.client.Append;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.Table;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在一次{@link Table#batch}中混合提交Get、Put、Delete、Increment等操作，由客户端按region server分组发送。
+ * <p>
+ * 部分操作失败时只重新提交失败的操作；Increment、Append不是幂等操作，失败后不重试，
+ * {@link DoNotRetryIOException}(如列族不存在)也不重试。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class BatchExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchExecutor.class);
+
+    private static final BatchCallback NOOP_CALLBACK = new BatchCallback() {
+    };
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final int maxRetries;
+
+    private final long retryPauseMs;
+
+    /**
+     * @param hbaseTemplate hbaseTemplate
+     * @param maxRetries    失败操作重新提交的最大次数，HBase客户端自身的重试之外
+     * @param retryPauseMs  重新提交的基础等待时间(毫秒)，按次数线性增加
+     */
+    public BatchExecutor(HBaseTemplate hbaseTemplate, int maxRetries, long retryPauseMs) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        Assert.isTrue(maxRetries >= 0, "Max retries must not be negative");
+        this.hbaseTemplate = hbaseTemplate;
+        this.maxRetries = maxRetries;
+        this.retryPauseMs = retryPauseMs;
+    }
+
+    /**
+     * 执行批量操作
+     *
+     * @param tableName 表名
+     * @param actions   操作列表
+     * @param callback  单个操作的结果回调，允许null
+     * @return 与操作列表顺序一致的结果
+     */
+    public BatchResult batch(String tableName, List<? extends Row> actions, BatchCallback callback) {
+        Assert.notNull(actions, "Actions must not be null");
+        final BatchCallback actionCallback = callback != null ? callback : NOOP_CALLBACK;
+        final Object[] results = new Object[actions.size()];
+        if (actions.isEmpty()) {
+            return new BatchResult(results, 0);
+        }
+        final int retried = hbaseTemplate.execute(tableName, (Table table) -> this.run(table, actions, results, actionCallback));
+        return new BatchResult(results, retried);
+    }
+
+    private int run(Table table, List<? extends Row> actions, Object[] results, BatchCallback callback) throws Exception {
+        List<Integer> pending = new ArrayList<>(actions.size());
+        for (int i = 0; i < actions.size(); i++) {
+            pending.add(i);
+        }
+        int retried = 0;
+        for (int attempt = 0; ; attempt++) {
+            final List<Row> rows = new ArrayList<>(pending.size());
+            for (Integer index : pending) {
+                rows.add(actions.get(index));
+            }
+            final Object[] partial = new Object[rows.size()];
+            try {
+                this.submit(table, rows, partial);
+            } catch (RetriesExhaustedWithDetailsException e) {
+                // 失败的操作在partial中对应位置为异常，下面逐个处理
+                LOGGER.debug("hbase批量操作部分失败, table: {}, 失败数: {}", table.getName(), e.getNumExceptions());
+            }
+
+            final List<Integer> retry = new ArrayList<>();
+            for (int i = 0; i < partial.length; i++) {
+                final int index = pending.get(i);
+                final Row action = actions.get(index);
+                final Object result = partial[i];
+                if (result instanceof Throwable || result == null) {
+                    final Throwable cause = result == null ? new IOException("No result returned for action " + index) : (Throwable) result;
+                    if (attempt < maxRetries && isRetriable(action, cause)) {
+                        retry.add(index);
+                        continue;
+                    }
+                    results[index] = cause;
+                    callback.onFailure(index, action, cause);
+                } else {
+                    results[index] = result;
+                    callback.onSuccess(index, action, result instanceof Result ? (Result) result : null);
+                }
+            }
+            if (retry.isEmpty()) {
+                return retried;
+            }
+            LOGGER.warn("hbase批量操作重新提交失败的操作, table: {}, 数量: {}, 第{}次", table.getName(), retry.size(), attempt + 1);
+            retried += retry.size();
+            pending = retry;
+            Thread.sleep(retryPauseMs * (attempt + 1));
+        }
+    }
+
+    private void submit(Table table, List<Row> rows, Object[] results) throws Exception {
+        final RegionServerGuard guard = hbaseTemplate.getRegionServerGuard();
+        if (guard == null) {
+            table.batch(rows, results);
+            return;
+        }
+        final List<byte[]> keys = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            keys.add(row.getRow());
+        }
+        guard.call(hbaseTemplate.getConnection(), table, keys, () -> {
+            table.batch(rows, results);
+            return null;
+        });
+    }
+
+    private static boolean isRetriable(Row action, Throwable cause) {
+        return !(action instanceof Increment || action instanceof Append || cause instanceof DoNotRetryIOException);
+    }
+}
@@ -0,0 +1,83 @@
+package com.spring4all.spring.boot.starter.hbase.batch;
+
+import org.apache.hadoop.hbase.client.Result;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量操作结果，与操作列表顺序一致
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class BatchResult {
+
+    private final Object[] results;
+
+    private final int retriedActions;
+
+    public BatchResult(Object[] results, int retriedActions) {
+        this.results = results;
+        this.retriedActions = retriedActions;
+    }
+
+    public int size() {
+        return results.length;
+    }
+
+    /**
+     * 操作是否成功，没有返回结果的操作视为失败
+     *
+     * @param index 操作序号
+     * @return 是否成功
+     */
+    public boolean isSuccess(int index) {
+        return results[index] != null && !(results[index] instanceof Throwable);
+    }
+
+    /**
+     * 获取操作结果
+     *
+     * @param index 操作序号
+     * @return 结果，操作失败时返回null
+     */
+    public Result getResult(int index) {
+        return results[index] instanceof Result ? (Result) results[index] : null;
+    }
+
+    /**
+     * 获取失败原因
+     *
+     * @param index 操作序号
+     * @return 失败原因，操作成功时返回null
+     */
+    public Throwable getError(int index) {
+        if (results[index] == null) {
+            return new IOException("No result returned for action " + index);
+        }
+        return results[index] instanceof Throwable ? (Throwable) results[index] : null;
+    }
+
+    public boolean hasFailures() {
+        return !getFailedIndexes().isEmpty();
+    }
+
+    public List<Integer> getFailedIndexes() {
+        final List<Integer> failed = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (!isSuccess(i)) {
+                failed.add(i);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * 重新提交过的操作次数
+     */
+    public int getRetriedActions() {
+        return retriedActions;
+    }
+}
@@ -2,13 +2,51 @@ package com.spring4all.spring.boot.starter.hbase.boot;
 
 import com.spring4all.spring.boot.starter.hbase.aop.TimeKeepingAspect;
 import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.cache.HBaseCacheManager;
+import com.spring4all.spring.boot.starter.hbase.api.MutatorSettings;
+import com.spring4all.spring.boot.starter.hbase.counter.CounterFlushListener;
+import com.spring4all.spring.boot.starter.hbase.delete.BulkDeleteEndpoint;
+import com.spring4all.spring.boot.starter.hbase.diagnostics.ScanMetricsListener;
+import com.spring4all.spring.boot.starter.hbase.diagnostics.SlowOperationLog;
+import com.spring4all.spring.boot.starter.hbase.executor.InstrumentedThreadPoolExecutor;
+import com.spring4all.spring.boot.starter.hbase.metrics.HBaseClientMetrics;
+import com.spring4all.spring.boot.starter.hbase.quota.HBaseCallerAspect;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaManager;
+import com.spring4all.spring.boot.starter.hbase.repository.HBaseRepositoriesRegistrar;
+import com.spring4all.spring.boot.starter.hbase.repository.HBaseRepositoryFactoryBean;
+import com.spring4all.spring.boot.starter.hbase.resilience.CircuitBreakerSettings;
+import com.spring4all.spring.boot.starter.hbase.resilience.RegionServerGuard;
+import com.spring4all.spring.boot.starter.hbase.resilience.RetryBudget;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanProfiles;
+import com.spring4all.spring.boot.starter.hbase.spool.WriteSpool;
+import com.spring4all.spring.boot.starter.hbase.tracing.HBaseTracer;
+import com.spring4all.spring.boot.starter.hbase.tracing.OpenTelemetryHBaseTracer;
+import com.spring4all.spring.boot.starter.hbase.write.HBaseBatchAspect;
+import com.spring4all.spring.boot.starter.hbase.write.MutationCoalescer;
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.OpenTelemetry;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.lang.Nullable;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 /**
  * JThink@JThink
@@ -21,8 +59,13 @@ import org.springframework.context.annotation.Bean;
 @org.springframework.context.annotation.Configuration
 @EnableConfigurationProperties(HBaseProperties.class)
 @ConditionalOnClass(HBaseTemplate.class)
+@AutoConfigureBefore(name = "org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration")
 public class HBaseAutoConfiguration {
 
+    public static final String EXECUTOR_BEAN_NAME = "hbaseExecutor";
+
+    private static final int DEFAULT_EXECUTOR_MAX_SIZE = 256;
+
     private final HBaseProperties hbaseProperties;
 
     @Autowired
@@ -30,26 +73,261 @@ public class HBaseAutoConfiguration {
         this.hbaseProperties = hbaseProperties;
     }
 
+    /**
+     * 线程池直接注入而不是通过ObjectProvider获取，使容器记录依赖关系，关闭时先销毁HBaseTemplate，
+     * 写入剩余的计数器增量和spool数据后再关闭线程池
+     */
     @Bean
     @ConditionalOnMissingBean(HBaseTemplate.class)
-    public HBaseTemplate hbaseTemplate() {
+    public HBaseTemplate hbaseTemplate(@Qualifier(EXECUTOR_BEAN_NAME) @Nullable ExecutorService hbaseExecutor,
+                                       ObjectProvider<CounterFlushListener> counterFlushListener,
+                                       ObjectProvider<BulkDeleteEndpoint> bulkDeleteEndpoint,
+                                       ObjectProvider<ScanMetricsListener> scanMetricsListener,
+                                       ObjectProvider<HBaseTracer> hbaseTracer) {
+        final HBaseProperties.Mutator mutator = hbaseProperties.getMutator();
+        final HBaseTemplate hbaseTemplate = new HBaseTemplate(this.hbaseConfiguration());
+        hbaseTemplate.setExecutorService(hbaseExecutor);
+        hbaseTemplate.setScanProfiles(scanProfiles());
+        hbaseTemplate.setMutatorSettings(mutatorSettings(mutator.getWriteBufferSize(), mutator.getPeriodicFlushInterval()));
+        hbaseTemplate.setTableMutatorSettings(tableMutatorSettings());
+        hbaseTemplate.setCounterSettings(hbaseProperties.getCounter().getFlushInterval().toMillis(),
+                hbaseProperties.getCounter().getMaxPending(), counterFlushListener.getIfAvailable());
+        hbaseTemplate.setBatchRetrySettings(hbaseProperties.getBatch().getMaxRetries(),
+                hbaseProperties.getBatch().getRetryPause().toMillis());
+        hbaseTemplate.setBulkDeleteEndpoint(bulkDeleteEndpoint.getIfAvailable());
+        hbaseTemplate.setTracer(hbaseTracer.getIfAvailable());
+        hbaseTemplate.setSlowOperationLog(slowOperationLog(scanMetricsListener.getIfAvailable()));
+        if (hbaseProperties.getResilience().isEnabled()) {
+            hbaseTemplate.setRegionServerGuard(regionServerGuard());
+        }
+        final HBaseProperties.Quota quota = hbaseProperties.getQuota();
+        if (quota.isEnabled()) {
+            hbaseTemplate.setQuotaManager(new QuotaManager(quota.getTables(), quota.getCallers(), quota.getMode(), quota.getMaxWait().toMillis()));
+        }
+        final HBaseProperties.Spool spool = hbaseProperties.getSpool();
+        if (spool.isEnabled()) {
+            hbaseTemplate.setWriteSpool(writeSpool(spool), spool.getRetryBackoff().toMillis());
+        }
+        if (mutator.isCoalesce()) {
+            hbaseTemplate.setMutationCoalescer(new MutationCoalescer(mutator.isSortByRow()));
+        }
+        return hbaseTemplate;
+    }
+
+    /**
+     * HBase连接使用的有界线程池，可以定义同名bean替换
+     */
+    @Bean(name = EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    @ConditionalOnMissingBean(name = EXECUTOR_BEAN_NAME)
+    @ConditionalOnProperty(prefix = "spring.data.hbase.executor", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public InstrumentedThreadPoolExecutor hbaseExecutor() {
+        final HBaseProperties.Executor executor = hbaseProperties.getExecutor();
+        final int coreSize = executor.getCoreSize() != null ? executor.getCoreSize() : hbaseProperties.getConnectionThreadsCore();
+        int maxSize = DEFAULT_EXECUTOR_MAX_SIZE;
+        if (executor.getMaxSize() != null) {
+            maxSize = executor.getMaxSize();
+        } else if (hbaseProperties.getConnectionThreadsMax() != null) {
+            maxSize = hbaseProperties.getConnectionThreadsMax();
+        }
+        return new InstrumentedThreadPoolExecutor(coreSize, Math.max(coreSize, maxSize),
+                executor.getKeepAlive().toMillis(), executor.getQueueCapacity(),
+                executor.getRejectionPolicy(), executor.getBlockTimeout().toMillis(),
+                executor.getThreadType(), executor.getThreadNamePrefix());
+    }
+
+    private Configuration hbaseConfiguration() {
         Configuration configuration = HBaseConfiguration.create();
         configuration.set("hbase.zookeeper.quorum", this.hbaseProperties.getQuorum());
         configuration.set("hbase.rootdir", hbaseProperties.getRootDir());
         configuration.set("zookeeper.znode.parent", hbaseProperties.getNodeParent());
-        configuration.set("hbase.client.scanner.caching", hbaseProperties.getScannerCaching());
-        configuration.set("hbase.client.scanner.timeout.period", hbaseProperties.getScannerTimeoutPeriod());
-        configuration.set("hbase.client.retries.number", hbaseProperties.getRetriesNumber());
-        configuration.set("hbase.rpc.timeout", hbaseProperties.getRpcTimeout());
-        configuration.set("hbase.hconnection.threads.core", hbaseProperties.getConnectionThreadsCore());
+        configuration.setInt("hbase.client.scanner.caching", hbaseProperties.getScannerCaching());
+        configuration.setLong("hbase.client.scanner.timeout.period", hbaseProperties.getScannerTimeoutPeriod().toMillis());
+        configuration.setInt("hbase.client.retries.number", hbaseProperties.getRetriesNumber());
+        configuration.setLong("hbase.rpc.timeout", hbaseProperties.getRpcTimeout().toMillis());
+        configuration.setInt("hbase.hconnection.threads.core", hbaseProperties.getConnectionThreadsCore());
+        setIfPresent(configuration, "hbase.client.operation.timeout", hbaseProperties.getOperationTimeout());
+        setIfPresent(configuration, "hbase.client.pause", hbaseProperties.getPause());
+        if (hbaseProperties.getConnectionThreadsMax() != null) {
+            configuration.setInt("hbase.hconnection.threads.max", hbaseProperties.getConnectionThreadsMax());
+        }
+        if (hbaseProperties.getConnectionThreadsKeepAlive() != null) {
+            configuration.setLong("hbase.hconnection.threads.keepalivetime", hbaseProperties.getConnectionThreadsKeepAlive().getSeconds());
+        }
+
+        final HBaseProperties.MetaCache metaCache = hbaseProperties.getMetaCache();
+        setIfPresent(configuration, "hbase.client.meta.operation.timeout", metaCache.getOperationTimeout());
+        if (metaCache.getScannerCaching() != null) {
+            configuration.setInt("hbase.meta.scanner.caching", metaCache.getScannerCaching());
+        }
+        if (metaCache.getUseReplicas() != null) {
+            configuration.setBoolean("hbase.meta.replicas.use", metaCache.getUseReplicas());
+        }
+
+        final HBaseProperties.Ipc ipc = hbaseProperties.getIpc();
+        if (ipc.getPoolSize() != null) {
+            configuration.setInt("hbase.client.ipc.pool.size", ipc.getPoolSize());
+        }
+        if (ipc.getPoolType() != null) {
+            configuration.set("hbase.client.ipc.pool.type", ipc.getPoolType().getValue());
+        }
+        setIfPresent(configuration, "hbase.ipc.client.connection.maxidletime", ipc.getConnectionMaxIdleTime());
+        if (ipc.getTcpNoDelay() != null) {
+            configuration.setBoolean("hbase.ipc.client.tcpnodelay", ipc.getTcpNoDelay());
+        }
+
+        final HBaseProperties.Mutator mutator = hbaseProperties.getMutator();
+        configuration.setLong("hbase.client.write.buffer", mutator.getWriteBufferSize().toBytes());
+        if (mutator.getMaxKeyValueSize() != null) {
+            configuration.setLong("hbase.client.keyvalue.maxsize", mutator.getMaxKeyValueSize().toBytes());
+        }
 
         // 设置其他自定义配置
         hbaseProperties.getProperties().forEach(configuration::set);
-        return new HBaseTemplate(configuration);
+        return configuration;
     }
 
+    private static void setIfPresent(Configuration configuration, String name, Duration duration) {
+        if (duration != null) {
+            configuration.setLong(name, duration.toMillis());
+        }
+    }
+
+    private Map<String, MutatorSettings> tableMutatorSettings() {
+        final HBaseProperties.Mutator mutator = hbaseProperties.getMutator();
+        final Map<String, MutatorSettings> settings = new HashMap<>(16);
+        hbaseProperties.getTables().forEach((tableName, table) -> {
+            if (table.getWriteBufferSize() != null || table.getPeriodicFlushInterval() != null) {
+                settings.put(tableName, mutatorSettings(
+                        table.getWriteBufferSize() != null ? table.getWriteBufferSize() : mutator.getWriteBufferSize(),
+                        table.getPeriodicFlushInterval() != null ? table.getPeriodicFlushInterval() : mutator.getPeriodicFlushInterval()));
+            }
+        });
+        return settings;
+    }
+
+    private static MutatorSettings mutatorSettings(DataSize writeBufferSize, Duration periodicFlushInterval) {
+        return new MutatorSettings(writeBufferSize.toBytes(), periodicFlushInterval == null ? 0 : periodicFlushInterval.toMillis());
+    }
+
+    private RegionServerGuard regionServerGuard() {
+        final HBaseProperties.Resilience resilience = hbaseProperties.getResilience();
+        final CircuitBreakerSettings settings = new CircuitBreakerSettings(resilience.getFailureRateThreshold(),
+                resilience.getSlowCallThreshold().toMillis(), resilience.getMinimumCalls(), resilience.getWindowSize(),
+                resilience.getOpenDuration().toMillis());
+        final Duration deadline = resilience.getOperationDeadline() != null
+                ? resilience.getOperationDeadline() : hbaseProperties.getOperationTimeout();
+        return new RegionServerGuard(settings,
+                new RetryBudget(resilience.getRetryBudgetRatio(), resilience.getRetryBudgetMinPerSecond()),
+                deadline == null ? 0 : (int) deadline.toMillis(), (int) hbaseProperties.getRpcTimeout().toMillis());
+    }
+
+    private static WriteSpool writeSpool(HBaseProperties.Spool spool) {
+        try {
+            return new WriteSpool(Paths.get(spool.getDirectory()), (int) spool.getSegmentSize().toBytes(),
+                    spool.getMaxSegments(), spool.isFsync());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to open hbase write spool in " + spool.getDirectory(), e);
+        }
+    }
+
+    private SlowOperationLog slowOperationLog(ScanMetricsListener scanMetricsListener) {
+        final HBaseProperties.Diagnostics diagnostics = hbaseProperties.getDiagnostics();
+        if (!diagnostics.isScanMetrics() && diagnostics.getSlowThreshold() == null) {
+            return null;
+        }
+        final SlowOperationLog slowOperationLog = new SlowOperationLog(
+                diagnostics.getSlowThreshold() == null ? 0 : diagnostics.getSlowThreshold().toMillis(), diagnostics.isScanMetrics());
+        slowOperationLog.setScanMetricsListener(scanMetricsListener);
+        return slowOperationLog;
+    }
+
+    private ScanProfiles scanProfiles() {
+        final ScanProfiles scanProfiles = new ScanProfiles();
+        hbaseProperties.getScanProfiles().forEach(scanProfiles::register);
+        hbaseProperties.getTables().forEach((tableName, table) -> {
+            if (table.getScanProfile() != null) {
+                scanProfiles.bindTable(tableName, table.getScanProfile());
+            }
+        });
+        return scanProfiles;
+    }
+
+    /**
+     * 开启tracing后由span记录耗时，不再注册该切面
+     */
     @Bean
+    @ConditionalOnMissingBean(TimeKeepingAspect.class)
+    @ConditionalOnProperty(prefix = "spring.data.hbase.tracing", name = "enabled", havingValue = "false", matchIfMissing = true)
     public TimeKeepingAspect timeKeepingAspect() {
         return new TimeKeepingAspect();
     }
+
+    /**
+     * 按{@link com.spring4all.spring.boot.starter.hbase.quota.HBaseCaller}设置调用方
+     */
+    @Bean
+    @ConditionalOnMissingBean(HBaseCallerAspect.class)
+    @ConditionalOnProperty(prefix = "spring.data.hbase.quota", name = "enabled", havingValue = "true")
+    public HBaseCallerAspect hbaseCallerAspect() {
+        return new HBaseCallerAspect();
+    }
+
+    /**
+     * 按{@link com.spring4all.spring.boot.starter.hbase.write.HBaseBatch}合并方法内的写入
+     */
+    @Bean
+    @ConditionalOnMissingBean(HBaseBatchAspect.class)
+    public HBaseBatchAspect hbaseBatchAspect(HBaseTemplate hbaseTemplate) {
+        return new HBaseBatchAspect(hbaseTemplate);
+    }
+
+    /**
+     * 未使用{@link com.spring4all.spring.boot.starter.hbase.repository.EnableHBaseRepositories}时扫描spring boot应用所在的包
+     */
+    @org.springframework.context.annotation.Configuration
+    @ConditionalOnMissingBean(HBaseRepositoryFactoryBean.class)
+    @ConditionalOnProperty(prefix = "spring.data.hbase.repositories", name = "enabled", havingValue = "true", matchIfMissing = true)
+    @Import(HBaseRepositoriesRegistrar.class)
+    static class HBaseRepositoriesConfiguration {
+    }
+
+    @org.springframework.context.annotation.Configuration
+    @ConditionalOnProperty(prefix = "spring.data.hbase.cache", name = "enabled", havingValue = "true")
+    static class HBaseCacheConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(CacheManager.class)
+        public HBaseCacheManager hbaseCacheManager(HBaseTemplate hbaseTemplate, HBaseProperties hbaseProperties) {
+            final HBaseProperties.Cache cache = hbaseProperties.getCache();
+            return new HBaseCacheManager(hbaseTemplate, cache.getDefaults(), cache.getCaches());
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    @ConditionalOnClass(name = "io.opentelemetry.api.OpenTelemetry")
+    @ConditionalOnProperty(prefix = "spring.data.hbase.tracing", name = "enabled", havingValue = "true")
+    static class HBaseTracingConfiguration {
+
+        /**
+         * 优先使用容器中的OpenTelemetry，否则使用GlobalOpenTelemetry
+         */
+        @Bean
+        @ConditionalOnMissingBean(HBaseTracer.class)
+        public HBaseTracer hbaseTracer(HBaseProperties hbaseProperties, ObjectProvider<OpenTelemetry> openTelemetry) {
+            return new OpenTelemetryHBaseTracer(openTelemetry.getIfAvailable(GlobalOpenTelemetry::get),
+                    hbaseProperties.getTracing().getSamplingRatio());
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class HBaseMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public HBaseClientMetrics hbaseClientMetrics(HBaseTemplate hbaseTemplate,
+                                                     @Qualifier(EXECUTOR_BEAN_NAME) @Nullable ExecutorService hbaseExecutor) {
+            return new HBaseClientMetrics(hbaseTemplate, hbaseExecutor);
+        }
+    }
 }
@@ -1,9 +1,23 @@
 package com.spring4all.spring.boot.starter.hbase.boot;
 
+import com.spring4all.spring.boot.starter.hbase.cache.HBaseCacheSettings;
+import com.spring4all.spring.boot.starter.hbase.executor.RejectionPolicy;
+import com.spring4all.spring.boot.starter.hbase.executor.ThreadType;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaLimits;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaMode;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanProfile;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.convert.DataSizeUnit;
+import org.springframework.boot.convert.DurationUnit;
+import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
+import org.springframework.util.unit.DataUnit;
 
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -17,42 +31,608 @@ import java.util.Map;
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "spring.data.hbase")
-public class HBaseProperties {
+public class HBaseProperties implements InitializingBean {
 
     private String quorum;
 
     /**
      * HBase scanner一次从服务端抓取的数据条数
      */
-    private String scannerCaching = "1000";
+    private int scannerCaching = 1000;
 
     /**
-     * scan超时时间(MS)
+     * scan超时时间，不带单位时为毫秒
      */
-    private String scannerTimeoutPeriod = "30000";
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration scannerTimeoutPeriod = Duration.ofSeconds(30);
 
     /**
-     * RPC超时时间(MS)
+     * RPC超时时间，不带单位时为毫秒
      */
-    private String rpcTimeout = "30000";
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration rpcTimeout = Duration.ofSeconds(30);
+
+    /**
+     * 单次操作(包含重试)的总超时时间，不带单位时为毫秒，为空时使用HBase默认值
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration operationTimeout;
 
     /**
      * 重试次数
      */
-    private String retriesNumber = "5";
+    private int retriesNumber = 5;
+
+    /**
+     * 重试的基础等待时间，不带单位时为毫秒，为空时使用HBase默认值
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration pause;
 
     /**
      * 连接池默认核心连接数
      */
-    private String connectionThreadsCore = "32";
+    private int connectionThreadsCore = 32;
+
+    /**
+     * 连接池最大线程数，为空时使用HBase默认值
+     */
+    private Integer connectionThreadsMax;
+
+    /**
+     * 连接池空闲线程存活时间，不带单位时为秒，为空时使用HBase默认值
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration connectionThreadsKeepAlive;
 
     private String rootDir = "/hbase";
 
     private String nodeParent = "/hbase";
 
+    /**
+     * meta表及region位置缓存
+     */
+    private MetaCache metaCache = new MetaCache();
+
+    /**
+     * IPC客户端连接池
+     */
+    private Ipc ipc = new Ipc();
+
+    /**
+     * BufferedMutator写缓冲
+     */
+    private Mutator mutator = new Mutator();
+
+    /**
+     * 连接使用的客户端线程池
+     */
+    private Executor executor = new Executor();
+
+    /**
+     * 客户端计数器合并
+     */
+    private Counter counter = new Counter();
+
+    /**
+     * 慢操作日志及scan指标
+     */
+    private Diagnostics diagnostics = new Diagnostics();
+
+    /**
+     * OpenTelemetry追踪
+     */
+    private Tracing tracing = new Tracing();
+
+    /**
+     * 本地写入spool
+     */
+    private Spool spool = new Spool();
+
+    /**
+     * region server熔断及重试预算
+     */
+    private Resilience resilience = new Resilience();
+
+    /**
+     * 混合批量操作
+     */
+    private Batch batch = new Batch();
+
+    /**
+     * 按表、按调用方的客户端限额
+     */
+    private Quota quota = new Quota();
+
+    /**
+     * 实体仓库
+     */
+    private Repositories repositories = new Repositories();
+
+    /**
+     * 基于HBase的spring cache
+     */
+    private Cache cache = new Cache();
 
     /**
      * Additional properties used to configure the client.
      */
     private Map<String, String> properties = new HashMap<>();
+
+    /**
+     * 命名的scan配置，与内置的point、page、export同名时合并覆盖
+     */
+    private Map<String, ScanProfile> scanProfiles = new HashMap<>();
+
+    /**
+     * 按表名配置
+     */
+    private Map<String, TableProperties> tables = new HashMap<>();
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.isTrue(scannerCaching > 0, "spring.data.hbase.scanner-caching must be positive");
+        Assert.isTrue(retriesNumber >= 0, "spring.data.hbase.retries-number must not be negative");
+        Assert.isTrue(connectionThreadsCore > 0, "spring.data.hbase.connection-threads-core must be positive");
+        Assert.isTrue(connectionThreadsMax == null || connectionThreadsMax >= connectionThreadsCore,
+                "spring.data.hbase.connection-threads-max must not be less than connection-threads-core");
+        assertPositive(scannerTimeoutPeriod, "scanner-timeout-period");
+        assertPositive(rpcTimeout, "rpc-timeout");
+        assertPositive(operationTimeout, "operation-timeout");
+        Assert.isTrue(ipc.getPoolSize() == null || ipc.getPoolSize() > 0, "spring.data.hbase.ipc.pool-size must be positive");
+        assertPositive(mutator.getWriteBufferSize(), "mutator.write-buffer-size");
+        Assert.isTrue(executor.getQueueCapacity() > 0, "spring.data.hbase.executor.queue-capacity must be positive");
+        Assert.isTrue(executor.getCoreSize() == null || executor.getCoreSize() > 0, "spring.data.hbase.executor.core-size must be positive");
+        Assert.isTrue(executor.getMaxSize() == null || executor.getMaxSize() > 0, "spring.data.hbase.executor.max-size must be positive");
+        assertPositive(counter.getFlushInterval(), "counter.flush-interval");
+        Assert.isTrue(counter.getMaxPending() > 0, "spring.data.hbase.counter.max-pending must be positive");
+        assertPositive(diagnostics.getSlowThreshold(), "diagnostics.slow-threshold");
+        if (spool.isEnabled()) {
+            Assert.hasText(spool.getDirectory(), "spring.data.hbase.spool.directory must be set when spool is enabled");
+            Assert.isTrue(spool.getSegmentSize().toBytes() > 0 && spool.getSegmentSize().toBytes() <= Integer.MAX_VALUE,
+                    "spring.data.hbase.spool.segment-size must be positive and less than 2GB");
+            Assert.isTrue(spool.getMaxSegments() > 0, "spring.data.hbase.spool.max-segments must be positive");
+            assertPositive(spool.getRetryBackoff(), "spool.retry-backoff");
+        }
+        Assert.isTrue(tracing.getSamplingRatio() >= 0 && tracing.getSamplingRatio() <= 1,
+                "spring.data.hbase.tracing.sampling-ratio must be between 0 and 1");
+        if (resilience.isEnabled()) {
+            Assert.isTrue(resilience.getFailureRateThreshold() > 0 && resilience.getFailureRateThreshold() <= 1,
+                    "spring.data.hbase.resilience.failure-rate-threshold must be between 0 and 1");
+            Assert.isTrue(resilience.getWindowSize() > 0, "spring.data.hbase.resilience.window-size must be positive");
+            assertPositive(resilience.getSlowCallThreshold(), "resilience.slow-call-threshold");
+            assertPositive(resilience.getOpenDuration(), "resilience.open-duration");
+            assertPositive(resilience.getOperationDeadline(), "resilience.operation-deadline");
+        }
+        Assert.isTrue(batch.getMaxRetries() >= 0, "spring.data.hbase.batch.max-retries must not be negative");
+        Assert.notNull(batch.getRetryPause(), "spring.data.hbase.batch.retry-pause must not be null");
+        if (quota.isEnabled()) {
+            Assert.notNull(quota.getMode(), "spring.data.hbase.quota.mode must not be null");
+            Assert.isTrue(quota.getMaxWait() != null && !quota.getMaxWait().isNegative(), "spring.data.hbase.quota.max-wait must not be negative");
+            quota.getTables().forEach((tableName, limits) -> assertPositive(limits, "quota.tables." + tableName));
+            quota.getCallers().forEach((caller, limits) -> assertPositive(limits, "quota.callers." + caller));
+        }
+        if (cache.isEnabled()) {
+            assertValid(cache.getDefaults(), "cache.defaults");
+            cache.getCaches().forEach((name, settings) -> assertValid(settings, "cache.caches." + name));
+        }
+        tables.forEach((tableName, table) -> assertPositive(table.getWriteBufferSize(), "tables." + tableName + ".write-buffer-size"));
+    }
+
+    private static void assertPositive(Duration duration, String name) {
+        Assert.isTrue(duration == null || !duration.isNegative() && !duration.isZero(), "spring.data.hbase." + name + " must be positive");
+    }
+
+    private static void assertPositive(DataSize size, String name) {
+        Assert.isTrue(size == null || size.toBytes() > 0, "spring.data.hbase." + name + " must be positive");
+    }
+
+    private static void assertPositive(QuotaLimits limits, String name) {
+        Assert.isTrue(limits.getReadRequestsPerSecond() == null || limits.getReadRequestsPerSecond() > 0,
+                "spring.data.hbase." + name + ".read-requests-per-second must be positive");
+        assertPositive(limits.getWriteBytesPerSecond(), name + ".write-bytes-per-second");
+        Assert.isTrue(limits.getScanRowsPerSecond() == null || limits.getScanRowsPerSecond() > 0,
+                "spring.data.hbase." + name + ".scan-rows-per-second must be positive");
+    }
+
+    private static void assertValid(HBaseCacheSettings settings, String name) {
+        Assert.hasText(settings.getTableName(), "spring.data.hbase." + name + ".table-name must not be empty");
+        Assert.hasText(settings.getFamily(), "spring.data.hbase." + name + ".family must not be empty");
+        assertPositive(settings.getTtl(), name + ".ttl");
+        Assert.isTrue(settings.getNearCacheSize() >= 0, "spring.data.hbase." + name + ".near-cache-size must not be negative");
+    }
+
+    @Getter
+    @Setter
+    public static class MetaCache {
+
+        /**
+         * meta表操作超时时间，不带单位时为毫秒，为空时使用HBase默认值
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration operationTimeout;
+
+        /**
+         * 扫描meta表时一次抓取的条数，为空时使用HBase默认值
+         */
+        private Integer scannerCaching;
+
+        /**
+         * 是否读取meta表副本，为空时使用HBase默认值
+         */
+        private Boolean useReplicas;
+    }
+
+    @Getter
+    @Setter
+    public static class Ipc {
+
+        /**
+         * 每个region server的连接数，为空时使用HBase默认值
+         */
+        private Integer poolSize;
+
+        /**
+         * 连接池类型，为空时使用HBase默认值
+         */
+        private PoolType poolType;
+
+        /**
+         * 空闲连接的最大存活时间，不带单位时为毫秒，为空时使用HBase默认值
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration connectionMaxIdleTime;
+
+        /**
+         * 是否开启TCP_NODELAY，为空时使用HBase默认值
+         */
+        private Boolean tcpNoDelay;
+    }
+
+    @Getter
+    @Setter
+    public static class Mutator {
+
+        /**
+         * 写缓冲大小，不带单位时为字节
+         */
+        @DataSizeUnit(DataUnit.BYTES)
+        private DataSize writeBufferSize = DataSize.ofMegabytes(3);
+
+        /**
+         * 定时flush间隔，回调执行时间较长时按该间隔将缓冲区写入服务端，为空时不开启
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration periodicFlushInterval;
+
+        /**
+         * 单个cell最大字节数，为空时使用HBase默认值
+         */
+        @DataSizeUnit(DataUnit.BYTES)
+        private DataSize maxKeyValueSize;
+
+        /**
+         * saveOrUpdates写入前是否合并同一行的Put并丢弃被后续Delete覆盖的cell
+         */
+        private boolean coalesce = false;
+
+        /**
+         * 合并时是否按rowKey排序
+         */
+        private boolean sortByRow = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Executor {
+
+        /**
+         * 是否由starter创建有界线程池传给HBase连接，关闭时由HBase按hbase.hconnection.threads.*创建
+         */
+        private boolean enabled = true;
+
+        /**
+         * 核心线程数，为空时使用spring.data.hbase.connection-threads-core
+         */
+        private Integer coreSize;
+
+        /**
+         * 最大线程数，为空时使用spring.data.hbase.connection-threads-max，均为空时为256
+         */
+        private Integer maxSize;
+
+        /**
+         * 队列长度
+         */
+        private int queueCapacity = 1024;
+
+        /**
+         * 空闲线程存活时间，不带单位时为秒
+         */
+        @DurationUnit(ChronoUnit.SECONDS)
+        private Duration keepAlive = Duration.ofSeconds(60);
+
+        /**
+         * 队列已满时的拒绝策略
+         */
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+        /**
+         * BLOCK策略下的最大等待时间，不带单位时为毫秒
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration blockTimeout = Duration.ofSeconds(30);
+
+        /**
+         * 线程类型，VIRTUAL需要JDK 21及以上
+         */
+        private ThreadType threadType = ThreadType.PLATFORM;
+
+        /**
+         * 线程名前缀
+         */
+        private String threadNamePrefix = "hbase-client-";
+    }
+
+    @Getter
+    @Setter
+    public static class Counter {
+
+        /**
+         * 定时flush间隔，不带单位时为毫秒
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration flushInterval = Duration.ofSeconds(1);
+
+        /**
+         * 两次flush之间累计多少次increment后提前flush
+         */
+        private long maxPending = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class Diagnostics {
+
+        /**
+         * 是否为每次scan采集HBase ScanMetrics(RPC次数、region数、返回字节数等)
+         */
+        private boolean scanMetrics = false;
+
+        /**
+         * 慢操作阈值，耗时超过该值的操作输出到慢操作日志，不带单位时为毫秒，为空时不开启
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration slowThreshold;
+    }
+
+    @Getter
+    @Setter
+    public static class Tracing {
+
+        /**
+         * 是否为HBaseTemplate的操作创建OpenTelemetry span，开启后不再注册TimeKeepingAspect
+         */
+        private boolean enabled = false;
+
+        /**
+         * 没有父span时的采样率，存在父span时跟随父span的采样结果
+         */
+        private double samplingRatio = 1.0;
+    }
+
+    @Getter
+    @Setter
+    public static class Spool {
+
+        /**
+         * 是否开启，开启后写入失败的数据暂存到本地磁盘，由后台线程按顺序重放
+         */
+        private boolean enabled = false;
+
+        /**
+         * spool目录，同一目录只能由一个应用实例使用
+         */
+        private String directory;
+
+        /**
+         * 单个segment文件大小，单批写入序列化后不能超过该值
+         */
+        @DataSizeUnit(DataUnit.MEGABYTES)
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * segment文件数上限，超过后写入直接失败
+         */
+        private int maxSegments = 16;
+
+        /**
+         * 每次追加后是否强制刷盘
+         */
+        private boolean fsync = false;
+
+        /**
+         * 重放失败后的初始等待时间，连续失败时翻倍，不带单位时为毫秒
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration retryBackoff = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Resilience {
+
+        /**
+         * 是否开启，开启后get、multiGet、batch按region server熔断
+         */
+        private boolean enabled = false;
+
+        /**
+         * 失败率(含慢调用)达到该值时熔断
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * 耗时超过该值的调用计为慢调用，不带单位时为毫秒
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+        /**
+         * 统计窗口内最少的调用次数
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * 统计最近多少次调用
+         */
+        private int windowSize = 100;
+
+        /**
+         * 熔断持续时间，之后放行一次试探调用，不带单位时为毫秒
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /**
+         * 单次操作(包含客户端重试)的总超时，不带单位时为毫秒，为空时使用spring.data.hbase.operation-timeout
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration operationDeadline;
+
+        /**
+         * 每次成功调用存入的重试令牌数
+         */
+        private double retryBudgetRatio = 0.1;
+
+        /**
+         * 每秒固定补充的重试令牌数
+         */
+        private double retryBudgetMinPerSecond = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        /**
+         * HBase客户端重试耗尽后，失败操作重新提交的最大次数，Increment、Append不会重新提交
+         */
+        private int maxRetries = 1;
+
+        /**
+         * 重新提交的基础等待时间，按次数线性增加，不带单位时为毫秒
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration retryPause = Duration.ofMillis(100);
+    }
+
+    @Getter
+    @Setter
+    public static class Quota {
+
+        /**
+         * 是否开启客户端限额
+         */
+        private boolean enabled = false;
+
+        /**
+         * 超过限额时等待令牌(block)或直接失败(reject)
+         */
+        private QuotaMode mode = QuotaMode.BLOCK;
+
+        /**
+         * block模式下等待令牌的最长时间，超过时失败，不带单位时为毫秒
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration maxWait = Duration.ofSeconds(5);
+
+        /**
+         * 按表名配置的限额
+         */
+        private Map<String, QuotaLimits> tables = new HashMap<>();
+
+        /**
+         * 按调用方配置的限额，调用方通过CallerContext或@HBaseCaller指定
+         */
+        private Map<String, QuotaLimits> callers = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Repositories {
+
+        /**
+         * 是否自动扫描spring boot应用所在包下的HBaseRepository接口
+         */
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        /**
+         * 是否注册HBaseCacheManager，容器中已有CacheManager时不注册
+         */
+        private boolean enabled = false;
+
+        /**
+         * 未单独配置的缓存使用的配置
+         */
+        private HBaseCacheSettings defaults = new HBaseCacheSettings();
+
+        /**
+         * 按缓存名配置，启动时创建
+         */
+        private Map<String, HBaseCacheSettings> caches = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class TableProperties {
+
+        /**
+         * 该表find操作默认使用的scan配置名
+         */
+        private String scanProfile;
+
+        /**
+         * 该表的写缓冲大小，为空时使用spring.data.hbase.mutator.write-buffer-size
+         */
+        @DataSizeUnit(DataUnit.BYTES)
+        private DataSize writeBufferSize;
+
+        /**
+         * 该表的定时flush间隔，为空时使用spring.data.hbase.mutator.periodic-flush-interval
+         */
+        @DurationUnit(ChronoUnit.MILLIS)
+        private Duration periodicFlushInterval;
+    }
+
+    /**
+     * IPC连接池类型
+     */
+    public enum PoolType {
+
+        /**
+         * 轮询使用连接
+         */
+        ROUND_ROBIN("RoundRobin"),
+
+        /**
+         * 每个线程使用独立连接
+         */
+        THREAD_LOCAL("ThreadLocal");
+
+        private final String value;
+
+        PoolType(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
 }
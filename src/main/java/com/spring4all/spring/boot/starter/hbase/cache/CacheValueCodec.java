@@ -0,0 +1,114 @@
+package com.spring4all.spring.boot.starter.hbase.cache;
+
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodec;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodecs;
+import org.springframework.cache.support.NullValue;
+import org.springframework.util.Assert;
+import org.springframework.util.SerializationUtils;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * 缓存值的编解码器
+ * <p>
+ * 格式：1字节类型标志 + 数据。String、数值、日期等常用类型使用{@link ValueCodecs}的二进制编码，
+ * 其他类型需要实现{@link Serializable}，使用java序列化。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class CacheValueCodec implements ValueCodec<Object> {
+
+    private static final byte NULL = 0;
+
+    private static final byte STRING = 1;
+
+    private static final byte BYTES = 2;
+
+    private static final byte INT = 3;
+
+    private static final byte LONG = 4;
+
+    private static final byte DOUBLE = 5;
+
+    private static final byte BOOLEAN = 6;
+
+    private static final byte BIG_DECIMAL = 7;
+
+    private static final byte DATE = 8;
+
+    private static final byte SERIALIZED = 127;
+
+    @Override
+    public byte[] encode(Object value) {
+        if (value == NullValue.INSTANCE) {
+            return new byte[]{NULL};
+        }
+        if (value instanceof String) {
+            return tagged(STRING, ValueCodecs.STRING.encode((String) value));
+        }
+        if (value instanceof byte[]) {
+            return tagged(BYTES, (byte[]) value);
+        }
+        if (value instanceof Integer) {
+            return tagged(INT, ValueCodecs.VAR_INT.encode((Integer) value));
+        }
+        if (value instanceof Long) {
+            return tagged(LONG, ValueCodecs.VAR_LONG.encode((Long) value));
+        }
+        if (value instanceof Double) {
+            return tagged(DOUBLE, ValueCodecs.DOUBLE.encode((Double) value));
+        }
+        if (value instanceof Boolean) {
+            return tagged(BOOLEAN, ValueCodecs.BOOLEAN.encode((Boolean) value));
+        }
+        if (value instanceof BigDecimal) {
+            return tagged(BIG_DECIMAL, ValueCodecs.BIG_DECIMAL.encode((BigDecimal) value));
+        }
+        if (value.getClass() == Date.class) {
+            return tagged(DATE, ValueCodecs.DATE.encode((Date) value));
+        }
+        Assert.isInstanceOf(Serializable.class, value, "Cache value must be Serializable");
+        return tagged(SERIALIZED, SerializationUtils.serialize(value));
+    }
+
+    @Override
+    public Object decode(byte[] bytes) {
+        Assert.isTrue(bytes.length > 0, "Malformed cache value");
+        final byte[] data = new byte[bytes.length - 1];
+        System.arraycopy(bytes, 1, data, 0, data.length);
+        switch (bytes[0]) {
+            case NULL:
+                return NullValue.INSTANCE;
+            case STRING:
+                return ValueCodecs.STRING.decode(data);
+            case BYTES:
+                return data;
+            case INT:
+                return ValueCodecs.VAR_INT.decode(data);
+            case LONG:
+                return ValueCodecs.VAR_LONG.decode(data);
+            case DOUBLE:
+                return ValueCodecs.DOUBLE.decode(data);
+            case BOOLEAN:
+                return ValueCodecs.BOOLEAN.decode(data);
+            case BIG_DECIMAL:
+                return ValueCodecs.BIG_DECIMAL.decode(data);
+            case DATE:
+                return ValueCodecs.DATE.decode(data);
+            case SERIALIZED:
+                return SerializationUtils.deserialize(data);
+            default:
+                throw new IllegalArgumentException("Unknown cache value type: " + bytes[0]);
+        }
+    }
+
+    private static byte[] tagged(byte tag, byte[] data) {
+        final byte[] bytes = new byte[data.length + 1];
+        bytes[0] = tag;
+        System.arraycopy(data, 0, bytes, 1, data.length);
+        return bytes;
+    }
+}
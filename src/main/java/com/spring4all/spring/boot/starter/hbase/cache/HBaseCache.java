@@ -0,0 +1,276 @@
+package com.spring4all.spring.boot.starter.hbase.cache;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodec;
+import com.spring4all.spring.boot.starter.hbase.delete.RangeDeleteRequest;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 存放在HBase中的缓存，rowKey为"缓存名:key"，值写入一列，cell时间戳作为版本
+ * <p>
+ * 近端缓存命中且距上次校验不超过nearCacheRefresh时直接返回；超过时只读取cell的时间戳(不返回值)，
+ * 版本一致则继续使用近端缓存，不一致或已被删除时重新读取。本实例的写入、删除同时更新近端缓存。
+ * 版本使用本机时间生成，多个实例时钟偏差较大时，较早时间戳的写入会被HBase视为旧版本。
+ * 删除同样使用生成的版本作为时间戳，不会用服务端时间的删除标记遮住本实例之后写入的值。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseCache extends AbstractValueAdaptingCache {
+
+    private static final byte[] VALUE = Bytes.toBytes("v");
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final String name;
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final String tableName;
+
+    private final byte[] family;
+
+    private final long ttlMs;
+
+    private final long refreshMs;
+
+    private final ValueCodec<Object> codec;
+
+    private final NearCache nearCache;
+
+    private final Object[] loadLocks = new Object[LOCK_STRIPES];
+
+    private final AtomicLong lastVersion = new AtomicLong();
+
+    private final LongAdder nearHits = new LongAdder();
+
+    private final LongAdder remoteHits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder revalidations = new LongAdder();
+
+    public HBaseCache(String name, HBaseTemplate hbaseTemplate, HBaseCacheSettings settings, ValueCodec<Object> codec) {
+        super(settings.isAllowNullValues());
+        Assert.hasText(name, "Cache name must not be empty");
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        Assert.notNull(codec, "ValueCodec must not be null");
+        this.name = name;
+        this.hbaseTemplate = hbaseTemplate;
+        this.tableName = settings.getTableName();
+        this.family = Bytes.toBytes(settings.getFamily());
+        this.ttlMs = settings.getTtl() == null ? 0 : settings.getTtl().toMillis();
+        this.refreshMs = settings.getNearCacheRefresh() == null ? 0 : settings.getNearCacheRefresh().toMillis();
+        this.codec = codec;
+        this.nearCache = settings.getNearCacheSize() > 0 ? new NearCache(settings.getNearCacheSize()) : null;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            loadLocks[i] = new Object();
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public HBaseTemplate getNativeCache() {
+        return hbaseTemplate;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        final String cacheKey = cacheKey(key);
+        final long now = System.currentTimeMillis();
+        if (nearCache != null) {
+            final NearCache.Entry entry = nearCache.get(cacheKey);
+            if (entry != null) {
+                if (entry.expireAt > now) {
+                    if (now - entry.checkedAt <= refreshMs) {
+                        nearHits.increment();
+                        return entry.value;
+                    }
+                    if (this.revalidate(cacheKey, entry, now)) {
+                        nearHits.increment();
+                        return entry.value;
+                    }
+                } else {
+                    nearCache.remove(cacheKey);
+                }
+            }
+        }
+
+        final Get get = new Get(Bytes.toBytes(cacheKey)).addColumn(family, VALUE);
+        final Cell cell = hbaseTemplate.executeRead(tableName, 1, table -> table.get(get).getColumnLatestCell(family, VALUE));
+        if (cell == null) {
+            misses.increment();
+            return null;
+        }
+        remoteHits.increment();
+        final Object value = codec.decode(CellUtil.cloneValue(cell));
+        if (nearCache != null) {
+            nearCache.putIfNewer(cacheKey, new NearCache.Entry(value, cell.getTimestamp(), expireAt(cell.getTimestamp()), now));
+        }
+        return value;
+    }
+
+    /**
+     * 只读取cell时间戳校验版本
+     *
+     * @return 版本一致时返回true
+     */
+    private boolean revalidate(String cacheKey, NearCache.Entry entry, long now) {
+        revalidations.increment();
+        final Get get = new Get(Bytes.toBytes(cacheKey)).addColumn(family, VALUE);
+        get.setFilter(new KeyOnlyFilter());
+        final Result result = hbaseTemplate.executeRead(tableName, 1, table -> table.get(get));
+        final Cell cell = result.getColumnLatestCell(family, VALUE);
+        if (cell != null && cell.getTimestamp() == entry.version) {
+            entry.checkedAt = now;
+            return true;
+        }
+        nearCache.remove(cacheKey);
+        return false;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        final Object stored = this.lookup(key);
+        if (stored != null) {
+            return (T) fromStoreValue(stored);
+        }
+        // 同一实例内相同key只加载一次
+        synchronized (loadLocks[(cacheKey(key).hashCode() & Integer.MAX_VALUE) % LOCK_STRIPES]) {
+            final Object loaded = this.lookup(key);
+            if (loaded != null) {
+                return (T) fromStoreValue(loaded);
+            }
+            final T value;
+            try {
+                value = valueLoader.call();
+            } catch (Throwable e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            this.put(key, value);
+            return value;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        final String cacheKey = cacheKey(key);
+        final Object stored = toStoreValue(value);
+        final Put put = this.newPut(cacheKey, stored);
+        hbaseTemplate.saveOrUpdate(tableName, put);
+        this.putNear(cacheKey, stored, put.getTimeStamp());
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        final String cacheKey = cacheKey(key);
+        final Object stored = toStoreValue(value);
+        final Put put = this.newPut(cacheKey, stored);
+        final boolean absent = hbaseTemplate.execute(tableName,
+                (Table table) -> table.checkAndPut(put.getRow(), family, VALUE, null, put));
+        if (absent) {
+            this.putNear(cacheKey, stored, put.getTimeStamp());
+            return null;
+        }
+        return toValueWrapper(this.lookup(key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        final String cacheKey = cacheKey(key);
+        hbaseTemplate.saveOrUpdate(tableName, new Delete(Bytes.toBytes(cacheKey)).addFamily(family, this.nextVersion()));
+        if (nearCache != null) {
+            nearCache.remove(cacheKey);
+        }
+    }
+
+    /**
+     * 删除该缓存名前缀下的所有行
+     */
+    @Override
+    public void clear() {
+        hbaseTemplate.deleteRange(RangeDeleteRequest.builder()
+                .tableName(tableName)
+                .startRow(name + ':')
+                .stopRow(name + ';')
+                .timestamp(this.nextVersion())
+                .build());
+        if (nearCache != null) {
+            nearCache.clear();
+        }
+    }
+
+    private Put newPut(String cacheKey, Object stored) {
+        final long version = this.nextVersion();
+        final Put put = new Put(Bytes.toBytes(cacheKey), version);
+        put.addColumn(family, VALUE, version, codec.encode(stored));
+        if (ttlMs > 0) {
+            put.setTTL(ttlMs);
+        }
+        return put;
+    }
+
+    private void putNear(String cacheKey, Object stored, long version) {
+        if (nearCache != null) {
+            nearCache.put(cacheKey, new NearCache.Entry(stored, version, expireAt(version), System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * 本实例生成的版本严格递增
+     */
+    private long nextVersion() {
+        final long now = System.currentTimeMillis();
+        return lastVersion.accumulateAndGet(now, (last, current) -> current > last ? current : last + 1);
+    }
+
+    private long expireAt(long version) {
+        return ttlMs > 0 ? version + ttlMs : Long.MAX_VALUE;
+    }
+
+    private String cacheKey(Object key) {
+        return name + ':' + key;
+    }
+
+    public long getNearHits() {
+        return nearHits.sum();
+    }
+
+    public long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return 近端缓存校验版本的次数
+     */
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    public int getNearCacheSize() {
+        return nearCache == null ? 0 : nearCache.size();
+    }
+}
@@ -0,0 +1,63 @@
+package com.spring4all.spring.boot.starter.hbase.cache;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.codec.CompressedValueCodec;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodec;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于HBase的{@link org.springframework.cache.CacheManager}，未单独配置的缓存名使用默认配置创建
+ * <p>
+ * 值默认使用{@link CacheValueCodec}编码，超过256字节时压缩。表需要提前创建。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseCacheManager extends AbstractCacheManager {
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final HBaseCacheSettings defaultSettings;
+
+    private final Map<String, HBaseCacheSettings> cacheSettings;
+
+    private ValueCodec<Object> codec = new CompressedValueCodec<>(new CacheValueCodec());
+
+    public HBaseCacheManager(HBaseTemplate hbaseTemplate) {
+        this(hbaseTemplate, new HBaseCacheSettings(), new HashMap<>());
+    }
+
+    public HBaseCacheManager(HBaseTemplate hbaseTemplate, HBaseCacheSettings defaultSettings,
+                             Map<String, HBaseCacheSettings> cacheSettings) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        Assert.notNull(defaultSettings, "Default cache settings must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+        this.defaultSettings = defaultSettings;
+        this.cacheSettings = cacheSettings == null ? new HashMap<>() : cacheSettings;
+    }
+
+    public void setCodec(ValueCodec<Object> codec) {
+        Assert.notNull(codec, "ValueCodec must not be null");
+        this.codec = codec;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        final List<Cache> caches = new ArrayList<>(cacheSettings.size());
+        cacheSettings.forEach((name, settings) -> caches.add(new HBaseCache(name, hbaseTemplate, settings, codec)));
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return new HBaseCache(name, hbaseTemplate, defaultSettings, codec);
+    }
+}
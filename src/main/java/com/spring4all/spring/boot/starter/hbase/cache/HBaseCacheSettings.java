@@ -0,0 +1,49 @@
+package com.spring4all.spring.boot.starter.hbase.cache;
+
+import lombok.Data;
+import org.springframework.boot.convert.DurationUnit;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 单个缓存的配置
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Data
+public class HBaseCacheSettings {
+
+    /**
+     * 存放缓存的表，多个缓存可以共用一张表，rowKey为"缓存名:key"
+     */
+    private String tableName = "spring_cache";
+
+    /**
+     * 列族
+     */
+    private String family = "c";
+
+    /**
+     * 过期时间，写入时设置为cell TTL，为空时不过期，不带单位时为秒
+     */
+    @DurationUnit(ChronoUnit.SECONDS)
+    private Duration ttl;
+
+    /**
+     * 进程内近端缓存的最大条数，0表示不使用近端缓存
+     */
+    private int nearCacheSize = 10000;
+
+    /**
+     * 近端缓存命中超过该时间后，读取HBase中的版本校验是否被其他实例修改，不带单位时为毫秒
+     */
+    @DurationUnit(ChronoUnit.MILLIS)
+    private Duration nearCacheRefresh = Duration.ofSeconds(1);
+
+    /**
+     * 是否缓存null
+     */
+    private boolean allowNullValues = true;
+}
@@ -0,0 +1,124 @@
+package com.spring4all.spring.boot.starter.hbase.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按访问顺序淘汰的有界进程内缓存，记录每个值在HBase中的版本(cell时间戳)
+ * <p>
+ * 按key的hash分为多段，每段是独立加锁、独立淘汰的LRU，并发读写不同段时互不阻塞；淘汰在段内近似全局的LRU。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class NearCache {
+
+    static class Entry {
+
+        final Object value;
+
+        final long version;
+
+        final long expireAt;
+
+        /**
+         * 最近一次与HBase校验版本的时间
+         */
+        volatile long checkedAt;
+
+        Entry(Object value, long version, long expireAt, long checkedAt) {
+            this.value = value;
+            this.version = version;
+            this.expireAt = expireAt;
+            this.checkedAt = checkedAt;
+        }
+    }
+
+    private static final int MAX_SEGMENTS = 16;
+
+    private final Segment[] segments;
+
+    NearCache(int maxSize) {
+        final int count = Math.min(MAX_SEGMENTS, maxSize);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            // 前maxSize % count段多分一条，总条数不超过maxSize
+            segments[i] = new Segment(maxSize / count + (i < maxSize % count ? 1 : 0));
+        }
+    }
+
+    Entry get(String key) {
+        final Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.get(key);
+        }
+    }
+
+    void put(String key, Entry entry) {
+        final Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, entry);
+        }
+    }
+
+    /**
+     * 只有版本不比缓存中的旧时才替换，避免并发读取时旧值覆盖新值
+     */
+    void putIfNewer(String key, Entry entry) {
+        final Segment segment = segmentFor(key);
+        synchronized (segment) {
+            final Entry current = segment.get(key);
+            if (current == null || current.version <= entry.version) {
+                segment.put(key, entry);
+            }
+        }
+    }
+
+    void remove(String key) {
+        final Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment segmentFor(String key) {
+        final int hash = key.hashCode();
+        return segments[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % segments.length];
+    }
+
+    /**
+     * 按访问顺序淘汰的一段，读取也会调整顺序，所有访问都需要持有该段的锁
+     */
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
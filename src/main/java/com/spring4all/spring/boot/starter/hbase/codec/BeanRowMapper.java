@@ -0,0 +1,58 @@
+package com.spring4all.spring.boot.starter.hbase.codec;
+
+import com.spring4all.spring.boot.starter.hbase.api.RowMapper;
+import org.apache.hadoop.hbase.client.Result;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.util.Assert;
+
+/**
+ * 按{@link ColumnSchema}解码并映射为javaBean的{@link RowMapper}，只映射bean中存在的可写属性
+ * <p>
+ * 解码后的值与属性类型不一致时(例如按字符串存储的数字)按Spring的类型转换规则转换。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class BeanRowMapper<T> implements RowMapper<T> {
+
+    private final Class<T> type;
+
+    private final ColumnSchema schema;
+
+    /**
+     * 所有列按字符串解码，与原有按字符串写入的数据兼容；按属性类型二进制编码时使用
+     * {@link #BeanRowMapper(Class, ColumnSchema)}并传入{@link ColumnSchema#forBean(Class)}
+     *
+     * @param type javaBean类型
+     */
+    public BeanRowMapper(Class<T> type) {
+        this(type, new ColumnSchema());
+    }
+
+    public BeanRowMapper(Class<T> type, ColumnSchema schema) {
+        Assert.notNull(type, "Bean type must not be null");
+        Assert.notNull(schema, "Schema must not be null");
+        this.type = type;
+        this.schema = schema;
+    }
+
+    @Override
+    public T mapRow(Result result, int rowNum) {
+        if (result.isEmpty()) {
+            return null;
+        }
+        final T bean = org.springframework.beans.BeanUtils.instantiateClass(type);
+        final BeanWrapper wrapper = new BeanWrapperImpl(bean);
+        schema.decode(result).forEach((qualifier, value) -> {
+            if (wrapper.isWritableProperty(qualifier)) {
+                wrapper.setPropertyValue(qualifier, value);
+            }
+        });
+        return bean;
+    }
+
+    public ColumnSchema getSchema() {
+        return schema;
+    }
+}
@@ -0,0 +1,188 @@
+package com.spring4all.spring.boot.starter.hbase.codec;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.util.Assert;
+
+import java.beans.PropertyDescriptor;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 列与编解码器的映射，读写两端使用同一份schema保证编码一致
+ * <p>
+ * 列可以按"family:qualifier"或只按qualifier注册，查找时优先匹配"family:qualifier"，未注册的列使用默认编解码器。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class ColumnSchema {
+
+    private static final char SEPARATOR = ':';
+
+    private final Map<String, ValueCodec<?>> codecs = new ConcurrentHashMap<>();
+
+    private final ValueCodec<?> defaultCodec;
+
+    /**
+     * 未注册的列按字符串处理，与原有读写方式兼容
+     */
+    public ColumnSchema() {
+        this(ValueCodecs.STRING);
+    }
+
+    public ColumnSchema(ValueCodec<?> defaultCodec) {
+        Assert.notNull(defaultCodec, "Default codec must not be null");
+        this.defaultCodec = defaultCodec;
+    }
+
+    /**
+     * 根据javaBean的属性类型生成schema，不支持的属性类型使用默认编解码器
+     *
+     * @param type javaBean类型
+     * @return schema
+     */
+    public static ColumnSchema forBean(Class<?> type) {
+        final ColumnSchema schema = new ColumnSchema();
+        for (PropertyDescriptor descriptor : org.springframework.beans.BeanUtils.getPropertyDescriptors(type)) {
+            if (descriptor.getWriteMethod() == null || descriptor.getReadMethod() == null) {
+                continue;
+            }
+            final ValueCodec<?> codec = ValueCodecs.forType(descriptor.getPropertyType());
+            if (codec != null) {
+                schema.column(descriptor.getName(), codec);
+            }
+        }
+        return schema;
+    }
+
+    /**
+     * 注册列的编解码器，对所有列族生效
+     *
+     * @param qualifier 列名
+     * @param codec     编解码器
+     * @return this
+     */
+    public ColumnSchema column(String qualifier, ValueCodec<?> codec) {
+        Assert.hasText(qualifier, "Qualifier must not be empty");
+        Assert.notNull(codec, "Codec must not be null");
+        codecs.put(qualifier, codec);
+        return this;
+    }
+
+    /**
+     * 注册指定列族下列的编解码器
+     *
+     * @param family    列族
+     * @param qualifier 列名
+     * @param codec     编解码器
+     * @return this
+     */
+    public ColumnSchema column(String family, String qualifier, ValueCodec<?> codec) {
+        Assert.hasText(family, "Family must not be empty");
+        return column(family + SEPARATOR + qualifier, codec);
+    }
+
+    /**
+     * 获取列的编解码器
+     *
+     * @param family    列族，允许null
+     * @param qualifier 列名
+     * @return 编解码器
+     */
+    public ValueCodec<?> codec(String family, String qualifier) {
+        ValueCodec<?> codec = null;
+        if (family != null) {
+            codec = codecs.get(family + SEPARATOR + qualifier);
+        }
+        if (codec == null) {
+            codec = codecs.get(qualifier);
+        }
+        return codec != null ? codec : defaultCodec;
+    }
+
+    /**
+     * 解码单个cell
+     *
+     * @param cell HBase cell
+     * @return 值
+     */
+    public Object decode(Cell cell) {
+        final String family = Bytes.toString(cell.getFamilyArray(), cell.getFamilyOffset(), cell.getFamilyLength());
+        final String qualifier = Bytes.toString(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+        return codec(family, qualifier).decode(CellUtil.cloneValue(cell));
+    }
+
+    /**
+     * 解码一行数据，key为列名，与{@link com.spring4all.spring.boot.starter.hbase.utils.HBaseUtils}的结果一致
+     *
+     * @param result HBase结果对象
+     * @return 列名 -> 值
+     */
+    public Map<String, Object> decode(Result result) {
+        final Map<String, Object> map = new HashMap<>(16);
+        for (Cell cell : result.rawCells()) {
+            final String qualifier = Bytes.toString(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
+            if (!map.containsKey(qualifier)) {
+                map.put(qualifier, decode(cell));
+            }
+        }
+        return map;
+    }
+
+    /**
+     * 编码单个值
+     *
+     * @param family    列族
+     * @param qualifier 列名
+     * @param value     值，不为null
+     * @return 字节
+     */
+    @SuppressWarnings("unchecked")
+    public byte[] encode(String family, String qualifier, Object value) {
+        final ValueCodec<?> codec = codec(family, qualifier);
+        if (codec == ValueCodecs.STRING && !(value instanceof String)) {
+            return ValueCodecs.STRING.encode(String.valueOf(value));
+        }
+        return ((ValueCodec<Object>) codec).encode(value);
+    }
+
+    /**
+     * 将Map或javaBean编码为Put，值为null的列忽略
+     *
+     * @param row    rowKey
+     * @param family 列族
+     * @param values Map或javaBean
+     * @return put
+     */
+    public Put toPut(byte[] row, String family, Object values) {
+        Assert.notNull(values, "Values must not be null");
+        final Map<?, ?> map = values instanceof Map ? (Map<?, ?>) values : properties(values);
+        final Put put = new Put(row);
+        final byte[] familyBytes = Bytes.toBytes(family);
+        map.forEach((key, value) -> {
+            if (value != null) {
+                final String qualifier = String.valueOf(key);
+                put.addColumn(familyBytes, Bytes.toBytes(qualifier), encode(family, qualifier, value));
+            }
+        });
+        return put;
+    }
+
+    private static Map<String, Object> properties(Object bean) {
+        final Map<String, Object> map = new HashMap<>(16);
+        final BeanWrapper wrapper = new BeanWrapperImpl(bean);
+        for (PropertyDescriptor descriptor : wrapper.getPropertyDescriptors()) {
+            if (descriptor.getReadMethod() != null && descriptor.getWriteMethod() != null) {
+                map.put(descriptor.getName(), wrapper.getPropertyValue(descriptor.getName()));
+            }
+        }
+        return map;
+    }
+}
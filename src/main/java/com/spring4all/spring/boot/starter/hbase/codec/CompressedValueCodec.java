@@ -0,0 +1,119 @@
+package com.spring4all.spring.boot.starter.hbase.codec;
+
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 对大字段进行压缩的编解码器，包装另一个编解码器使用
+ * <p>
+ * 格式：1字节标志位(0未压缩，1 deflate) + [变长原始长度] + 数据。
+ * 小于阈值或压缩后没有变小的值不压缩，只多占用1个字节。
+ *
+ * @param <T> 值类型
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class CompressedValueCodec<T> implements ValueCodec<T> {
+
+    private static final byte RAW = 0;
+
+    private static final byte DEFLATE = 1;
+
+    /**
+     * 默认压缩阈值(字节)
+     */
+    public static final int DEFAULT_THRESHOLD = 256;
+
+    private final ValueCodec<T> delegate;
+
+    private final int threshold;
+
+    public CompressedValueCodec(ValueCodec<T> delegate) {
+        this(delegate, DEFAULT_THRESHOLD);
+    }
+
+    public CompressedValueCodec(ValueCodec<T> delegate, int threshold) {
+        Assert.notNull(delegate, "Delegate codec must not be null");
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] encode(T value) {
+        final byte[] raw = delegate.encode(value);
+        if (raw.length >= threshold) {
+            final byte[] compressed = deflate(raw);
+            if (compressed != null) {
+                return compressed;
+            }
+        }
+        final byte[] bytes = new byte[raw.length + 1];
+        bytes[0] = RAW;
+        System.arraycopy(raw, 0, bytes, 1, raw.length);
+        return bytes;
+    }
+
+    @Override
+    public T decode(byte[] bytes) {
+        Assert.isTrue(bytes.length > 0, "Malformed compressed value");
+        if (bytes[0] == RAW) {
+            final byte[] raw = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, raw, 0, raw.length);
+            return delegate.decode(raw);
+        }
+        Assert.isTrue(bytes[0] == DEFLATE, "Unknown compression flag: " + bytes[0]);
+        return delegate.decode(inflate(bytes));
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        final byte[] header = new byte[11];
+        header[0] = DEFLATE;
+        final int headerLength = 1 + VarLongCodec.writeVarLong(header, 1, raw.length);
+
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + headerLength);
+            out.write(header, 0, headerLength);
+            final byte[] buffer = new byte[Math.min(raw.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+                if (out.size() >= raw.length + 1) {
+                    return null;
+                }
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes) {
+        final int length = (int) VarLongCodec.readVarLong(bytes, 1);
+        final int offset = 1 + VarLongCodec.sizeOf(bytes, 1);
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, bytes.length - offset);
+            final byte[] raw = new byte[length];
+            int position = 0;
+            while (position < length) {
+                final int n = inflater.inflate(raw, position, length - position);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                position += n;
+            }
+            Assert.isTrue(position == length, "Malformed compressed value");
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Malformed compressed value", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.spring4all.spring.boot.starter.hbase.codec;
+
+import com.spring4all.spring.boot.starter.hbase.api.RowMapper;
+import org.apache.hadoop.hbase.client.Result;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+
+/**
+ * 按{@link ColumnSchema}解码的{@link RowMapper}，返回列名 -> 值
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class SchemaRowMapper implements RowMapper<Map<String, Object>> {
+
+    private final ColumnSchema schema;
+
+    public SchemaRowMapper(ColumnSchema schema) {
+        Assert.notNull(schema, "Schema must not be null");
+        this.schema = schema;
+    }
+
+    @Override
+    public Map<String, Object> mapRow(Result result, int rowNum) {
+        return schema.decode(result);
+    }
+}
@@ -0,0 +1,51 @@
+package com.spring4all.spring.boot.starter.hbase.codec;
+
+import java.util.function.Function;
+
+/**
+ * 列值的编解码器，负责java对象与HBase cell value之间的转换
+ *
+ * @param <T> 值类型
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * 编码
+     *
+     * @param value 值，不为null
+     * @return 写入HBase的字节
+     */
+    byte[] encode(T value);
+
+    /**
+     * 解码
+     *
+     * @param bytes HBase中的字节，不为null
+     * @return 值
+     */
+    T decode(byte[] bytes);
+
+    /**
+     * 使用函数构造编解码器
+     *
+     * @param encoder 编码函数
+     * @param decoder 解码函数
+     * @param <T>     值类型
+     * @return 编解码器
+     */
+    static <T> ValueCodec<T> of(Function<T, byte[]> encoder, Function<byte[], T> decoder) {
+        return new ValueCodec<T>() {
+            @Override
+            public byte[] encode(T value) {
+                return encoder.apply(value);
+            }
+
+            @Override
+            public T decode(byte[] bytes) {
+                return decoder.apply(bytes);
+            }
+        };
+    }
+}
@@ -0,0 +1,103 @@
+package com.spring4all.spring.boot.starter.hbase.codec;
+
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 内置的编解码器
+ * <p>
+ * 数值类型使用定长二进制编码(与{@link Bytes}一致)，可以直接被协处理器和列值过滤器识别；
+ * STRING与原有的{@link Bytes#toString(byte[])}读写方式兼容。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class ValueCodecs {
+
+    public static final ValueCodec<String> STRING = ValueCodec.of(Bytes::toBytes, Bytes::toString);
+
+    public static final ValueCodec<byte[]> BYTES = ValueCodec.of(value -> value, bytes -> bytes);
+
+    public static final ValueCodec<Integer> INT = ValueCodec.of(Bytes::toBytes, Bytes::toInt);
+
+    public static final ValueCodec<Long> LONG = ValueCodec.of(Bytes::toBytes, Bytes::toLong);
+
+    public static final ValueCodec<Short> SHORT = ValueCodec.of(Bytes::toBytes, Bytes::toShort);
+
+    public static final ValueCodec<Double> DOUBLE = ValueCodec.of(Bytes::toBytes, Bytes::toDouble);
+
+    public static final ValueCodec<Float> FLOAT = ValueCodec.of(Bytes::toBytes, Bytes::toFloat);
+
+    public static final ValueCodec<Boolean> BOOLEAN = ValueCodec.of(Bytes::toBytes, Bytes::toBoolean);
+
+    public static final ValueCodec<BigDecimal> BIG_DECIMAL = ValueCodec.of(Bytes::toBytes, Bytes::toBigDecimal);
+
+    /**
+     * 时间存储为8字节的毫秒时间戳
+     */
+    public static final ValueCodec<Date> DATE = ValueCodec.of(value -> Bytes.toBytes(value.getTime()), bytes -> new Date(Bytes.toLong(bytes)));
+
+    /**
+     * 变长long，适合数值普遍较小的计数、状态等字段
+     */
+    public static final ValueCodec<Long> VAR_LONG = new VarLongCodec();
+
+    /**
+     * 变长int
+     */
+    public static final ValueCodec<Integer> VAR_INT = ValueCodec.of(
+            value -> VAR_LONG.encode(value.longValue()), bytes -> Math.toIntExact(VAR_LONG.decode(bytes)));
+
+    private static final Map<Class<?>, ValueCodec<?>> TYPE_CODECS = new HashMap<>(32);
+
+    static {
+        register(String.class, STRING);
+        register(byte[].class, BYTES);
+        register(Integer.class, INT);
+        register(int.class, INT);
+        register(Long.class, LONG);
+        register(long.class, LONG);
+        register(Short.class, SHORT);
+        register(short.class, SHORT);
+        register(Double.class, DOUBLE);
+        register(double.class, DOUBLE);
+        register(Float.class, FLOAT);
+        register(float.class, FLOAT);
+        register(Boolean.class, BOOLEAN);
+        register(boolean.class, BOOLEAN);
+        register(BigDecimal.class, BIG_DECIMAL);
+        register(Date.class, DATE);
+    }
+
+    private ValueCodecs() {
+    }
+
+    private static void register(Class<?> type, ValueCodec<?> codec) {
+        TYPE_CODECS.put(type, codec);
+    }
+
+    /**
+     * 根据java类型获取默认的编解码器
+     *
+     * @param type java类型
+     * @return 编解码器，不支持的类型返回null
+     */
+    public static ValueCodec<?> forType(Class<?> type) {
+        return TYPE_CODECS.get(type);
+    }
+
+    /**
+     * 包装为压缩编解码器，适合大文本、json等字段
+     *
+     * @param codec 原编解码器
+     * @param <T>   值类型
+     * @return 压缩编解码器
+     */
+    public static <T> ValueCodec<T> compressed(ValueCodec<T> codec) {
+        return new CompressedValueCodec<>(codec);
+    }
+}
@@ -0,0 +1,87 @@
+package com.spring4all.spring.boot.starter.hbase.codec;
+
+/**
+ * 变长整数编码，使用zigzag + 7bit分组，绝对值较小的数只占用1~2个字节
+ * <p>
+ * 注意变长编码的字节序与数值大小无关，不能用于rowKey或依赖字节比较的过滤器
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class VarLongCodec implements ValueCodec<Long> {
+
+    private static final int MAX_VAR_LONG_SIZE = 10;
+
+    @Override
+    public byte[] encode(Long value) {
+        final byte[] buffer = new byte[MAX_VAR_LONG_SIZE];
+        final int length = writeVarLong(buffer, 0, value);
+        final byte[] bytes = new byte[length];
+        System.arraycopy(buffer, 0, bytes, 0, length);
+        return bytes;
+    }
+
+    @Override
+    public Long decode(byte[] bytes) {
+        return readVarLong(bytes, 0);
+    }
+
+    /**
+     * 写入变长整数
+     *
+     * @param buffer 目标数组，剩余空间至少10个字节
+     * @param offset 写入位置
+     * @param value  值
+     * @return 写入的字节数
+     */
+    public static int writeVarLong(byte[] buffer, int offset, long value) {
+        long zigzag = (value << 1) ^ (value >> 63);
+        int position = offset;
+        while ((zigzag & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((zigzag & 0x7F) | 0x80);
+            zigzag >>>= 7;
+        }
+        buffer[position++] = (byte) zigzag;
+        return position - offset;
+    }
+
+    /**
+     * 读取变长整数
+     *
+     * @param bytes  源数组
+     * @param offset 读取位置
+     * @return 值
+     */
+    public static long readVarLong(byte[] bytes, int offset) {
+        long zigzag = 0;
+        int shift = 0;
+        int position = offset;
+        while (true) {
+            if (position >= bytes.length || shift >= 64) {
+                throw new IllegalArgumentException("Malformed var long");
+            }
+            final byte b = bytes[position++];
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+            shift += 7;
+        }
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+
+    /**
+     * 计算编码后的字节数
+     *
+     * @param bytes  源数组
+     * @param offset 读取位置
+     * @return 字节数
+     */
+    public static int sizeOf(byte[] bytes, int offset) {
+        int position = offset;
+        while (position < bytes.length && (bytes[position] & 0x80) != 0) {
+            position++;
+        }
+        return position - offset + 1;
+    }
+}
@@ -0,0 +1,27 @@
+package com.spring4all.spring.boot.starter.hbase.counter;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 计数器所在的cell
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class CounterCell {
+
+    private final String tableName;
+
+    private final String rowName;
+
+    private final String familyName;
+
+    private final String qualifier;
+}
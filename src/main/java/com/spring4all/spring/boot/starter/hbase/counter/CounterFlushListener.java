@@ -0,0 +1,32 @@
+package com.spring4all.spring.boot.starter.hbase.counter;
+
+import org.apache.hadoop.hbase.client.Increment;
+
+import java.util.List;
+
+/**
+ * 计数器flush结果的回调，flush失败的增量会保留在内存中，在下一次flush时重试
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface CounterFlushListener {
+
+    /**
+     * flush成功
+     *
+     * @param tableName 表名
+     * @param rows      写入的行数
+     */
+    default void onFlushed(String tableName, int rows) {
+    }
+
+    /**
+     * flush失败
+     *
+     * @param tableName  表名
+     * @param increments 失败的合并后的increment
+     * @param cause      失败原因
+     */
+    void onFailure(String tableName, List<Increment> increments, Throwable cause);
+}
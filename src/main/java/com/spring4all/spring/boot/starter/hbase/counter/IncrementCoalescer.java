@@ -0,0 +1,311 @@
+package com.spring4all.spring.boot.starter.hbase.counter;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseOperations;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 客户端计数器合并，高频的increment先累加在内存中，按时间或累计次数触发flush，每行合并为一个{@link Increment}批量写入
+ * <p>
+ * 每个cell使用{@link LongAdder}累加，写入路径无锁；flush只写入"当前累计值 - 已写入值"的差值，
+ * 并发的累加要么计入本次flush，要么留到下一次。空闲的计数器被移除后，仍持有其引用的线程会撤回增量并累加到新的计数器；
+ * 与{@link #close()}并发的累加在调用线程中补写。写入失败的差值保留到下一次flush重试，
+ * 因此计数语义为至少一次：服务端写入成功但响应丢失时可能重复累加。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class IncrementCoalescer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IncrementCoalescer.class);
+
+    /**
+     * 连续多少次flush没有增量的cell从内存中移除
+     */
+    private static final int IDLE_FLUSHES_BEFORE_EVICT = 2;
+
+    private final HBaseOperations hbaseOperations;
+
+    private final long maxPendingIncrements;
+
+    private final ConcurrentHashMap<CounterCell, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * 已从counters移除的计数器，移除时可能仍有线程持有引用并累加，保留一个flush周期写入残余的增量
+     */
+    private List<Map.Entry<CounterCell, Counter>> retired = new ArrayList<>();
+
+    private final AtomicLong pendingIncrements = new AtomicLong();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private final LongAdder flushedRows = new LongAdder();
+
+    private final LongAdder failedRows = new LongAdder();
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile CounterFlushListener listener = (tableName, increments, cause) ->
+            LOGGER.error("hbase计数器flush失败, table: {}, rows: {}, 将在下次flush时重试", tableName, increments.size(), cause);
+
+    private volatile boolean closed;
+
+    /**
+     * @param hbaseOperations      hbase操作
+     * @param flushIntervalMs      定时flush间隔(毫秒)
+     * @param maxPendingIncrements 两次flush之间累计多少次increment后提前触发flush
+     */
+    public IncrementCoalescer(HBaseOperations hbaseOperations, long flushIntervalMs, long maxPendingIncrements) {
+        Assert.notNull(hbaseOperations, "HBaseOperations must not be null");
+        Assert.isTrue(flushIntervalMs > 0, "Flush interval must be positive");
+        Assert.isTrue(maxPendingIncrements > 0, "Max pending increments must be positive");
+        this.hbaseOperations = hbaseOperations;
+        this.maxPendingIncrements = maxPendingIncrements;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "hbase-counter-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void setListener(CounterFlushListener listener) {
+        Assert.notNull(listener, "Listener must not be null");
+        this.listener = listener;
+    }
+
+    /**
+     * 累加计数器，不会阻塞等待写入
+     *
+     * @param tableName  表名
+     * @param rowName    rowKey
+     * @param familyName 列族
+     * @param qualifier  列名
+     * @param delta      增量
+     */
+    public void increment(String tableName, String rowName, String familyName, String qualifier, long delta) {
+        Assert.state(!closed, "Increment coalescer has been closed");
+        final CounterCell cell = new CounterCell(tableName, rowName, familyName, qualifier);
+        Counter counter = counters.computeIfAbsent(cell, key -> new Counter());
+        while (!counter.add(delta)) {
+            // 取得的计数器已被flush移除
+            counter = counters.computeIfAbsent(cell, key -> new Counter());
+        }
+        if (closed) {
+            // close的最后一次flush可能没有包含本次增量
+            flushQuietly();
+            return;
+        }
+        if (pendingIncrements.incrementAndGet() >= maxPendingIncrements && flushRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::flushQuietly);
+        }
+    }
+
+    /**
+     * 立即将累加的增量写入HBase
+     */
+    public synchronized void flush() {
+        flushRequested.set(false);
+        pendingIncrements.set(0);
+
+        final Map<CounterCell, Long> deltas = new LinkedHashMap<>();
+        final Map<CounterCell, List<Pending>> pendings = new HashMap<>(16);
+        final List<Map.Entry<CounterCell, Counter>> retiredNow = new ArrayList<>();
+
+        for (Map.Entry<CounterCell, Counter> entry : retired) {
+            collect(entry.getKey(), entry.getValue(), deltas, pendings);
+        }
+        for (Iterator<Map.Entry<CounterCell, Counter>> iterator = counters.entrySet().iterator(); iterator.hasNext(); ) {
+            final Map.Entry<CounterCell, Counter> entry = iterator.next();
+            if (!collect(entry.getKey(), entry.getValue(), deltas, pendings)
+                    && ++entry.getValue().idleFlushes >= IDLE_FLUSHES_BEFORE_EVICT
+                    && counters.remove(entry.getKey(), entry.getValue())) {
+                entry.getValue().evicted = true;
+                retiredNow.add(entry);
+            }
+        }
+
+        // 同一cell可能同时存在已移除和新建的计数器，先按cell合并增量，再按表、行合并为increment
+        final Map<String, Map<String, Increment>> increments = new LinkedHashMap<>();
+        final Map<String, Map<String, List<Pending>>> rowPendings = new HashMap<>(16);
+        deltas.forEach((cell, delta) -> {
+            increments.computeIfAbsent(cell.getTableName(), table -> new LinkedHashMap<>())
+                    .computeIfAbsent(cell.getRowName(), row -> new Increment(Bytes.toBytes(row)))
+                    .addColumn(Bytes.toBytes(cell.getFamilyName()), Bytes.toBytes(cell.getQualifier()), delta);
+            rowPendings.computeIfAbsent(cell.getTableName(), table -> new HashMap<>(16))
+                    .computeIfAbsent(cell.getRowName(), row -> new ArrayList<>())
+                    .addAll(pendings.get(cell));
+        });
+        increments.forEach((tableName, rows) -> write(tableName, new ArrayList<>(rows.values()), rowPendings.get(tableName)));
+
+        // 已移除的计数器在写入成功且没有新的累加后才丢弃
+        final List<Map.Entry<CounterCell, Counter>> stillRetired = new ArrayList<>(retiredNow);
+        for (Map.Entry<CounterCell, Counter> entry : retired) {
+            if (entry.getValue().adder.sum() != entry.getValue().flushed) {
+                stillRetired.add(entry);
+            }
+        }
+        retired = stillRetired;
+    }
+
+    private boolean collect(CounterCell cell, Counter counter, Map<CounterCell, Long> deltas, Map<CounterCell, List<Pending>> pendings) {
+        final long total = counter.adder.sum();
+        final long delta = total - counter.flushed;
+        if (delta == 0) {
+            return false;
+        }
+        counter.idleFlushes = 0;
+        deltas.merge(cell, delta, Long::sum);
+        pendings.computeIfAbsent(cell, key -> new ArrayList<>(1)).add(new Pending(counter, total));
+        return true;
+    }
+
+    /**
+     * 写入一个表的increment，成功的行更新已写入值，失败的行保留增量等待下次flush
+     */
+    private void write(String tableName, List<Increment> actions, Map<String, List<Pending>> pendings) {
+        final Object[] results = new Object[actions.size()];
+        Throwable cause = null;
+        try {
+            hbaseOperations.execute(tableName, table -> {
+                try {
+                    table.batch(actions, results);
+                } catch (IOException e) {
+                    // 部分失败时results中对应位置为异常，逐个处理
+                    LOGGER.debug("hbase计数器部分写入失败, table: {}", tableName, e);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            cause = e;
+        }
+
+        final List<Increment> failedActions = new ArrayList<>();
+        for (int i = 0; i < actions.size(); i++) {
+            final Increment action = actions.get(i);
+            if (cause == null && results[i] != null && !(results[i] instanceof Throwable)) {
+                for (Pending pending : pendings.get(Bytes.toString(action.getRow()))) {
+                    pending.counter.flushed = pending.total;
+                }
+            } else {
+                failedActions.add(action);
+                if (cause == null && results[i] instanceof Throwable) {
+                    cause = (Throwable) results[i];
+                }
+            }
+        }
+
+        final int succeeded = actions.size() - failedActions.size();
+        flushedRows.add(succeeded);
+        if (succeeded > 0) {
+            listener.onFlushed(tableName, succeeded);
+        }
+        if (!failedActions.isEmpty()) {
+            failedRows.add(failedActions.size());
+            listener.onFailure(tableName, failedActions, cause);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Throwable e) {
+            LOGGER.error("hbase计数器flush异常", e);
+        }
+    }
+
+    Counter getCounter(CounterCell cell) {
+        return counters.get(cell);
+    }
+
+    /**
+     * 两次flush之间累计的increment次数
+     */
+    public long getPendingIncrements() {
+        return pendingIncrements.get();
+    }
+
+    public long getFlushedRows() {
+        return flushedRows.sum();
+    }
+
+    public long getFailedRows() {
+        return failedRows.sum();
+    }
+
+    /**
+     * 停止定时flush并写入剩余的增量
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        scheduler.shutdownNow();
+        flushQuietly();
+    }
+
+    static class Counter {
+
+        private final LongAdder adder = new LongAdder();
+
+        /**
+         * 已写入HBase的累计值，只在flush中读写
+         */
+        private long flushed;
+
+        private int idleFlushes;
+
+        /**
+         * 已从counters移除，之后的累加需要改到新的计数器
+         */
+        private volatile boolean evicted;
+
+        /**
+         * 先累加再检查是否已移除：检查时未移除，则移除发生在累加之后，最后一次flush一定包含本次增量；
+         * 已移除时撤回增量，撤回前被flush写入的部分会在下一次flush中抵消
+         *
+         * @return 计数器已移除时返回false
+         */
+        boolean add(long delta) {
+            adder.add(delta);
+            if (evicted) {
+                adder.add(-delta);
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private static class Pending {
+
+        private final Counter counter;
+
+        private final long total;
+
+        private Pending(Counter counter, long total) {
+            this.counter = counter;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.spring4all.spring.boot.starter.hbase.delete;
+
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Scan;
+
+import java.io.IOException;
+
+/**
+ * 服务端批量删除的扩展点，表上加载了对应的协处理器时，删除在region server本地完成，不需要把rowKey传回客户端。
+ * <p>
+ * HBase自带的BulkDeleteEndpoint位于hbase-examples，客户端调用依赖其生成的protobuf类，
+ * 因此这里只定义接口，由使用方按所部署的协处理器实现并注册为bean。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface BulkDeleteEndpoint {
+
+    /**
+     * 协处理器类名，用于判断表上是否已加载
+     *
+     * @return 类名
+     */
+    String getCoprocessorClassName();
+
+    /**
+     * 表上是否可以使用服务端删除，默认检查表描述中是否加载了协处理器
+     *
+     * @param connection hbase连接
+     * @param tableName  表名
+     * @return 是否可用
+     * @throws IOException 获取表描述失败
+     */
+    default boolean isAvailable(Connection connection, String tableName) throws IOException {
+        try (Admin admin = connection.getAdmin()) {
+            return admin.getTableDescriptor(TableName.valueOf(tableName)).hasCoprocessor(getCoprocessorClassName());
+        }
+    }
+
+    /**
+     * 删除scan范围内的行
+     *
+     * @param connection hbase连接
+     * @param tableName  表名
+     * @param scan       已限定范围并只返回rowKey的scan
+     * @param batchSize  服务端每批删除的行数
+     * @return 删除的行数
+     * @throws Throwable 删除失败
+     */
+    long delete(Connection connection, String tableName, Scan scan, int batchSize) throws Throwable;
+}
@@ -0,0 +1,161 @@
+package com.spring4all.spring.boot.starter.hbase.delete;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.scan.KeyOnlyFilters;
+import com.spring4all.spring.boot.starter.hbase.scan.RegionRanges;
+import com.spring4all.spring.boot.starter.hbase.scan.RegionTaskRunner;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按rowKey范围删除数据
+ * <p>
+ * 表上加载了{@link BulkDeleteEndpoint}对应的协处理器时由服务端删除；否则按region并行扫描，
+ * 扫描只返回rowKey，每个region的rowKey流式转换为整行Delete，分批提交给BufferedMutator。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseRangeDeleter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseRangeDeleter.class);
+
+    private static final RangeDeleteListener NOOP_LISTENER = new RangeDeleteListener() {
+    };
+
+    private final HBaseTemplate hbaseTemplate;
+
+    public HBaseRangeDeleter(HBaseTemplate hbaseTemplate) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+    }
+
+    /**
+     * 执行删除，阻塞直到全部完成
+     *
+     * @param request 删除参数
+     * @return 删除统计
+     */
+    public RangeDeleteStats delete(RangeDeleteRequest request) {
+        Assert.notNull(request, "Delete request must not be null");
+        Assert.hasText(request.getTableName(), "No table specified");
+        Assert.isTrue(request.getBatchSize() > 0, "Batch size must be positive");
+
+        final long begin = System.currentTimeMillis();
+        final String tableName = request.getTableName();
+        final RangeDeleteListener listener = request.getListener() != null ? request.getListener() : NOOP_LISTENER;
+        final Scan scan = keyOnlyScan(request);
+
+        final BulkDeleteEndpoint endpoint = hbaseTemplate.getBulkDeleteEndpoint();
+        // 服务端批量删除不支持指定时间戳
+        if (request.isUseEndpoint() && request.getTimestamp() == null
+                && endpoint != null && this.isEndpointAvailable(endpoint, tableName)) {
+            final long rows;
+            try {
+                rows = endpoint.delete(hbaseTemplate.getConnection(), tableName, scan, request.getBatchSize());
+            } catch (Throwable throwable) {
+                throw new HBaseSystemException(throwable);
+            }
+            listener.onProgress(tableName, rows);
+            final RangeDeleteStats stats = new RangeDeleteStats(0, rows, System.currentTimeMillis() - begin, true);
+            LOGGER.info("hbase服务端范围删除完成, table: {}, {}", tableName, stats);
+            return stats;
+        }
+
+        final List<ScanRange> ranges;
+        try {
+            ranges = RegionRanges.split(hbaseTemplate.getConnection(), tableName,
+                    toBytes(request.getStartRow()), toBytes(request.getStopRow()));
+        } catch (IOException e) {
+            throw new HBaseSystemException(e);
+        }
+
+        final LongAdder deleted = new LongAdder();
+        RegionTaskRunner.run(ranges, request.getParallelism(), "hbase-delete-", (index, range) -> {
+            final long rows = this.deleteRange(request, range.toScan(scan), deleted, listener);
+            listener.onRegionCompleted(tableName, range, rows);
+            LOGGER.debug("hbase范围删除region完成, table: {}, range: {}, rows: {}", tableName, range, rows);
+            return null;
+        });
+
+        final RangeDeleteStats stats = new RangeDeleteStats(ranges.size(), deleted.sum(), System.currentTimeMillis() - begin, false);
+        LOGGER.info("hbase范围删除完成, table: {}, {}", tableName, stats);
+        return stats;
+    }
+
+    private long deleteRange(RangeDeleteRequest request, Scan scan, LongAdder deleted, RangeDeleteListener listener) {
+        final String tableName = request.getTableName();
+        final AtomicLong rows = new AtomicLong();
+        hbaseTemplate.execute(tableName, (BufferedMutator mutator) -> hbaseTemplate.find(tableName, scan, scanner -> {
+            final List<Delete> batch = new ArrayList<>(request.getBatchSize());
+            for (Result result : scanner) {
+                batch.add(request.getTimestamp() == null
+                        ? new Delete(result.getRow()) : new Delete(result.getRow(), request.getTimestamp()));
+                if (batch.size() >= request.getBatchSize()) {
+                    submit(mutator, batch, rows, deleted, listener, tableName);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(mutator, batch, rows, deleted, listener, tableName);
+            }
+            // 在回调内flush，写入失败时抛出异常而不是在关闭mutator时被忽略
+            mutator.flush();
+            return null;
+        }));
+        return rows.get();
+    }
+
+    private static void submit(BufferedMutator mutator, List<Delete> batch, AtomicLong rows,
+                               LongAdder deleted, RangeDeleteListener listener, String tableName) throws IOException {
+        mutator.mutate(batch);
+        rows.addAndGet(batch.size());
+        deleted.add(batch.size());
+        batch.clear();
+        listener.onProgress(tableName, deleted.sum());
+    }
+
+    private boolean isEndpointAvailable(BulkDeleteEndpoint endpoint, String tableName) {
+        try {
+            return endpoint.isAvailable(hbaseTemplate.getConnection(), tableName);
+        } catch (IOException e) {
+            LOGGER.warn("hbase检查服务端批量删除失败，改为客户端删除, table: {}", tableName, e);
+            return false;
+        }
+    }
+
+    /**
+     * 只返回rowKey的scan，没有用户过滤器时每行只返回第一个cell
+     */
+    private Scan keyOnlyScan(RangeDeleteRequest request) {
+        final Scan scan = new Scan();
+        if (StringUtils.isNotEmpty(request.getStartRow())) {
+            scan.setStartRow(Bytes.toBytes(request.getStartRow()));
+        }
+        if (StringUtils.isNotEmpty(request.getStopRow())) {
+            scan.setStopRow(Bytes.toBytes(request.getStopRow()));
+        }
+        scan.setFilter(KeyOnlyFilters.of(request.getFilter()));
+        hbaseTemplate.getScanProfiles().get(request.getScanProfile()).applyTo(scan);
+        scan.setCacheBlocks(false);
+        return scan;
+    }
+
+    private static byte[] toBytes(String row) {
+        return StringUtils.isEmpty(row) ? null : Bytes.toBytes(row);
+    }
+}
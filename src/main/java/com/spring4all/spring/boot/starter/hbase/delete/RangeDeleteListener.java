@@ -0,0 +1,31 @@
+package com.spring4all.spring.boot.starter.hbase.delete;
+
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+
+/**
+ * 范围删除进度回调，会在多个线程中并发调用
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface RangeDeleteListener {
+
+    /**
+     * 一批Delete提交到mutator后调用
+     *
+     * @param tableName   表名
+     * @param deletedRows 截至目前已提交删除的总行数
+     */
+    default void onProgress(String tableName, long deletedRows) {
+    }
+
+    /**
+     * 单个region处理完成并flush后调用
+     *
+     * @param tableName 表名
+     * @param range     region对应的rowKey范围
+     * @param rows      该region删除的行数
+     */
+    default void onRegionCompleted(String tableName, ScanRange range, long rows) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.spring4all.spring.boot.starter.hbase.delete;
+
+import com.spring4all.spring.boot.starter.hbase.scan.ScanProfile;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.hadoop.hbase.filter.Filter;
+
+/**
+ * 按rowKey范围删除的参数
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class RangeDeleteRequest {
+
+    /**
+     * 表名
+     */
+    private final String tableName;
+
+    /**
+     * 开始rowKey，为空时从表头开始
+     */
+    private final String startRow;
+
+    /**
+     * 结束rowKey(不包含)，为空时到表尾结束
+     */
+    private final String stopRow;
+
+    /**
+     * 服务端过滤器，只删除满足条件的行，允许null
+     */
+    private final Filter filter;
+
+    /**
+     * 删除标记的时间戳，只删除不晚于该时间戳的版本，为null时使用服务端时间；指定时不使用服务端批量删除
+     */
+    private final Long timestamp;
+
+    /**
+     * 并行扫描的region数
+     */
+    @Builder.Default
+    private final int parallelism = 4;
+
+    /**
+     * 每批提交给mutator的Delete条数
+     */
+    @Builder.Default
+    private final int batchSize = 1000;
+
+    /**
+     * 服务端批量删除可用时是否优先使用
+     */
+    @Builder.Default
+    private final boolean useEndpoint = true;
+
+    /**
+     * 扫描rowKey使用的scan配置名
+     */
+    @Builder.Default
+    private final String scanProfile = ScanProfile.EXPORT;
+
+    /**
+     * 进度回调，允许null
+     */
+    private final RangeDeleteListener listener;
+}
@@ -0,0 +1,41 @@
+package com.spring4all.spring.boot.starter.hbase.delete;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 范围删除统计
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class RangeDeleteStats {
+
+    /**
+     * 涉及的region数，服务端删除时为0
+     */
+    private final int regions;
+
+    /**
+     * 删除的行数
+     */
+    private final long rows;
+
+    /**
+     * 耗时(毫秒)
+     */
+    private final long elapsedMs;
+
+    /**
+     * 是否由服务端批量删除完成
+     */
+    private final boolean serverSide;
+
+    public double getRowsPerSecond() {
+        return elapsedMs == 0 ? rows : rows * 1000d / elapsedMs;
+    }
+}
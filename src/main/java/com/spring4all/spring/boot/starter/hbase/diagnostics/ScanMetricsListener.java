@@ -0,0 +1,24 @@
+package com.spring4all.spring.boot.starter.hbase.diagnostics;
+
+import org.apache.hadoop.hbase.client.Scan;
+
+import java.util.Map;
+
+/**
+ * 开启scan指标采集后，每次scan结束时回调，可以用于输出到监控系统
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface ScanMetricsListener {
+
+    /**
+     * scan结束
+     *
+     * @param tableName 表名
+     * @param scan      执行的scan
+     * @param elapsedMs 耗时(毫秒)
+     * @param metrics   HBase ScanMetrics，如RPC_CALLS、REGIONS_SCANNED、BYTES_IN_RESULTS等
+     */
+    void onScanCompleted(String tableName, Scan scan, long elapsedMs, Map<String, Long> metrics);
+}
@@ -0,0 +1,146 @@
+package com.spring4all.spring.boot.starter.hbase.diagnostics;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.metrics.ScanMetrics;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 慢操作日志，耗时超过阈值的操作按key=value格式输出到独立的logger，便于单独配置appender和检索。
+ * <p>
+ * 开启scan指标采集后，scan会附带HBase客户端的ScanMetrics：RPC次数、扫描的region数、返回字节数、
+ * 客户端处理结果的耗时(MILLIS_BETWEEN_NEXTS)等，用于判断scan是读取了过多的region还是数据量过大。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class SlowOperationLog {
+
+    /**
+     * 慢操作日志使用的logger名
+     */
+    public static final String LOGGER_NAME = "com.spring4all.spring.boot.starter.hbase.SlowOperation";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private static final int MAX_FILTER_LENGTH = 256;
+
+    private final long thresholdMs;
+
+    private final boolean scanMetricsEnabled;
+
+    private ScanMetricsListener scanMetricsListener;
+
+    private final LongAdder slowOperations = new LongAdder();
+
+    /**
+     * @param thresholdMs        慢操作阈值(毫秒)，小于等于0时不输出慢操作日志
+     * @param scanMetricsEnabled 是否采集scan指标
+     */
+    public SlowOperationLog(long thresholdMs, boolean scanMetricsEnabled) {
+        this.thresholdMs = thresholdMs;
+        this.scanMetricsEnabled = scanMetricsEnabled;
+    }
+
+    public void setScanMetricsListener(ScanMetricsListener scanMetricsListener) {
+        this.scanMetricsListener = scanMetricsListener;
+    }
+
+    /**
+     * 累计的慢操作次数
+     */
+    public long getSlowOperations() {
+        return slowOperations.sum();
+    }
+
+    /**
+     * 打开scanner之前调用，按配置开启scan指标
+     *
+     * @param scan 即将执行的scan
+     */
+    public void beforeScan(Scan scan) {
+        if (scanMetricsEnabled) {
+            scan.setScanMetricsEnabled(true);
+        }
+    }
+
+    /**
+     * scanner关闭之后调用
+     *
+     * @param tableName 表名
+     * @param scan      执行的scan
+     * @param elapsedMs 耗时(毫秒)
+     */
+    public void afterScan(String tableName, Scan scan, long elapsedMs) {
+        final Map<String, Long> metrics = scanMetrics(scan);
+        if (scanMetricsListener != null && scan.isScanMetricsEnabled()) {
+            scanMetricsListener.onScanCompleted(tableName, scan, elapsedMs, metrics);
+        }
+        if (isSlow(elapsedMs)) {
+            slowOperations.increment();
+            LOGGER.warn("operation=scan table={} range={} reversed={} caching={} batch={} filter={} elapsedMs={} metrics={}",
+                    tableName, range(scan.getStartRow(), scan.getStopRow()), scan.isReversed(), scan.getCaching(),
+                    scan.getBatch(), describe(scan.getFilter()), elapsedMs, metrics);
+        }
+    }
+
+    /**
+     * Get、Put等按行操作完成后调用
+     *
+     * @param operation 操作名
+     * @param tableName 表名
+     * @param firstRow  第一行rowKey，允许null
+     * @param lastRow   最后一行rowKey，允许null
+     * @param actions   本次操作的行数
+     * @param elapsedMs 耗时(毫秒)
+     */
+    public void afterOperation(String operation, String tableName, byte[] firstRow, byte[] lastRow, int actions, long elapsedMs) {
+        if (isSlow(elapsedMs)) {
+            slowOperations.increment();
+            LOGGER.warn("operation={} table={} rows={} actions={} elapsedMs={}",
+                    operation, tableName, keys(firstRow, lastRow), actions, elapsedMs);
+        }
+    }
+
+    private boolean isSlow(long elapsedMs) {
+        return thresholdMs > 0 && elapsedMs >= thresholdMs;
+    }
+
+    private static Map<String, Long> scanMetrics(Scan scan) {
+        if (!scan.isScanMetricsEnabled()) {
+            return Collections.emptyMap();
+        }
+        // scanner关闭时HBase客户端把指标写回scan的属性
+        final ScanMetrics metrics = scan.getScanMetrics();
+        return metrics == null ? Collections.emptyMap() : new TreeMap<>(metrics.getMetricsMap());
+    }
+
+    private static String range(byte[] start, byte[] stop) {
+        return "[" + (start == null ? "" : Bytes.toStringBinary(start)) + ", " + (stop == null ? "" : Bytes.toStringBinary(stop)) + ")";
+    }
+
+    private static String keys(byte[] first, byte[] last) {
+        if (first == null) {
+            return "-";
+        }
+        if (last == null || Bytes.equals(first, last)) {
+            return Bytes.toStringBinary(first);
+        }
+        return Bytes.toStringBinary(first) + ".." + Bytes.toStringBinary(last);
+    }
+
+    /**
+     * 过滤器摘要，FilterList会列出其中的过滤器，过长时截断
+     */
+    static String describe(Filter filter) {
+        return filter == null ? "-" : StringUtils.abbreviate(filter.toString(), MAX_FILTER_LENGTH);
+    }
+}
@@ -0,0 +1,132 @@
+package com.spring4all.spring.boot.starter.hbase.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 有界的HBase客户端线程池，传给{@link org.apache.hadoop.hbase.client.ConnectionFactory}替代HBase内部创建的batch pool，
+ * 记录拒绝次数供监控使用
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InstrumentedThreadPoolExecutor.class);
+
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private final int queueCapacity;
+
+    /**
+     * @param corePoolSize   核心线程数
+     * @param maximumPoolSize 最大线程数，队列满后才会创建核心线程以外的线程
+     * @param keepAliveMs    空闲线程存活时间(毫秒)，同时作用于核心线程
+     * @param queueCapacity  队列长度
+     * @param policy         拒绝策略
+     * @param blockTimeoutMs BLOCK策略下的最大等待时间(毫秒)
+     * @param threadType     线程类型
+     * @param threadNamePrefix 线程名前缀
+     */
+    public InstrumentedThreadPoolExecutor(int corePoolSize, int maximumPoolSize, long keepAliveMs, int queueCapacity,
+                                          RejectionPolicy policy, long blockTimeoutMs,
+                                          ThreadType threadType, String threadNamePrefix) {
+        super(corePoolSize, maximumPoolSize, keepAliveMs, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(threadType, threadNamePrefix));
+        Assert.notNull(policy, "Rejection policy must not be null");
+        this.queueCapacity = queueCapacity;
+        this.setRejectedExecutionHandler(new CountingRejectedExecutionHandler(handler(policy, blockTimeoutMs)));
+        this.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 队列已满触发拒绝策略的次数，CALLER_RUNS和BLOCK策略下任务不一定被丢弃
+     *
+     * @return 次数
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    private static RejectedExecutionHandler handler(RejectionPolicy policy, long blockTimeoutMs) {
+        switch (policy) {
+            case CALLER_RUNS:
+                return new CallerRunsPolicy();
+            case BLOCK:
+                return (runnable, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("hbase client executor has been shut down");
+                    }
+                    try {
+                        if (!executor.getQueue().offer(runnable, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                            throw new RejectedExecutionException("hbase client executor queue is full after waiting " + blockTimeoutMs + "ms");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for hbase client executor", e);
+                    }
+                };
+            case ABORT:
+            default:
+                return new AbortPolicy();
+        }
+    }
+
+    private static ThreadFactory threadFactory(ThreadType threadType, String prefix) {
+        if (threadType == ThreadType.VIRTUAL) {
+            final ThreadFactory virtual = virtualThreadFactory(prefix);
+            if (virtual != null) {
+                return virtual;
+            }
+            LOGGER.warn("当前JDK不支持虚拟线程，hbase客户端线程池使用平台线程");
+        }
+        final AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactory virtualThreadFactory(String prefix) {
+        try {
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            Object builder = ofVirtual.invoke(null);
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private class CountingRejectedExecutionHandler implements RejectedExecutionHandler {
+
+        private final RejectedExecutionHandler delegate;
+
+        CountingRejectedExecutionHandler(RejectedExecutionHandler delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            rejectedCount.increment();
+            delegate.rejectedExecution(runnable, executor);
+        }
+    }
+}
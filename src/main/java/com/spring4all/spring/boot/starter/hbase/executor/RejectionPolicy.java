@@ -0,0 +1,25 @@
+package com.spring4all.spring.boot.starter.hbase.executor;
+
+/**
+ * 线程池队列已满时的拒绝策略
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public enum RejectionPolicy {
+
+    /**
+     * 直接抛出{@link java.util.concurrent.RejectedExecutionException}
+     */
+    ABORT,
+
+    /**
+     * 由提交任务的线程执行，对调用方形成反压
+     */
+    CALLER_RUNS,
+
+    /**
+     * 阻塞等待队列空闲，超时后抛出{@link java.util.concurrent.RejectedExecutionException}
+     */
+    BLOCK
+}
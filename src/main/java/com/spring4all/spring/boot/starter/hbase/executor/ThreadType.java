@@ -0,0 +1,20 @@
+package com.spring4all.spring.boot.starter.hbase.executor;
+
+/**
+ * 线程池使用的线程类型
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public enum ThreadType {
+
+    /**
+     * 平台线程
+     */
+    PLATFORM,
+
+    /**
+     * 虚拟线程，需要JDK 21及以上，低版本JDK回退为平台线程
+     */
+    VIRTUAL
+}
@@ -0,0 +1,122 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import com.spring4all.spring.boot.starter.hbase.codec.VarLongCodec;
+import com.spring4all.spring.boot.starter.hbase.page.Column;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * 列式写入器，每{@value #BLOCK_ROWS}行为一个块，块内按列连续存放后整体deflate压缩
+ * <p>
+ * 文件格式：
+ * <pre>
+ * "HCOL" 版本(1字节) 列数(varint) [列名长度(varint) 列名(utf-8)]...
+ * [压缩后长度(int) 行数(int) 压缩数据]...
+ * 0(int)
+ * </pre>
+ * 块内第0列为rowkey，每列先存放所有值的长度(varint，-1表示null)，再存放所有值的原始字节。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class ColumnarExportWriter implements ExportWriter {
+
+    static final int BLOCK_ROWS = 4096;
+
+    private static final byte[] MAGIC = {'H', 'C', 'O', 'L'};
+
+    private static final int VERSION = 1;
+
+    private final DataOutputStream out;
+
+    private final byte[][] families;
+
+    private final byte[][] qualifiers;
+
+    private final byte[][][] block;
+
+    private final byte[] varLongBuffer = new byte[10];
+
+    private int rows;
+
+    ColumnarExportWriter(OutputStream out, List<Column> columns) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.families = new byte[columns.size()][];
+        this.qualifiers = new byte[columns.size()][];
+        this.block = new byte[columns.size() + 1][BLOCK_ROWS][];
+
+        this.out.write(MAGIC);
+        this.out.writeByte(VERSION);
+        writeVarLong(this.out, columns.size());
+        for (int i = 0; i < columns.size(); i++) {
+            final Column column = columns.get(i);
+            families[i] = Bytes.toBytes(column.getFamily());
+            qualifiers[i] = Bytes.toBytes(column.getQualifier());
+            final byte[] name = (column.getFamily() + ':' + column.getQualifier()).getBytes(StandardCharsets.UTF_8);
+            writeVarLong(this.out, name.length);
+            this.out.write(name);
+        }
+    }
+
+    @Override
+    public void write(Result result) throws IOException {
+        block[0][rows] = result.getRow();
+        for (int i = 0; i < families.length; i++) {
+            block[i + 1][rows] = result.getValue(families[i], qualifiers[i]);
+        }
+        if (++rows == BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(64 * 1024);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, deflater, 64 * 1024)) {
+            for (byte[][] column : block) {
+                for (int row = 0; row < rows; row++) {
+                    writeVarLong(deflate, column[row] == null ? -1 : column[row].length);
+                }
+                for (int row = 0; row < rows; row++) {
+                    if (column[row] != null) {
+                        deflate.write(column[row]);
+                    }
+                    column[row] = null;
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        out.writeInt(compressed.size());
+        out.writeInt(rows);
+        compressed.writeTo(out);
+        rows = 0;
+    }
+
+    private void writeVarLong(OutputStream stream, long value) throws IOException {
+        stream.write(varLongBuffer, 0, VarLongCodec.writeVarLong(varLongBuffer, 0, value));
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBlock();
+            out.writeInt(0);
+        } finally {
+            out.close();
+        }
+    }
+}
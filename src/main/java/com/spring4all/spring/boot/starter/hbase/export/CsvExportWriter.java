@@ -0,0 +1,91 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema;
+import com.spring4all.spring.boot.starter.hbase.page.Column;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * CSV写入器，指定列时每行一条数据，未指定列时每行一个cell
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private final Writer writer;
+
+    private final List<Column> columns;
+
+    private final ColumnSchema schema;
+
+    CsvExportWriter(OutputStream out, List<Column> columns, ColumnSchema schema) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.columns = columns == null || columns.isEmpty() ? null : columns;
+        this.schema = schema;
+        writer.write("rowkey");
+        if (this.columns == null) {
+            writer.write(",family,qualifier,timestamp,value");
+        } else {
+            for (Column column : this.columns) {
+                writer.write(',');
+                writeField(column.getFamily() + ':' + column.getQualifier());
+            }
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(Result result) throws IOException {
+        final String row = Bytes.toString(result.getRow());
+        if (columns == null) {
+            for (Cell cell : result.rawCells()) {
+                writeField(row);
+                writer.write(',');
+                writeField(Bytes.toString(CellUtil.cloneFamily(cell)));
+                writer.write(',');
+                writeField(Bytes.toString(CellUtil.cloneQualifier(cell)));
+                writer.write(',');
+                writer.write(Long.toString(cell.getTimestamp()));
+                writer.write(',');
+                writeField(ExportWriters.render(schema.decode(cell)));
+                writer.write('\n');
+            }
+            return;
+        }
+        writeField(row);
+        for (Column column : columns) {
+            writer.write(',');
+            final byte[] value = result.getValue(Bytes.toBytes(column.getFamily()), Bytes.toBytes(column.getQualifier()));
+            if (value != null) {
+                writeField(ExportWriters.render(schema.codec(column.getFamily(), column.getQualifier()).decode(value)));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private void writeField(String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+/**
+ * 导出文件格式
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public enum ExportFormat {
+
+    /**
+     * CSV，指定列时每行一条数据，未指定列时每行一个cell
+     */
+    CSV("csv"),
+
+    /**
+     * 每行一个json对象
+     */
+    JSON_LINES("jsonl"),
+
+    /**
+     * 按块列式存储的二进制格式，块内按列连续存放并压缩，必须指定列
+     */
+    COLUMNAR("hcol");
+
+    private final String extension;
+
+    ExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,82 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema;
+import com.spring4all.spring.boot.starter.hbase.page.Column;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanProfile;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.hadoop.hbase.filter.Filter;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 导出参数
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class ExportRequest {
+
+    /**
+     * 表名
+     */
+    private final String tableName;
+
+    /**
+     * 开始rowKey，为空时从表头开始
+     */
+    private final String startRow;
+
+    /**
+     * 结束rowKey，为空时到表尾结束
+     */
+    private final String stopRow;
+
+    /**
+     * 导出的列，CSV未指定时按cell导出，COLUMNAR必须指定
+     */
+    private final List<Column> columns;
+
+    /**
+     * 服务端过滤器，允许null
+     */
+    private final Filter filter;
+
+    /**
+     * 文件格式
+     */
+    @Builder.Default
+    private final ExportFormat format = ExportFormat.CSV;
+
+    /**
+     * 输出目录，每个region输出一个文件，目录下的_checkpoint记录已完成的region
+     */
+    private final Path outputDir;
+
+    /**
+     * 并行导出的region数
+     */
+    @Builder.Default
+    private final int parallelism = 4;
+
+    /**
+     * 是否跳过上次已完成的rowKey范围，为false时删除输出目录中已有的分片和checkpoint
+     */
+    @Builder.Default
+    private final boolean resume = true;
+
+    /**
+     * 使用的scan配置名
+     */
+    @Builder.Default
+    private final String scanProfile = ScanProfile.EXPORT;
+
+    /**
+     * 列值解码方式，CSV和JSON按解码后的值输出，COLUMNAR输出原始字节
+     */
+    @Builder.Default
+    private final ColumnSchema schema = new ColumnSchema();
+}
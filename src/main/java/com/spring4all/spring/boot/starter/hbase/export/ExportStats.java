@@ -0,0 +1,50 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 导出统计
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ExportStats {
+
+    /**
+     * 本次导出的分片数，region拆分或合并后一个region中未完成的部分可能拆为多个分片
+     */
+    private final int exportedRegions;
+
+    /**
+     * 已全部完成而跳过的region数
+     */
+    private final int skippedRegions;
+
+    /**
+     * 本次导出的行数
+     */
+    private final long rows;
+
+    /**
+     * 本次写入的字节数
+     */
+    private final long bytes;
+
+    /**
+     * 耗时(毫秒)
+     */
+    private final long elapsedMs;
+
+    public double getRowsPerSecond() {
+        return elapsedMs == 0 ? rows : rows * 1000d / elapsedMs;
+    }
+
+    public double getBytesPerSecond() {
+        return elapsedMs == 0 ? bytes : bytes * 1000d / elapsedMs;
+    }
+}
@@ -0,0 +1,23 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import org.apache.hadoop.hbase.client.Result;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 流式导出写入器，逐行写入，不缓存整个结果集
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface ExportWriter extends Closeable {
+
+    /**
+     * 写入一行
+     *
+     * @param result 扫描结果
+     * @throws IOException 写入失败
+     */
+    void write(Result result) throws IOException;
+}
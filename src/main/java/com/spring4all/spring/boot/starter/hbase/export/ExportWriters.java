@@ -0,0 +1,55 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema;
+import com.spring4all.spring.boot.starter.hbase.page.Column;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * {@link ExportWriter}工厂
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class ExportWriters {
+
+    private ExportWriters() {
+    }
+
+    /**
+     * 创建写入器，写入器关闭时同时关闭输出流
+     *
+     * @param format  文件格式
+     * @param out     输出流
+     * @param columns 导出的列，允许null
+     * @param schema  列值解码方式
+     * @return 写入器
+     * @throws IOException 写入文件头失败
+     */
+    public static ExportWriter create(ExportFormat format, OutputStream out, List<Column> columns, ColumnSchema schema) throws IOException {
+        switch (format) {
+            case CSV:
+                return new CsvExportWriter(out, columns, schema);
+            case JSON_LINES:
+                return new JsonLinesExportWriter(out, schema);
+            case COLUMNAR:
+                Assert.notEmpty(columns, "Columnar export requires columns");
+                return new ColumnarExportWriter(out, columns);
+            default:
+                throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+    }
+
+    static String render(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof byte[]) {
+            return org.apache.hadoop.hbase.util.Bytes.toStringBinary((byte[]) value);
+        }
+        return String.valueOf(value);
+    }
+}
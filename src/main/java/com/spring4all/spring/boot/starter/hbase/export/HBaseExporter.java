@@ -0,0 +1,243 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.page.Column;
+import com.spring4all.spring.boot.starter.hbase.scan.RegionRanges;
+import com.spring4all.spring.boot.starter.hbase.scan.RegionTaskRunner;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按region并行导出数据到本地文件
+ * <p>
+ * 每个region由一个线程扫描并流式写入独立的分片文件，内存占用只与并行度和scanner caching有关；
+ * 分片写完后原子重命名并将其rowKey范围记录到_checkpoint，重新执行时只导出未完成的范围，
+ * 期间region拆分或合并时已完成的分片仍然有效，不会重复导出。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseExporter.class);
+
+    static final String CHECKPOINT_FILE = "_checkpoint";
+
+    private static final String IN_PROGRESS_SUFFIX = ".inprogress";
+
+    private static final String PART_PREFIX = "part-";
+
+    private final HBaseTemplate hbaseTemplate;
+
+    public HBaseExporter(HBaseTemplate hbaseTemplate) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+    }
+
+    /**
+     * 执行导出，阻塞直到全部region完成
+     *
+     * @param request 导出参数
+     * @return 导出统计
+     */
+    public ExportStats export(ExportRequest request) {
+        Assert.notNull(request, "Export request must not be null");
+        Assert.hasText(request.getTableName(), "No table specified");
+        Assert.notNull(request.getOutputDir(), "Output directory must not be null");
+
+        final long begin = System.currentTimeMillis();
+        final Path outputDir = request.getOutputDir();
+        final List<ScanRange> tasks = new ArrayList<>();
+        int skipped = 0;
+        try {
+            Files.createDirectories(outputDir);
+            final Map<String, ScanRange> completed = request.isResume() ? readCheckpoint(outputDir) : Collections.emptyMap();
+            removeStaleFiles(outputDir, completed.keySet(), request.isResume());
+            final List<ScanRange> done = new ArrayList<>(completed.values());
+            done.sort((a, b) -> Bytes.compareTo(a.getStartRow(), b.getStartRow()));
+            for (ScanRange range : RegionRanges.split(hbaseTemplate.getConnection(), request.getTableName(),
+                    toBytes(request.getStartRow()), toBytes(request.getStopRow()))) {
+                final List<ScanRange> remaining = clip(range, done);
+                if (remaining.isEmpty()) {
+                    skipped++;
+                }
+                tasks.addAll(remaining);
+            }
+        } catch (IOException e) {
+            throw new HBaseSystemException(e);
+        }
+
+        final Scan scan = baseScan(request);
+        final LongAdder rows = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+        final AtomicInteger finished = new AtomicInteger();
+
+        RegionTaskRunner.run(tasks, request.getParallelism(), "hbase-export-", (index, range) -> {
+            final long regionBegin = System.currentTimeMillis();
+            final String partName = partName(range);
+            final Path part = outputDir.resolve(PART_PREFIX + partName + '.' + request.getFormat().getExtension());
+            final Path inProgress = outputDir.resolve(part.getFileName() + IN_PROGRESS_SUFFIX);
+
+            final long regionRows = this.exportRange(request, range.toScan(scan), inProgress);
+            Files.move(inProgress, part, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            final long regionBytes = Files.size(part);
+            this.writeCheckpoint(outputDir, partName, range, regionRows);
+
+            rows.add(regionRows);
+            bytes.add(regionBytes);
+            LOGGER.info("hbase导出分片完成({}/{}), table: {}, range: {}, rows: {}, bytes: {}, 耗时: {}ms",
+                    finished.incrementAndGet(), tasks.size(), request.getTableName(), range,
+                    regionRows, regionBytes, System.currentTimeMillis() - regionBegin);
+            return null;
+        });
+
+        final ExportStats stats = new ExportStats(tasks.size(), skipped,
+                rows.sum(), bytes.sum(), System.currentTimeMillis() - begin);
+        LOGGER.info("hbase导出完成, table: {}, {}", request.getTableName(), stats);
+        return stats;
+    }
+
+    private long exportRange(ExportRequest request, Scan scan, Path file) {
+        return hbaseTemplate.find(request.getTableName(), scan, scanner -> {
+            long count = 0;
+            try (OutputStream out = Files.newOutputStream(file);
+                 ExportWriter writer = ExportWriters.create(request.getFormat(), out, request.getColumns(), request.getSchema())) {
+                for (Result result : scanner) {
+                    writer.write(result);
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    private Scan baseScan(ExportRequest request) {
+        final Scan scan = new Scan();
+        if (request.getColumns() != null) {
+            for (Column column : request.getColumns()) {
+                scan.addColumn(Bytes.toBytes(column.getFamily()), Bytes.toBytes(column.getQualifier()));
+            }
+        }
+        if (request.getFilter() != null) {
+            scan.setFilter(request.getFilter());
+        }
+        hbaseTemplate.getScanProfiles().get(request.getScanProfile()).applyTo(scan);
+        return scan;
+    }
+
+    /**
+     * 每个已完成的分片记录一行：分片名、起止rowKey、行数，rowKey按{@link Bytes#toStringBinary}转义
+     */
+    private synchronized void writeCheckpoint(Path outputDir, String partName, ScanRange range, long rows) throws IOException {
+        final String line = partName + '\t' + Bytes.toStringBinary(range.getStartRow()) + '\t'
+                + Bytes.toStringBinary(range.getStopRow()) + '\t' + rows + '\n';
+        Files.write(outputDir.resolve(CHECKPOINT_FILE), line.getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+    }
+
+    /**
+     * @return 分片名 -> 已完成的rowKey范围，缺少范围的记录忽略，对应的分片文件会被删除后重新导出
+     */
+    static Map<String, ScanRange> readCheckpoint(Path outputDir) throws IOException {
+        final Path checkpoint = outputDir.resolve(CHECKPOINT_FILE);
+        final Map<String, ScanRange> completed = new HashMap<>();
+        if (Files.exists(checkpoint)) {
+            for (String line : Files.readAllLines(checkpoint, StandardCharsets.UTF_8)) {
+                final String[] fields = line.split("\t", -1);
+                if (fields.length == 4) {
+                    completed.put(fields[0], new ScanRange(Bytes.toBytesBinary(fields[1]), Bytes.toBytesBinary(fields[2])));
+                }
+            }
+        }
+        return completed;
+    }
+
+    /**
+     * 删除未完成的临时文件和不在checkpoint中的分片(例如重命名后未写入checkpoint)，不续传时删除全部分片和checkpoint
+     */
+    private static void removeStaleFiles(Path outputDir, Set<String> completed, boolean resume) throws IOException {
+        if (!resume) {
+            Files.deleteIfExists(outputDir.resolve(CHECKPOINT_FILE));
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(outputDir, PART_PREFIX + "*")) {
+            for (Path file : files) {
+                final String fileName = file.getFileName().toString();
+                final String partName = StringUtils.substringBefore(fileName.substring(PART_PREFIX.length()), ".");
+                if (fileName.endsWith(IN_PROGRESS_SUFFIX) || !completed.contains(partName)) {
+                    LOGGER.info("hbase导出删除未记录在checkpoint中的分片: {}", file);
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * 去掉range中已完成的部分，region拆分或合并后只导出未完成的范围，已有分片仍然有效
+     *
+     * @param range     region范围
+     * @param completed 已完成的范围，按开始rowKey排序且互不重叠
+     * @return 未完成的范围，按rowKey有序
+     */
+    static List<ScanRange> clip(ScanRange range, List<ScanRange> completed) {
+        final List<ScanRange> remaining = new ArrayList<>();
+        byte[] next = range.getStartRow();
+        for (ScanRange done : completed) {
+            final ScanRange overlap = range.intersect(done.getStartRow(), done.getStopRow());
+            if (overlap == null || (!isOpenEnd(overlap.getStopRow()) && Bytes.compareTo(overlap.getStopRow(), next) <= 0)) {
+                continue;
+            }
+            if (Bytes.compareTo(next, overlap.getStartRow()) < 0) {
+                remaining.add(new ScanRange(next, overlap.getStartRow()));
+            }
+            if (isOpenEnd(overlap.getStopRow())) {
+                return remaining;
+            }
+            next = overlap.getStopRow();
+        }
+        if (isOpenEnd(range.getStopRow()) || Bytes.compareTo(next, range.getStopRow()) < 0) {
+            remaining.add(new ScanRange(next, range.getStopRow()));
+        }
+        return remaining;
+    }
+
+    private static boolean isOpenEnd(byte[] row) {
+        return row == null || row.length == 0;
+    }
+
+    /**
+     * 分片名由范围的起止rowKey决定
+     */
+    private static String partName(ScanRange range) {
+        final byte[] key = Bytes.add(range.getStartRow(), new byte[]{0}, range.getStopRow());
+        return DigestUtils.md5DigestAsHex(key).substring(0, 16);
+    }
+
+    private static byte[] toBytes(String row) {
+        return StringUtils.isEmpty(row) ? null : Bytes.toBytes(row);
+    }
+}
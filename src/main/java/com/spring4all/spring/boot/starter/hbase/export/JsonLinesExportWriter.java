@@ -0,0 +1,95 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JSON lines写入器，每行一个json对象，key为rowkey及"family:qualifier"，同一列有多个版本时只输出最新版本
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class JsonLinesExportWriter implements ExportWriter {
+
+    private final Writer writer;
+
+    private final ColumnSchema schema;
+
+    JsonLinesExportWriter(OutputStream out, ColumnSchema schema) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.schema = schema;
+    }
+
+    @Override
+    public void write(Result result) throws IOException {
+        writer.write("{\"rowkey\":");
+        writeString(Bytes.toString(result.getRow()));
+        Cell previous = null;
+        for (Cell cell : result.rawCells()) {
+            if (previous != null && CellUtil.matchingColumn(previous, cell)) {
+                continue;
+            }
+            previous = cell;
+            writer.write(',');
+            writeString(Bytes.toString(CellUtil.cloneFamily(cell)) + ':' + Bytes.toString(CellUtil.cloneQualifier(cell)));
+            writer.write(':');
+            final Object value = schema.decode(cell);
+            if (value instanceof Boolean || value instanceof Number && isFinite((Number) value)) {
+                writer.write(String.valueOf(value));
+            } else {
+                writeString(ExportWriters.render(value));
+            }
+        }
+        writer.write("}\n");
+    }
+
+    private static boolean isFinite(Number value) {
+        return !(value instanceof Double || value instanceof Float) || !Double.isNaN(value.doubleValue()) && !Double.isInfinite(value.doubleValue());
+    }
+
+    private void writeString(String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
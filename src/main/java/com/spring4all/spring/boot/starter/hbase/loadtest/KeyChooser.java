@@ -0,0 +1,92 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+import java.util.Random;
+
+/**
+ * 按分布选择[0, recordCount)中的行序号
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@FunctionalInterface
+interface KeyChooser {
+
+    long next(Random random);
+
+    static KeyChooser create(KeyDistribution distribution, long recordCount) {
+        if (distribution == KeyDistribution.ZIPFIAN) {
+            return new Zipfian(recordCount);
+        }
+        return random -> (long) (random.nextDouble() * recordCount);
+    }
+
+    /**
+     * Gray等人的zipfian生成算法(与YCSB的ScrambledZipfianGenerator相同)，生成的序号经过FNV hash打散，
+     * 避免热点集中在key空间开头、落在同一个region
+     */
+    final class Zipfian implements KeyChooser {
+
+        private static final double THETA = 0.99;
+
+        private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+
+        private static final long FNV_PRIME = 1099511628211L;
+
+        private final long items;
+
+        private final double zetan;
+
+        private final double alpha;
+
+        private final double eta;
+
+        private final double half;
+
+        Zipfian(long items) {
+            this.items = items;
+            this.zetan = zeta(items);
+            this.alpha = 1.0 / (1.0 - THETA);
+            this.eta = (1 - Math.pow(2.0 / items, 1 - THETA)) / (1 - zeta(2) / zetan);
+            this.half = 1 + Math.pow(0.5, THETA);
+        }
+
+        @Override
+        public long next(Random random) {
+            return scramble(nextRank(random));
+        }
+
+        /**
+         * @return 按热度排序的序号，0最热
+         */
+        long nextRank(Random random) {
+            final double u = random.nextDouble();
+            final double uz = u * zetan;
+            if (uz < 1.0) {
+                return 0;
+            }
+            if (uz < half) {
+                return 1;
+            }
+            return Math.min(items - 1, (long) (items * Math.pow(eta * u - eta + 1, alpha)));
+        }
+
+        private long scramble(long rank) {
+            long hash = FNV_OFFSET_BASIS;
+            long value = rank;
+            for (int i = 0; i < 8; i++) {
+                hash ^= value & 0xFF;
+                hash *= FNV_PRIME;
+                value >>= 8;
+            }
+            return Math.floorMod(hash, items);
+        }
+
+        private static double zeta(long n) {
+            double sum = 0;
+            for (long i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, THETA);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+/**
+ * 压测中选择rowKey的分布
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public enum KeyDistribution {
+
+    /**
+     * 均匀分布
+     */
+    UNIFORM,
+
+    /**
+     * zipfian分布，少量热点行占大部分请求，热点行经过hash分散在整个key空间
+     */
+    ZIPFIAN
+}
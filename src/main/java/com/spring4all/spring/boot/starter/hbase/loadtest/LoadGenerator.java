@@ -0,0 +1,284 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.api.RowMapper;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 压测工具，按{@link Workload}的比例通过{@link HBaseTemplate}发起get、multiGet、分页scan和写入，统计延迟分布和吞吐
+ * <p>
+ * 需要引入HdrHistogram。HBaseTemplate可以连接真实集群或{@link com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase}，
+ * 使用不同的scan配置、线程池、mutator缓冲区各运行一次，比较报告即可：
+ * <pre>
+ * LoadGenerator generator = new LoadGenerator(hbaseTemplate);
+ * generator.load(workload);
+ * LoadReport report = generator.run(workload, LoadProfile.builder().threads(16).targetRate(5000).build());
+ * </pre>
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class LoadGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final int KEY_DIGITS = 10;
+
+    private static final RowMapper<Integer> CELL_COUNT = (result, rowNum) -> result.size();
+
+    private final HBaseTemplate hbaseTemplate;
+
+    public LoadGenerator(HBaseTemplate hbaseTemplate) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+    }
+
+    /**
+     * 写入recordCount行初始数据，表需要已存在
+     *
+     * @param workload 压测数据
+     */
+    public void load(Workload workload) {
+        assertValid(workload);
+        final Random random = new Random(0);
+        final List<Mutation> batch = new ArrayList<>(LOAD_BATCH_SIZE);
+        for (long i = 0; i < workload.getRecordCount(); i++) {
+            batch.add(newRow(workload, i, random));
+            if (batch.size() == LOAD_BATCH_SIZE) {
+                hbaseTemplate.saveOrUpdates(workload.getTableName(), batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            hbaseTemplate.saveOrUpdates(workload.getTableName(), batch);
+        }
+        LOGGER.info("hbase压测数据写入完成, table: {}, 行数: {}", workload.getTableName(), workload.getRecordCount());
+    }
+
+    /**
+     * 运行压测，阻塞到统计时间结束或达到最大操作数
+     *
+     * @param workload 压测数据和操作比例
+     * @param profile  并发方式和时长
+     * @return 预热之后的统计
+     */
+    public LoadReport run(Workload workload, LoadProfile profile) {
+        assertValid(workload);
+        Assert.notNull(profile, "Load profile must not be null");
+        Assert.isTrue(profile.getThreads() > 0, "Threads must be greater than 0");
+        Assert.isTrue(profile.getTargetRate() >= 0, "Target rate must not be negative");
+        Assert.isTrue(!profile.getWarmup().isNegative() && !profile.getDuration().isNegative(), "Durations must not be negative");
+
+        final KeyChooser chooser = KeyChooser.create(workload.getDistribution(), workload.getRecordCount());
+        final long start = System.nanoTime();
+        final long measureStart = start + profile.getWarmup().toNanos();
+        final long end = measureStart + profile.getDuration().toNanos();
+        final AtomicLong remaining = new AtomicLong(profile.getMaxOperations() > 0 ? profile.getMaxOperations() : Long.MAX_VALUE);
+        // 开环压测时每个线程的操作间隔，各线程的开始时间错开
+        final long intervalNanos = profile.getTargetRate() > 0 ? (long) (profile.getThreads() * 1e9 / profile.getTargetRate()) : 0;
+
+        final List<Worker> workers = new ArrayList<>(profile.getThreads());
+        final List<Thread> threads = new ArrayList<>(profile.getThreads());
+        for (int i = 0; i < profile.getThreads(); i++) {
+            final Worker worker = new Worker(workload, chooser, start + intervalNanos * i / profile.getThreads(),
+                    intervalNanos, measureStart, end, remaining);
+            final Thread thread = new Thread(worker, "hbase-load-" + i);
+            thread.setDaemon(true);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+            throw new HBaseSystemException(e);
+        }
+        final long elapsed = Math.max(0, Math.min(System.nanoTime(), end) - measureStart);
+
+        final Map<OperationType, OperationStats> stats = new EnumMap<>(OperationType.class);
+        for (Worker worker : workers) {
+            worker.stats.forEach((type, workerStats) ->
+                    stats.computeIfAbsent(type, OperationStats::new).add(workerStats));
+        }
+        final LoadReport report = new LoadReport(profile.getName(), elapsed, stats);
+        LOGGER.info("hbase压测完成\n{}", report.format());
+        return report;
+    }
+
+    private void execute(OperationType type, Workload workload, KeyChooser chooser, Random random) {
+        final String tableName = workload.getTableName();
+        switch (type) {
+            case GET:
+                hbaseTemplate.get(tableName, rowKey(workload, chooser.next(random)), CELL_COUNT);
+                break;
+            case MULTI_GET:
+                final String[] rows = new String[workload.getMultiGetSize()];
+                for (int i = 0; i < rows.length; i++) {
+                    rows[i] = rowKey(workload, chooser.next(random));
+                }
+                hbaseTemplate.multiGet(tableName, CELL_COUNT, null, rows);
+                break;
+            case SCAN_PAGE:
+                hbaseTemplate.findFirstPage(tableName, rowKey(workload, chooser.next(random)),
+                        workload.getKeyPrefix() + "~", workload.getPageSize(), CELL_COUNT);
+                break;
+            case WRITE:
+            default:
+                hbaseTemplate.saveOrUpdate(tableName, newRow(workload, chooser.next(random), random));
+                break;
+        }
+    }
+
+    private static Put newRow(Workload workload, long index, Random random) {
+        final Put put = new Put(Bytes.toBytes(rowKey(workload, index)));
+        final byte[] family = Bytes.toBytes(workload.getFamily());
+        for (int i = 0; i < workload.getFieldCount(); i++) {
+            final byte[] value = new byte[workload.getFieldLength()];
+            random.nextBytes(value);
+            put.addColumn(family, Bytes.toBytes("field" + i), value);
+        }
+        return put;
+    }
+
+    /**
+     * @return keyPrefix加10位补零的序号，rowKey的字节序与序号一致
+     */
+    static String rowKey(Workload workload, long index) {
+        final String digits = Long.toString(index);
+        final StringBuilder key = new StringBuilder(workload.getKeyPrefix().length() + KEY_DIGITS).append(workload.getKeyPrefix());
+        for (int i = digits.length(); i < KEY_DIGITS; i++) {
+            key.append('0');
+        }
+        return key.append(digits).toString();
+    }
+
+    private static void assertValid(Workload workload) {
+        Assert.notNull(workload, "Workload must not be null");
+        Assert.hasText(workload.getTableName(), "Table name must not be empty");
+        Assert.hasText(workload.getFamily(), "Family must not be empty");
+        Assert.isTrue(workload.getRecordCount() > 0, "Record count must be greater than 0");
+        Assert.isTrue(workload.getFieldCount() > 0 && workload.getFieldLength() >= 0, "Invalid field count or length");
+        Assert.isTrue(workload.getMultiGetSize() > 0 && workload.getPageSize() > 0, "Multi get size and page size must be greater than 0");
+        int total = 0;
+        for (OperationType type : OperationType.values()) {
+            Assert.isTrue(workload.getWeight(type) >= 0, "Operation weight must not be negative");
+            total += workload.getWeight(type);
+        }
+        Assert.isTrue(total > 0, "At least one operation weight must be greater than 0");
+    }
+
+    /**
+     * 压测线程，统计只在本线程内记录，结束后合并
+     */
+    private final class Worker implements Runnable {
+
+        private final Workload workload;
+
+        private final KeyChooser chooser;
+
+        private final long firstStart;
+
+        private final long intervalNanos;
+
+        private final long measureStart;
+
+        private final long end;
+
+        private final AtomicLong remaining;
+
+        private final Map<OperationType, OperationStats> stats = new EnumMap<>(OperationType.class);
+
+        private final OperationType[] types = OperationType.values();
+
+        private final int[] cumulativeWeights = new int[types.length];
+
+        Worker(Workload workload, KeyChooser chooser, long firstStart, long intervalNanos, long measureStart, long end,
+               AtomicLong remaining) {
+            this.workload = workload;
+            this.chooser = chooser;
+            this.firstStart = firstStart;
+            this.intervalNanos = intervalNanos;
+            this.measureStart = measureStart;
+            this.end = end;
+            this.remaining = remaining;
+            int total = 0;
+            for (int i = 0; i < types.length; i++) {
+                total += workload.getWeight(types[i]);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        @Override
+        public void run() {
+            final Random random = ThreadLocalRandom.current();
+            for (long sequence = 0; !Thread.currentThread().isInterrupted(); sequence++) {
+                long intended = System.nanoTime();
+                if (intervalNanos > 0) {
+                    intended = firstStart + sequence * intervalNanos;
+                    waitUntil(intended);
+                }
+                if (intended >= end) {
+                    return;
+                }
+                final boolean measured = intended >= measureStart;
+                if (measured && remaining.getAndDecrement() <= 0) {
+                    return;
+                }
+                final OperationType type = nextType(random);
+                final long begin = System.nanoTime();
+                boolean failed = false;
+                try {
+                    execute(type, workload, chooser, random);
+                } catch (RuntimeException e) {
+                    failed = true;
+                    LOGGER.debug("hbase压测操作失败, type: {}", type, e);
+                }
+                if (measured) {
+                    // 开环压测从计划开始时间计算，包含排队等待的时间
+                    final long latency = System.nanoTime() - (intervalNanos > 0 ? intended : begin);
+                    stats.computeIfAbsent(type, OperationStats::new).record(latency, failed);
+                }
+            }
+        }
+
+        private OperationType nextType(Random random) {
+            final int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < types.length; i++) {
+                if (value < cumulativeWeights[i]) {
+                    return types[i];
+                }
+            }
+            return types[types.length - 1];
+        }
+
+        private void waitUntil(long deadline) {
+            long wait;
+            while ((wait = deadline - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(wait);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * 压测的并发方式和时长
+ * <p>
+ * 未设置targetRate时为闭环压测，每个线程上一个操作完成后立即发起下一个；
+ * 设置后为开环压测，按固定速率安排每个操作的开始时间，延迟从计划开始时间计算，
+ * 客户端处理不过来时排队等待的时间同样计入延迟，避免coordinated omission。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class LoadProfile {
+
+    /**
+     * 名称，用于区分不同配置的报告
+     */
+    @Builder.Default
+    private final String name = "default";
+
+    /**
+     * 发起操作的线程数
+     */
+    @Builder.Default
+    private final int threads = 8;
+
+    /**
+     * 所有线程合计每秒发起的操作数，0为闭环压测
+     */
+    @Builder.Default
+    private final double targetRate = 0;
+
+    /**
+     * 预热时间，期间的操作不计入统计
+     */
+    @Builder.Default
+    private final Duration warmup = Duration.ofSeconds(10);
+
+    /**
+     * 统计时间
+     */
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(60);
+
+    /**
+     * 统计的最大操作数，达到后提前结束，0为不限制
+     */
+    @Builder.Default
+    private final long maxOperations = 0;
+}
@@ -0,0 +1,99 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 压测报告，只包含预热之后的操作
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 95, 99, 99.9};
+
+    private final String name;
+
+    private final long elapsedNanos;
+
+    private final Map<OperationType, OperationStats> stats;
+
+    LoadReport(String name, long elapsedNanos, Map<OperationType, OperationStats> stats) {
+        this.name = name;
+        this.elapsedNanos = elapsedNanos;
+        this.stats = Collections.unmodifiableMap(new EnumMap<>(stats));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getElapsed(TimeUnit unit) {
+        return unit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return 操作类型 -> 统计，只包含发起过的操作
+     */
+    public Map<OperationType, OperationStats> getStats() {
+        return stats;
+    }
+
+    public OperationStats getStats(OperationType type) {
+        return stats.get(type);
+    }
+
+    public long getOperations() {
+        long operations = 0;
+        for (OperationStats operation : stats.values()) {
+            operations += operation.getOperations();
+        }
+        return operations;
+    }
+
+    public long getErrors() {
+        long errors = 0;
+        for (OperationStats operation : stats.values()) {
+            errors += operation.getErrors();
+        }
+        return errors;
+    }
+
+    /**
+     * @return 每秒完成的操作数
+     */
+    public double getThroughput() {
+        return elapsedNanos <= 0 ? 0 : getOperations() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return 每种操作一行的文本报告，延迟单位为微秒
+     */
+    public String format() {
+        final StringBuilder report = new StringBuilder();
+        report.append(String.format("[%s] elapsed: %d ms, operations: %d, errors: %d, throughput: %.1f ops/s%n",
+                name, getElapsed(TimeUnit.MILLISECONDS), getOperations(), getErrors(), getThroughput()));
+        report.append(String.format("%-10s %10s %8s %10s", "operation", "count", "errors", "mean"));
+        for (double percentile : PERCENTILES) {
+            report.append(String.format(" %10s", "p" + (percentile == (long) percentile ? String.valueOf((long) percentile) : String.valueOf(percentile))));
+        }
+        report.append(String.format(" %10s%n", "max"));
+        for (OperationStats operation : stats.values()) {
+            report.append(String.format("%-10s %10d %8d %10.1f", operation.getType(), operation.getOperations(),
+                    operation.getErrors(), operation.getMeanLatency()));
+            for (double percentile : PERCENTILES) {
+                report.append(String.format(" %10d", operation.getLatency(percentile)));
+            }
+            report.append(String.format(" %10d%n", operation.getMaxLatency()));
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+}
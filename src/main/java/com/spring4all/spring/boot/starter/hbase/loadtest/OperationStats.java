@@ -0,0 +1,80 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一种操作的统计，延迟单位为微秒
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class OperationStats {
+
+    /**
+     * 可记录的最大延迟，超过时按最大值记录
+     */
+    static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    private final OperationType type;
+
+    private final Histogram histogram;
+
+    private long errors;
+
+    OperationStats(OperationType type) {
+        this.type = type;
+        this.histogram = new Histogram(MAX_LATENCY_MICROS, 3);
+    }
+
+    void record(long latencyNanos, boolean failed) {
+        histogram.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(latencyNanos))));
+        if (failed) {
+            errors++;
+        }
+    }
+
+    void add(OperationStats other) {
+        histogram.add(other.histogram);
+        errors += other.errors;
+    }
+
+    public OperationType getType() {
+        return type;
+    }
+
+    /**
+     * @return 操作数，包含失败的操作
+     */
+    public long getOperations() {
+        return histogram.getTotalCount();
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * @param percentile 百分位，例如99.9
+     * @return 延迟(微秒)
+     */
+    public long getLatency(double percentile) {
+        return histogram.getValueAtPercentile(percentile);
+    }
+
+    public double getMeanLatency() {
+        return histogram.getMean();
+    }
+
+    public long getMaxLatency() {
+        return histogram.getMaxValue();
+    }
+
+    /**
+     * @return 延迟分布的副本，可以输出完整的百分位分布或与其他报告合并
+     */
+    public Histogram getHistogram() {
+        return histogram.copy();
+    }
+}
@@ -0,0 +1,30 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+/**
+ * 压测中的操作类型
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public enum OperationType {
+
+    /**
+     * 按rowKey读取一行
+     */
+    GET,
+
+    /**
+     * 一次读取多行，行数为{@link Workload#getMultiGetSize()}
+     */
+    MULTI_GET,
+
+    /**
+     * 从随机行开始分页scan，每页行数为{@link Workload#getPageSize()}
+     */
+    SCAN_PAGE,
+
+    /**
+     * 覆盖写入已有的一行
+     */
+    WRITE
+}
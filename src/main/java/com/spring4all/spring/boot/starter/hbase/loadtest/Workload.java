@@ -0,0 +1,109 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 压测的数据和操作比例，参考YCSB的core workload
+ * <p>
+ * rowKey为keyPrefix加10位补零的序号，每行有fieldCount个列，列名为field0、field1...，每列fieldLength字节随机值。
+ * 各操作按权重随机选择，例如get 95、write 5即YCSB的workload B。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class Workload {
+
+    /**
+     * 表名
+     */
+    private final String tableName;
+
+    /**
+     * 列族
+     */
+    @Builder.Default
+    private final String family = "cf";
+
+    /**
+     * rowKey前缀
+     */
+    @Builder.Default
+    private final String keyPrefix = "user";
+
+    /**
+     * 数据行数，读写的rowKey在[0, recordCount)中选择
+     */
+    @Builder.Default
+    private final long recordCount = 100000;
+
+    /**
+     * 每行的列数
+     */
+    @Builder.Default
+    private final int fieldCount = 10;
+
+    /**
+     * 每列值的字节数
+     */
+    @Builder.Default
+    private final int fieldLength = 100;
+
+    /**
+     * rowKey的分布
+     */
+    @Builder.Default
+    private final KeyDistribution distribution = KeyDistribution.ZIPFIAN;
+
+    /**
+     * get的权重
+     */
+    @Builder.Default
+    private final int getWeight = 50;
+
+    /**
+     * multiGet的权重
+     */
+    @Builder.Default
+    private final int multiGetWeight = 0;
+
+    /**
+     * 分页scan的权重
+     */
+    @Builder.Default
+    private final int scanPageWeight = 0;
+
+    /**
+     * 写入的权重
+     */
+    @Builder.Default
+    private final int writeWeight = 50;
+
+    /**
+     * multiGet每次读取的行数
+     */
+    @Builder.Default
+    private final int multiGetSize = 10;
+
+    /**
+     * 分页scan每页的行数
+     */
+    @Builder.Default
+    private final int pageSize = 20;
+
+    int getWeight(OperationType type) {
+        switch (type) {
+            case GET:
+                return getWeight;
+            case MULTI_GET:
+                return multiGetWeight;
+            case SCAN_PAGE:
+                return scanPageWeight;
+            case WRITE:
+            default:
+                return writeWeight;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.spring4all.spring.boot.starter.hbase.metrics;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.diagnostics.SlowOperationLog;
+import com.spring4all.spring.boot.starter.hbase.executor.InstrumentedThreadPoolExecutor;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaLimiter;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaManager;
+import com.spring4all.spring.boot.starter.hbase.resilience.CircuitBreaker;
+import com.spring4all.spring.boot.starter.hbase.resilience.RegionServerGuard;
+import com.spring4all.spring.boot.starter.hbase.resilience.RetryBudget;
+import com.spring4all.spring.boot.starter.hbase.spool.WriteSpool;
+import com.spring4all.spring.boot.starter.hbase.write.MutationCoalescer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * HBase客户端指标，注册到micrometer
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseClientMetrics implements MeterBinder {
+
+    private static final String EXECUTOR_NAME = "hbase.client";
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final ExecutorService executor;
+
+    private final Iterable<Tag> tags;
+
+    public HBaseClientMetrics(HBaseTemplate hbaseTemplate, ExecutorService executor) {
+        this(hbaseTemplate, executor, Tags.empty());
+    }
+
+    public HBaseClientMetrics(HBaseTemplate hbaseTemplate, ExecutorService executor, Iterable<Tag> tags) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+        this.executor = executor;
+        this.tags = tags;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (executor != null) {
+            bindExecutor(registry);
+        }
+        bindCounter(registry);
+        bindCoalescer(registry);
+        bindSlowOperations(registry);
+        bindSpool(registry);
+        bindResilience(registry);
+        bindQuota(registry);
+    }
+
+    private void bindQuota(MeterRegistry registry) {
+        final QuotaManager quotaManager = hbaseTemplate.getQuotaManager();
+        if (quotaManager == null) {
+            return;
+        }
+        for (QuotaLimiter limiter : quotaManager.getLimiters()) {
+            final Tags limiterTags = Tags.concat(tags, "limiter", limiter.getName());
+            FunctionCounter.builder("hbase.client.quota.throttled", limiter, QuotaLimiter::getThrottled)
+                    .description("等待令牌的次数")
+                    .tags(limiterTags)
+                    .register(registry);
+            FunctionCounter.builder("hbase.client.quota.rejected", limiter, QuotaLimiter::getRejected)
+                    .description("超过限额失败的次数")
+                    .tags(limiterTags)
+                    .register(registry);
+            FunctionCounter.builder("hbase.client.quota.wait", limiter, l -> l.getThrottledMillis() / 1000)
+                    .description("等待令牌的累计时间")
+                    .baseUnit("seconds")
+                    .tags(limiterTags)
+                    .register(registry);
+        }
+    }
+
+    private void bindResilience(MeterRegistry registry) {
+        final RegionServerGuard guard = hbaseTemplate.getRegionServerGuard();
+        if (guard == null) {
+            return;
+        }
+        Gauge.builder("hbase.client.retry.budget", guard.getRetryBudget(), RetryBudget::getTokens)
+                .description("剩余的重试令牌数")
+                .tags(tags)
+                .register(registry);
+        guard.addBreakerListener(breaker -> {
+            final Tags serverTags = Tags.concat(tags, "server", breaker.getServer());
+            Gauge.builder("hbase.client.breaker.state", breaker, b -> b.getState().ordinal())
+                    .description("region server熔断状态，0正常，1熔断，2试探")
+                    .tags(serverTags)
+                    .register(registry);
+            FunctionCounter.builder("hbase.client.breaker.rejected", breaker, CircuitBreaker::getRejectedCalls)
+                    .description("熔断期间直接失败的调用次数")
+                    .tags(serverTags)
+                    .register(registry);
+        });
+    }
+
+    private void bindSpool(MeterRegistry registry) {
+        final WriteSpool spool = hbaseTemplate.getWriteSpool();
+        if (spool == null) {
+            return;
+        }
+        Gauge.builder("hbase.client.spool.pending", spool, WriteSpool::getPendingBytes)
+                .description("spool中待重放的字节数")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("hbase.client.spool.spooled", spool, WriteSpool::getSpooledBatches)
+                .description("写入spool的批次数")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("hbase.client.spool.replayed", spool, WriteSpool::getReplayedBatches)
+                .description("重放成功的批次数")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("hbase.client.spool.discarded", spool, WriteSpool::getDiscardedRecords)
+                .description("校验或反序列化失败而丢弃的记录数")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void bindSlowOperations(MeterRegistry registry) {
+        final SlowOperationLog slowOperationLog = hbaseTemplate.getSlowOperationLog();
+        if (slowOperationLog == null) {
+            return;
+        }
+        FunctionCounter.builder("hbase.client.slow.operations", slowOperationLog, SlowOperationLog::getSlowOperations)
+                .description("耗时超过阈值的操作次数")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void bindCoalescer(MeterRegistry registry) {
+        final MutationCoalescer coalescer = hbaseTemplate.getMutationCoalescer();
+        if (coalescer == null) {
+            return;
+        }
+        FunctionCounter.builder("hbase.client.mutator.coalesced", coalescer, MutationCoalescer::getRemovedMutations)
+                .description("写入前合并减少的Mutation条数")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("hbase.client.mutator.dropped.cells", coalescer, MutationCoalescer::getDroppedCells)
+                .description("写入前被覆盖而丢弃的cell数")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void bindCounter(MeterRegistry registry) {
+        final HBaseTemplate template = hbaseTemplate;
+        Gauge.builder("hbase.client.counter.pending", template, t -> t.isIncrementCoalescerCreated() ? t.getIncrementCoalescer().getPendingIncrements() : 0)
+                .description("两次flush之间累计的计数器increment次数")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("hbase.client.counter.flushed", template, t -> t.isIncrementCoalescerCreated() ? t.getIncrementCoalescer().getFlushedRows() : 0)
+                .description("计数器flush成功的行数")
+                .tags(tags)
+                .register(registry);
+        FunctionCounter.builder("hbase.client.counter.failed", template, t -> t.isIncrementCoalescerCreated() ? t.getIncrementCoalescer().getFailedRows() : 0)
+                .description("计数器flush失败的行数")
+                .tags(tags)
+                .register(registry);
+    }
+
+    private void bindExecutor(MeterRegistry registry) {
+        new ExecutorServiceMetrics(executor, EXECUTOR_NAME, tags).bindTo(registry);
+        if (executor instanceof InstrumentedThreadPoolExecutor) {
+            final InstrumentedThreadPoolExecutor pool = (InstrumentedThreadPoolExecutor) executor;
+            FunctionCounter.builder("hbase.client.executor.rejected", pool, InstrumentedThreadPoolExecutor::getRejectedCount)
+                    .description("队列已满触发拒绝策略的次数")
+                    .tags(tags)
+                    .register(registry);
+            Gauge.builder("hbase.client.executor.queue.remaining", pool, p -> p.getQueue().remainingCapacity())
+                    .description("线程池队列剩余容量")
+                    .tags(tags)
+                    .register(registry);
+        }
+    }
+}
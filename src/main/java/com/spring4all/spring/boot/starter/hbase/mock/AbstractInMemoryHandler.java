@@ -0,0 +1,52 @@
+package com.spring4all.spring.boot.starter.hbase.mock;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+/**
+ * 内存实现的动态代理基类，处理Object的方法，未实现的setter忽略，其余方法抛出{@link UnsupportedOperationException}
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+abstract class AbstractInMemoryHandler implements InvocationHandler {
+
+    /**
+     * {@link #doInvoke}没有处理该方法
+     */
+    static final Object UNHANDLED = new Object();
+
+    private final String description;
+
+    AbstractInMemoryHandler(String description) {
+        this.description = description;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        final String name = method.getName();
+        if (method.getDeclaringClass() == Object.class) {
+            switch (name) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return description;
+            }
+        }
+        final Object result = doInvoke(name, args == null ? new Object[0] : args, method);
+        if (result != UNHANDLED) {
+            return result;
+        }
+        if (name.startsWith("set") && method.getReturnType() == void.class) {
+            return null;
+        }
+        throw new UnsupportedOperationException(description + " does not support " + name);
+    }
+
+    /**
+     * @return 方法的返回值，不支持的方法返回{@link #UNHANDLED}
+     */
+    abstract Object doInvoke(String name, Object[] args, Method method) throws Throwable;
+}
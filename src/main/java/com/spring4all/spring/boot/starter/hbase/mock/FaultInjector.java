@@ -0,0 +1,158 @@
+package com.spring4all.spring.boot.starter.hbase.mock;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 为{@link InMemoryHBase}的每次调用注入延迟和故障，并按操作名统计调用次数
+ * <p>
+ * 操作名与Table、BufferedMutator的方法名一致，例如get、put、getScanner、batch、flush。
+ * 随机故障使用固定种子，相同调用顺序下结果可重复。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class FaultInjector {
+
+    private final Map<String, LongAdder> calls = new ConcurrentHashMap<>();
+
+    private final AtomicInteger failNext = new AtomicInteger();
+
+    private volatile long latencyMicros;
+
+    private volatile double failureRate;
+
+    private volatile Supplier<IOException> faultFactory = () -> new IOException("Injected fault");
+
+    private Random random = new Random(0);
+
+    /**
+     * 每次调用前等待的时间
+     */
+    public FaultInjector latency(long duration, TimeUnit unit) {
+        this.latencyMicros = unit.toMicros(duration);
+        return this;
+    }
+
+    /**
+     * 每次调用失败的概率，batch中按操作单独计算
+     */
+    public FaultInjector failureRate(double failureRate) {
+        this.failureRate = failureRate;
+        return this;
+    }
+
+    /**
+     * 接下来的calls次调用失败
+     */
+    public FaultInjector failNext(int calls) {
+        this.failNext.set(calls);
+        return this;
+    }
+
+    /**
+     * 故障抛出的异常，默认为IOException
+     */
+    public FaultInjector faultFactory(Supplier<IOException> faultFactory) {
+        this.faultFactory = faultFactory;
+        return this;
+    }
+
+    public synchronized FaultInjector seed(long seed) {
+        this.random = new Random(seed);
+        return this;
+    }
+
+    /**
+     * 清除延迟、故障设置和调用统计
+     */
+    public synchronized void reset() {
+        latencyMicros = 0;
+        failureRate = 0;
+        failNext.set(0);
+        calls.clear();
+        random = new Random(0);
+    }
+
+    /**
+     * 记录一次调用，等待延迟后按设置抛出故障
+     *
+     * @param operation 操作名
+     * @throws IOException 注入的故障
+     */
+    void beforeCall(String operation) throws IOException {
+        delay(operation);
+        final IOException fault = nextFault();
+        if (fault != null) {
+            throw fault;
+        }
+    }
+
+    /**
+     * 只记录调用并等待延迟，故障由调用方按操作单独判断
+     *
+     * @param operation 操作名
+     * @throws InterruptedIOException 等待时被中断
+     */
+    void delay(String operation) throws InterruptedIOException {
+        calls.computeIfAbsent(operation, key -> new LongAdder()).increment();
+        final long latency = latencyMicros;
+        if (latency > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while injecting latency");
+            }
+        }
+    }
+
+    /**
+     * @return 本次操作需要失败时返回异常，否则返回null
+     */
+    IOException nextFault() {
+        if (failNext.get() > 0 && failNext.getAndDecrement() > 0) {
+            return faultFactory.get();
+        }
+        if (failureRate > 0) {
+            final double next;
+            synchronized (this) {
+                next = random.nextDouble();
+            }
+            if (next < failureRate) {
+                return faultFactory.get();
+            }
+        }
+        return null;
+    }
+
+    public long getCalls(String operation) {
+        final LongAdder adder = calls.get(operation);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    public long getTotalCalls() {
+        long total = 0;
+        for (LongAdder adder : calls.values()) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    /**
+     * @return 操作名 -> 调用次数
+     */
+    public Map<String, Long> getCalls() {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        calls.forEach((operation, adder) -> snapshot.put(operation, adder.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,199 @@
+package com.spring4all.spring.boot.starter.hbase.mock;
+
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.TableNotDisabledException;
+import org.apache.hadoop.hbase.client.Admin;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * {@link Admin}的内存实现，支持表和列族的增删改，不支持快照、集群状态等运维操作
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class InMemoryAdminHandler extends AbstractInMemoryHandler {
+
+    private final InMemoryHBase hbase;
+
+    private final Connection connection;
+
+    private InMemoryAdminHandler(InMemoryHBase hbase, Connection connection) {
+        super("InMemoryAdmin");
+        this.hbase = hbase;
+        this.connection = connection;
+    }
+
+    static Admin create(InMemoryHBase hbase, Connection connection) {
+        return (Admin) Proxy.newProxyInstance(Admin.class.getClassLoader(),
+                new Class<?>[]{Admin.class}, new InMemoryAdminHandler(hbase, connection));
+    }
+
+    @Override
+    Object doInvoke(String name, Object[] args, Method method) throws Throwable {
+        switch (name) {
+            case "getConnection":
+                return connection;
+            case "getConfiguration":
+                return hbase.getConfiguration();
+            case "close":
+            case "abort":
+                return null;
+            case "isAborted":
+                return false;
+            case "tableExists":
+                return hbase.findTable((TableName) args[0]) != null;
+            case "createTable":
+                createTable(args);
+                return null;
+            case "deleteTable":
+                hbase.removeTable(disabled((TableName) args[0]).getName());
+                return null;
+            case "disableTable":
+                hbase.setEnabled(hbase.getTable((TableName) args[0]).getName(), false);
+                return null;
+            case "enableTable":
+                hbase.setEnabled(hbase.getTable((TableName) args[0]).getName(), true);
+                return null;
+            case "isTableEnabled":
+                return hbase.isEnabled(hbase.getTable((TableName) args[0]).getName());
+            case "isTableDisabled":
+                return !hbase.isEnabled(hbase.getTable((TableName) args[0]).getName());
+            case "isTableAvailable":
+                return hbase.findTable((TableName) args[0]) != null;
+            case "getTableDescriptor":
+                return new HTableDescriptor(hbase.getTable((TableName) args[0]).getDescriptor());
+            case "listTables":
+                return listTables(args);
+            case "listTableNames":
+                return listTableNames(args);
+            case "getTableRegions":
+                return InMemoryHBase.regions(hbase.getTable((TableName) args[0]));
+            case "truncateTable":
+                disabled((TableName) args[0]).truncate((boolean) args[1]);
+                return null;
+            case "modifyTable":
+                modifyTable((TableName) args[0], (HTableDescriptor) args[1]);
+                return null;
+            case "addColumn":
+            case "modifyColumn":
+                modifyColumn((TableName) args[0], (HColumnDescriptor) args[1], "addColumn".equals(name));
+                return null;
+            case "deleteColumn":
+                deleteColumn((TableName) args[0], (byte[]) args[1]);
+                return null;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+    /**
+     * createTable(desc)、createTable(desc, splitKeys)、createTable(desc, startKey, endKey, numRegions)
+     */
+    private void createTable(Object[] args) throws IOException {
+        final HTableDescriptor descriptor = (HTableDescriptor) args[0];
+        byte[][] splitKeys = null;
+        if (args.length == 2) {
+            splitKeys = (byte[][]) args[1];
+        } else if (args.length == 4) {
+            final int regions = (int) args[3];
+            if (regions < 3) {
+                throw new IllegalArgumentException("Must create at least three regions");
+            }
+            splitKeys = Bytes.split((byte[]) args[1], (byte[]) args[2], regions - 3);
+        }
+        hbase.createTable(descriptor, splitKeys);
+    }
+
+    private HTableDescriptor[] listTables(Object[] args) {
+        final Pattern pattern = pattern(args);
+        final List<HTableDescriptor> descriptors = new ArrayList<>();
+        for (InMemoryTable table : hbase.getTables()) {
+            if (pattern == null || pattern.matcher(table.getName().getNameAsString()).matches()) {
+                descriptors.add(new HTableDescriptor(table.getDescriptor()));
+            }
+        }
+        return descriptors.toArray(new HTableDescriptor[0]);
+    }
+
+    private TableName[] listTableNames(Object[] args) {
+        final Pattern pattern = pattern(args);
+        final List<TableName> names = new ArrayList<>();
+        for (InMemoryTable table : hbase.getTables()) {
+            if (pattern == null || pattern.matcher(table.getName().getNameAsString()).matches()) {
+                names.add(table.getName());
+            }
+        }
+        return names.toArray(new TableName[0]);
+    }
+
+    private static Pattern pattern(Object[] args) {
+        if (args.length == 0 || args[0] == null) {
+            return null;
+        }
+        return args[0] instanceof Pattern ? (Pattern) args[0] : Pattern.compile((String) args[0]);
+    }
+
+    private void modifyTable(TableName tableName, HTableDescriptor descriptor) throws IOException {
+        final InMemoryTable table = hbase.getTable(tableName);
+        synchronized (table) {
+            for (HColumnDescriptor family : table.getDescriptor().getColumnFamilies()) {
+                if (!descriptor.hasFamily(family.getName())) {
+                    table.deleteFamily(family.getName());
+                }
+            }
+            table.setDescriptor(descriptor);
+        }
+    }
+
+    private void modifyColumn(TableName tableName, HColumnDescriptor family, boolean add) throws IOException {
+        final InMemoryTable table = hbase.getTable(tableName);
+        synchronized (table) {
+            final HTableDescriptor descriptor = new HTableDescriptor(table.getDescriptor());
+            if (add == descriptor.hasFamily(family.getName())) {
+                throw new IllegalArgumentException("Column family " + family.getNameAsString()
+                        + (add ? " already exists" : " does not exist") + " in table " + tableName.getNameAsString());
+            }
+            if (add) {
+                descriptor.addFamily(family);
+            } else {
+                descriptor.modifyFamily(family);
+            }
+            table.setDescriptor(descriptor);
+        }
+    }
+
+    private void deleteColumn(TableName tableName, byte[] family) throws IOException {
+        final InMemoryTable table = hbase.getTable(tableName);
+        synchronized (table) {
+            final HTableDescriptor descriptor = new HTableDescriptor(table.getDescriptor());
+            if (descriptor.removeFamily(family) == null) {
+                throw new IllegalArgumentException("Column family " + Bytes.toString(family)
+                        + " does not exist in table " + tableName.getNameAsString());
+            }
+            table.setDescriptor(descriptor);
+            table.deleteFamily(family);
+        }
+    }
+
+    /**
+     * 删除和清空表要求表已禁用，与HBase一致
+     */
+    private InMemoryTable disabled(TableName tableName) throws IOException {
+        final InMemoryTable table = hbase.getTable(tableName);
+        if (hbase.isEnabled(table.getName())) {
+            throw new TableNotDisabledException(tableName);
+        }
+        return table;
+    }
+}
@@ -0,0 +1,335 @@
+package com.spring4all.spring.boot.starter.hbase.mock;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableExistsException;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.TableNotFoundException;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内存中的HBase，提供{@link Connection}、Table、BufferedMutator、ResultScanner、Admin的实现，
+ * 用于不依赖集群的单元测试和性能测试
+ * <p>
+ * 数据保存在有序的跳表中，支持scan范围、反向scan、过滤器、多版本和batch，
+ * 通过{@link #getFaults()}可以为每次调用注入延迟和故障。
+ * <pre>
+ * InMemoryHBase hbase = new InMemoryHBase();
+ * hbase.createTable("user", "info");
+ * HBaseTemplate template = new HBaseTemplate(hbase.getConfiguration());
+ * template.setConnection(hbase.getConnection());
+ * </pre>
+ * 不支持协处理器，依赖协处理器的rowCount、范围删除等操作会抛出{@link UnsupportedOperationException}
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class InMemoryHBase {
+
+    static final ServerName SERVER = ServerName.valueOf("localhost", 16020, 1L);
+
+    private final Map<TableName, InMemoryTable> tables = new ConcurrentHashMap<>();
+
+    private final Set<TableName> disabled = ConcurrentHashMap.newKeySet();
+
+    private final Configuration configuration;
+
+    private final FaultInjector faults = new FaultInjector();
+
+    public InMemoryHBase() {
+        this(HBaseConfiguration.create());
+    }
+
+    public InMemoryHBase(Configuration configuration) {
+        Assert.notNull(configuration, "Configuration must not be null");
+        this.configuration = configuration;
+    }
+
+    /**
+     * 创建表，列族使用默认设置
+     *
+     * @param tableName 表名
+     * @param families  列族
+     */
+    public void createTable(String tableName, String... families) {
+        Assert.notEmpty(families, "At least one column family is required");
+        final HTableDescriptor descriptor = new HTableDescriptor(TableName.valueOf(tableName));
+        for (String family : families) {
+            descriptor.addFamily(new HColumnDescriptor(family));
+        }
+        try {
+            createTable(descriptor, null);
+        } catch (TableExistsException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 创建表，splitKeys只用于RegionLocator、getTableRegions返回的region划分
+     *
+     * @param descriptor 表结构
+     * @param splitKeys  预分区，可以为null
+     * @throws TableExistsException 表已存在
+     */
+    public void createTable(HTableDescriptor descriptor, byte[][] splitKeys) throws TableExistsException {
+        Assert.notNull(descriptor, "Table descriptor must not be null");
+        Assert.isTrue(descriptor.getColumnFamilies().length > 0, "At least one column family is required");
+        byte[][] keys = null;
+        if (splitKeys != null) {
+            keys = splitKeys.clone();
+            Arrays.sort(keys, Bytes.BYTES_COMPARATOR);
+            for (int i = 0; i < keys.length; i++) {
+                Assert.isTrue(keys[i].length > 0, "Empty split key must not be passed in the split keys");
+                Assert.isTrue(i == 0 || !Bytes.equals(keys[i - 1], keys[i]),
+                        "All split keys must be unique, found duplicate: " + Bytes.toStringBinary(keys[i]));
+            }
+        }
+        final InMemoryTable table = new InMemoryTable(descriptor, keys);
+        if (tables.putIfAbsent(table.getName(), table) != null) {
+            throw new TableExistsException(table.getName());
+        }
+        disabled.remove(table.getName());
+    }
+
+    /**
+     * 直接删除表，不要求先禁用
+     */
+    public void dropTable(String tableName) {
+        removeTable(TableName.valueOf(tableName));
+    }
+
+    /**
+     * 清空所有表的数据，保留表结构
+     */
+    public void truncateAll() {
+        for (InMemoryTable table : tables.values()) {
+            table.truncate(true);
+        }
+    }
+
+    /**
+     * @return 表中的行数，表不存在时返回0
+     */
+    public int getRowCount(String tableName) {
+        final InMemoryTable table = tables.get(TableName.valueOf(tableName));
+        return table == null ? 0 : table.getRowCount();
+    }
+
+    /**
+     * 创建一个连接，连接关闭后不影响数据和其他连接
+     */
+    public Connection getConnection() {
+        return ConnectionHandler.create(this);
+    }
+
+    public FaultInjector getFaults() {
+        return faults;
+    }
+
+    public Configuration getConfiguration() {
+        return configuration;
+    }
+
+    // ---------------------------------------------------------------- 内部使用
+
+    InMemoryTable findTable(TableName tableName) {
+        return tables.get(tableName);
+    }
+
+    InMemoryTable getTable(TableName tableName) throws TableNotFoundException {
+        final InMemoryTable table = tables.get(tableName);
+        if (table == null) {
+            throw new TableNotFoundException(tableName);
+        }
+        return table;
+    }
+
+    Collection<InMemoryTable> getTables() {
+        return new ArrayList<>(tables.values());
+    }
+
+    void removeTable(TableName tableName) {
+        tables.remove(tableName);
+        disabled.remove(tableName);
+    }
+
+    boolean isEnabled(TableName tableName) {
+        return !disabled.contains(tableName);
+    }
+
+    void setEnabled(TableName tableName, boolean enabled) {
+        if (enabled) {
+            disabled.remove(tableName);
+        } else {
+            disabled.add(tableName);
+        }
+    }
+
+    /**
+     * 按split key划分的region，全部位于同一个虚拟的region server
+     */
+    static List<HRegionInfo> regions(InMemoryTable table) {
+        final byte[][] splitKeys = table.getSplitKeys();
+        final List<HRegionInfo> regions = new ArrayList<>(splitKeys.length + 1);
+        byte[] start = HConstants.EMPTY_START_ROW;
+        for (byte[] splitKey : splitKeys) {
+            regions.add(new HRegionInfo(table.getName(), start, splitKey, false, 1L));
+            start = splitKey;
+        }
+        regions.add(new HRegionInfo(table.getName(), start, HConstants.EMPTY_END_ROW, false, 1L));
+        return regions;
+    }
+
+    static HRegionInfo regionFor(InMemoryTable table, byte[] row) {
+        HRegionInfo found = null;
+        for (HRegionInfo region : regions(table)) {
+            if (Bytes.compareTo(region.getStartKey(), row) > 0) {
+                break;
+            }
+            found = region;
+        }
+        return found;
+    }
+
+    /**
+     * {@link Connection}的内存实现
+     */
+    private static final class ConnectionHandler extends AbstractInMemoryHandler {
+
+        private final InMemoryHBase hbase;
+
+        private volatile boolean closed;
+
+        private volatile boolean aborted;
+
+        private Connection proxy;
+
+        private ConnectionHandler(InMemoryHBase hbase) {
+            super("InMemoryConnection");
+            this.hbase = hbase;
+        }
+
+        static Connection create(InMemoryHBase hbase) {
+            final ConnectionHandler handler = new ConnectionHandler(hbase);
+            handler.proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, handler);
+            return handler.proxy;
+        }
+
+        @Override
+        Object doInvoke(String name, Object[] args, Method method) throws Throwable {
+            switch (name) {
+                case "getConfiguration":
+                    return hbase.getConfiguration();
+                case "close":
+                    closed = true;
+                    return null;
+                case "isClosed":
+                    return closed;
+                case "abort":
+                    aborted = true;
+                    closed = true;
+                    return null;
+                case "isAborted":
+                    return aborted;
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new IOException("Connection is closed");
+            }
+            switch (name) {
+                case "getTable":
+                    return InMemoryTableHandler.create(hbase.getTable((TableName) args[0]), hbase.getConfiguration(), hbase.getFaults());
+                case "getBufferedMutator":
+                    final BufferedMutatorParams params = args[0] instanceof BufferedMutatorParams
+                            ? (BufferedMutatorParams) args[0] : new BufferedMutatorParams((TableName) args[0]);
+                    return InMemoryMutatorHandler.create(hbase.getTable(params.getTableName()), hbase.getConfiguration(),
+                            hbase.getFaults(), params);
+                case "getRegionLocator":
+                    return RegionLocatorHandler.create(hbase.getTable((TableName) args[0]));
+                case "getAdmin":
+                    return InMemoryAdminHandler.create(hbase, proxy);
+                default:
+                    return UNHANDLED;
+            }
+        }
+    }
+
+    /**
+     * {@link RegionLocator}的内存实现，region由建表时的split key决定
+     */
+    private static final class RegionLocatorHandler extends AbstractInMemoryHandler {
+
+        private final InMemoryTable table;
+
+        private RegionLocatorHandler(InMemoryTable table) {
+            super("InMemoryRegionLocator(" + table.getName().getNameAsString() + ")");
+            this.table = table;
+        }
+
+        static RegionLocator create(InMemoryTable table) {
+            return (RegionLocator) Proxy.newProxyInstance(RegionLocator.class.getClassLoader(),
+                    new Class<?>[]{RegionLocator.class}, new RegionLocatorHandler(table));
+        }
+
+        @Override
+        Object doInvoke(String name, Object[] args, Method method) throws Throwable {
+            switch (name) {
+                case "getName":
+                    return table.getName();
+                case "close":
+                    return null;
+                case "getRegionLocation":
+                    return new HRegionLocation(regionFor(table, (byte[]) args[0]), SERVER);
+                case "getAllRegionLocations":
+                    final List<HRegionLocation> locations = new ArrayList<>();
+                    for (HRegionInfo region : regions(table)) {
+                        locations.add(new HRegionLocation(region, SERVER));
+                    }
+                    return locations;
+                case "getStartKeys":
+                    return getStartEndKeys().getFirst();
+                case "getEndKeys":
+                    return getStartEndKeys().getSecond();
+                case "getStartEndKeys":
+                    return getStartEndKeys();
+                default:
+                    return UNHANDLED;
+            }
+        }
+
+        private Pair<byte[][], byte[][]> getStartEndKeys() {
+            final List<HRegionInfo> regions = regions(table);
+            final byte[][] startKeys = new byte[regions.size()][];
+            final byte[][] endKeys = new byte[regions.size()][];
+            for (int i = 0; i < regions.size(); i++) {
+                startKeys[i] = regions.get(i).getStartKey();
+                endKeys[i] = regions.get(i).getEndKey();
+            }
+            return new Pair<>(startKeys, endKeys);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.spring4all.spring.boot.starter.hbase.mock;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.BufferedMutatorParams;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link BufferedMutator}的内存实现
+ * <p>
+ * mutate只写入缓冲区，超过writeBufferSize或调用flush、close时写入表，每次写入记为一次flush调用。
+ * 与HBase一样失败的Mutation交给{@link BufferedMutator.ExceptionListener}，默认直接抛出。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class InMemoryMutatorHandler extends AbstractInMemoryHandler {
+
+    private static final String WRITE_BUFFER_SIZE = "hbase.client.write.buffer";
+
+    private static final long DEFAULT_WRITE_BUFFER_SIZE = 2 * 1024 * 1024;
+
+    private final InMemoryTable table;
+
+    private final Configuration configuration;
+
+    private final FaultInjector faults;
+
+    private final long writeBufferSize;
+
+    private final BufferedMutator.ExceptionListener listener;
+
+    private final List<Mutation> buffer = new ArrayList<>();
+
+    private long bufferedBytes;
+
+    private BufferedMutator proxy;
+
+    private InMemoryMutatorHandler(InMemoryTable table, Configuration configuration, FaultInjector faults,
+                                   BufferedMutatorParams params) {
+        super("InMemoryMutator(" + table.getName().getNameAsString() + ")");
+        this.table = table;
+        this.configuration = configuration;
+        this.faults = faults;
+        this.writeBufferSize = params.getWriteBufferSize() > 0
+                ? params.getWriteBufferSize() : configuration.getLong(WRITE_BUFFER_SIZE, DEFAULT_WRITE_BUFFER_SIZE);
+        this.listener = params.getListener() != null ? params.getListener() : (e, mutator) -> {
+            throw e;
+        };
+    }
+
+    static BufferedMutator create(InMemoryTable table, Configuration configuration, FaultInjector faults,
+                                  BufferedMutatorParams params) {
+        final InMemoryMutatorHandler handler = new InMemoryMutatorHandler(table, configuration, faults, params);
+        handler.proxy = (BufferedMutator) Proxy.newProxyInstance(BufferedMutator.class.getClassLoader(),
+                new Class<?>[]{BufferedMutator.class}, handler);
+        return handler.proxy;
+    }
+
+    @Override
+    Object doInvoke(String name, Object[] args, Method method) throws Throwable {
+        switch (name) {
+            case "getName":
+                return table.getName();
+            case "getConfiguration":
+                return configuration;
+            case "getWriteBufferSize":
+                return writeBufferSize;
+            case "mutate":
+                mutate(args[0]);
+                return null;
+            case "flush":
+            case "close":
+                flush();
+                return null;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+    private synchronized void mutate(Object arg) throws IOException {
+        if (arg instanceof Mutation) {
+            add((Mutation) arg);
+        } else {
+            for (Object mutation : (List<?>) arg) {
+                add((Mutation) mutation);
+            }
+        }
+        if (bufferedBytes > writeBufferSize) {
+            flush();
+        }
+    }
+
+    private void add(Mutation mutation) {
+        buffer.add(mutation);
+        bufferedBytes += mutation.heapSize();
+    }
+
+    /**
+     * 写入缓冲区中的所有Mutation，失败时缓冲区同样清空
+     */
+    private synchronized void flush() throws IOException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        final List<Mutation> mutations = new ArrayList<>(buffer);
+        buffer.clear();
+        bufferedBytes = 0;
+        final RetriesExhaustedWithDetailsException failure = InMemoryTableHandler.applyAll(table, faults, "flush",
+                mutations, new Object[mutations.size()], null);
+        if (failure != null) {
+            listener.onException(failure, proxy);
+        }
+    }
+}
@@ -0,0 +1,540 @@
+package com.spring4all.spring.boot.starter.hbase.mock;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.io.TimeRange;
+import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
+import org.apache.hadoop.hbase.regionserver.NoSuchColumnFamilyException;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 内存中的表，数据按rowKey、列族、列名、时间戳(倒序)保存在跳表中
+ * <p>
+ * 单行的写入在行锁内完成，读取不加锁。删除直接移除数据，不保留删除标记，
+ * 因此删除后再写入较早时间戳的数据可以读到，这一点与HBase不同；cell TTL和列族TTL不生效。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class InMemoryTable {
+
+    private static final Cell[] NO_CELLS = new Cell[0];
+
+    private final TableName name;
+
+    private final ConcurrentSkipListMap<byte[], RowData> rows = new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR);
+
+    private volatile HTableDescriptor descriptor;
+
+    private volatile byte[][] splitKeys;
+
+    InMemoryTable(HTableDescriptor descriptor, byte[][] splitKeys) {
+        this.name = descriptor.getTableName();
+        this.descriptor = new HTableDescriptor(descriptor);
+        this.splitKeys = splitKeys == null ? new byte[0][] : splitKeys.clone();
+    }
+
+    TableName getName() {
+        return name;
+    }
+
+    HTableDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    void setDescriptor(HTableDescriptor descriptor) {
+        this.descriptor = new HTableDescriptor(descriptor);
+    }
+
+    byte[][] getSplitKeys() {
+        return splitKeys;
+    }
+
+    int getRowCount() {
+        return rows.size();
+    }
+
+    void truncate(boolean preserveSplits) {
+        rows.clear();
+        if (!preserveSplits) {
+            splitKeys = new byte[0][];
+        }
+    }
+
+    void deleteFamily(byte[] family) {
+        for (RowData data : rows.values()) {
+            synchronized (data) {
+                data.families.remove(family);
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- 写入
+
+    void put(Put put) throws IOException {
+        checkFamilies(put);
+        final long now = System.currentTimeMillis();
+        mutateRow(put.getRow(), data -> {
+            applyPut(data, put, now);
+            return null;
+        });
+    }
+
+    void delete(Delete delete) throws IOException {
+        checkFamilies(delete);
+        mutateRow(delete.getRow(), data -> {
+            applyDelete(data, delete);
+            return null;
+        });
+    }
+
+    void mutateRow(RowMutations mutations) throws IOException {
+        for (Mutation mutation : mutations.getMutations()) {
+            checkFamilies(mutation);
+        }
+        final long now = System.currentTimeMillis();
+        mutateRow(mutations.getRow(), data -> {
+            for (Mutation mutation : mutations.getMutations()) {
+                apply(data, mutation, now);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 比较列的当前值后写入，expected为null或空数组时要求列不存在
+     */
+    boolean checkAndMutate(byte[] row, byte[] family, byte[] qualifier, byte[] expected, Mutation mutation) throws IOException {
+        checkFamilies(mutation);
+        final long now = System.currentTimeMillis();
+        return mutateRow(row, data -> {
+            final Map.Entry<Long, byte[]> latest = data.latest(family, qualifier);
+            final boolean matches = expected == null || expected.length == 0
+                    ? latest == null || latest.getValue().length == 0
+                    : latest != null && Bytes.equals(expected, latest.getValue());
+            if (matches) {
+                apply(data, mutation, now);
+            }
+            return matches;
+        });
+    }
+
+    Result increment(Increment increment) throws IOException {
+        checkFamilies(increment);
+        final long now = System.currentTimeMillis();
+        final byte[] row = increment.getRow();
+        return mutateRow(row, data -> {
+            final List<Cell> cells = new ArrayList<>();
+            for (Map.Entry<byte[], List<Cell>> family : increment.getFamilyCellMap().entrySet()) {
+                for (Cell cell : family.getValue()) {
+                    final byte[] qualifier = CellUtil.cloneQualifier(cell);
+                    final long amount = Bytes.toLong(cell.getValueArray(), cell.getValueOffset(), cell.getValueLength());
+                    final Map.Entry<Long, byte[]> latest = data.latest(family.getKey(), qualifier);
+                    long current = 0;
+                    long timestamp = now;
+                    if (latest != null) {
+                        if (latest.getValue().length != Bytes.SIZEOF_LONG) {
+                            throw new DoNotRetryIOException("Field is not a long, it's " + latest.getValue().length + " bytes wide");
+                        }
+                        current = Bytes.toLong(latest.getValue());
+                        timestamp = Math.max(now, latest.getKey());
+                    }
+                    final byte[] value = Bytes.toBytes(current + amount);
+                    data.put(family.getKey(), qualifier, timestamp, value, maxVersions(family.getKey()));
+                    cells.add(new KeyValue(row, family.getKey(), qualifier, timestamp, KeyValue.Type.Put, value));
+                }
+            }
+            Collections.sort(cells, KeyValue.COMPARATOR);
+            return Result.create(cells);
+        });
+    }
+
+    private void apply(RowData data, Mutation mutation, long now) throws IOException {
+        if (mutation instanceof Put) {
+            applyPut(data, (Put) mutation, now);
+        } else if (mutation instanceof Delete) {
+            applyDelete(data, (Delete) mutation);
+        } else {
+            throw new DoNotRetryIOException("Unsupported mutation " + mutation.getClass().getSimpleName());
+        }
+    }
+
+    private void applyPut(RowData data, Put put, long now) {
+        for (Map.Entry<byte[], List<Cell>> family : put.getFamilyCellMap().entrySet()) {
+            final int maxVersions = maxVersions(family.getKey());
+            for (Cell cell : family.getValue()) {
+                final long timestamp = cell.getTimestamp() == HConstants.LATEST_TIMESTAMP ? now : cell.getTimestamp();
+                data.put(family.getKey(), CellUtil.cloneQualifier(cell), timestamp, CellUtil.cloneValue(cell), maxVersions);
+            }
+        }
+    }
+
+    private void applyDelete(RowData data, Delete delete) {
+        if (delete.getFamilyCellMap().isEmpty()) {
+            for (byte[] family : new ArrayList<>(data.families.keySet())) {
+                data.deleteFamily(family, delete.getTimeStamp());
+            }
+            return;
+        }
+        for (Map.Entry<byte[], List<Cell>> family : delete.getFamilyCellMap().entrySet()) {
+            for (Cell cell : family.getValue()) {
+                final long timestamp = cell.getTimestamp();
+                switch (KeyValue.Type.codeToType(cell.getTypeByte())) {
+                    case DeleteFamily:
+                        data.deleteFamily(family.getKey(), timestamp);
+                        break;
+                    case DeleteFamilyVersion:
+                        data.deleteFamilyVersion(family.getKey(), timestamp);
+                        break;
+                    case DeleteColumn:
+                        data.deleteColumn(family.getKey(), CellUtil.cloneQualifier(cell), timestamp);
+                        break;
+                    case Delete:
+                    default:
+                        data.deleteVersion(family.getKey(), CellUtil.cloneQualifier(cell), timestamp);
+                        break;
+                }
+            }
+        }
+    }
+
+    /**
+     * 在行锁内修改一行，行被并发删除时重新获取
+     */
+    private <T> T mutateRow(byte[] row, RowAction<T> action) throws IOException {
+        while (true) {
+            final RowData data = rows.computeIfAbsent(row.clone(), key -> new RowData());
+            synchronized (data) {
+                if (rows.get(row) != data) {
+                    continue;
+                }
+                try {
+                    return action.apply(data);
+                } finally {
+                    if (data.removed && data.prune()) {
+                        rows.remove(row, data);
+                    }
+                }
+            }
+        }
+    }
+
+    private void checkFamilies(Mutation mutation) throws NoSuchColumnFamilyException {
+        final HTableDescriptor current = this.descriptor;
+        for (byte[] family : mutation.getFamilyCellMap().keySet()) {
+            if (!current.hasFamily(family)) {
+                throw new NoSuchColumnFamilyException("Column family " + Bytes.toString(family)
+                        + " does not exist in table " + name.getNameAsString());
+            }
+        }
+    }
+
+    private int maxVersions(byte[] family) {
+        final HColumnDescriptor column = descriptor.getFamily(family);
+        return column == null ? HColumnDescriptor.DEFAULT_VERSIONS : column.getMaxVersions();
+    }
+
+    // ---------------------------------------------------------------- 读取
+
+    Result get(Get get) throws IOException {
+        final byte[] row = get.getRow();
+        final RowData data = rows.get(row);
+        if (data == null) {
+            return Result.create(NO_CELLS);
+        }
+        final Filter filter = copy(get.getFilter());
+        final List<Cell> cells = readRow(row, data, get.getFamilyMap(), get.getTimeRange(), get.getMaxVersions(), filter);
+        return cells == null ? Result.create(NO_CELLS) : Result.create(cells);
+    }
+
+    ScanIterator scan(Scan scan) throws IOException {
+        final byte[] start = scan.getStartRow();
+        final byte[] stop = scan.getStopRow();
+        NavigableMap<byte[], RowData> view = scan.isReversed() ? rows.descendingMap() : rows;
+        if (start.length > 0 && Bytes.equals(start, stop)) {
+            // start与stop相同时与HBase一致，作为get处理
+            view = rows.subMap(start, true, stop, true);
+        } else {
+            if (start.length > 0) {
+                view = view.tailMap(start, true);
+            }
+            if (stop.length > 0) {
+                view = view.headMap(stop, false);
+            }
+        }
+        return new ScanIterator(view.entrySet().iterator(), scan, copy(scan.getFilter()));
+    }
+
+    /**
+     * 按HBase服务端的顺序执行过滤器：filterRowKey、filterKeyValue、transformCell、filterRowCells、filterRow
+     *
+     * @return 行被过滤或没有cell时返回null
+     */
+    private static List<Cell> readRow(byte[] row, RowData data, Map<byte[], NavigableSet<byte[]>> familyMap,
+                                      TimeRange timeRange, int maxVersions, Filter filter) throws IOException {
+        if (filter != null) {
+            filter.reset();
+            if (filter.filterRowKey(row, 0, row.length)) {
+                return null;
+            }
+        }
+        final List<Cell> cells = new ArrayList<>();
+        rowLoop:
+        for (Map.Entry<byte[], ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<Long, byte[]>>> family : data.families.entrySet()) {
+            if (!familyMap.isEmpty() && !familyMap.containsKey(family.getKey())) {
+                continue;
+            }
+            final NavigableSet<byte[]> qualifiers = familyMap.isEmpty() ? null : familyMap.get(family.getKey());
+            for (Map.Entry<byte[], ConcurrentSkipListMap<Long, byte[]>> column : family.getValue().entrySet()) {
+                if (qualifiers != null && !qualifiers.contains(column.getKey())) {
+                    continue;
+                }
+                int versions = 0;
+                columnLoop:
+                for (Map.Entry<Long, byte[]> version : column.getValue().entrySet()) {
+                    if (versions >= maxVersions) {
+                        break;
+                    }
+                    if (!timeRange.withinTimeRange(version.getKey())) {
+                        continue;
+                    }
+                    final Cell cell = new KeyValue(row, family.getKey(), column.getKey(), version.getKey(),
+                            KeyValue.Type.Put, version.getValue());
+                    if (filter == null) {
+                        cells.add(cell);
+                        versions++;
+                        continue;
+                    }
+                    switch (filter.filterKeyValue(cell)) {
+                        case INCLUDE:
+                            cells.add(filter.transformCell(cell));
+                            versions++;
+                            break;
+                        case INCLUDE_AND_NEXT_COL:
+                            cells.add(filter.transformCell(cell));
+                            break columnLoop;
+                        case NEXT_COL:
+                            break columnLoop;
+                        case NEXT_ROW:
+                            break rowLoop;
+                        case SKIP:
+                        case SEEK_NEXT_USING_HINT:
+                        default:
+                            break;
+                    }
+                }
+            }
+        }
+        if (cells.isEmpty()) {
+            return null;
+        }
+        if (filter != null) {
+            if (filter.hasFilterRow()) {
+                filter.filterRowCells(cells);
+            }
+            if (cells.isEmpty() || filter.filterRow()) {
+                return null;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * 过滤器在HBase中序列化后在服务端执行，这里同样复制一份，避免同一个scan多次使用时共享状态
+     */
+    private static Filter copy(Filter filter) throws IOException {
+        return filter == null ? null : ProtobufUtil.toFilter(ProtobufUtil.toFilter(filter));
+    }
+
+    /**
+     * 逐行读取的扫描，设置了batch时一行拆分为多个Result
+     */
+    class ScanIterator {
+
+        private final Iterator<Map.Entry<byte[], RowData>> iterator;
+
+        private final Scan scan;
+
+        private final Filter filter;
+
+        private final Deque<Result> pending = new ArrayDeque<>();
+
+        private boolean done;
+
+        ScanIterator(Iterator<Map.Entry<byte[], RowData>> iterator, Scan scan, Filter filter) {
+            this.iterator = iterator;
+            this.scan = scan;
+            this.filter = filter;
+        }
+
+        /**
+         * @return 下一个Result，没有时返回null
+         */
+        Result next() throws IOException {
+            while (pending.isEmpty() && !done) {
+                advance();
+            }
+            return pending.poll();
+        }
+
+        void close() {
+            done = true;
+            pending.clear();
+        }
+
+        private void advance() throws IOException {
+            if (filter != null && filter.filterAllRemaining() || !iterator.hasNext()) {
+                done = true;
+                return;
+            }
+            final Map.Entry<byte[], RowData> entry = iterator.next();
+            final List<Cell> cells = readRow(entry.getKey(), entry.getValue(), scan.getFamilyMap(),
+                    scan.getTimeRange(), scan.getMaxVersions(), filter);
+            if (cells == null) {
+                return;
+            }
+            final int batch = scan.getBatch();
+            if (batch <= 0 || cells.size() <= batch) {
+                pending.add(Result.create(cells));
+                return;
+            }
+            for (int from = 0; from < cells.size(); from += batch) {
+                pending.add(Result.create(cells.subList(from, Math.min(cells.size(), from + batch))));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowAction<T> {
+
+        T apply(RowData data) throws IOException;
+    }
+
+    /**
+     * 一行数据：列族 -> 列名 -> 时间戳(倒序) -> 值
+     */
+    private static final class RowData {
+
+        private final ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<Long, byte[]>>> families =
+                new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR);
+
+        /**
+         * 删除过数据，需要清理空的列
+         */
+        private boolean removed;
+
+        void put(byte[] family, byte[] qualifier, long timestamp, byte[] value, int maxVersions) {
+            final ConcurrentSkipListMap<Long, byte[]> versions = families
+                    .computeIfAbsent(family, key -> new ConcurrentSkipListMap<>(Bytes.BYTES_COMPARATOR))
+                    .computeIfAbsent(qualifier, key -> new ConcurrentSkipListMap<>(Comparator.reverseOrder()));
+            versions.put(timestamp, value);
+            while (versions.size() > maxVersions) {
+                versions.pollLastEntry();
+            }
+        }
+
+        Map.Entry<Long, byte[]> latest(byte[] family, byte[] qualifier) {
+            final ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<Long, byte[]>> columns = families.get(family);
+            final ConcurrentSkipListMap<Long, byte[]> versions = columns == null ? null : columns.get(qualifier);
+            return versions == null ? null : versions.firstEntry();
+        }
+
+        /**
+         * 删除时间戳不大于timestamp的所有版本
+         */
+        void deleteFamily(byte[] family, long timestamp) {
+            removed = true;
+            final ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<Long, byte[]>> columns = families.get(family);
+            if (columns != null) {
+                for (ConcurrentSkipListMap<Long, byte[]> versions : columns.values()) {
+                    versions.tailMap(timestamp, true).clear();
+                }
+            }
+        }
+
+        void deleteFamilyVersion(byte[] family, long timestamp) {
+            removed = true;
+            final ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<Long, byte[]>> columns = families.get(family);
+            if (columns != null) {
+                for (ConcurrentSkipListMap<Long, byte[]> versions : columns.values()) {
+                    versions.remove(timestamp);
+                }
+            }
+        }
+
+        void deleteColumn(byte[] family, byte[] qualifier, long timestamp) {
+            removed = true;
+            final ConcurrentSkipListMap<Long, byte[]> versions = versions(family, qualifier);
+            if (versions != null) {
+                versions.tailMap(timestamp, true).clear();
+            }
+        }
+
+        /**
+         * 删除一个版本，未指定时间戳时删除最新版本
+         */
+        void deleteVersion(byte[] family, byte[] qualifier, long timestamp) {
+            removed = true;
+            final ConcurrentSkipListMap<Long, byte[]> versions = versions(family, qualifier);
+            if (versions == null) {
+                return;
+            }
+            if (timestamp == HConstants.LATEST_TIMESTAMP) {
+                versions.pollFirstEntry();
+            } else {
+                versions.remove(timestamp);
+            }
+        }
+
+        private ConcurrentSkipListMap<Long, byte[]> versions(byte[] family, byte[] qualifier) {
+            final ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<Long, byte[]>> columns = families.get(family);
+            return columns == null ? null : columns.get(qualifier);
+        }
+
+        /**
+         * 移除空的列和列族
+         *
+         * @return 整行为空时返回true
+         */
+        boolean prune() {
+            removed = false;
+            final Iterator<ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<Long, byte[]>>> familyIterator = families.values().iterator();
+            while (familyIterator.hasNext()) {
+                final ConcurrentSkipListMap<byte[], ConcurrentSkipListMap<Long, byte[]>> columns = familyIterator.next();
+                columns.values().removeIf(Map::isEmpty);
+                if (columns.isEmpty()) {
+                    familyIterator.remove();
+                }
+            }
+            return families.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.spring4all.spring.boot.starter.hbase.mock;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.RowMutations;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.coprocessor.Batch;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link Table}的内存实现，每次调用先经过{@link FaultInjector}
+ * <p>
+ * batch中的每个操作单独判断是否注入故障，与HBase一样部分失败时抛出{@link RetriesExhaustedWithDetailsException}，
+ * 结果数组中对应位置为异常。checkAndPut、checkAndDelete只支持比较相等的重载，append和协处理器调用不支持。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class InMemoryTableHandler extends AbstractInMemoryHandler {
+
+    private static final Result EMPTY_RESULT = Result.create(new Cell[0]);
+
+    private final InMemoryTable table;
+
+    private final Configuration configuration;
+
+    private final FaultInjector faults;
+
+    private InMemoryTableHandler(InMemoryTable table, Configuration configuration, FaultInjector faults) {
+        super("InMemoryTable(" + table.getName().getNameAsString() + ")");
+        this.table = table;
+        this.configuration = configuration;
+        this.faults = faults;
+    }
+
+    static Table create(InMemoryTable table, Configuration configuration, FaultInjector faults) {
+        return (Table) Proxy.newProxyInstance(Table.class.getClassLoader(),
+                new Class<?>[]{Table.class}, new InMemoryTableHandler(table, configuration, faults));
+    }
+
+    @Override
+    Object doInvoke(String name, Object[] args, Method method) throws Throwable {
+        switch (name) {
+            case "getName":
+                return table.getName();
+            case "getConfiguration":
+                return configuration;
+            case "getTableDescriptor":
+                return new HTableDescriptor(table.getDescriptor());
+            case "getWriteBufferSize":
+                return 0L;
+            case "close":
+                return null;
+            case "get":
+                return get(args[0]);
+            case "exists":
+            case "existsAll":
+                return exists(args[0], method.getReturnType());
+            case "put":
+                put(args[0]);
+                return null;
+            case "delete":
+                delete(args[0]);
+                return null;
+            case "getScanner":
+                return getScanner(args);
+            case "batch":
+            case "batchCallback":
+                return batch(args);
+            case "increment":
+                faults.beforeCall(name);
+                return table.increment((Increment) args[0]);
+            case "incrementColumnValue":
+                return incrementColumnValue(args);
+            case "checkAndPut":
+            case "checkAndDelete":
+                if (args.length != 5) {
+                    return UNHANDLED;
+                }
+                faults.beforeCall(name);
+                return table.checkAndMutate((byte[]) args[0], (byte[]) args[1], (byte[]) args[2], (byte[]) args[3],
+                        "checkAndPut".equals(name) ? (Put) args[4] : (Delete) args[4]);
+            case "mutateRow":
+                faults.beforeCall(name);
+                table.mutateRow((RowMutations) args[0]);
+                return null;
+            default:
+                return UNHANDLED;
+        }
+    }
+
+    private Object get(Object arg) throws IOException {
+        faults.beforeCall("get");
+        if (arg instanceof Get) {
+            return table.get((Get) arg);
+        }
+        final List<?> gets = (List<?>) arg;
+        final Result[] results = new Result[gets.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = table.get((Get) gets.get(i));
+        }
+        return results;
+    }
+
+    private Object exists(Object arg, Class<?> returnType) throws IOException {
+        faults.beforeCall("exists");
+        if (arg instanceof Get) {
+            return !table.get((Get) arg).isEmpty();
+        }
+        final List<?> gets = (List<?>) arg;
+        final boolean[] exists = new boolean[gets.size()];
+        for (int i = 0; i < exists.length; i++) {
+            exists[i] = !table.get((Get) gets.get(i)).isEmpty();
+        }
+        if (returnType == boolean[].class) {
+            return exists;
+        }
+        final Boolean[] boxed = new Boolean[exists.length];
+        for (int i = 0; i < exists.length; i++) {
+            boxed[i] = exists[i];
+        }
+        return boxed;
+    }
+
+    private void put(Object arg) throws IOException {
+        faults.beforeCall("put");
+        if (arg instanceof Put) {
+            table.put((Put) arg);
+            return;
+        }
+        for (Object put : (List<?>) arg) {
+            table.put((Put) put);
+        }
+    }
+
+    /**
+     * 与HTable一致，批量删除成功的Delete会从列表中移除
+     */
+    private void delete(Object arg) throws IOException {
+        faults.beforeCall("delete");
+        if (arg instanceof Delete) {
+            table.delete((Delete) arg);
+            return;
+        }
+        final Iterator<?> iterator = ((List<?>) arg).iterator();
+        while (iterator.hasNext()) {
+            table.delete((Delete) iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private ResultScanner getScanner(Object[] args) throws IOException {
+        final Scan scan;
+        if (args[0] instanceof Scan) {
+            scan = (Scan) args[0];
+        } else if (args.length == 1) {
+            scan = new Scan().addFamily((byte[]) args[0]);
+        } else {
+            scan = new Scan().addColumn((byte[]) args[0], (byte[]) args[1]);
+        }
+        faults.beforeCall("getScanner");
+        return ScannerHandler.create(table.scan(scan), table.getName().getNameAsString());
+    }
+
+    /**
+     * batch(actions, results)、batch(actions)、batchCallback(actions, results, callback)、batchCallback(actions, callback)
+     */
+    @SuppressWarnings("unchecked")
+    private Object batch(Object[] args) throws IOException {
+        final List<? extends Row> actions = (List<? extends Row>) args[0];
+        final boolean returnsResults = args.length == 1 || args.length == 2 && args[1] instanceof Batch.Callback;
+        final Object[] results = returnsResults ? new Object[actions.size()] : (Object[]) args[1];
+        final Batch.Callback<Object> callback = args[args.length - 1] instanceof Batch.Callback
+                ? (Batch.Callback<Object>) args[args.length - 1] : null;
+        final RetriesExhaustedWithDetailsException failure = applyAll(table, faults, "batch", actions, results, callback);
+        if (failure != null) {
+            throw failure;
+        }
+        return returnsResults ? results : null;
+    }
+
+    private long incrementColumnValue(Object[] args) throws IOException {
+        final byte[] family = (byte[]) args[1];
+        final byte[] qualifier = (byte[]) args[2];
+        faults.beforeCall("incrementColumnValue");
+        final Result result = table.increment(new Increment((byte[]) args[0]).addColumn(family, qualifier, (long) args[3]));
+        return Bytes.toLong(result.getValue(family, qualifier));
+    }
+
+    /**
+     * 逐个执行操作，每个操作单独判断是否注入故障
+     *
+     * @param operation 统计调用次数使用的操作名
+     * @param results   与actions等长，成功时为Result，失败时为异常
+     * @param callback  可以为null
+     * @return 有操作失败时返回汇总的异常，否则返回null
+     */
+    static RetriesExhaustedWithDetailsException applyAll(InMemoryTable table, FaultInjector faults, String operation,
+                                                         List<? extends Row> actions, Object[] results,
+                                                         Batch.Callback<Object> callback) throws IOException {
+        faults.delay(operation);
+        final List<Throwable> errors = new ArrayList<>();
+        final List<Row> failed = new ArrayList<>();
+        final List<String> servers = new ArrayList<>();
+        for (int i = 0; i < actions.size(); i++) {
+            final Row action = actions.get(i);
+            try {
+                final IOException fault = faults.nextFault();
+                if (fault != null) {
+                    throw fault;
+                }
+                results[i] = apply(table, action);
+                if (callback != null) {
+                    callback.update(InMemoryHBase.regionFor(table, action.getRow()).getRegionName(), action.getRow(), results[i]);
+                }
+            } catch (IOException e) {
+                results[i] = e;
+                errors.add(e);
+                failed.add(action);
+                servers.add(InMemoryHBase.SERVER.getHostAndPort());
+            }
+        }
+        return errors.isEmpty() ? null : new RetriesExhaustedWithDetailsException(errors, failed, servers);
+    }
+
+    private static Object apply(InMemoryTable table, Row action) throws IOException {
+        if (action instanceof Get) {
+            return table.get((Get) action);
+        }
+        if (action instanceof Put) {
+            table.put((Put) action);
+        } else if (action instanceof Delete) {
+            table.delete((Delete) action);
+        } else if (action instanceof RowMutations) {
+            table.mutateRow((RowMutations) action);
+        } else if (action instanceof Increment) {
+            return table.increment((Increment) action);
+        } else {
+            throw new DoNotRetryIOException("Unsupported action " + action.getClass().getSimpleName());
+        }
+        return EMPTY_RESULT;
+    }
+
+    /**
+     * {@link ResultScanner}的内存实现，数据在遍历时读取，与HBase一样不保证一致的快照
+     */
+    private static final class ScannerHandler extends AbstractInMemoryHandler {
+
+        private final InMemoryTable.ScanIterator iterator;
+
+        private ScannerHandler(InMemoryTable.ScanIterator iterator, String tableName) {
+            super("InMemoryScanner(" + tableName + ")");
+            this.iterator = iterator;
+        }
+
+        static ResultScanner create(InMemoryTable.ScanIterator iterator, String tableName) {
+            return (ResultScanner) Proxy.newProxyInstance(ResultScanner.class.getClassLoader(),
+                    new Class<?>[]{ResultScanner.class}, new ScannerHandler(iterator, tableName));
+        }
+
+        @Override
+        Object doInvoke(String name, Object[] args, Method method) throws Throwable {
+            switch (name) {
+                case "next":
+                    return args.length == 0 ? iterator.next() : next((int) args[0]);
+                case "iterator":
+                    return iterator();
+                case "close":
+                    iterator.close();
+                    return null;
+                case "renewLease":
+                    return true;
+                case "getScanMetrics":
+                    return null;
+                default:
+                    return UNHANDLED;
+            }
+        }
+
+        private Result[] next(int rows) throws IOException {
+            final List<Result> results = new ArrayList<>(rows);
+            Result result;
+            while (results.size() < rows && (result = iterator.next()) != null) {
+                results.add(result);
+            }
+            return results.toArray(new Result[0]);
+        }
+
+        private Iterator<Result> iterator() {
+            return new Iterator<Result>() {
+
+                private Result next;
+
+                @Override
+                public boolean hasNext() {
+                    if (next == null) {
+                        try {
+                            next = iterator.next();
+                        } catch (IOException e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Result next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    final Result result = next;
+                    next = null;
+                    return result;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+/**
+ * 当前线程的调用方，用于按调用方限流
+ * <pre>
+ * try (CallerContext.Scope ignored = CallerContext.open("report-job")) {
+ *     hbaseTemplate.find(...);
+ * }
+ * </pre>
+ * 也可以在方法或类上使用{@link HBaseCaller}注解。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class CallerContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private CallerContext() {
+    }
+
+    /**
+     * 设置当前线程的调用方，关闭返回的scope时恢复之前的调用方
+     *
+     * @param caller 调用方名
+     * @return scope
+     */
+    public static Scope open(String caller) {
+        final String previous = CURRENT.get();
+        CURRENT.set(caller);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * @return 当前线程的调用方，没有时返回null
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 调用方作用范围
+     */
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
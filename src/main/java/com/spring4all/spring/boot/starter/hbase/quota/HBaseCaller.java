@@ -0,0 +1,24 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注方法或类中HBase操作的调用方，方法上的注解优先
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HBaseCaller {
+
+    /**
+     * @return 调用方名，对应spring.data.hbase.quota.callers中的配置
+     */
+    String value();
+}
@@ -0,0 +1,29 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * 在{@link HBaseCaller}标注的方法执行期间设置{@link CallerContext}
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Aspect
+public class HBaseCallerAspect {
+
+    @Around("@annotation(caller)")
+    public Object aroundMethod(ProceedingJoinPoint pjp, HBaseCaller caller) throws Throwable {
+        try (CallerContext.Scope ignored = CallerContext.open(caller.value())) {
+            return pjp.proceed();
+        }
+    }
+
+    @Around("@within(caller) && !@annotation(com.spring4all.spring.boot.starter.hbase.quota.HBaseCaller)")
+    public Object aroundType(ProceedingJoinPoint pjp, HBaseCaller caller) throws Throwable {
+        try (CallerContext.Scope ignored = CallerContext.open(caller.value())) {
+            return pjp.proceed();
+        }
+    }
+}
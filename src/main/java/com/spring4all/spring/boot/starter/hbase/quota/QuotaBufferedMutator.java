@@ -0,0 +1,69 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Mutation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+
+/**
+ * 写入缓冲区前按Mutation的heapSize获取写入字节令牌
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class QuotaBufferedMutator implements InvocationHandler {
+
+    private final BufferedMutator delegate;
+
+    private final String tableName;
+
+    private final QuotaManager quotaManager;
+
+    private QuotaBufferedMutator(BufferedMutator delegate, String tableName, QuotaManager quotaManager) {
+        this.delegate = delegate;
+        this.tableName = tableName;
+        this.quotaManager = quotaManager;
+    }
+
+    /**
+     * 包装mutator，其余方法直接委托
+     *
+     * @param delegate     原mutator
+     * @param tableName    表名
+     * @param quotaManager 限额
+     * @return 限流的mutator
+     */
+    public static BufferedMutator wrap(BufferedMutator delegate, String tableName, QuotaManager quotaManager) {
+        return (BufferedMutator) Proxy.newProxyInstance(BufferedMutator.class.getClassLoader(),
+                new Class<?>[]{BufferedMutator.class}, new QuotaBufferedMutator(delegate, tableName, quotaManager));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if ("mutate".equals(method.getName()) && args != null && args.length == 1) {
+            quotaManager.acquireWriteBytes(tableName, heapSize(args[0]));
+        }
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static long heapSize(Object arg) {
+        if (arg instanceof Mutation) {
+            return ((Mutation) arg).heapSize();
+        }
+        long bytes = 0;
+        if (arg instanceof List) {
+            for (Object mutation : (List<?>) arg) {
+                bytes += ((Mutation) mutation).heapSize();
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,16 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+
+/**
+ * 超过客户端限额
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class QuotaExceededException extends DoNotRetryIOException {
+
+    public QuotaExceededException(String limiter, String type) {
+        super("Client quota exceeded: " + limiter + " " + type);
+    }
+}
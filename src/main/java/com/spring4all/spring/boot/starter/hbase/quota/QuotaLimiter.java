@@ -0,0 +1,127 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 一张表或一个调用方的限流器，读请求、写入字节、scan行数各自一个令牌桶
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class QuotaLimiter {
+
+    static final String READ_REQUESTS = "read-requests";
+
+    static final String WRITE_BYTES = "write-bytes";
+
+    static final String SCAN_ROWS = "scan-rows";
+
+    private final String name;
+
+    private final TokenBucket readRequests;
+
+    private final TokenBucket writeBytes;
+
+    private final TokenBucket scanRows;
+
+    private final LongAdder throttled = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder throttledNanos = new LongAdder();
+
+    public QuotaLimiter(String name, QuotaLimits limits) {
+        this.name = name;
+        this.readRequests = limits.getReadRequestsPerSecond() == null ? null : new TokenBucket(limits.getReadRequestsPerSecond());
+        this.writeBytes = limits.getWriteBytesPerSecond() == null ? null : new TokenBucket(limits.getWriteBytesPerSecond().toBytes());
+        this.scanRows = limits.getScanRowsPerSecond() == null ? null : new TokenBucket(limits.getScanRowsPerSecond());
+    }
+
+    long reserveReads(long permits, long maxWaitNanos) throws QuotaExceededException {
+        return reserve(readRequests, READ_REQUESTS, permits, maxWaitNanos);
+    }
+
+    long reserveWriteBytes(long permits, long maxWaitNanos) throws QuotaExceededException {
+        return reserve(writeBytes, WRITE_BYTES, permits, maxWaitNanos);
+    }
+
+    long reserveScanRows(long permits, long maxWaitNanos) throws QuotaExceededException {
+        return reserve(scanRows, SCAN_ROWS, permits, maxWaitNanos);
+    }
+
+    void refundReads(long permits) {
+        refund(readRequests, permits);
+    }
+
+    void refundWriteBytes(long permits) {
+        refund(writeBytes, permits);
+    }
+
+    void refundScanRows(long permits) {
+        refund(scanRows, permits);
+    }
+
+    private static void refund(TokenBucket bucket, long permits) {
+        if (bucket != null && permits > 0) {
+            bucket.refund(permits);
+        }
+    }
+
+    private long reserve(TokenBucket bucket, String type, long permits, long maxWaitNanos) throws QuotaExceededException {
+        if (bucket == null || permits <= 0) {
+            return 0;
+        }
+        final long waitNanos = bucket.reserve(permits, maxWaitNanos);
+        if (waitNanos < 0) {
+            rejected.increment();
+            throw new QuotaExceededException(name, type);
+        }
+        if (waitNanos > 0) {
+            throttled.increment();
+            throttledNanos.add(waitNanos);
+        }
+        return waitNanos;
+    }
+
+    static void await(long waitNanos) throws InterruptedIOException {
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for client quota");
+        }
+    }
+
+    /**
+     * @return 限流器名，table:表名或caller:调用方名
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 累计等待令牌的次数
+     */
+    public long getThrottled() {
+        return throttled.sum();
+    }
+
+    /**
+     * 累计因超过限额失败的次数
+     */
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * 累计等待令牌的时间(毫秒)
+     */
+    public double getThrottledMillis() {
+        return throttledNanos.sum() / 1e6;
+    }
+}
@@ -0,0 +1,32 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import lombok.Data;
+import org.springframework.boot.convert.DataSizeUnit;
+import org.springframework.util.unit.DataSize;
+import org.springframework.util.unit.DataUnit;
+
+/**
+ * 一组限额，为空的限额不限制
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Data
+public class QuotaLimits {
+
+    /**
+     * 每秒读请求数，get按行计算，multiGet、batch按其中的Get数计算
+     */
+    private Double readRequestsPerSecond;
+
+    /**
+     * 每秒写入字节数，按Mutation的heapSize估算，不带单位时为字节
+     */
+    @DataSizeUnit(DataUnit.BYTES)
+    private DataSize writeBytesPerSecond;
+
+    /**
+     * 每秒scan返回的行数
+     */
+    private Double scanRowsPerSecond;
+}
@@ -0,0 +1,137 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import org.springframework.util.Assert;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 客户端限额，按表和按调用方({@link CallerContext})分别限流，两者都配置时需要同时满足
+ * <p>
+ * 没有配置限额的表和调用方不受限制；BLOCK模式下等待令牌，超过maxWait时失败，REJECT模式下令牌不足直接失败，
+ * 失败时抛出{@link QuotaExceededException}。调用方拒绝请求时归还表上已预留的令牌。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class QuotaManager {
+
+    private final Map<String, QuotaLimiter> tables;
+
+    private final Map<String, QuotaLimiter> callers;
+
+    private final long maxWaitNanos;
+
+    public QuotaManager(Map<String, QuotaLimits> tables, Map<String, QuotaLimits> callers, QuotaMode mode, long maxWaitMs) {
+        Assert.notNull(mode, "Quota mode must not be null");
+        Assert.isTrue(maxWaitMs >= 0, "Max wait must not be negative");
+        this.tables = limiters("table:", tables);
+        this.callers = limiters("caller:", callers);
+        this.maxWaitNanos = mode == QuotaMode.REJECT ? 0 : TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+    }
+
+    private static Map<String, QuotaLimiter> limiters(String prefix, Map<String, QuotaLimits> limits) {
+        final Map<String, QuotaLimiter> limiters = new LinkedHashMap<>();
+        if (limits != null) {
+            limits.forEach((name, value) -> limiters.put(name, new QuotaLimiter(prefix + name, value)));
+        }
+        return Collections.unmodifiableMap(limiters);
+    }
+
+    /**
+     * 获取读请求令牌
+     *
+     * @param tableName 表名
+     * @param requests  请求数
+     */
+    public void acquireReads(String tableName, long requests) throws QuotaExceededException, InterruptedIOException {
+        QuotaLimiter table = tables.get(tableName);
+        QuotaLimiter caller = caller();
+        long wait = table == null ? 0 : table.reserveReads(requests, maxWaitNanos);
+        if (caller != null) {
+            try {
+                wait = Math.max(wait, caller.reserveReads(requests, maxWaitNanos));
+            } catch (QuotaExceededException e) {
+                if (table != null) {
+                    table.refundReads(requests);
+                }
+                throw e;
+            }
+        }
+        QuotaLimiter.await(wait);
+    }
+
+    /**
+     * 获取写入字节令牌
+     *
+     * @param tableName 表名
+     * @param bytes     字节数
+     */
+    public void acquireWriteBytes(String tableName, long bytes) throws QuotaExceededException, InterruptedIOException {
+        QuotaLimiter table = tables.get(tableName);
+        QuotaLimiter caller = caller();
+        long wait = table == null ? 0 : table.reserveWriteBytes(bytes, maxWaitNanos);
+        if (caller != null) {
+            try {
+                wait = Math.max(wait, caller.reserveWriteBytes(bytes, maxWaitNanos));
+            } catch (QuotaExceededException e) {
+                if (table != null) {
+                    table.refundWriteBytes(bytes);
+                }
+                throw e;
+            }
+        }
+        QuotaLimiter.await(wait);
+    }
+
+    /**
+     * 获取scan行数令牌
+     *
+     * @param tableName 表名
+     * @param rows      行数
+     */
+    public void acquireScanRows(String tableName, long rows) throws QuotaExceededException, InterruptedIOException {
+        QuotaLimiter table = tables.get(tableName);
+        QuotaLimiter caller = caller();
+        long wait = table == null ? 0 : table.reserveScanRows(rows, maxWaitNanos);
+        if (caller != null) {
+            try {
+                wait = Math.max(wait, caller.reserveScanRows(rows, maxWaitNanos));
+            } catch (QuotaExceededException e) {
+                if (table != null) {
+                    table.refundScanRows(rows);
+                }
+                throw e;
+            }
+        }
+        QuotaLimiter.await(wait);
+    }
+
+    /**
+     * @param tableName 表名
+     * @return 该表或当前调用方是否配置了限额
+     */
+    public boolean isLimited(String tableName) {
+        return tables.containsKey(tableName) || caller() != null;
+    }
+
+    private QuotaLimiter caller() {
+        final String caller = CallerContext.current();
+        return caller == null ? null : callers.get(caller);
+    }
+
+    /**
+     * @return 所有限流器
+     */
+    public Collection<QuotaLimiter> getLimiters() {
+        final List<QuotaLimiter> limiters = new ArrayList<>(tables.values());
+        limiters.addAll(callers.values());
+        return limiters;
+    }
+}
@@ -0,0 +1,20 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+/**
+ * 超过限额时的处理方式
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public enum QuotaMode {
+
+    /**
+     * 等待令牌，超过最长等待时间时失败
+     */
+    BLOCK,
+
+    /**
+     * 直接失败
+     */
+    REJECT
+}
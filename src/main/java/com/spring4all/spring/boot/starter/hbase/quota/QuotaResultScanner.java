@@ -0,0 +1,83 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 按返回的行数获取scan令牌的scanner
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class QuotaResultScanner implements ResultScanner {
+
+    private final ResultScanner delegate;
+
+    private final String tableName;
+
+    private final QuotaManager quotaManager;
+
+    public QuotaResultScanner(ResultScanner delegate, String tableName, QuotaManager quotaManager) {
+        this.delegate = delegate;
+        this.tableName = tableName;
+        this.quotaManager = quotaManager;
+    }
+
+    @Override
+    public Result next() throws IOException {
+        final Result result = delegate.next();
+        if (null != result) {
+            quotaManager.acquireScanRows(tableName, 1);
+        }
+        return result;
+    }
+
+    @Override
+    public Result[] next(int nbRows) throws IOException {
+        final Result[] results = delegate.next(nbRows);
+        if (null != results) {
+            quotaManager.acquireScanRows(tableName, results.length);
+        }
+        return results;
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    @Override
+    public Iterator<Result> iterator() {
+        return new Iterator<Result>() {
+
+            private Result next;
+
+            @Override
+            public boolean hasNext() {
+                if (null == next) {
+                    try {
+                        next = QuotaResultScanner.this.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return null != next;
+            }
+
+            @Override
+            public Result next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final Result result = next;
+                next = null;
+                return result;
+            }
+        };
+    }
+}
@@ -0,0 +1,60 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import org.springframework.util.Assert;
+
+/**
+ * 令牌桶，容量为一秒的令牌数
+ * <p>
+ * 令牌不足时允许透支，透支部分由后续请求等待偿还，因此单次请求的令牌数可以超过容量，
+ * 例如一次写入的字节数大于每秒限额时不会永远等待。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class TokenBucket {
+
+    private final double permitsPerSecond;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    public TokenBucket(double permitsPerSecond) {
+        Assert.isTrue(permitsPerSecond > 0, "Rate must be positive");
+        this.permitsPerSecond = permitsPerSecond;
+        this.tokens = permitsPerSecond;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * 预留令牌
+     *
+     * @param permits     令牌数
+     * @param maxWaitNanos 最长等待时间(纳秒)
+     * @return 需要等待的时间(纳秒)，超过maxWaitNanos时不预留并返回-1
+     */
+    public synchronized long reserve(long permits, long maxWaitNanos) {
+        final long now = System.nanoTime();
+        tokens = Math.min(permitsPerSecond, tokens + (now - lastRefill) / 1e9 * permitsPerSecond);
+        lastRefill = now;
+        final long waitNanos = tokens >= 0 ? 0 : (long) (-tokens / permitsPerSecond * 1e9);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        tokens -= permits;
+        return waitNanos;
+    }
+
+    /**
+     * 归还已预留但未使用的令牌，例如同时需要的另一个限流器拒绝了请求
+     *
+     * @param permits 令牌数
+     */
+    public synchronized void refund(long permits) {
+        tokens = Math.min(permitsPerSecond, tokens + permits);
+    }
+
+    public double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+}
@@ -0,0 +1,27 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 扫描指定包下的{@link HBaseRepository}接口，未使用该注解时扫描spring boot应用所在的包
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Import(HBaseRepositoriesRegistrar.class)
+public @interface EnableHBaseRepositories {
+
+    /**
+     * @return 扫描的包，为空时使用标注类所在的包
+     */
+    String[] basePackages() default {};
+}
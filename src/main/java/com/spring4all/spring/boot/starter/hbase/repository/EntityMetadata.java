@@ -0,0 +1,130 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import com.spring4all.spring.boot.starter.hbase.codec.BeanRowMapper;
+import com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodec;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodecs;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 实体的表、列族、rowKey及列信息，创建仓库时解析一次
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class EntityMetadata<T> {
+
+    private final Class<T> type;
+
+    private final String tableName;
+
+    private final String family;
+
+    private final byte[] familyBytes;
+
+    private final String rowKeyProperty;
+
+    private final ValueCodec<Object> rowKeyCodec;
+
+    private final ColumnSchema schema;
+
+    private final BeanRowMapper<T> rowMapper;
+
+    private final List<String> columns;
+
+    @SuppressWarnings("unchecked")
+    EntityMetadata(Class<T> type) {
+        final HBaseEntity entity = type.getAnnotation(HBaseEntity.class);
+        Assert.notNull(entity, type.getName() + " is not annotated with @HBaseEntity");
+        this.type = type;
+        this.tableName = entity.table();
+        this.family = entity.family();
+        this.familyBytes = Bytes.toBytes(family);
+
+        final List<Field> rowKeyFields = new ArrayList<>();
+        ReflectionUtils.doWithFields(type, rowKeyFields::add, field -> field.isAnnotationPresent(RowKey.class));
+        Assert.isTrue(rowKeyFields.size() == 1, type.getName() + " must have exactly one @RowKey field");
+        this.rowKeyProperty = rowKeyFields.get(0).getName();
+        final ValueCodec<?> codec = ValueCodecs.forType(rowKeyFields.get(0).getType());
+        Assert.notNull(codec, "Unsupported row key type " + rowKeyFields.get(0).getType().getName());
+        this.rowKeyCodec = (ValueCodec<Object>) codec;
+
+        this.schema = ColumnSchema.forBean(type);
+        this.rowMapper = new BeanRowMapper<>(type, schema);
+        final List<String> columns = new ArrayList<>();
+        for (PropertyDescriptor descriptor : org.springframework.beans.BeanUtils.getPropertyDescriptors(type)) {
+            if (descriptor.getReadMethod() != null && descriptor.getWriteMethod() != null
+                    && !descriptor.getName().equals(rowKeyProperty)) {
+                columns.add(descriptor.getName());
+            }
+        }
+        this.columns = Collections.unmodifiableList(columns);
+    }
+
+    Class<T> getType() {
+        return type;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    String getFamily() {
+        return family;
+    }
+
+    byte[] getFamilyBytes() {
+        return familyBytes;
+    }
+
+    /**
+     * @return 除rowKey外的列，用于scan和get的列投影
+     */
+    List<String> getColumns() {
+        return columns;
+    }
+
+    boolean hasColumn(String property) {
+        return columns.contains(property);
+    }
+
+    byte[] encodeRowKey(Object id) {
+        Assert.notNull(id, "Id must not be null");
+        return rowKeyCodec.encode(id);
+    }
+
+    byte[] encodeColumn(String property, Object value) {
+        return schema.encode(family, property, value);
+    }
+
+    T map(Result result) {
+        final T entity = rowMapper.mapRow(result, 0);
+        if (entity != null) {
+            new BeanWrapperImpl(entity).setPropertyValue(rowKeyProperty, rowKeyCodec.decode(result.getRow()));
+        }
+        return entity;
+    }
+
+    Put toPut(T entity) {
+        final BeanWrapper wrapper = new BeanWrapperImpl(entity);
+        final Map<String, Object> values = new HashMap<>(16);
+        for (String column : columns) {
+            values.put(column, wrapper.getPropertyValue(column));
+        }
+        return schema.toPut(encodeRowKey(wrapper.getPropertyValue(rowKeyProperty)), family, values);
+    }
+}
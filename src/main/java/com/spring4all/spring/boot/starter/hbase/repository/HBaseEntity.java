@@ -0,0 +1,29 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注由{@link HBaseRepository}读写的实体，属性按{@link com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema#forBean}编码为同一列族下的列
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface HBaseEntity {
+
+    /**
+     * @return 表名
+     */
+    String table();
+
+    /**
+     * @return 列族
+     */
+    String family();
+}
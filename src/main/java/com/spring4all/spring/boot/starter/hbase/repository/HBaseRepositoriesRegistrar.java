@@ -0,0 +1,93 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionBuilder;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
+
+import java.beans.Introspector;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * 扫描{@link HBaseRepository}接口并注册{@link HBaseRepositoryFactoryBean}
+ * <p>
+ * 扫描的包依次取{@link EnableHBaseRepositories#basePackages()}、标注类所在的包、spring boot的自动配置包
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseRepositoriesRegistrar implements ImportBeanDefinitionRegistrar, BeanFactoryAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseRepositoriesRegistrar.class);
+
+    private BeanFactory beanFactory;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata metadata, BeanDefinitionRegistry registry) {
+        final ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition definition) {
+                return definition.getMetadata().isInterface() && definition.getMetadata().isIndependent();
+            }
+        };
+        scanner.addIncludeFilter(new AssignableTypeFilter(HBaseRepository.class));
+        for (String basePackage : basePackages(metadata)) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                final String className = candidate.getBeanClassName();
+                if (HBaseRepository.class.getName().equals(className)) {
+                    continue;
+                }
+                final String beanName = Introspector.decapitalize(ClassUtils.getShortName(className));
+                if (registry.containsBeanDefinition(beanName)) {
+                    continue;
+                }
+                final AbstractBeanDefinition definition = BeanDefinitionBuilder
+                        .genericBeanDefinition(HBaseRepositoryFactoryBean.class)
+                        .addConstructorArgValue(className)
+                        .getBeanDefinition();
+                registry.registerBeanDefinition(beanName, definition);
+                LOGGER.info("注册HBase仓库：{}", className);
+            }
+        }
+    }
+
+    private Set<String> basePackages(AnnotationMetadata metadata) {
+        final Set<String> packages = new LinkedHashSet<>();
+        final AnnotationAttributes attributes = AnnotationAttributes.fromMap(
+                metadata.getAnnotationAttributes(EnableHBaseRepositories.class.getName()));
+        if (attributes != null) {
+            for (String basePackage : attributes.getStringArray("basePackages")) {
+                if (StringUtils.hasText(basePackage)) {
+                    packages.add(basePackage);
+                }
+            }
+            if (packages.isEmpty()) {
+                packages.add(ClassUtils.getPackageName(metadata.getClassName()));
+            }
+            return packages;
+        }
+        if (beanFactory != null && AutoConfigurationPackages.has(beanFactory)) {
+            packages.addAll(AutoConfigurationPackages.get(beanFactory));
+        }
+        return packages;
+    }
+}
@@ -0,0 +1,40 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 实体仓库，继承该接口的接口由starter生成实现
+ * <p>
+ * 除下列方法外，接口中声明的方法按方法名解析为查询，启动时编译为scan计划，例如：
+ * <pre>
+ * List&lt;People&gt; findByRowKeyPrefixAndTimeBetween(String prefix, long from, long to);
+ * List&lt;People&gt; findTop100ByRowKeyPrefixAndAgeGreaterThan(String prefix, int age);
+ * Optional&lt;People&gt; findFirstByRowKeyBetween(String start, String stop);
+ * boolean existsByRowKeyPrefix(String prefix);
+ * long countByRowKeyPrefixAndName(String prefix, String name);
+ * </pre>
+ * 支持的条件见{@link QueryMethodParser}。
+ *
+ * @param <T>  实体类型，需要标注{@link HBaseEntity}
+ * @param <ID> rowKey类型
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface HBaseRepository<T, ID> {
+
+    Optional<T> findById(ID id);
+
+    boolean existsById(ID id);
+
+    /**
+     * 一次批量get读取，结果与ids顺序一致，不存在的行忽略
+     */
+    List<T> findAllById(Iterable<ID> ids);
+
+    void save(T entity);
+
+    void saveAll(Iterable<T> entities);
+
+    void deleteById(ID id);
+}
@@ -0,0 +1,94 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.Assert;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 为{@link HBaseRepository}接口生成代理，所有查询方法在创建时解析，方法名有误时启动即失败
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseRepositoryFactory {
+
+    private final HBaseTemplate hbaseTemplate;
+
+    public HBaseRepositoryFactory(HBaseTemplate hbaseTemplate) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> R getRepository(Class<R> repositoryInterface) {
+        Assert.isTrue(repositoryInterface.isInterface() && HBaseRepository.class.isAssignableFrom(repositoryInterface),
+                repositoryInterface.getName() + " must be an interface extending HBaseRepository");
+        final Class<?> entityType = ResolvableType.forClass(repositoryInterface).as(HBaseRepository.class).resolveGeneric(0);
+        Assert.notNull(entityType, "Cannot resolve entity type of " + repositoryInterface.getName());
+
+        final EntityMetadata<?> entity = new EntityMetadata<>(entityType);
+        final Map<Method, QueryMethod> queries = new HashMap<>();
+        for (Method method : repositoryInterface.getMethods()) {
+            if (method.getDeclaringClass() == HBaseRepository.class) {
+                continue;
+            }
+            if (method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                throw new IllegalStateException("Default or static method is not supported: "
+                        + repositoryInterface.getName() + "." + method.getName());
+            }
+            queries.put(method, new QueryMethod(hbaseTemplate, entity, method));
+        }
+        final RepositoryInvocationHandler handler = new RepositoryInvocationHandler(repositoryInterface,
+                new SimpleHBaseRepository<>(hbaseTemplate, entity), queries);
+        return (R) Proxy.newProxyInstance(repositoryInterface.getClassLoader(), new Class<?>[]{repositoryInterface}, handler);
+    }
+
+    private static class RepositoryInvocationHandler implements InvocationHandler {
+
+        private final Class<?> repositoryInterface;
+
+        private final SimpleHBaseRepository<?, ?> target;
+
+        private final Map<Method, QueryMethod> queries;
+
+        RepositoryInvocationHandler(Class<?> repositoryInterface, SimpleHBaseRepository<?, ?> target,
+                                    Map<Method, QueryMethod> queries) {
+            this.repositoryInterface = repositoryInterface;
+            this.target = target;
+            this.queries = queries;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            final QueryMethod query = queries.get(method);
+            if (query != null) {
+                return query.execute(args);
+            }
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "HBaseRepository proxy for " + repositoryInterface.getName();
+                    default:
+                        break;
+                }
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
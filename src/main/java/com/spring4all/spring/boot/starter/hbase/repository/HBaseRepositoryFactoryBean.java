@@ -0,0 +1,47 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.Assert;
+
+/**
+ * 注册到容器中的仓库bean，在初始化时生成代理并解析查询方法
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseRepositoryFactoryBean<R> implements FactoryBean<R>, InitializingBean {
+
+    private final Class<R> repositoryInterface;
+
+    private HBaseTemplate hbaseTemplate;
+
+    private R repository;
+
+    public HBaseRepositoryFactoryBean(Class<R> repositoryInterface) {
+        this.repositoryInterface = repositoryInterface;
+    }
+
+    @Autowired
+    public void setHbaseTemplate(HBaseTemplate hbaseTemplate) {
+        this.hbaseTemplate = hbaseTemplate;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.repository = new HBaseRepositoryFactory(hbaseTemplate).getRepository(repositoryInterface);
+    }
+
+    @Override
+    public R getObject() {
+        return repository;
+    }
+
+    @Override
+    public Class<?> getObjectType() {
+        return repositoryInterface;
+    }
+}
@@ -0,0 +1,115 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 启动时编译好的查询方法，调用时代入参数生成scan并执行
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class QueryMethod {
+
+    private enum ResultType {
+        LIST,
+        OPTIONAL,
+        ENTITY,
+        BOOLEAN,
+        LONG,
+        INT
+    }
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final EntityMetadata<?> entity;
+
+    private final QueryPlan plan;
+
+    private final ResultType resultType;
+
+    QueryMethod(HBaseTemplate hbaseTemplate, EntityMetadata<?> entity, Method method) {
+        this.hbaseTemplate = hbaseTemplate;
+        this.entity = entity;
+        this.plan = QueryMethodParser.parse(method, entity);
+        this.resultType = resultType(method, plan.getKind(), entity);
+    }
+
+    private static ResultType resultType(Method method, QueryPlan.Kind kind, EntityMetadata<?> entity) {
+        final Class<?> type = method.getReturnType();
+        switch (kind) {
+            case EXISTS:
+                if (type == boolean.class || type == Boolean.class) {
+                    return ResultType.BOOLEAN;
+                }
+                break;
+            case COUNT:
+                if (type == long.class || type == Long.class) {
+                    return ResultType.LONG;
+                }
+                if (type == int.class || type == Integer.class) {
+                    return ResultType.INT;
+                }
+                break;
+            case FIND:
+            default:
+                if (type.isAssignableFrom(List.class) && Collection.class.isAssignableFrom(type) || type == Iterable.class) {
+                    return ResultType.LIST;
+                }
+                if (type == Optional.class) {
+                    return ResultType.OPTIONAL;
+                }
+                if (type.isAssignableFrom(entity.getType())) {
+                    return ResultType.ENTITY;
+                }
+                break;
+        }
+        throw new IllegalStateException("Unsupported return type " + type.getName() + " of query method "
+                + method.getDeclaringClass().getName() + "." + method.getName());
+    }
+
+    Object execute(Object[] args) throws Exception {
+        final Scan scan = plan.toScan(args == null ? new Object[0] : args);
+        switch (plan.getKind()) {
+            case EXISTS:
+                return hbaseTemplate.find(entity.getTableName(), scan, scanner -> scanner.next() != null);
+            case COUNT:
+                final long count = hbaseTemplate.find(entity.getTableName(), scan, scanner -> {
+                    long rows = 0;
+                    for (Result ignored : scanner) {
+                        rows++;
+                    }
+                    return rows;
+                });
+                return resultType == ResultType.INT ? (Object) Math.toIntExact(count) : (Object) count;
+            case FIND:
+            default:
+                final List<Object> rows = hbaseTemplate.find(entity.getTableName(), scan, scanner -> {
+                    final List<Object> values = new ArrayList<>();
+                    for (Result result : scanner) {
+                        final Object value = entity.map(result);
+                        if (value != null) {
+                            values.add(value);
+                        }
+                        // PageFilter按region限制行数，多个region时需要在客户端截断
+                        if (plan.getLimit() > 0 && values.size() >= plan.getLimit()) {
+                            break;
+                        }
+                    }
+                    return values;
+                });
+                if (resultType == ResultType.LIST) {
+                    return rows;
+                }
+                final Object first = rows.isEmpty() ? null : rows.get(0);
+                return resultType == ResultType.OPTIONAL ? Optional.ofNullable(first) : first;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import org.apache.hadoop.hbase.filter.CompareFilter;
+import org.springframework.util.StringUtils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 将查询方法名解析为{@link QueryPlan}
+ * <p>
+ * 方法名格式为{@code (find|exists|count)[First|TopN]By条件[And条件...]}，条件按参数顺序取值：
+ * <ul>
+ * <li>RowKeyPrefix / RowKeyStartingWith：rowKey前缀</li>
+ * <li>RowKeyBetween：rowKey范围[start, stop)</li>
+ * <li>RowKeyGreaterThanEqual / RowKeyLessThan：rowKey下界(包含)、上界(不包含)</li>
+ * <li>TimeBetween：cell时间戳范围[min, max)</li>
+ * <li>属性名[Is|Equals|Not|GreaterThan|GreaterThanEqual|LessThan|LessThanEqual]：列值按编码后的字节比较</li>
+ * </ul>
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+final class QueryMethodParser {
+
+    private static final Pattern METHOD = Pattern.compile("^(find|exists|count)(First|Top(\\d+))?\\w*?By(\\w+)$");
+
+    private static final Pattern AND = Pattern.compile("(?<=[a-z0-9])And(?=[A-Z])");
+
+    /**
+     * 按后缀长度排列，先匹配较长的后缀
+     */
+    private static final Map<String, CompareFilter.CompareOp> OPERATORS = new LinkedHashMap<>();
+
+    static {
+        OPERATORS.put("GreaterThanEqual", CompareFilter.CompareOp.GREATER_OR_EQUAL);
+        OPERATORS.put("LessThanEqual", CompareFilter.CompareOp.LESS_OR_EQUAL);
+        OPERATORS.put("GreaterThan", CompareFilter.CompareOp.GREATER);
+        OPERATORS.put("LessThan", CompareFilter.CompareOp.LESS);
+        OPERATORS.put("Equals", CompareFilter.CompareOp.EQUAL);
+        OPERATORS.put("Not", CompareFilter.CompareOp.NOT_EQUAL);
+        OPERATORS.put("Is", CompareFilter.CompareOp.EQUAL);
+    }
+
+    private QueryMethodParser() {
+    }
+
+    static QueryPlan parse(Method method, EntityMetadata<?> entity) {
+        final Matcher matcher = METHOD.matcher(method.getName());
+        if (!matcher.matches()) {
+            throw invalid(method, "method name must match (find|exists|count)[First|TopN]By...");
+        }
+        final QueryPlan.Kind kind = QueryPlan.Kind.valueOf(matcher.group(1).toUpperCase());
+        int limit = 0;
+        if ("First".equals(matcher.group(2))) {
+            limit = 1;
+        } else if (matcher.group(3) != null) {
+            limit = Integer.parseInt(matcher.group(3));
+        }
+
+        final List<QueryPlan.Condition> conditions = new ArrayList<>();
+        for (String part : AND.split(matcher.group(4))) {
+            conditions.add(condition(method, part, entity));
+        }
+        if (kind == QueryPlan.Kind.FIND && limit == 0 && !Iterable.class.isAssignableFrom(method.getReturnType())) {
+            // 返回单个实体时只需要一行
+            limit = 1;
+        }
+        final QueryPlan plan = new QueryPlan(entity, kind, limit, conditions);
+        if (plan.getArgumentCount() != method.getParameterCount()) {
+            throw invalid(method, "expects " + plan.getArgumentCount() + " parameters");
+        }
+        return plan;
+    }
+
+    private static QueryPlan.Condition condition(Method method, String part, EntityMetadata<?> entity) {
+        switch (part) {
+            case "RowKeyPrefix":
+            case "RowKeyStartingWith":
+                return new QueryPlan.Condition(QueryPlan.ConditionType.ROW_KEY_PREFIX);
+            case "RowKeyBetween":
+                return new QueryPlan.Condition(QueryPlan.ConditionType.ROW_KEY_BETWEEN);
+            case "RowKeyGreaterThanEqual":
+                return new QueryPlan.Condition(QueryPlan.ConditionType.ROW_KEY_GREATER_THAN_EQUAL);
+            case "RowKeyLessThan":
+                return new QueryPlan.Condition(QueryPlan.ConditionType.ROW_KEY_LESS_THAN);
+            case "TimeBetween":
+                return new QueryPlan.Condition(QueryPlan.ConditionType.TIME_BETWEEN);
+            default:
+                break;
+        }
+        for (Map.Entry<String, CompareFilter.CompareOp> operator : OPERATORS.entrySet()) {
+            if (part.endsWith(operator.getKey())) {
+                final String property = StringUtils.uncapitalize(part.substring(0, part.length() - operator.getKey().length()));
+                // 属性名本身以操作符结尾时(例如axis)按整个属性名匹配
+                if (entity.hasColumn(property)) {
+                    return new QueryPlan.Condition(QueryPlan.ConditionType.COLUMN, property, operator.getValue());
+                }
+            }
+        }
+        final String property = StringUtils.uncapitalize(part);
+        if (!entity.hasColumn(property)) {
+            throw invalid(method, "unknown property '" + property + "' of " + entity.getType().getName());
+        }
+        return new QueryPlan.Condition(QueryPlan.ConditionType.COLUMN, property, CompareFilter.CompareOp.EQUAL);
+    }
+
+    private static IllegalStateException invalid(Method method, String reason) {
+        return new IllegalStateException("Invalid query method " + method.getDeclaringClass().getName() + "." + method.getName() + ": " + reason);
+    }
+}
@@ -0,0 +1,227 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import com.spring4all.spring.boot.starter.hbase.scan.KeyOnlyFilters;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.CompareFilter;
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.PageFilter;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 由查询方法名编译得到的scan计划，每次调用只需要代入参数
+ * <p>
+ * rowKey条件转换为scan的开始、结束rowKey，时间条件转换为timeRange，列条件转换为{@link SingleColumnValueFilter}，
+ * 只读取实体映射的列；exists和count只返回rowKey，有limit时使用{@link PageFilter}在服务端限制行数。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class QueryPlan {
+
+    enum Kind {
+        FIND,
+        EXISTS,
+        COUNT
+    }
+
+    enum ConditionType {
+        ROW_KEY_PREFIX(1),
+        ROW_KEY_BETWEEN(2),
+        ROW_KEY_GREATER_THAN_EQUAL(1),
+        ROW_KEY_LESS_THAN(1),
+        TIME_BETWEEN(2),
+        COLUMN(1);
+
+        private final int arguments;
+
+        ConditionType(int arguments) {
+            this.arguments = arguments;
+        }
+
+        int getArguments() {
+            return arguments;
+        }
+    }
+
+    static class Condition {
+
+        private final ConditionType type;
+
+        private final String property;
+
+        private final CompareFilter.CompareOp op;
+
+        Condition(ConditionType type) {
+            this(type, null, null);
+        }
+
+        Condition(ConditionType type, String property, CompareFilter.CompareOp op) {
+            this.type = type;
+            this.property = property;
+            this.op = op;
+        }
+
+        ConditionType getType() {
+            return type;
+        }
+
+        String getProperty() {
+            return property;
+        }
+
+        CompareFilter.CompareOp getOp() {
+            return op;
+        }
+    }
+
+    private final EntityMetadata<?> entity;
+
+    private final Kind kind;
+
+    private final int limit;
+
+    private final List<Condition> conditions;
+
+    QueryPlan(EntityMetadata<?> entity, Kind kind, int limit, List<Condition> conditions) {
+        this.entity = entity;
+        this.kind = kind;
+        this.limit = limit;
+        this.conditions = conditions;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return 最大行数，0表示不限制
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    List<Condition> getConditions() {
+        return conditions;
+    }
+
+    int getArgumentCount() {
+        int count = 0;
+        for (Condition condition : conditions) {
+            count += condition.getType().getArguments();
+        }
+        return count;
+    }
+
+    Scan toScan(Object[] args) throws IOException {
+        final Scan scan = new Scan();
+        final FilterList filters = new FilterList(FilterList.Operator.MUST_PASS_ALL);
+        byte[] start = null;
+        byte[] stop = null;
+        int index = 0;
+        for (Condition condition : conditions) {
+            switch (condition.getType()) {
+                case ROW_KEY_PREFIX:
+                    final byte[] prefix = rowKey(args[index++]);
+                    start = max(start, prefix);
+                    stop = min(stop, prefixStop(prefix));
+                    break;
+                case ROW_KEY_BETWEEN:
+                    start = max(start, rowKey(args[index++]));
+                    stop = min(stop, rowKey(args[index++]));
+                    break;
+                case ROW_KEY_GREATER_THAN_EQUAL:
+                    start = max(start, rowKey(args[index++]));
+                    break;
+                case ROW_KEY_LESS_THAN:
+                    stop = min(stop, rowKey(args[index++]));
+                    break;
+                case TIME_BETWEEN:
+                    scan.setTimeRange(((Number) args[index++]).longValue(), ((Number) args[index++]).longValue());
+                    break;
+                case COLUMN:
+                default:
+                    final SingleColumnValueFilter filter = new SingleColumnValueFilter(entity.getFamilyBytes(),
+                            Bytes.toBytes(condition.getProperty()), condition.getOp(),
+                            entity.encodeColumn(condition.getProperty(), args[index++]));
+                    filter.setFilterIfMissing(true);
+                    filter.setLatestVersionOnly(true);
+                    filters.addFilter(filter);
+                    break;
+            }
+        }
+        if (start != null) {
+            scan.setStartRow(start);
+        }
+        if (stop != null) {
+            scan.setStopRow(stop);
+        }
+
+        if (kind == Kind.FIND) {
+            for (String column : entity.getColumns()) {
+                scan.addColumn(entity.getFamilyBytes(), Bytes.toBytes(column));
+            }
+        } else {
+            // 只需要过滤条件涉及的列
+            for (Condition condition : conditions) {
+                if (condition.getType() == ConditionType.COLUMN) {
+                    scan.addColumn(entity.getFamilyBytes(), Bytes.toBytes(condition.getProperty()));
+                }
+            }
+            if (!scan.hasFamilies()) {
+                scan.addFamily(entity.getFamilyBytes());
+            }
+        }
+        final int maxRows = kind == Kind.EXISTS ? 1 : limit;
+        if (maxRows > 0) {
+            filters.addFilter(new PageFilter(maxRows));
+            scan.setCaching(maxRows);
+        }
+        Filter filter = filters.getFilters().isEmpty() ? null : filters;
+        if (kind != Kind.FIND) {
+            filter = KeyOnlyFilters.of(filter);
+        }
+        scan.setFilter(filter);
+        return scan;
+    }
+
+    private byte[] rowKey(Object arg) {
+        if (arg instanceof byte[]) {
+            return (byte[]) arg;
+        }
+        if (arg instanceof String) {
+            return Bytes.toBytes((String) arg);
+        }
+        return entity.encodeRowKey(arg);
+    }
+
+    /**
+     * 前缀的下一个值，前缀全部为0xFF时返回空数组(不限)
+     */
+    static byte[] prefixStop(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                final byte[] stop = new byte[i + 1];
+                System.arraycopy(prefix, 0, stop, 0, i + 1);
+                stop[i]++;
+                return stop;
+            }
+        }
+        return new byte[0];
+    }
+
+    private static byte[] max(byte[] current, byte[] start) {
+        return current == null || Bytes.compareTo(start, current) > 0 ? start : current;
+    }
+
+    private static byte[] min(byte[] current, byte[] stop) {
+        if (stop.length == 0) {
+            return current;
+        }
+        return current == null || current.length == 0 || Bytes.compareTo(stop, current) < 0 ? stop : current;
+    }
+}
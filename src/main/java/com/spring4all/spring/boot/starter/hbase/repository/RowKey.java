@@ -0,0 +1,19 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标注实体中作为rowKey的属性，该属性不写入列
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RowKey {
+}
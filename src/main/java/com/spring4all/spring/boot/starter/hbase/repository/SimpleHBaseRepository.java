@@ -0,0 +1,93 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.batch.BatchResult;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link HBaseRepository}中固定方法的实现，读取时只获取实体映射的列的最新版本
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class SimpleHBaseRepository<T, ID> implements HBaseRepository<T, ID> {
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final EntityMetadata<T> entity;
+
+    SimpleHBaseRepository(HBaseTemplate hbaseTemplate, EntityMetadata<T> entity) {
+        this.hbaseTemplate = hbaseTemplate;
+        this.entity = entity;
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        final Get get = this.get(id);
+        return Optional.ofNullable(hbaseTemplate.executeRead(entity.getTableName(), 1, table -> entity.map(table.get(get))));
+    }
+
+    @Override
+    public boolean existsById(ID id) {
+        final Get get = new Get(entity.encodeRowKey(id));
+        return hbaseTemplate.executeRead(entity.getTableName(), 1, table -> table.exists(get));
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<ID> ids) {
+        final List<Get> gets = new ArrayList<>();
+        ids.forEach(id -> gets.add(this.get(id)));
+        if (gets.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final BatchResult result = hbaseTemplate.batch(entity.getTableName(), gets, null);
+        final List<T> entities = new ArrayList<>(gets.size());
+        for (int i = 0; i < result.size(); i++) {
+            if (!result.isSuccess(i)) {
+                throw new HBaseSystemException(result.getError(i));
+            }
+            final Result row = result.getResult(i);
+            final T value = row == null ? null : entity.map(row);
+            if (value != null) {
+                entities.add(value);
+            }
+        }
+        return entities;
+    }
+
+    @Override
+    public void save(T value) {
+        hbaseTemplate.saveOrUpdate(entity.getTableName(), entity.toPut(value));
+    }
+
+    @Override
+    public void saveAll(Iterable<T> values) {
+        final List<Mutation> puts = new ArrayList<>();
+        values.forEach(value -> puts.add(entity.toPut(value)));
+        if (!puts.isEmpty()) {
+            hbaseTemplate.saveOrUpdates(entity.getTableName(), puts);
+        }
+    }
+
+    @Override
+    public void deleteById(ID id) {
+        hbaseTemplate.saveOrUpdate(entity.getTableName(), new Delete(entity.encodeRowKey(id)));
+    }
+
+    private Get get(ID id) {
+        final Get get = new Get(entity.encodeRowKey(id));
+        for (String column : entity.getColumns()) {
+            get.addColumn(entity.getFamilyBytes(), Bytes.toBytes(column));
+        }
+        return get;
+    }
+}
@@ -0,0 +1,160 @@
+package com.spring4all.spring.boot.starter.hbase.resilience;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个region server的熔断器
+ * <p>
+ * 按最近windowSize次调用统计失败率，失败和慢调用都计入；达到阈值后熔断，熔断期间的调用直接失败，
+ * openDuration之后放行一次试探调用，成功则恢复，失败则继续熔断。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class CircuitBreaker {
+
+    /**
+     * 熔断器状态
+     */
+    public enum State {
+
+        /**
+         * 正常
+         */
+        CLOSED,
+
+        /**
+         * 熔断中，调用直接失败
+         */
+        OPEN,
+
+        /**
+         * 放行试探调用
+         */
+        HALF_OPEN
+    }
+
+    private final String server;
+
+    private final CircuitBreakerSettings settings;
+
+    private final boolean[] window;
+
+    private int windowIndex;
+
+    private int calls;
+
+    private int failures;
+
+    private State state = State.CLOSED;
+
+    private long openedAt;
+
+    private boolean trialInFlight;
+
+    private final LongAdder rejected = new LongAdder();
+
+    public CircuitBreaker(String server, CircuitBreakerSettings settings) {
+        Assert.isTrue(settings.getWindowSize() > 0, "Window size must be positive");
+        this.server = server;
+        this.settings = settings;
+        this.window = new boolean[settings.getWindowSize()];
+    }
+
+    /**
+     * 是否允许调用，HALF_OPEN状态下只放行一次试探调用
+     *
+     * @return 是否允许
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= settings.getOpenDurationMs()) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.CLOSED || state == State.HALF_OPEN && !trialInFlight) {
+            trialInFlight = state == State.HALF_OPEN;
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    /**
+     * 获取许可后调用未发出时释放，HALF_OPEN状态下允许下一次试探
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * 记录调用结果
+     *
+     * @param success   是否成功
+     * @param elapsedMs 耗时(毫秒)
+     */
+    public synchronized void record(boolean success, long elapsedMs) {
+        final boolean failed = !success || elapsedMs >= settings.getSlowCallThresholdMs();
+        if (state == State.HALF_OPEN) {
+            if (failed) {
+                this.open();
+            } else {
+                this.reset();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+        if (calls == window.length) {
+            if (window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[windowIndex] = failed;
+        if (failed) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+        if (calls >= settings.getMinimumCalls() && failures >= calls * settings.getFailureRateThreshold()) {
+            this.open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getServer() {
+        return server;
+    }
+
+    /**
+     * 熔断期间拒绝的调用次数
+     */
+    public long getRejectedCalls() {
+        return rejected.sum();
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        trialInFlight = false;
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        calls = 0;
+        failures = 0;
+        windowIndex = 0;
+        for (int i = 0; i < window.length; i++) {
+            window[i] = false;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.spring4all.spring.boot.starter.hbase.resilience;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 熔断参数
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CircuitBreakerSettings {
+
+    /**
+     * 失败率(含慢调用)达到该值时熔断，取值(0, 1]
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * 耗时超过该值(毫秒)的调用计为慢调用
+     */
+    private long slowCallThresholdMs = 2000;
+
+    /**
+     * 统计窗口内最少的调用次数，不足时不熔断
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * 统计最近多少次调用
+     */
+    private int windowSize = 100;
+
+    /**
+     * 熔断持续时间(毫秒)，之后放行一次试探调用
+     */
+    private long openDurationMs = 10000;
+}
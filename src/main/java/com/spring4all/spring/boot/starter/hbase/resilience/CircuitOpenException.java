@@ -0,0 +1,23 @@
+package com.spring4all.spring.boot.starter.hbase.resilience;
+
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+
+/**
+ * 目标region server已熔断，调用未发出
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class CircuitOpenException extends DoNotRetryIOException {
+
+    private final String server;
+
+    public CircuitOpenException(String server) {
+        super("Circuit breaker is open for region server " + server);
+        this.server = server;
+    }
+
+    public String getServer() {
+        return server;
+    }
+}
@@ -0,0 +1,203 @@
+package com.spring4all.spring.boot.starter.hbase.resilience;
+
+import com.spring4all.spring.boot.starter.hbase.utils.HBaseErrors;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.HTable;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Table;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 按region server熔断，并限制单次操作的总耗时
+ * <p>
+ * 调用前根据客户端缓存的region位置找到涉及的region server，任一server熔断时直接失败；
+ * 调用结果按server记录到各自的熔断器；客户端错误(被拒绝的请求，见{@link HBaseErrors}，以及客户端限额、熔断)
+ * 与server是否健康无关，不计入统计。
+ * 单次操作的超时通过HTable的operation timeout设置，
+ * 全局重试预算耗尽时超时缩短为一次RPC的时间，不再等待客户端重试。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class RegionServerGuard {
+
+    /**
+     * 受保护的调用
+     *
+     * @param <T> 返回值类型
+     */
+    public interface Call<T> {
+
+        /**
+         * 执行调用
+         *
+         * @return 结果
+         * @throws Exception 调用失败
+         */
+        T call() throws Exception;
+    }
+
+    private final CircuitBreakerSettings settings;
+
+    private final RetryBudget retryBudget;
+
+    private final int operationDeadlineMs;
+
+    private final int failFastTimeoutMs;
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    private final List<Consumer<CircuitBreaker>> breakerListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param settings            熔断参数
+     * @param retryBudget         全局重试预算
+     * @param operationDeadlineMs 单次操作的总超时(毫秒)，小于等于0时使用连接配置
+     * @param failFastTimeoutMs   重试预算耗尽时的操作超时(毫秒)，一般为一次RPC的超时
+     */
+    public RegionServerGuard(CircuitBreakerSettings settings, RetryBudget retryBudget, int operationDeadlineMs, int failFastTimeoutMs) {
+        Assert.notNull(settings, "Circuit breaker settings must not be null");
+        Assert.notNull(retryBudget, "Retry budget must not be null");
+        this.settings = settings;
+        this.retryBudget = retryBudget;
+        this.operationDeadlineMs = operationDeadlineMs;
+        this.failFastTimeoutMs = failFastTimeoutMs;
+    }
+
+    /**
+     * 执行涉及指定行的调用
+     *
+     * @param connection hbase连接
+     * @param table      调用使用的表，超时只对该实例生效
+     * @param rows       涉及的rowKey
+     * @param call       调用
+     * @param <T>        返回值类型
+     * @return 调用结果
+     * @throws Exception 调用失败，或涉及的server已熔断时抛出{@link CircuitOpenException}
+     */
+    public <T> T call(Connection connection, Table table, Collection<byte[]> rows, Call<T> call) throws Exception {
+        final Map<String, CircuitBreaker> targets = this.locate(connection, table, rows);
+        final List<CircuitBreaker> acquired = new ArrayList<>(targets.size());
+        for (CircuitBreaker breaker : targets.values()) {
+            if (!breaker.tryAcquire()) {
+                acquired.forEach(CircuitBreaker::release);
+                throw new CircuitOpenException(breaker.getServer());
+            }
+            acquired.add(breaker);
+        }
+        this.applyDeadline(table);
+
+        final long begin = System.currentTimeMillis();
+        boolean recorded = false;
+        try {
+            final T result = call.call();
+            final long elapsed = System.currentTimeMillis() - begin;
+            targets.values().forEach(breaker -> breaker.record(true, elapsed));
+            recorded = true;
+            retryBudget.deposit();
+            return result;
+        } catch (Exception e) {
+            if (isClientError(e)) {
+                // 在finally中释放许可
+                throw e;
+            }
+            final long elapsed = System.currentTimeMillis() - begin;
+            final Set<String> failed = failedServers(e);
+            targets.forEach((server, breaker) -> breaker.record(failed != null && !failed.contains(server), elapsed));
+            recorded = true;
+            retryBudget.withdraw();
+            throw e;
+        } finally {
+            if (!recorded) {
+                // 客户端错误或Error不记录结果，HALF_OPEN状态下允许下一次试探
+                acquired.forEach(CircuitBreaker::release);
+            }
+        }
+    }
+
+    public CircuitBreaker getBreaker(String server) {
+        return breakers.computeIfAbsent(server, key -> {
+            final CircuitBreaker breaker = new CircuitBreaker(key, settings);
+            breakerListeners.forEach(listener -> listener.accept(breaker));
+            return breaker;
+        });
+    }
+
+    public Collection<CircuitBreaker> getBreakers() {
+        return breakers.values();
+    }
+
+    public RetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * 新的region server第一次出现时回调，用于注册监控指标
+     *
+     * @param listener 回调
+     */
+    public void addBreakerListener(Consumer<CircuitBreaker> listener) {
+        breakerListeners.add(listener);
+        breakers.values().forEach(listener);
+    }
+
+    private Map<String, CircuitBreaker> locate(Connection connection, Table table, Collection<byte[]> rows) throws Exception {
+        final Map<String, CircuitBreaker> targets = new LinkedHashMap<>();
+        try (RegionLocator locator = connection.getRegionLocator(table.getName())) {
+            for (byte[] row : rows) {
+                final HRegionLocation location = locator.getRegionLocation(row);
+                if (location != null && location.getServerName() != null) {
+                    final String server = location.getServerName().getHostAndPort();
+                    targets.computeIfAbsent(server, this::getBreaker);
+                }
+            }
+        }
+        return targets;
+    }
+
+    private void applyDeadline(Table table) {
+        if (!(table instanceof HTable)) {
+            return;
+        }
+        if (!retryBudget.canRetry()) {
+            ((HTable) table).setOperationTimeout(failFastTimeoutMs);
+        } else if (operationDeadlineMs > 0) {
+            ((HTable) table).setOperationTimeout(operationDeadlineMs);
+        }
+    }
+
+    /**
+     * 批量操作的异常中带有失败的server，只有客户端错误的server不算失败；其余异常返回null表示全部失败
+     */
+    private static Set<String> failedServers(Exception e) {
+        if (!(e instanceof RetriesExhaustedWithDetailsException)) {
+            return null;
+        }
+        final RetriesExhaustedWithDetailsException details = (RetriesExhaustedWithDetailsException) e;
+        final Set<String> servers = new HashSet<>();
+        for (int i = 0; i < details.getNumExceptions(); i++) {
+            if (!isClientError(details.getCause(i))) {
+                servers.add(details.getHostnamePort(i));
+            }
+        }
+        return servers;
+    }
+
+    private static boolean isClientError(Throwable e) {
+        return e instanceof DoNotRetryIOException || HBaseErrors.isRejected(e);
+    }
+}
@@ -0,0 +1,64 @@
+package com.spring4all.spring.boot.starter.hbase.resilience;
+
+/**
+ * 全局重试预算
+ * <p>
+ * 每次成功调用存入ratio个令牌，另外每秒固定补充minPerSecond个，失败调用消耗一个令牌。
+ * 令牌耗尽时调用方不再给操作留出重试的时间，避免大量请求同时在一个故障的region server上重试。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class RetryBudget {
+
+    private final double ratio;
+
+    private final double minPerSecond;
+
+    private final double maxTokens;
+
+    private double tokens;
+
+    private long lastRefill;
+
+    /**
+     * @param ratio        每次成功调用存入的令牌数
+     * @param minPerSecond 每秒固定补充的令牌数
+     */
+    public RetryBudget(double ratio, double minPerSecond) {
+        this.ratio = ratio;
+        this.minPerSecond = minPerSecond;
+        this.maxTokens = Math.max(minPerSecond * 10, 1);
+        this.tokens = maxTokens;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized void deposit() {
+        this.refill();
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized void withdraw() {
+        this.refill();
+        tokens = Math.max(0, tokens - 1);
+    }
+
+    /**
+     * 是否还有可用于重试的令牌
+     */
+    public synchronized boolean canRetry() {
+        this.refill();
+        return tokens >= 1;
+    }
+
+    public synchronized double getTokens() {
+        this.refill();
+        return tokens;
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        tokens = Math.min(maxTokens, tokens + (now - lastRefill) / 1e9 * minPerSecond);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring4all.spring.boot.starter.hbase.scan;
+
+import org.apache.hadoop.hbase.filter.Filter;
+import org.apache.hadoop.hbase.filter.FilterList;
+import org.apache.hadoop.hbase.filter.FirstKeyOnlyFilter;
+import org.apache.hadoop.hbase.filter.KeyOnlyFilter;
+
+/**
+ * 只返回rowKey的过滤器，服务端不返回列值
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class KeyOnlyFilters {
+
+    private KeyOnlyFilters() {
+    }
+
+    /**
+     * 没有用户过滤器时每行只返回第一个cell；用户过滤器可能依赖其他列的值，此时返回满足条件的所有cell(不含值)
+     *
+     * @param filter 用户过滤器，允许null
+     * @return 过滤器
+     */
+    public static Filter of(Filter filter) {
+        final FilterList filters = new FilterList(FilterList.Operator.MUST_PASS_ALL);
+        if (filter != null) {
+            filters.addFilter(filter);
+        } else {
+            filters.addFilter(new FirstKeyOnlyFilter());
+        }
+        filters.addFilter(new KeyOnlyFilter());
+        return filters;
+    }
+}
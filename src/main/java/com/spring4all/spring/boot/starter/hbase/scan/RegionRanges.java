@@ -0,0 +1,49 @@
+package com.spring4all.spring.boot.starter.hbase.scan;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.util.Pair;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 按region边界切分rowKey范围，用于按region并行扫描
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class RegionRanges {
+
+    private RegionRanges() {
+    }
+
+    /**
+     * 将[startRow, stopRow)按region边界切分，结果按rowKey有序
+     *
+     * @param connection hbase连接
+     * @param tableName  表名
+     * @param startRow   开始rowKey，null或空数组表示不限
+     * @param stopRow    结束rowKey，null或空数组表示不限
+     * @return 切分后的范围
+     * @throws IOException 获取region信息失败
+     */
+    public static List<ScanRange> split(Connection connection, String tableName, byte[] startRow, byte[] stopRow) throws IOException {
+        final byte[] start = startRow == null ? HConstants.EMPTY_START_ROW : startRow;
+        final byte[] stop = stopRow == null ? HConstants.EMPTY_END_ROW : stopRow;
+        final List<ScanRange> ranges = new ArrayList<>();
+        try (RegionLocator locator = connection.getRegionLocator(TableName.valueOf(tableName))) {
+            final Pair<byte[][], byte[][]> keys = locator.getStartEndKeys();
+            for (int i = 0; i < keys.getFirst().length; i++) {
+                final ScanRange range = new ScanRange(keys.getFirst()[i], keys.getSecond()[i]).intersect(start, stop);
+                if (range != null) {
+                    ranges.add(range);
+                }
+            }
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,87 @@
+package com.spring4all.spring.boot.starter.hbase.scan;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按rowKey范围并行执行任务，任务之间互不依赖，任一任务失败时取消其余任务
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class RegionTaskRunner {
+
+    private RegionTaskRunner() {
+    }
+
+    /**
+     * 单个范围上执行的任务
+     *
+     * @param <R> 任务结果类型
+     */
+    public interface RangeTask<R> {
+
+        /**
+         * 执行任务
+         *
+         * @param index 范围序号
+         * @param range rowKey范围
+         * @return 任务结果
+         * @throws Exception 任务异常
+         */
+        R run(int index, ScanRange range) throws Exception;
+    }
+
+    /**
+     * 并行执行任务，阻塞直到全部完成
+     *
+     * @param ranges      rowKey范围
+     * @param parallelism 并行度
+     * @param threadName  线程名前缀
+     * @param task        任务
+     * @param <R>         任务结果类型
+     * @return 与ranges顺序一致的结果
+     */
+    public static <R> List<R> run(List<ScanRange> ranges, int parallelism, String threadName, RangeTask<R> task) {
+        Assert.isTrue(parallelism > 0, "Parallelism must be positive");
+        Assert.notNull(task, "Task must not be null");
+        if (ranges.isEmpty()) {
+            return new ArrayList<>();
+        }
+        final AtomicInteger sequence = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, ranges.size()), runnable -> {
+            Thread thread = new Thread(runnable, threadName + sequence.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            final List<Future<R>> futures = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                final int index = i;
+                final ScanRange range = ranges.get(i);
+                futures.add(executor.submit(() -> task.run(index, range)));
+            }
+            final List<R> results = new ArrayList<>(ranges.size());
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HBaseSystemException(e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof HBaseSystemException
+                    ? (HBaseSystemException) e.getCause() : new HBaseSystemException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.spring4all.spring.boot.starter.hbase.scan;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.apache.hadoop.hbase.client.Scan;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Scan的调优参数集合，为空的属性不做设置。
+ * <p>
+ * 应用到{@link Scan}时只覆盖仍为默认值的参数，调用方在Scan上显式设置的参数优先。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScanProfile {
+
+    /**
+     * 点查，只取少量行，走small scan减少RPC次数
+     */
+    public static final String POINT = "point";
+
+    /**
+     * 分页，caching根据pageSize计算；深分页的caching很大，不使用small scan
+     */
+    public static final String PAGE = "page";
+
+    /**
+     * 导出，大批量顺序读取，不污染服务端block cache
+     */
+    public static final String EXPORT = "export";
+
+    /**
+     * 每次RPC从服务端抓取的行数
+     */
+    private Integer caching;
+
+    /**
+     * 每个Result最多返回的列数，宽行时使用，注意设置后一行可能被拆分为多个Result
+     */
+    private Integer batch;
+
+    /**
+     * 每次RPC返回的最大字节数
+     */
+    private DataSize maxResultSize;
+
+    /**
+     * 是否使用服务端block cache
+     */
+    private Boolean cacheBlocks;
+
+    /**
+     * 是否使用small scan，结果能在一次RPC内返回时使用
+     */
+    private Boolean small;
+
+    /**
+     * 根据分页大小生成新的配置，未配置caching时使用pageSize + 1，保证一页数据一次RPC取完
+     *
+     * @param pageSize 每页条数
+     * @return 新的配置
+     */
+    public ScanProfile forPageSize(int pageSize) {
+        final ScanProfile profile = new ScanProfile(caching, batch, maxResultSize, cacheBlocks, small);
+        if (profile.getCaching() == null && pageSize > 0) {
+            profile.setCaching(pageSize + 1);
+        }
+        return profile;
+    }
+
+    /**
+     * 将配置应用到scan，scan上已显式设置的参数不会被覆盖
+     *
+     * @param scan 目标scan
+     * @return 传入的scan
+     */
+    public Scan applyTo(Scan scan) {
+        if (caching != null && scan.getCaching() <= 0) {
+            scan.setCaching(caching);
+        }
+        if (batch != null && scan.getBatch() <= 0) {
+            scan.setBatch(batch);
+        }
+        if (maxResultSize != null && scan.getMaxResultSize() <= 0) {
+            scan.setMaxResultSize(maxResultSize.toBytes());
+        }
+        if (Boolean.FALSE.equals(cacheBlocks)) {
+            scan.setCacheBlocks(false);
+        }
+        if (Boolean.TRUE.equals(small) && !scan.isSmall()) {
+            scan.setSmall(true);
+        }
+        return scan;
+    }
+}
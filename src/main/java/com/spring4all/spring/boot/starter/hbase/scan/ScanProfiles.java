@@ -0,0 +1,98 @@
+package com.spring4all.spring.boot.starter.hbase.scan;
+
+import org.apache.hadoop.hbase.client.Scan;
+import org.springframework.util.Assert;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 命名的{@link ScanProfile}注册表，内置point、page、export三种配置，并维护表与配置的绑定关系
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class ScanProfiles {
+
+    private final Map<String, ScanProfile> profiles = new ConcurrentHashMap<>();
+
+    private final Map<String, String> tableProfiles = new ConcurrentHashMap<>();
+
+    public ScanProfiles() {
+        profiles.put(ScanProfile.POINT, new ScanProfile(10, null, null, null, true));
+        profiles.put(ScanProfile.PAGE, new ScanProfile(null, null, null, null, null));
+        profiles.put(ScanProfile.EXPORT, new ScanProfile(1000, null, DataSize.ofMegabytes(4), false, false));
+    }
+
+    /**
+     * 注册配置，同名配置已存在时合并，新配置中不为空的属性覆盖原值
+     *
+     * @param name    配置名
+     * @param profile 配置
+     */
+    public void register(String name, ScanProfile profile) {
+        Assert.hasText(name, "Scan profile name must not be empty");
+        Assert.notNull(profile, "Scan profile must not be null");
+        profiles.merge(name, profile, ScanProfiles::merge);
+    }
+
+    /**
+     * 为表绑定默认的scan配置，对该表的find操作生效
+     *
+     * @param tableName   表名
+     * @param profileName 配置名
+     */
+    public void bindTable(String tableName, String profileName) {
+        Assert.hasText(tableName, "No table specified");
+        get(profileName);
+        tableProfiles.put(tableName, profileName);
+    }
+
+    /**
+     * 获取配置
+     *
+     * @param name 配置名
+     * @return 配置
+     */
+    public ScanProfile get(String name) {
+        final ScanProfile profile = profiles.get(name);
+        Assert.notNull(profile, "Unknown scan profile: " + name);
+        return profile;
+    }
+
+    /**
+     * 获取表绑定的配置
+     *
+     * @param tableName 表名
+     * @return 配置，没有绑定时返回null
+     */
+    public ScanProfile forTable(String tableName) {
+        final String name = tableProfiles.get(tableName);
+        return name == null ? null : get(name);
+    }
+
+    /**
+     * 应用表绑定的配置，没有绑定时不做处理
+     *
+     * @param tableName 表名
+     * @param scan      目标scan
+     * @return 传入的scan
+     */
+    public Scan applyTableProfile(String tableName, Scan scan) {
+        final ScanProfile profile = forTable(tableName);
+        if (profile != null) {
+            profile.applyTo(scan);
+        }
+        return scan;
+    }
+
+    private static ScanProfile merge(ScanProfile base, ScanProfile override) {
+        return new ScanProfile(
+                override.getCaching() != null ? override.getCaching() : base.getCaching(),
+                override.getBatch() != null ? override.getBatch() : base.getBatch(),
+                override.getMaxResultSize() != null ? override.getMaxResultSize() : base.getMaxResultSize(),
+                override.getCacheBlocks() != null ? override.getCacheBlocks() : base.getCacheBlocks(),
+                override.getSmall() != null ? override.getSmall() : base.getSmall());
+    }
+}
@@ -0,0 +1,70 @@
+package com.spring4all.spring.boot.starter.hbase.scan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+
+/**
+ * rowKey范围[startRow, stopRow)，空数组表示不限
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@AllArgsConstructor
+public class ScanRange {
+
+    private final byte[] startRow;
+
+    private final byte[] stopRow;
+
+    /**
+     * 复制scan并限定为当前范围
+     *
+     * @param scan 原scan，不会被修改
+     * @return 新的scan
+     * @throws IOException scan复制失败
+     */
+    public Scan toScan(Scan scan) throws IOException {
+        final Scan copy = new Scan(scan);
+        copy.setStartRow(startRow);
+        copy.setStopRow(stopRow);
+        return copy;
+    }
+
+    /**
+     * 计算与另一个范围的交集
+     *
+     * @param startRow 开始rowKey，空数组表示不限
+     * @param stopRow  结束rowKey，空数组表示不限
+     * @return 交集，没有交集时返回null
+     */
+    public ScanRange intersect(byte[] startRow, byte[] stopRow) {
+        final byte[] start = Bytes.compareTo(this.startRow, startRow) >= 0 ? this.startRow : startRow;
+        final byte[] stop;
+        if (isOpenEnd(this.stopRow)) {
+            stop = stopRow;
+        } else if (isOpenEnd(stopRow)) {
+            stop = this.stopRow;
+        } else {
+            stop = Bytes.compareTo(this.stopRow, stopRow) <= 0 ? this.stopRow : stopRow;
+        }
+        if (!isOpenEnd(stop) && Bytes.compareTo(start, stop) >= 0) {
+            return null;
+        }
+        return new ScanRange(start, stop);
+    }
+
+    private static boolean isOpenEnd(byte[] row) {
+        return row == null || Bytes.equals(row, HConstants.EMPTY_END_ROW);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + Bytes.toStringBinary(startRow) + ", " + Bytes.toStringBinary(stopRow) + ")";
+    }
+}
@@ -0,0 +1,159 @@
+package com.spring4all.spring.boot.starter.hbase.snapshot;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.scan.RegionTaskRunner;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.ClientSideRegionScanner;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 基于表快照的离线扫描，直接读取HFile，不经过region server
+ * <p>
+ * 快照只恢复一次(与TableSnapshotInputFormat相同，只创建引用文件)，region列表取自快照的manifest，
+ * 每个region由一个{@link ClientSideRegionScanner}并行扫描，结果逐行交给{@link SnapshotRowConsumer}，不在内存中汇总。
+ * 需要引入hbase-server依赖，客户端需要有hbase根目录的读权限。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseSnapshotScanner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseSnapshotScanner.class);
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final SnapshotFiles snapshotFiles;
+
+    public HBaseSnapshotScanner(HBaseTemplate hbaseTemplate) {
+        this(hbaseTemplate, null);
+    }
+
+    /**
+     * @param snapshotFiles 快照文件的恢复与扫描，为null时直接读取HFile
+     */
+    HBaseSnapshotScanner(HBaseTemplate hbaseTemplate, SnapshotFiles snapshotFiles) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+        this.snapshotFiles = snapshotFiles != null ? snapshotFiles : new HFileSnapshotFiles(hbaseTemplate.getConfiguration());
+    }
+
+    /**
+     * 扫描快照，阻塞直到全部region完成
+     *
+     * @param request  扫描参数
+     * @param consumer 行消费者，同一region内按rowKey有序
+     * @return 扫描的行数
+     */
+    public long scan(SnapshotScanRequest request, SnapshotRowConsumer consumer) {
+        Assert.notNull(request, "Snapshot scan request must not be null");
+        Assert.hasText(request.getTableName(), "No table specified");
+        Assert.hasText(request.getRestoreDir(), "Restore dir must not be empty");
+        Assert.notNull(consumer, "Consumer must not be null");
+
+        final String tableName = request.getTableName();
+        final boolean temporary = StringUtils.isEmpty(request.getSnapshotName());
+        final String snapshotName = temporary
+                ? tableName.replace(':', '_') + "-scan-" + System.currentTimeMillis() : request.getSnapshotName();
+        if (temporary) {
+            hbaseTemplate.executeAdmin(admin -> {
+                admin.snapshot(snapshotName, TableName.valueOf(tableName));
+                return null;
+            });
+            LOGGER.info("hbase创建扫描快照, table: {}, snapshot: {}", tableName, snapshotName);
+        }
+        try {
+            return this.scan(request, snapshotName, consumer);
+        } finally {
+            if (temporary) {
+                this.deleteSnapshot(snapshotName);
+            }
+        }
+    }
+
+    private long scan(SnapshotScanRequest request, String snapshotName, SnapshotRowConsumer consumer) {
+        final long begin = System.currentTimeMillis();
+        // 每次扫描恢复到独立的子目录，结束后删除
+        final Path restoreDir = new Path(request.getRestoreDir(), UUID.randomUUID().toString());
+        final Scan base = request.getScan() != null ? request.getScan() : new Scan();
+
+        final SnapshotFiles.Restored restored;
+        try {
+            restored = snapshotFiles.restore(request, snapshotName, restoreDir);
+        } catch (IOException e) {
+            throw new HBaseSystemException(e);
+        }
+        try {
+            final List<HRegionInfo> regions = new ArrayList<>();
+            final List<ScanRange> ranges = new ArrayList<>();
+            for (HRegionInfo region : regions(restored.getRegions())) {
+                final ScanRange range = new ScanRange(region.getStartKey(), region.getEndKey())
+                        .intersect(base.getStartRow(), base.getStopRow());
+                if (range != null) {
+                    regions.add(region);
+                    ranges.add(range);
+                }
+            }
+            final LongAdder rows = new LongAdder();
+            RegionTaskRunner.run(ranges, request.getParallelism(), "hbase-snapshot-", (index, range) -> {
+                try (ResultScanner scanner = snapshotFiles.open(restored, regions.get(index), range.toScan(base))) {
+                    for (Result result = scanner.next(); result != null; result = scanner.next()) {
+                        consumer.accept(result);
+                        rows.increment();
+                    }
+                }
+                return null;
+            });
+            LOGGER.info("hbase快照扫描完成, snapshot: {}, regions: {}, rows: {}, 耗时: {}ms",
+                    snapshotName, ranges.size(), rows.sum(), System.currentTimeMillis() - begin);
+            return rows.sum();
+        } finally {
+            try {
+                snapshotFiles.delete(restored);
+            } catch (IOException e) {
+                LOGGER.error("hbase删除快照恢复目录失败, dir: {}", restoreDir, e);
+            }
+        }
+    }
+
+    /**
+     * 按开始rowKey排序，跳过已拆分的父region(与TableSnapshotInputFormat一致)
+     */
+    private static List<HRegionInfo> regions(List<HRegionInfo> restored) {
+        final List<HRegionInfo> regions = new ArrayList<>(restored.size());
+        for (HRegionInfo region : restored) {
+            if (!(region.isOffline() && (region.isSplit() || region.isSplitParent()))) {
+                regions.add(region);
+            }
+        }
+        Collections.sort(regions);
+        return regions;
+    }
+
+    private void deleteSnapshot(String snapshotName) {
+        try {
+            hbaseTemplate.executeAdmin(admin -> {
+                admin.deleteSnapshot(snapshotName);
+                return null;
+            });
+        } catch (HBaseSystemException e) {
+            LOGGER.error("hbase删除扫描快照失败, snapshot: {}", snapshotName, e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.spring4all.spring.boot.starter.hbase.snapshot;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.client.ClientSideRegionScanner;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.snapshot.RestoreSnapshotHelper;
+
+import java.io.IOException;
+
+/**
+ * 通过{@link RestoreSnapshotHelper}恢复快照(与TableSnapshotInputFormat相同，只创建引用文件)，
+ * 每个region由{@link ClientSideRegionScanner}直接读取HFile
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class HFileSnapshotFiles implements SnapshotFiles {
+
+    private final Configuration configuration;
+
+    HFileSnapshotFiles(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    public Restored restore(SnapshotScanRequest request, String snapshotName, Path restoreDir) throws IOException {
+        final Path rootDir = new Path(StringUtils.isNotEmpty(request.getRootDir())
+                ? request.getRootDir() : configuration.get(HConstants.HBASE_DIR));
+        final FileSystem fs = rootDir.getFileSystem(configuration);
+        final RestoreSnapshotHelper.RestoreMetaChanges meta =
+                RestoreSnapshotHelper.copySnapshotForScanner(configuration, fs, rootDir, restoreDir, snapshotName);
+        return new Restored(fs, restoreDir, meta.getTableDescriptor(), meta.getRegionsToAdd());
+    }
+
+    @Override
+    public ResultScanner open(Restored restored, HRegionInfo region, Scan scan) throws IOException {
+        return new ClientSideRegionScanner(configuration, restored.getFileSystem(), restored.getRestoreDir(),
+                restored.getDescriptor(), region, scan, null);
+    }
+
+    @Override
+    public void delete(Restored restored) throws IOException {
+        restored.getFileSystem().delete(restored.getRestoreDir(), true);
+    }
+}
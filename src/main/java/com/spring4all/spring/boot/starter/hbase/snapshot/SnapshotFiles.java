@@ -0,0 +1,73 @@
+package com.spring4all.spring.boot.starter.hbase.snapshot;
+
+import lombok.Getter;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 快照文件的恢复与region扫描，默认实现见{@link HFileSnapshotFiles}
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+interface SnapshotFiles {
+
+    /**
+     * 恢复快照到restoreDir
+     *
+     * @param request      扫描参数
+     * @param snapshotName 快照名
+     * @param restoreDir   本次扫描独立的恢复目录
+     * @return 恢复结果
+     * @throws IOException 恢复失败
+     */
+    Restored restore(SnapshotScanRequest request, String snapshotName, Path restoreDir) throws IOException;
+
+    /**
+     * 打开一个region的扫描
+     *
+     * @param restored 恢复结果
+     * @param region   region
+     * @param scan     限定在region范围内的scan
+     * @return 扫描器
+     * @throws IOException 打开失败
+     */
+    ResultScanner open(Restored restored, HRegionInfo region, Scan scan) throws IOException;
+
+    /**
+     * 删除恢复目录
+     *
+     * @param restored 恢复结果
+     * @throws IOException 删除失败
+     */
+    void delete(Restored restored) throws IOException;
+
+    /**
+     * 恢复后的表结构和region列表
+     */
+    @Getter
+    class Restored {
+
+        private final FileSystem fileSystem;
+
+        private final Path restoreDir;
+
+        private final HTableDescriptor descriptor;
+
+        private final List<HRegionInfo> regions;
+
+        Restored(FileSystem fileSystem, Path restoreDir, HTableDescriptor descriptor, List<HRegionInfo> regions) {
+            this.fileSystem = fileSystem;
+            this.restoreDir = restoreDir;
+            this.descriptor = descriptor;
+            this.regions = regions;
+        }
+    }
+}
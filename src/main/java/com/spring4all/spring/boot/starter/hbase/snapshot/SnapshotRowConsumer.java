@@ -0,0 +1,21 @@
+package com.spring4all.spring.boot.starter.hbase.snapshot;
+
+import org.apache.hadoop.hbase.client.Result;
+
+/**
+ * 快照扫描的行消费者，多个region并行扫描时在各扫描线程中并发回调，需要线程安全
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@FunctionalInterface
+public interface SnapshotRowConsumer {
+
+    /**
+     * 消费一行，同一region内按rowKey有序，region之间没有顺序
+     *
+     * @param result 行数据
+     * @throws Exception 消费失败时整个扫描失败
+     */
+    void accept(Result result) throws Exception;
+}
@@ -0,0 +1,48 @@
+package com.spring4all.spring.boot.starter.hbase.snapshot;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.hadoop.hbase.client.Scan;
+
+/**
+ * 快照离线扫描参数
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class SnapshotScanRequest {
+
+    /**
+     * 表名
+     */
+    private final String tableName;
+
+    /**
+     * 扫描条件，允许null
+     */
+    private final Scan scan;
+
+    /**
+     * 已有快照名，为空时扫描前创建快照，扫描结束后删除
+     */
+    private final String snapshotName;
+
+    /**
+     * 恢复快照引用文件的临时目录，必须与hbase.rootdir在同一文件系统且不在其下，例如hdfs://nn:8020/tmp/hbase-restore，
+     * 每次扫描在其下创建独立的子目录，扫描结束后删除
+     */
+    private final String restoreDir;
+
+    /**
+     * hbase根目录，为空时使用配置中的hbase.rootdir，需要是完整的URI，例如hdfs://nn:8020/hbase、file:///tmp/hbase
+     */
+    private final String rootDir;
+
+    /**
+     * 并行扫描的region数
+     */
+    @Builder.Default
+    private final int parallelism = 4;
+}
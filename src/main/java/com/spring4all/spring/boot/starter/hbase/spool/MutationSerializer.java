@@ -0,0 +1,106 @@
+package com.spring4all.spring.boot.starter.hbase.spool;
+
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.protobuf.ProtobufUtil;
+import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MutationProto;
+import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MutationProto.ColumnValue;
+import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MutationProto.ColumnValue.QualifierValue;
+import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MutationProto.DeleteType;
+import org.apache.hadoop.hbase.protobuf.generated.ClientProtos.MutationProto.MutationType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 使用HBase客户端的protobuf格式序列化一批Mutation，cell、时间戳、属性、durability都会保留。
+ * <p>
+ * 只支持Put、Delete：Increment、Append重放失败后再次重放会重复累加，不能写入spool。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+final class MutationSerializer {
+
+    private MutationSerializer() {
+    }
+
+    /**
+     * @param timestamp 未指定时间戳的cell使用的时间戳
+     */
+    static byte[] serialize(String tableName, List<? extends Mutation> mutations, long timestamp) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(tableName);
+            out.writeInt(mutations.size());
+            for (Mutation mutation : mutations) {
+                final byte[] proto = withTimestamp(ProtobufUtil.toMutation(typeOf(mutation), mutation), timestamp).toByteArray();
+                out.writeInt(proto.length);
+                out.write(proto);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    static SpoolEntry deserialize(byte[] payload, long segment, int nextPosition) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            final String tableName = in.readUTF();
+            final int size = in.readInt();
+            final List<Mutation> mutations = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                final byte[] proto = new byte[in.readInt()];
+                in.readFully(proto);
+                mutations.add(toMutation(MutationProto.parseFrom(proto)));
+            }
+            return new SpoolEntry(tableName, mutations, segment, nextPosition);
+        }
+    }
+
+    private static MutationType typeOf(Mutation mutation) {
+        if (mutation instanceof Put) {
+            return MutationType.PUT;
+        }
+        if (mutation instanceof Delete) {
+            return MutationType.DELETE;
+        }
+        throw new IllegalArgumentException("Unsupported mutation type: " + mutation.getClass().getName());
+    }
+
+    /**
+     * 未指定时间戳(LATEST_TIMESTAMP)的cell改为写入spool时的时间戳，重放时不会覆盖之后直接写入的新数据；
+     * 只删除最新版本的Delete由服务端查找最新版本，保留原样
+     */
+    private static MutationProto withTimestamp(MutationProto proto, long timestamp) {
+        final MutationProto.Builder builder = proto.toBuilder();
+        if (!builder.hasTimestamp() || builder.getTimestamp() == HConstants.LATEST_TIMESTAMP) {
+            builder.setTimestamp(timestamp);
+        }
+        for (ColumnValue.Builder column : builder.getColumnValueBuilderList()) {
+            for (QualifierValue.Builder value : column.getQualifierValueBuilderList()) {
+                final boolean latest = !value.hasTimestamp() || value.getTimestamp() == HConstants.LATEST_TIMESTAMP;
+                if (latest && !(value.hasDeleteType() && value.getDeleteType() == DeleteType.DELETE_ONE_VERSION)) {
+                    value.setTimestamp(timestamp);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    private static Mutation toMutation(MutationProto proto) throws IOException {
+        switch (proto.getMutateType()) {
+            case PUT:
+                return ProtobufUtil.toPut(proto);
+            case DELETE:
+                return ProtobufUtil.toDelete(proto);
+            default:
+                throw new IOException("Unknown mutation type: " + proto.getMutateType());
+        }
+    }
+}
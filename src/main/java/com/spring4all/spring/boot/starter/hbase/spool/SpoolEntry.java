@@ -0,0 +1,32 @@
+package com.spring4all.spring.boot.starter.hbase.spool;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.hadoop.hbase.client.Mutation;
+
+import java.util.List;
+
+/**
+ * 写入spool的一批数据
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@AllArgsConstructor
+public class SpoolEntry {
+
+    private final String tableName;
+
+    private final List<Mutation> mutations;
+
+    /**
+     * 所在segment序号
+     */
+    private final long segment;
+
+    /**
+     * 下一条记录在segment中的位置，确认写入后读位置移动到这里
+     */
+    private final int nextPosition;
+}
@@ -0,0 +1,150 @@
+package com.spring4all.spring.boot.starter.hbase.spool;
+
+import com.spring4all.spring.boot.starter.hbase.utils.HBaseErrors;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 后台线程按写入顺序重放{@link WriteSpool}中的数据，写入失败时按指数退避重试同一批数据，不会跳过。
+ * <p>
+ * 被拒绝的操作(见{@link HBaseErrors})重试也不会成功，移到dead-letter目录后继续重放同一批中的其余操作，
+ * 避免一条错误的数据阻塞之后的所有写入。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class SpoolReplayer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpoolReplayer.class);
+
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    /**
+     * 重放时的写入方式，写入失败时抛出异常
+     */
+    public interface Writer {
+
+        /**
+         * 写入一批数据，返回时数据必须已经写入服务端
+         *
+         * @param tableName 表名
+         * @param mutations 数据
+         */
+        void write(String tableName, List<Mutation> mutations);
+    }
+
+    private final WriteSpool spool;
+
+    private final Writer writer;
+
+    private final long retryBackoffMs;
+
+    private final Thread thread;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param spool          spool
+     * @param writer         写入方式
+     * @param retryBackoffMs 写入失败后的初始等待时间(毫秒)，连续失败时翻倍，最长1分钟
+     */
+    public SpoolReplayer(WriteSpool spool, Writer writer, long retryBackoffMs) {
+        Assert.notNull(spool, "Spool must not be null");
+        Assert.notNull(writer, "Writer must not be null");
+        Assert.isTrue(retryBackoffMs > 0, "Retry backoff must be positive");
+        this.spool = spool;
+        this.writer = writer;
+        this.retryBackoffMs = retryBackoffMs;
+        this.thread = new Thread(this::run, "hbase-spool-replayer");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        long backoff = retryBackoffMs;
+        while (running) {
+            try {
+                final SpoolEntry entry = spool.peek();
+                if (entry == null) {
+                    spool.awaitData(retryBackoffMs);
+                    continue;
+                }
+                this.replay(entry);
+                spool.commit(entry);
+                backoff = retryBackoffMs;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                LOGGER.warn("hbase spool重放失败，{}ms后重试, 待重放字节数: {}", backoff, spool.getPendingBytes(), e);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+            }
+        }
+    }
+
+    /**
+     * 写入一批数据，被拒绝的操作移到dead-letter后重新写入其余操作，其余操作是幂等的
+     */
+    private void replay(SpoolEntry entry) throws IOException {
+        List<Mutation> mutations = entry.getMutations();
+        while (!mutations.isEmpty()) {
+            try {
+                writer.write(entry.getTableName(), mutations);
+                return;
+            } catch (RuntimeException e) {
+                final List<Mutation> rejected = HBaseErrors.rejectedActions(e, mutations);
+                if (rejected.isEmpty()) {
+                    throw e;
+                }
+                spool.deadLetter(entry, rejected);
+                LOGGER.error("hbase spool重放被拒绝，移到dead-letter, table: {}, 被拒绝数: {}/{}",
+                        entry.getTableName(), rejected.size(), mutations.size(), e);
+                final Set<Mutation> rejectedSet = Collections.newSetFromMap(new IdentityHashMap<>());
+                rejectedSet.addAll(rejected);
+                final List<Mutation> remaining = new ArrayList<>(mutations.size() - rejected.size());
+                for (Mutation mutation : mutations) {
+                    if (!rejectedSet.contains(mutation)) {
+                        remaining.add(mutation);
+                    }
+                }
+                mutations = remaining;
+            }
+        }
+    }
+
+    /**
+     * 停止重放，未重放的数据保留在磁盘上，下次启动时继续
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(retryBackoffMs + 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.spring4all.spring.boot.starter.hbase.spool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * 固定大小、内存映射的segment文件
+ * <p>
+ * 记录格式为[长度 int][CRC32 int][数据]，长度为0表示后面没有数据。
+ * 写入时先写数据和校验和，最后写长度，进程中途退出时未写完的记录会因长度为0或校验失败被忽略。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class SpoolSegment implements Closeable {
+
+    static final int HEADER_SIZE = 8;
+
+    private final long sequence;
+
+    private final Path path;
+
+    private final RandomAccessFile file;
+
+    private final MappedByteBuffer buffer;
+
+    private int writePosition;
+
+    private SpoolSegment(long sequence, Path path, RandomAccessFile file, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * 打开或创建segment，并找到写入位置
+     */
+    static SpoolSegment open(long sequence, Path path, int size) throws IOException {
+        final RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+        try {
+            if (file.length() < size) {
+                file.setLength(size);
+            }
+            final MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, file.length());
+            final SpoolSegment segment = new SpoolSegment(sequence, path, file, buffer);
+            int position = 0;
+            while (segment.read(position) != null) {
+                position += HEADER_SIZE + buffer.getInt(position);
+            }
+            segment.writePosition = position;
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int getWritePosition() {
+        return writePosition;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    /**
+     * 追加一条记录
+     *
+     * @return 空间不足时返回false
+     */
+    boolean append(byte[] payload, boolean fsync) {
+        if (writePosition + HEADER_SIZE + payload.length > buffer.capacity()) {
+            return false;
+        }
+        final int position = writePosition;
+        final ByteBuffer target = buffer.duplicate();
+        target.position(position + HEADER_SIZE);
+        target.put(payload);
+        buffer.putInt(position + 4, checksum(payload));
+        buffer.putInt(position, payload.length);
+        if (fsync) {
+            buffer.force();
+        }
+        writePosition = position + HEADER_SIZE + payload.length;
+        return true;
+    }
+
+    /**
+     * 读取指定位置的记录
+     *
+     * @return 数据，没有记录或记录不完整时返回null
+     */
+    byte[] read(int position) {
+        if (position + HEADER_SIZE > buffer.capacity()) {
+            return null;
+        }
+        final int length = buffer.getInt(position);
+        if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()) {
+            return null;
+        }
+        final byte[] payload = new byte[length];
+        final ByteBuffer source = buffer.duplicate();
+        source.position(position + HEADER_SIZE);
+        source.get(payload);
+        return checksum(payload) == buffer.getInt(position + 4) ? payload : null;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private static int checksum(byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(payload, 0, payload.length);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,316 @@
+package com.spring4all.spring.boot.starter.hbase.spool;
+
+import org.apache.hadoop.hbase.client.Mutation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 本地磁盘上的写入spool，集群不可用时暂存写入的数据，由{@link SpoolReplayer}按写入顺序重放。
+ * <p>
+ * 数据按批追加到内存映射的segment文件中，每条记录带CRC32校验；segment写满后创建新的segment，
+ * segment数达到上限时拒绝写入。读位置记录在_position文件中，重放成功后才移动，保证至少写入一次。
+ * 重放时被服务端拒绝的数据移到dead-letter目录，不再重放。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class WriteSpool implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteSpool.class);
+
+    static final String SEGMENT_PREFIX = "segment-";
+
+    static final String SEGMENT_SUFFIX = ".spool";
+
+    static final String POSITION_FILE = "_position";
+
+    static final String DEAD_LETTER_DIR = "dead-letter";
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final int maxSegments;
+
+    private final boolean fsync;
+
+    private final TreeMap<Long, SpoolSegment> segments = new TreeMap<>();
+
+    private long readSegment;
+
+    private int readPosition;
+
+    private final LongAdder spooledBatches = new LongAdder();
+
+    private final LongAdder replayedBatches = new LongAdder();
+
+    private final LongAdder discardedRecords = new LongAdder();
+
+    private final LongAdder deadLetters = new LongAdder();
+
+    /**
+     * @param directory   spool目录，启动时会恢复目录中未重放的数据
+     * @param segmentSize 单个segment的字节数
+     * @param maxSegments segment数上限，磁盘占用不超过segmentSize * maxSegments
+     * @param fsync       每次追加后是否强制刷盘，关闭时进程退出不丢数据，但机器掉电可能丢失
+     * @throws IOException 目录或文件操作失败
+     */
+    public WriteSpool(Path directory, int segmentSize, int maxSegments, boolean fsync) throws IOException {
+        Assert.notNull(directory, "Spool directory must not be null");
+        Assert.isTrue(segmentSize > SpoolSegment.HEADER_SIZE, "Segment size is too small");
+        Assert.isTrue(maxSegments > 0, "Max segments must be positive");
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+        this.recover();
+    }
+
+    private synchronized void recover() throws IOException {
+        final long[] position = this.readPositionFile();
+        final TreeMap<Long, Path> files = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                final String name = path.getFileName().toString();
+                files.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())), path);
+            }
+        }
+        for (Map.Entry<Long, Path> file : files.entrySet()) {
+            if (position != null && file.getKey() < position[0]) {
+                // 已经重放完成但还没来得及删除
+                Files.deleteIfExists(file.getValue());
+            } else {
+                segments.put(file.getKey(), SpoolSegment.open(file.getKey(), file.getValue(), segmentSize));
+            }
+        }
+        if (segments.isEmpty()) {
+            this.createSegment(position == null ? 0 : position[0]);
+        }
+        readSegment = segments.firstKey();
+        readPosition = position != null && position[0] == readSegment ? (int) position[1] : 0;
+        if (!this.isEmpty()) {
+            LOGGER.warn("hbase spool中有未重放的数据, 目录: {}, 字节数: {}", directory, this.getPendingBytes());
+        }
+    }
+
+    /**
+     * 追加一批数据，未指定时间戳的cell使用当前时间
+     *
+     * @param tableName 表名
+     * @param mutations 数据，只支持Put、Delete
+     * @throws IOException 序列化或写入失败，或者spool已满
+     */
+    public void append(String tableName, List<? extends Mutation> mutations) throws IOException {
+        this.append(tableName, mutations, System.currentTimeMillis());
+    }
+
+    /**
+     * 有未重放的数据时追加一批数据，检查和追加在同一个锁内完成
+     *
+     * @param tableName 表名
+     * @param mutations 数据，只支持Put、Delete
+     * @param timestamp 未指定时间戳的cell使用的时间戳
+     * @return 是否已追加，spool为空时返回false
+     * @throws IOException 序列化或写入失败，或者spool已满
+     */
+    public synchronized boolean appendIfPending(String tableName, List<? extends Mutation> mutations, long timestamp) throws IOException {
+        if (this.isEmpty()) {
+            return false;
+        }
+        this.append(tableName, mutations, timestamp);
+        return true;
+    }
+
+    /**
+     * 追加一批数据。未指定时间戳的cell使用timestamp(通常是写入失败的时间)，
+     * 重放时不会覆盖之后直接写入HBase的新数据，重复重放也是幂等的
+     *
+     * @param tableName 表名
+     * @param mutations 数据，只支持Put、Delete
+     * @param timestamp 未指定时间戳的cell使用的时间戳
+     * @throws IOException 序列化或写入失败，或者spool已满
+     */
+    public synchronized void append(String tableName, List<? extends Mutation> mutations, long timestamp) throws IOException {
+        final byte[] payload = MutationSerializer.serialize(tableName, mutations, timestamp);
+        if (SpoolSegment.HEADER_SIZE + payload.length > segmentSize) {
+            throw new IOException("Batch of " + payload.length + " bytes exceeds spool segment size " + segmentSize);
+        }
+        SpoolSegment segment = segments.lastEntry().getValue();
+        if (!segment.append(payload, fsync)) {
+            if (segments.size() >= maxSegments) {
+                throw new IOException("Spool is full: " + segments.size() + " segments in " + directory);
+            }
+            segment.force();
+            segment = this.createSegment(segment.getSequence() + 1);
+            segment.append(payload, fsync);
+        }
+        spooledBatches.increment();
+        this.notifyAll();
+    }
+
+    /**
+     * 读取下一批待重放的数据，不移动读位置
+     *
+     * @return 数据，没有时返回null
+     * @throws IOException 文件操作失败
+     */
+    public synchronized SpoolEntry peek() throws IOException {
+        while (true) {
+            final SpoolSegment segment = segments.get(readSegment);
+            if (readPosition < segment.getWritePosition()) {
+                final byte[] payload = segment.read(readPosition);
+                if (payload == null) {
+                    LOGGER.error("hbase spool记录校验失败，跳过该segment剩余数据, segment: {}, 位置: {}", segment.getPath(), readPosition);
+                    discardedRecords.increment();
+                    readPosition = segment.getWritePosition();
+                    continue;
+                }
+                final int next = readPosition + SpoolSegment.HEADER_SIZE + payload.length;
+                try {
+                    return MutationSerializer.deserialize(payload, readSegment, next);
+                } catch (IOException | RuntimeException e) {
+                    LOGGER.error("hbase spool记录反序列化失败，跳过该记录, segment: {}, 位置: {}", segment.getPath(), readPosition, e);
+                    discardedRecords.increment();
+                    readPosition = next;
+                    this.writePositionFile();
+                    continue;
+                }
+            }
+            if (readSegment == segments.lastKey()) {
+                return null;
+            }
+            // 当前segment已重放完成
+            segments.remove(readSegment).close();
+            Files.deleteIfExists(segment.getPath());
+            readSegment = segments.firstKey();
+            readPosition = 0;
+            this.writePositionFile();
+        }
+    }
+
+    /**
+     * 确认数据已写入HBase，移动读位置
+     *
+     * @param entry {@link #peek()}返回的数据
+     * @throws IOException 读位置写入失败
+     */
+    public synchronized void commit(SpoolEntry entry) throws IOException {
+        if (entry.getSegment() == readSegment && entry.getNextPosition() > readPosition) {
+            readPosition = entry.getNextPosition();
+            this.writePositionFile();
+            replayedBatches.increment();
+        }
+    }
+
+    /**
+     * 保存重放时被拒绝的数据，不会移动读位置。
+     * <p>
+     * 每批数据在dead-letter目录下按所在segment和位置命名，文件中每条记录为4字节长度加序列化的数据
+     *
+     * @param entry     {@link #peek()}返回的数据
+     * @param mutations 其中被拒绝的操作
+     * @throws IOException 序列化或写入失败
+     */
+    public synchronized void deadLetter(SpoolEntry entry, List<? extends Mutation> mutations) throws IOException {
+        final byte[] payload = MutationSerializer.serialize(entry.getTableName(), mutations, System.currentTimeMillis());
+        final Path dir = directory.resolve(DEAD_LETTER_DIR);
+        Files.createDirectories(dir);
+        final Path file = dir.resolve(String.format("%020d-%010d.dead", entry.getSegment(), entry.getNextPosition()));
+        final ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + payload.length).putInt(payload.length).put(payload);
+        Files.write(file, record.array(), StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        deadLetters.increment();
+    }
+
+    /**
+     * 没有待重放的数据时等待追加
+     *
+     * @param timeoutMs 最长等待时间(毫秒)
+     * @throws InterruptedException 线程中断
+     */
+    public synchronized void awaitData(long timeoutMs) throws InterruptedException {
+        if (this.isEmpty()) {
+            this.wait(timeoutMs);
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return readSegment == segments.lastKey() && readPosition >= segments.get(readSegment).getWritePosition();
+    }
+
+    /**
+     * 待重放的字节数
+     */
+    public synchronized long getPendingBytes() {
+        long bytes = 0;
+        for (SpoolSegment segment : segments.values()) {
+            bytes += segment.getWritePosition();
+        }
+        return bytes - readPosition;
+    }
+
+    public long getSpooledBatches() {
+        return spooledBatches.sum();
+    }
+
+    public long getReplayedBatches() {
+        return replayedBatches.sum();
+    }
+
+    public long getDiscardedRecords() {
+        return discardedRecords.sum();
+    }
+
+    /**
+     * 重放时被拒绝、移到dead-letter目录的批数
+     */
+    public long getDeadLetters() {
+        return deadLetters.sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (SpoolSegment segment : segments.values()) {
+            segment.force();
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private SpoolSegment createSegment(long sequence) throws IOException {
+        final Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+        final SpoolSegment segment = SpoolSegment.open(sequence, path, segmentSize);
+        segments.put(sequence, segment);
+        return segment;
+    }
+
+    private long[] readPositionFile() throws IOException {
+        final Path file = directory.resolve(POSITION_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        final String[] parts = new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim().split("\\s+");
+        return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+    }
+
+    private void writePositionFile() throws IOException {
+        final Path temp = directory.resolve(POSITION_FILE + ".tmp");
+        Files.write(temp, (readSegment + " " + readPosition).getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, directory.resolve(POSITION_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
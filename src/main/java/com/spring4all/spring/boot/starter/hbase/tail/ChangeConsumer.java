@@ -0,0 +1,21 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import org.apache.hadoop.hbase.client.Result;
+
+/**
+ * 变更行的消费者，在调用{@link HBaseChangeTail#poll}的线程中按region依次回调
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@FunctionalInterface
+public interface ChangeConsumer {
+
+    /**
+     * 消费一行，只包含时间范围内写入的cell
+     *
+     * @param result 变更的行
+     * @throws Exception 消费失败时本次增量扫描失败，未完成region的checkpoint不会推进
+     */
+    void accept(Result result) throws Exception;
+}
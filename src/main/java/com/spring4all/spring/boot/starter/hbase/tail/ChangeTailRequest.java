@@ -0,0 +1,62 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import com.spring4all.spring.boot.starter.hbase.scan.ScanProfile;
+import lombok.Builder;
+import lombok.Getter;
+import org.apache.hadoop.hbase.client.Scan;
+
+/**
+ * 增量扫描参数
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class ChangeTailRequest {
+
+    /**
+     * 表名
+     */
+    private final String tableName;
+
+    /**
+     * 基础scan，用于指定rowKey范围、列和过滤器，允许null；时间范围由checkpoint决定
+     */
+    private final Scan scan;
+
+    /**
+     * checkpoint存储
+     */
+    private final CheckpointStore checkpointStore;
+
+    /**
+     * 没有任何checkpoint时的开始时间戳(毫秒)，默认从头扫描
+     */
+    @Builder.Default
+    private final long initialCheckpoint = 0;
+
+    /**
+     * 扫描截止时间比当前时间提前的毫秒数，避免遗漏正在写入、时间戳略早于当前时间的数据
+     */
+    @Builder.Default
+    private final long safetyLagMs = 5000;
+
+    /**
+     * 并行扫描的region数
+     */
+    @Builder.Default
+    private final int parallelism = 4;
+
+    /**
+     * 扫描线程与消费者之间缓冲的最大行数
+     */
+    @Builder.Default
+    private final int bufferSize = 1000;
+
+    /**
+     * 扫描使用的scan配置名
+     */
+    @Builder.Default
+    private final String scanProfile = ScanProfile.EXPORT;
+}
@@ -0,0 +1,37 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 增量扫描统计
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ChangeTailStats {
+
+    /**
+     * 扫描的region数
+     */
+    private final int regions;
+
+    /**
+     * 变更的行数
+     */
+    private final long rows;
+
+    /**
+     * 本次扫描的截止时间戳，即各region新的checkpoint
+     */
+    private final long checkpoint;
+
+    /**
+     * 耗时(毫秒)
+     */
+    private final long elapsedMs;
+}
@@ -0,0 +1,32 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 增量扫描的checkpoint存储，按表、按region记录已经消费到的时间戳
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface CheckpointStore {
+
+    /**
+     * 读取表的所有region checkpoint
+     *
+     * @param tableName 表名
+     * @return region → checkpoint(毫秒)，没有时返回空map
+     * @throws IOException 读取失败
+     */
+    Map<String, Long> load(String tableName) throws IOException;
+
+    /**
+     * 保存单个region的checkpoint
+     *
+     * @param tableName  表名
+     * @param region     region标识，为region开始rowKey的可读形式
+     * @param checkpoint 下次扫描的开始时间戳(毫秒)
+     * @throws IOException 保存失败
+     */
+    void save(String tableName, String region, long checkpoint) throws IOException;
+}
@@ -0,0 +1,66 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 本地文件checkpoint存储，每张表一个properties文件，先写临时文件再原子替换
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class FileCheckpointStore implements CheckpointStore {
+
+    private static final String SUFFIX = ".checkpoint";
+
+    private final Path directory;
+
+    public FileCheckpointStore(Path directory) throws IOException {
+        Assert.notNull(directory, "Checkpoint directory must not be null");
+        this.directory = Files.createDirectories(directory);
+    }
+
+    @Override
+    public synchronized Map<String, Long> load(String tableName) throws IOException {
+        final Map<String, Long> checkpoints = new HashMap<>();
+        read(tableName).forEach((region, checkpoint) -> checkpoints.put((String) region, Long.valueOf((String) checkpoint)));
+        return checkpoints;
+    }
+
+    @Override
+    public synchronized void save(String tableName, String region, long checkpoint) throws IOException {
+        final Properties properties = read(tableName);
+        properties.setProperty(region, Long.toString(checkpoint));
+        final Path file = file(tableName);
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            properties.store(out, tableName);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Properties read(String tableName) throws IOException {
+        final Properties properties = new Properties();
+        final Path file = file(tableName);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    private Path file(String tableName) {
+        // namespace:table中的冒号在部分文件系统上不可用
+        return directory.resolve(tableName.replace(':', '.') + SUFFIX);
+    }
+}
@@ -0,0 +1,177 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.scan.RegionRanges;
+import com.spring4all.spring.boot.starter.hbase.scan.RegionTaskRunner;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 按时间戳checkpoint增量扫描变更的行
+ * <p>
+ * 每个region从自己的checkpoint扫描到当前时间减去safetyLag，多个region并行扫描，
+ * 结果经过有界队列在调用线程中交给消费者；一个region的所有行都消费完成后才保存该region的checkpoint，
+ * 失败后重新执行会重复投递未保存checkpoint的region中的行(至少一次)。
+ * <p>
+ * 只能发现写入的cell，删除不会被扫描到；region分裂或合并后的新region使用所有已保存checkpoint中的最小值。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseChangeTail {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HBaseChangeTail.class);
+
+    private static final Object FINISHED = new Object();
+
+    private final HBaseTemplate hbaseTemplate;
+
+    public HBaseChangeTail(HBaseTemplate hbaseTemplate) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+    }
+
+    /**
+     * 执行一次增量扫描，阻塞直到全部消费完成
+     *
+     * @param request  扫描参数
+     * @param consumer 消费者
+     * @return 扫描统计
+     */
+    public ChangeTailStats poll(ChangeTailRequest request, ChangeConsumer consumer) {
+        Assert.notNull(request, "Change tail request must not be null");
+        Assert.hasText(request.getTableName(), "No table specified");
+        Assert.notNull(request.getCheckpointStore(), "Checkpoint store must not be null");
+        Assert.notNull(consumer, "Consumer must not be null");
+        Assert.isTrue(request.getBufferSize() > 0, "Buffer size must be positive");
+
+        final long begin = System.currentTimeMillis();
+        final String tableName = request.getTableName();
+        final long upper = begin - request.getSafetyLagMs();
+        final Scan base = request.getScan() != null ? request.getScan() : new Scan();
+
+        final List<ScanRange> ranges;
+        final Map<String, Long> checkpoints;
+        try {
+            ranges = RegionRanges.split(hbaseTemplate.getConnection(), tableName, base.getStartRow(), base.getStopRow());
+            checkpoints = request.getCheckpointStore().load(tableName);
+        } catch (IOException e) {
+            throw new HBaseSystemException(e);
+        }
+        final long fallback = checkpoints.isEmpty() ? request.getInitialCheckpoint() : Collections.min(checkpoints.values());
+
+        final List<RegionTask> tasks = new ArrayList<>();
+        for (ScanRange range : ranges) {
+            final String region = Bytes.toStringBinary(range.getStartRow());
+            final long checkpoint = checkpoints.getOrDefault(region, fallback);
+            if (checkpoint < upper) {
+                tasks.add(new RegionTask(region, range, checkpoint));
+            }
+        }
+
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(request.getBufferSize());
+        final Thread producer = new Thread(() -> this.scan(request, base, tasks, upper, queue), "hbase-tail-" + tableName);
+        producer.setDaemon(true);
+        producer.start();
+
+        long rows = 0;
+        try {
+            while (true) {
+                final Object item = queue.take();
+                if (item == FINISHED) {
+                    break;
+                }
+                if (item instanceof Result) {
+                    consumer.accept((Result) item);
+                    rows++;
+                } else if (item instanceof RegionTask) {
+                    request.getCheckpointStore().save(tableName, ((RegionTask) item).region, upper);
+                } else {
+                    throw (Throwable) item;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HBaseSystemException(e);
+        } catch (HBaseSystemException e) {
+            throw e;
+        } catch (Throwable throwable) {
+            throw new HBaseSystemException(throwable);
+        } finally {
+            producer.interrupt();
+        }
+
+        final ChangeTailStats stats = new ChangeTailStats(tasks.size(), rows, upper, System.currentTimeMillis() - begin);
+        LOGGER.info("hbase增量扫描完成, table: {}, {}", tableName, stats);
+        return stats;
+    }
+
+    /**
+     * 在后台线程中并行扫描，每个region扫描完成后放入region标记，全部完成或失败后放入结束标记
+     */
+    private void scan(ChangeTailRequest request, Scan base, List<RegionTask> tasks, long upper, BlockingQueue<Object> queue) {
+        Object last = FINISHED;
+        try {
+            final Scan profiled = new Scan(base);
+            hbaseTemplate.getScanProfiles().get(request.getScanProfile()).applyTo(profiled);
+            RegionTaskRunner.run(ranges(tasks), request.getParallelism(), "hbase-tail-scan-", (index, range) -> {
+                final RegionTask task = tasks.get(index);
+                final Scan scan = range.toScan(profiled);
+                scan.setTimeRange(task.checkpoint, upper);
+                hbaseTemplate.find(request.getTableName(), scan, scanner -> {
+                    for (Result result : scanner) {
+                        queue.put(result);
+                    }
+                    return null;
+                });
+                queue.put(task);
+                return null;
+            });
+        } catch (Throwable throwable) {
+            last = throwable;
+        }
+        try {
+            queue.put(last);
+        } catch (InterruptedException e) {
+            // 消费者已经退出
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static List<ScanRange> ranges(List<RegionTask> tasks) {
+        final List<ScanRange> ranges = new ArrayList<>(tasks.size());
+        for (RegionTask task : tasks) {
+            ranges.add(task.range);
+        }
+        return ranges;
+    }
+
+    private static class RegionTask {
+
+        private final String region;
+
+        private final ScanRange range;
+
+        private final long checkpoint;
+
+        private RegionTask(String region, ScanRange range, long checkpoint) {
+            this.region = region;
+            this.range = range;
+            this.checkpoint = checkpoint;
+        }
+    }
+}
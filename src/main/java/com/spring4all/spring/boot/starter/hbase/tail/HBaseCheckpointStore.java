@@ -0,0 +1,57 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * HBase表checkpoint存储，rowKey为被扫描的表名，每个region一列，值为8字节long
+ * <p>
+ * checkpoint表需要预先创建，多个应用实例可以共享。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseCheckpointStore implements CheckpointStore {
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final String checkpointTable;
+
+    private final String family;
+
+    public HBaseCheckpointStore(HBaseTemplate hbaseTemplate, String checkpointTable, String family) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        Assert.hasText(checkpointTable, "Checkpoint table must not be empty");
+        Assert.hasText(family, "Checkpoint family must not be empty");
+        this.hbaseTemplate = hbaseTemplate;
+        this.checkpointTable = checkpointTable;
+        this.family = family;
+    }
+
+    @Override
+    public Map<String, Long> load(String tableName) {
+        return hbaseTemplate.get(checkpointTable, tableName, family, (result, rowNum) -> {
+            final Map<String, Long> checkpoints = new HashMap<>();
+            if (result.rawCells() != null) {
+                for (Cell cell : result.rawCells()) {
+                    checkpoints.putIfAbsent(Bytes.toString(CellUtil.cloneQualifier(cell)), Bytes.toLong(CellUtil.cloneValue(cell)));
+                }
+            }
+            return checkpoints;
+        });
+    }
+
+    @Override
+    public void save(String tableName, String region, long checkpoint) {
+        final Put put = new Put(Bytes.toBytes(tableName));
+        put.addColumn(Bytes.toBytes(family), Bytes.toBytes(region), Bytes.toBytes(checkpoint));
+        hbaseTemplate.saveOrUpdate(checkpointTable, put);
+    }
+}
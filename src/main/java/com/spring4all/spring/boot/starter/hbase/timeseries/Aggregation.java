@@ -0,0 +1,25 @@
+package com.spring4all.spring.boot.starter.hbase.timeseries;
+
+/**
+ * 时间桶内的降采样方式
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public enum Aggregation {
+
+    MIN,
+
+    MAX,
+
+    AVG,
+
+    SUM,
+
+    COUNT,
+
+    /**
+     * 时间戳最大的点
+     */
+    LAST
+}
@@ -0,0 +1,61 @@
+package com.spring4all.spring.boot.starter.hbase.timeseries;
+
+/**
+ * 单个时间桶的累加器，数据按时间顺序或倒序到达均可
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+class BucketAccumulator {
+
+    private final long bucketStart;
+
+    private double min = Double.POSITIVE_INFINITY;
+
+    private double max = Double.NEGATIVE_INFINITY;
+
+    private double sum;
+
+    private long count;
+
+    private long lastTimestamp = Long.MIN_VALUE;
+
+    private double lastValue;
+
+    BucketAccumulator(long bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    long getBucketStart() {
+        return bucketStart;
+    }
+
+    void add(long timestamp, double value) {
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        sum += value;
+        count++;
+        if (timestamp >= lastTimestamp) {
+            lastTimestamp = timestamp;
+            lastValue = value;
+        }
+    }
+
+    TimeSeriesPoint toPoint(Aggregation aggregation) {
+        switch (aggregation) {
+            case MIN:
+                return new TimeSeriesPoint(bucketStart, min);
+            case MAX:
+                return new TimeSeriesPoint(bucketStart, max);
+            case SUM:
+                return new TimeSeriesPoint(bucketStart, sum);
+            case COUNT:
+                return new TimeSeriesPoint(bucketStart, count);
+            case LAST:
+                return new TimeSeriesPoint(bucketStart, lastValue);
+            case AVG:
+            default:
+                return new TimeSeriesPoint(bucketStart, sum / count);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.spring4all.spring.boot.starter.hbase.timeseries;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodec;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodecs;
+import com.spring4all.spring.boot.starter.hbase.scan.RegionTaskRunner;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.client.coprocessor.AggregationClient;
+import org.apache.hadoop.hbase.client.coprocessor.LongColumnInterpreter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 时序数据读写，rowKey由{@link TimeSeriesKeyCodec}编码为entity + 时间戳
+ * <p>
+ * 查询时按时间桶边界把时间窗口切分为多段并行扫描，扫描过程中逐行累加到当前时间桶，不保留原始点；
+ * 服务端聚合时每个时间桶由AggregateImplementation协处理器计算，客户端只接收每个桶的一个值。
+ * 协处理器不支持按时间桶分组，每个桶需要一次调用，时间桶较多的窗口改为客户端扫描。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseTimeSeries {
+
+    private final HBaseTemplate hbaseTemplate;
+
+    private final TimeSeriesKeyCodec keyCodec;
+
+    public HBaseTimeSeries(HBaseTemplate hbaseTemplate) {
+        this(hbaseTemplate, TimeSeriesKeyCodec.NATURAL);
+    }
+
+    public HBaseTimeSeries(HBaseTemplate hbaseTemplate, TimeSeriesKeyCodec keyCodec) {
+        Assert.notNull(hbaseTemplate, "HBaseTemplate must not be null");
+        Assert.notNull(keyCodec, "Key codec must not be null");
+        this.hbaseTemplate = hbaseTemplate;
+        this.keyCodec = keyCodec;
+    }
+
+    /**
+     * 写入一个点
+     *
+     * @param tableName 表名
+     * @param entity    entity
+     * @param family    列族
+     * @param qualifier 列名
+     * @param timestamp 时间戳(毫秒)
+     * @param value     值
+     * @param codec     值的编码
+     * @param <V>       值类型
+     */
+    public <V extends Number> void save(String tableName, String entity, String family, String qualifier,
+                                        long timestamp, V value, ValueCodec<V> codec) {
+        final Put put = new Put(keyCodec.encode(entity, timestamp));
+        put.addColumn(Bytes.toBytes(family), Bytes.toBytes(qualifier), codec.encode(value));
+        hbaseTemplate.saveOrUpdate(tableName, put);
+    }
+
+    /**
+     * 按时间桶降采样查询，结果按时间升序，没有数据的时间桶不返回
+     *
+     * @param query 查询参数
+     * @return 每个时间桶一个点
+     */
+    public List<TimeSeriesPoint> query(TimeSeriesQuery query) {
+        Assert.notNull(query, "Query must not be null");
+        Assert.hasText(query.getTableName(), "No table specified");
+        Assert.hasText(query.getEntity(), "No entity specified");
+        Assert.isTrue(query.getBucketMs() > 0, "Bucket width must be positive");
+        Assert.isTrue(query.getStartTime() >= 0 && query.getStartTime() < query.getEndTime(), "Invalid time window");
+        Assert.isTrue(!query.isServerSide() || query.getValueCodec() == ValueCodecs.LONG,
+                "Server side aggregation only supports 8-byte long values");
+
+        final List<long[]> windows = split(query);
+        final List<ScanRange> ranges = new ArrayList<>(windows.size());
+        for (long[] window : windows) {
+            ranges.add(keyCodec.range(query.getEntity(), window[0], window[1]));
+        }
+        final List<List<TimeSeriesPoint>> results = RegionTaskRunner.run(ranges, query.getParallelism(), "hbase-timeseries-",
+                (index, range) -> isServerSide(query, windows.get(index))
+                        ? this.aggregateOnServer(query, windows.get(index))
+                        : this.aggregateOnClient(query, range));
+        final List<TimeSeriesPoint> points = new ArrayList<>();
+        results.forEach(points::addAll);
+        return points;
+    }
+
+    /**
+     * 按时间桶边界把[startTime, endTime)切分为不超过parallelism段
+     */
+    static List<long[]> split(TimeSeriesQuery query) {
+        final long bucketMs = query.getBucketMs();
+        final long firstBucket = bucketStart(query.getStartTime(), bucketMs);
+        final long buckets = (query.getEndTime() - 1 - firstBucket) / bucketMs + 1;
+        final long bucketsPerWindow = (buckets + query.getParallelism() - 1) / query.getParallelism();
+
+        final List<long[]> windows = new ArrayList<>();
+        long start = query.getStartTime();
+        while (start < query.getEndTime()) {
+            final long end = Math.min(query.getEndTime(), bucketStart(start, bucketMs) + bucketsPerWindow * bucketMs);
+            windows.add(new long[]{start, end});
+            start = end;
+        }
+        return windows;
+    }
+
+    /**
+     * 服务端聚合每个时间桶一次调用，时间桶数超过maxServerSideBuckets时一次客户端扫描的开销更小
+     */
+    static boolean isServerSide(TimeSeriesQuery query, long[] window) {
+        if (!query.isServerSide()) {
+            return false;
+        }
+        final long buckets = (window[1] - 1 - bucketStart(window[0], query.getBucketMs())) / query.getBucketMs() + 1;
+        return buckets <= query.getMaxServerSideBuckets();
+    }
+
+    private static long bucketStart(long timestamp, long bucketMs) {
+        return timestamp - Math.floorMod(timestamp, bucketMs);
+    }
+
+    private List<TimeSeriesPoint> aggregateOnClient(TimeSeriesQuery query, ScanRange range) throws Exception {
+        final Scan scan = new Scan();
+        scan.addColumn(Bytes.toBytes(query.getFamily()), Bytes.toBytes(query.getQualifier()));
+        hbaseTemplate.getScanProfiles().get(query.getScanProfile()).applyTo(scan);
+        final Scan rangeScan = range.toScan(scan);
+        return hbaseTemplate.find(query.getTableName(), rangeScan, scanner -> this.downsample(query, scanner));
+    }
+
+    private List<TimeSeriesPoint> downsample(TimeSeriesQuery query, ResultScanner scanner) throws Exception {
+        final List<TimeSeriesPoint> points = new ArrayList<>();
+        BucketAccumulator bucket = null;
+        for (Result result : scanner) {
+            final Cell cell = result.rawCells()[0];
+            final long timestamp = keyCodec.decodeTimestamp(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength());
+            final long start = bucketStart(timestamp, query.getBucketMs());
+            if (bucket == null || bucket.getBucketStart() != start) {
+                if (bucket != null) {
+                    points.add(bucket.toPoint(query.getAggregation()));
+                }
+                bucket = new BucketAccumulator(start);
+            }
+            bucket.add(timestamp, query.getValueCodec().decode(CellUtil.cloneValue(cell)).doubleValue());
+        }
+        if (bucket != null) {
+            points.add(bucket.toPoint(query.getAggregation()));
+        }
+        if (keyCodec.isReversed()) {
+            Collections.reverse(points);
+        }
+        return points;
+    }
+
+    private List<TimeSeriesPoint> aggregateOnServer(TimeSeriesQuery query, long[] window) {
+        final byte[] family = Bytes.toBytes(query.getFamily());
+        final byte[] qualifier = Bytes.toBytes(query.getQualifier());
+        final AggregationClient aggregationClient = hbaseTemplate.getAggregationClient();
+        return hbaseTemplate.execute(query.getTableName(), table -> {
+            final List<TimeSeriesPoint> points = new ArrayList<>();
+            long start = window[0];
+            while (start < window[1]) {
+                final long bucket = bucketStart(start, query.getBucketMs());
+                final long end = Math.min(window[1], bucket + query.getBucketMs());
+                final Scan scan = keyCodec.range(query.getEntity(), start, end).toScan(new Scan());
+                scan.addColumn(family, qualifier);
+                final Double value = query.getAggregation() == Aggregation.LAST
+                        ? this.last(table, scan, query.getEntity(), start)
+                        : this.aggregate(aggregationClient, table, scan, query.getAggregation());
+                if (value != null) {
+                    points.add(new TimeSeriesPoint(bucket, value));
+                }
+                start = end;
+            }
+            return points;
+        });
+    }
+
+    /**
+     * 服务端计算单个时间桶，没有数据时返回null；LAST不经过协处理器，由{@link #last}读取
+     */
+    private Double aggregate(AggregationClient aggregationClient, Table table, Scan scan, Aggregation aggregation) throws Throwable {
+        final LongColumnInterpreter interpreter = new LongColumnInterpreter();
+        switch (aggregation) {
+            case MIN:
+                return toDouble(aggregationClient.min(table, interpreter, scan));
+            case MAX:
+                return toDouble(aggregationClient.max(table, interpreter, scan));
+            case SUM:
+                return toDouble(aggregationClient.sum(table, interpreter, scan));
+            case COUNT:
+                final long count = aggregationClient.rowCount(table, interpreter, scan);
+                return count == 0 ? null : (double) count;
+            case AVG:
+            default:
+                final double avg = aggregationClient.avg(table, interpreter, scan);
+                return Double.isNaN(avg) ? null : avg;
+        }
+    }
+
+    /**
+     * 时间桶内最新的点只需要读取一行：正序编码时反向扫描，倒序编码时正向扫描
+     */
+    private Double last(Table table, Scan scan, String entity, long startTime) throws Exception {
+        final Scan lastScan = new Scan(scan);
+        if (!keyCodec.isReversed()) {
+            // 反向扫描时开始rowKey包含、结束rowKey不包含，与正向扫描相反
+            lastScan.setReversed(true);
+            lastScan.setStartRow(scan.getStopRow());
+            lastScan.setStopRow(startTime > 0 ? keyCodec.encode(entity, startTime - 1) : Bytes.toBytes(entity));
+        }
+        lastScan.setCaching(1);
+        try (ResultScanner scanner = table.getScanner(lastScan)) {
+            for (Result result : scanner) {
+                final Cell cell = result.rawCells()[0];
+                if (lastScan.isReversed() && CellUtil.matchingRow(cell, scan.getStopRow())) {
+                    // 属于下一个时间桶
+                    continue;
+                }
+                return (double) Bytes.toLong(CellUtil.cloneValue(cell));
+            }
+        }
+        return null;
+    }
+
+    private static Double toDouble(Long value) {
+        return value == null ? null : value.doubleValue();
+    }
+}
@@ -0,0 +1,82 @@
+package com.spring4all.spring.boot.starter.hbase.timeseries;
+
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.springframework.util.Assert;
+
+/**
+ * 时序数据rowKey编解码，rowKey为entity的UTF-8字节加8字节大端时间戳
+ * <p>
+ * 倒序编码时存储Long.MAX_VALUE - timestamp，同一entity最新的数据排在最前面。
+ * 时间戳不能为负数；entity长度不固定时，一个entity不能是另一个entity加时间戳字节的前缀，
+ * 通常entity使用固定长度或以分隔符结尾即可。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class TimeSeriesKeyCodec {
+
+    public static final TimeSeriesKeyCodec NATURAL = new TimeSeriesKeyCodec(false);
+
+    public static final TimeSeriesKeyCodec REVERSED = new TimeSeriesKeyCodec(true);
+
+    private final boolean reversed;
+
+    public TimeSeriesKeyCodec(boolean reversed) {
+        this.reversed = reversed;
+    }
+
+    public boolean isReversed() {
+        return reversed;
+    }
+
+    /**
+     * @param entity    entity
+     * @param timestamp 时间戳(毫秒)
+     * @return rowKey
+     */
+    public byte[] encode(String entity, long timestamp) {
+        Assert.isTrue(timestamp >= 0, "Timestamp must not be negative");
+        return Bytes.add(Bytes.toBytes(entity), Bytes.toBytes(reversed ? Long.MAX_VALUE - timestamp : timestamp));
+    }
+
+    /**
+     * 从rowKey的最后8个字节解析时间戳
+     *
+     * @param buffer rowKey所在数组
+     * @param offset 起始位置
+     * @param length rowKey长度
+     * @return 时间戳(毫秒)
+     */
+    public long decodeTimestamp(byte[] buffer, int offset, int length) {
+        Assert.isTrue(length >= Bytes.SIZEOF_LONG, "Row key too short for a time series key");
+        final long value = Bytes.toLong(buffer, offset + length - Bytes.SIZEOF_LONG);
+        return reversed ? Long.MAX_VALUE - value : value;
+    }
+
+    /**
+     * 时间范围[startTime, endTime)对应的rowKey范围
+     *
+     * @param entity    entity
+     * @param startTime 开始时间(包含)
+     * @param endTime   结束时间(不包含)
+     * @return rowKey范围
+     */
+    public ScanRange range(String entity, long startTime, long endTime) {
+        Assert.isTrue(startTime < endTime, "Start time must be less than end time");
+        if (reversed) {
+            return new ScanRange(encode(entity, endTime - 1), encodeStopBefore(entity, startTime));
+        }
+        return new ScanRange(encode(entity, startTime), encode(entity, endTime));
+    }
+
+    /**
+     * 倒序编码时startTime对应rowKey的下一个rowKey，startTime为0时取entity前缀的下一个值
+     */
+    private byte[] encodeStopBefore(String entity, long startTime) {
+        if (startTime > 0) {
+            return encode(entity, startTime - 1);
+        }
+        return Bytes.add(Bytes.toBytes(entity), Bytes.toBytes(Long.MAX_VALUE), new byte[]{0});
+    }
+}
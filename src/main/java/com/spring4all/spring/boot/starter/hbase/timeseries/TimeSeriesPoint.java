@@ -0,0 +1,27 @@
+package com.spring4all.spring.boot.starter.hbase.timeseries;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 降采样后的点
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class TimeSeriesPoint {
+
+    /**
+     * 时间桶的开始时间(毫秒)
+     */
+    private final long timestamp;
+
+    /**
+     * 聚合值
+     */
+    private final double value;
+}
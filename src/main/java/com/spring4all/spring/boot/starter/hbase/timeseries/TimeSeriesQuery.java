@@ -0,0 +1,84 @@
+package com.spring4all.spring.boot.starter.hbase.timeseries;
+
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodec;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodecs;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanProfile;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 时序查询参数
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class TimeSeriesQuery {
+
+    /**
+     * 表名
+     */
+    private final String tableName;
+
+    private final String entity;
+
+    /**
+     * 值所在的列族
+     */
+    private final String family;
+
+    /**
+     * 值所在的列
+     */
+    private final String qualifier;
+
+    /**
+     * 开始时间(毫秒，包含)
+     */
+    private final long startTime;
+
+    /**
+     * 结束时间(毫秒，不包含)
+     */
+    private final long endTime;
+
+    /**
+     * 时间桶宽度(毫秒)，按epoch对齐
+     */
+    private final long bucketMs;
+
+    @Builder.Default
+    private final Aggregation aggregation = Aggregation.AVG;
+
+    /**
+     * 值的编码，服务端聚合时只支持{@link ValueCodecs#LONG}
+     */
+    @Builder.Default
+    private final ValueCodec<? extends Number> valueCodec = ValueCodecs.LONG;
+
+    /**
+     * 时间窗口切分后并行扫描的数量
+     */
+    @Builder.Default
+    private final int parallelism = 4;
+
+    /**
+     * 是否由服务端AggregateImplementation协处理器聚合，每个时间桶只返回一个值
+     */
+    @Builder.Default
+    private final boolean serverSide = false;
+
+    /**
+     * 服务端聚合时每个时间桶需要一次协处理器调用，切分后一段时间窗口内的时间桶数超过该值时，
+     * 这段窗口改为一次客户端扫描
+     */
+    @Builder.Default
+    private final int maxServerSideBuckets = 16;
+
+    /**
+     * 客户端聚合时使用的scan配置名
+     */
+    @Builder.Default
+    private final String scanProfile = ScanProfile.EXPORT;
+}
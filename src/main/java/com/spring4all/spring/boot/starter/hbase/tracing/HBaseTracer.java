@@ -0,0 +1,24 @@
+package com.spring4all.spring.boot.starter.hbase.tracing;
+
+/**
+ * HBaseTemplate操作的追踪入口
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface HBaseTracer {
+
+    /**
+     * 不追踪，所有操作返回{@link TraceScope#NOOP}
+     */
+    HBaseTracer NOOP = (operation, tableName) -> TraceScope.NOOP;
+
+    /**
+     * 开始追踪一次操作
+     *
+     * @param operation 操作名，如get、scan、mutate
+     * @param tableName 表名，admin操作为null
+     * @return 追踪范围，不会为null
+     */
+    TraceScope start(String operation, String tableName);
+}
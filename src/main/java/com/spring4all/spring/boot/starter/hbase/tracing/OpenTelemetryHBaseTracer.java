@@ -0,0 +1,119 @@
+package com.spring4all.spring.boot.starter.hbase.tracing;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 基于OpenTelemetry API的追踪实现，每次操作创建一个CLIENT类型的span，并设置为当前上下文，
+ * HBase客户端内部线程不会继承该上下文。
+ * <p>
+ * 存在父span时跟随父span的采样结果；没有父span时按采样率决定，未被采样的操作不创建span。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class OpenTelemetryHBaseTracer implements HBaseTracer {
+
+    static final String INSTRUMENTATION_NAME = "spring-boot-starter-hbase";
+
+    static final AttributeKey<String> DB_SYSTEM = AttributeKey.stringKey("db.system");
+
+    static final AttributeKey<String> DB_OPERATION = AttributeKey.stringKey("db.operation");
+
+    static final AttributeKey<String> TABLE = AttributeKey.stringKey("hbase.table");
+
+    static final AttributeKey<Long> ROWS = AttributeKey.longKey("hbase.rows");
+
+    static final AttributeKey<Long> ACTIONS = AttributeKey.longKey("hbase.actions");
+
+    static final AttributeKey<Long> BYTES = AttributeKey.longKey("hbase.bytes");
+
+    private final Tracer tracer;
+
+    private final double samplingRatio;
+
+    /**
+     * @param openTelemetry openTelemetry
+     * @param samplingRatio 没有父span时的采样率，取值[0, 1]
+     */
+    public OpenTelemetryHBaseTracer(OpenTelemetry openTelemetry, double samplingRatio) {
+        Assert.notNull(openTelemetry, "OpenTelemetry must not be null");
+        Assert.isTrue(samplingRatio >= 0 && samplingRatio <= 1, "Sampling ratio must be between 0 and 1");
+        this.tracer = openTelemetry.getTracer(INSTRUMENTATION_NAME);
+        this.samplingRatio = samplingRatio;
+    }
+
+    @Override
+    public TraceScope start(String operation, String tableName) {
+        final SpanContext parent = Span.current().getSpanContext();
+        if (parent.isValid() ? !parent.isSampled() : !this.sample()) {
+            return TraceScope.NOOP;
+        }
+        final Span span = tracer.spanBuilder(tableName == null ? operation : operation + ' ' + tableName)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute(DB_SYSTEM, "hbase")
+                .setAttribute(DB_OPERATION, operation)
+                .startSpan();
+        if (tableName != null) {
+            span.setAttribute(TABLE, tableName);
+        }
+        return new SpanTraceScope(span, span.makeCurrent());
+    }
+
+    private boolean sample() {
+        return samplingRatio >= 1 || samplingRatio > 0 && ThreadLocalRandom.current().nextDouble() < samplingRatio;
+    }
+
+    private static class SpanTraceScope implements TraceScope {
+
+        private final Span span;
+
+        private final Scope scope;
+
+        private SpanTraceScope(Span span, Scope scope) {
+            this.span = span;
+            this.scope = scope;
+        }
+
+        @Override
+        public boolean isRecording() {
+            return span.isRecording();
+        }
+
+        @Override
+        public void setRows(long rows) {
+            span.setAttribute(ROWS, rows);
+        }
+
+        @Override
+        public void setActions(int actions) {
+            span.setAttribute(ACTIONS, (long) actions);
+        }
+
+        @Override
+        public void setBytes(long bytes) {
+            span.setAttribute(BYTES, bytes);
+        }
+
+        @Override
+        public void recordError(Throwable throwable) {
+            span.recordException(throwable);
+            span.setStatus(StatusCode.ERROR);
+        }
+
+        @Override
+        public void close() {
+            scope.close();
+            span.end();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.spring4all.spring.boot.starter.hbase.tracing;
+
+/**
+ * 一次HBase操作的追踪范围，操作结束时关闭
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface TraceScope extends AutoCloseable {
+
+    /**
+     * 不做任何记录的实现，未开启追踪或未被采样时使用
+     */
+    TraceScope NOOP = new TraceScope() {
+    };
+
+    /**
+     * 是否在记录，为false时调用方可以跳过统计字节数等额外计算
+     *
+     * @return 是否在记录
+     */
+    default boolean isRecording() {
+        return false;
+    }
+
+    /**
+     * 读取或写入的行数
+     *
+     * @param rows 行数
+     */
+    default void setRows(long rows) {
+    }
+
+    /**
+     * 批量提交的操作数
+     *
+     * @param actions 操作数
+     */
+    default void setActions(int actions) {
+    }
+
+    /**
+     * 读取或写入的字节数
+     *
+     * @param bytes 字节数
+     */
+    default void setBytes(long bytes) {
+    }
+
+    /**
+     * 记录异常
+     *
+     * @param throwable 异常
+     */
+    default void recordError(Throwable throwable) {
+    }
+
+    /**
+     * 结束追踪
+     */
+    @Override
+    default void close() {
+    }
+}
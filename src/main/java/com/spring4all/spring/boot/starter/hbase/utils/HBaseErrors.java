@@ -0,0 +1,97 @@
+package com.spring4all.spring.boot.starter.hbase.utils;
+
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaExceededException;
+import com.spring4all.spring.boot.starter.hbase.resilience.CircuitOpenException;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.client.RetriesExhaustedWithDetailsException;
+import org.apache.hadoop.hbase.client.Row;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * HBase异常分类
+ * <p>
+ * 请求本身有问题时(参数非法、表或列族不存在等{@link DoNotRetryIOException})重试也不会成功，称为被拒绝；
+ * 客户端限额和熔断虽然也继承DoNotRetryIOException，但只是暂时不可用，不算被拒绝。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public final class HBaseErrors {
+
+    private HBaseErrors() {
+    }
+
+    /**
+     * 是否被拒绝，沿cause链查找；批量操作的异常只有全部失败的操作都被拒绝时才算被拒绝
+     *
+     * @param error 异常，允许为包装后的异常
+     * @return 重试也不会成功时返回true
+     */
+    public static boolean isRejected(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QuotaExceededException || cause instanceof CircuitOpenException) {
+                return false;
+            }
+            if (cause instanceof DoNotRetryIOException || cause instanceof IllegalArgumentException) {
+                return true;
+            }
+            if (cause instanceof RetriesExhaustedWithDetailsException) {
+                final RetriesExhaustedWithDetailsException details = (RetriesExhaustedWithDetailsException) cause;
+                for (int i = 0; i < details.getNumExceptions(); i++) {
+                    if (!isRejected(details.getCause(i))) {
+                        return false;
+                    }
+                }
+                return details.getNumExceptions() > 0;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 找出被拒绝的操作
+     *
+     * @param error   执行actions时抛出的异常
+     * @param actions 提交的操作
+     * @param <R>     操作类型
+     * @return 批量操作部分失败时返回其中被拒绝的操作；整体被拒绝时返回全部；其余情况返回空列表
+     */
+    public static <R extends Row> List<R> rejectedActions(Throwable error, List<R> actions) {
+        final RetriesExhaustedWithDetailsException details = findDetails(error);
+        if (details == null) {
+            return isRejected(error) ? actions : Collections.emptyList();
+        }
+        final Map<Row, R> submitted = new IdentityHashMap<>(actions.size());
+        for (R action : actions) {
+            submitted.put(action, action);
+        }
+        final List<R> rejected = new ArrayList<>();
+        for (int i = 0; i < details.getNumExceptions(); i++) {
+            final R action = submitted.get(details.getRow(i));
+            if (action != null && isRejected(details.getCause(i))) {
+                rejected.add(action);
+            }
+        }
+        return rejected;
+    }
+
+    private static RetriesExhaustedWithDetailsException findDetails(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriesExhaustedWithDetailsException) {
+                return (RetriesExhaustedWithDetailsException) cause;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return null;
+    }
+}
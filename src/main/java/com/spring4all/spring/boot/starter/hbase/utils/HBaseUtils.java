@@ -1,5 +1,6 @@
 package com.spring4all.spring.boot.starter.hbase.utils;
 
+import com.spring4all.spring.boot.starter.hbase.codec.ColumnSchema;
 import org.apache.hadoop.hbase.Cell;
 import org.apache.hadoop.hbase.CellUtil;
 import org.apache.hadoop.hbase.client.Result;
@@ -57,4 +58,15 @@ public class HBaseUtils {
         }
         return map;
     }
+
+    /**
+     * HBase结果对象按schema解码为Map<String, Object>，Object为schema中编解码器对应的类型
+     *
+     * @param result HBase结果对象
+     * @param schema 列编解码schema
+     * @return 转换后的map
+     */
+    public static Map<String, Object> resultHandler(Result result, ColumnSchema schema) {
+        return schema.decode(result);
+    }
 }
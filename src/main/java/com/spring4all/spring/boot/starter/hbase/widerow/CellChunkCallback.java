@@ -0,0 +1,22 @@
+package com.spring4all.spring.boot.starter.hbase.widerow;
+
+import org.apache.hadoop.hbase.Cell;
+
+/**
+ * 宽行分批读取的回调，每次收到一批cell
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@FunctionalInterface
+public interface CellChunkCallback {
+
+    /**
+     * 处理一批cell，回调返回后不要再引用这些cell，以便及时回收
+     *
+     * @param cells 同一行内按列顺序连续的一批cell
+     * @return 是否继续读取
+     * @throws Throwable thrown by the Hbase API
+     */
+    boolean doInChunk(Cell[] cells) throws Throwable;
+}
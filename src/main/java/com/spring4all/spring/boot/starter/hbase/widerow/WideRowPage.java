@@ -0,0 +1,32 @@
+package com.spring4all.spring.boot.starter.hbase.widerow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.hadoop.hbase.Cell;
+
+import java.util.List;
+
+/**
+ * 宽行按列分页读取的一页
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@AllArgsConstructor
+public class WideRowPage {
+
+    /**
+     * 本页的cell，按列名排序
+     */
+    private final List<Cell> cells;
+
+    /**
+     * 下一页的开始列，原样传给下一次{@code findColumns}，没有下一页时为null
+     */
+    private final byte[] nextColumn;
+
+    public boolean hasNext() {
+        return nextColumn != null;
+    }
+}
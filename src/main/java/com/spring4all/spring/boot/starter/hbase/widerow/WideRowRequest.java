@@ -0,0 +1,48 @@
+package com.spring4all.spring.boot.starter.hbase.widerow;
+
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 宽行流式读取参数
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class WideRowRequest {
+
+    /**
+     * 表名
+     */
+    private final String tableName;
+
+    /**
+     * rowKey
+     */
+    private final byte[] row;
+
+    /**
+     * 列族，为null时读取所有列族
+     */
+    private final String family;
+
+    /**
+     * 从该列开始读取(包含)，用于中断后继续读取，为null或空时从第一列开始
+     */
+    private final byte[] startColumn;
+
+    /**
+     * 每批最多的cell数
+     */
+    @Builder.Default
+    private final int batchSize = 1000;
+
+    /**
+     * 每次RPC返回的最大字节数，超过时服务端返回行的一部分
+     */
+    @Builder.Default
+    private final DataSize maxChunkSize = DataSize.ofMegabytes(2);
+}
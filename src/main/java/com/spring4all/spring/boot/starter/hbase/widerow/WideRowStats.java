@@ -0,0 +1,37 @@
+package com.spring4all.spring.boot.starter.hbase.widerow;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 宽行读取统计
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class WideRowStats {
+
+    /**
+     * 回调的批次数
+     */
+    private final long chunks;
+
+    /**
+     * 读取的cell数
+     */
+    private final long cells;
+
+    /**
+     * 最大一批的cell数
+     */
+    private final int maxChunkCells;
+
+    /**
+     * 是否读取到行尾，回调返回false时为false
+     */
+    private final boolean complete;
+}
@@ -0,0 +1,42 @@
+package com.spring4all.spring.boot.starter.hbase.write;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+import org.apache.hadoop.hbase.client.Mutation;
+
+import java.util.List;
+
+/**
+ * 合并结果
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Getter
+@ToString(exclude = "mutations")
+@AllArgsConstructor
+public class CoalesceResult {
+
+    /**
+     * 合并后待写入的数据
+     */
+    private final List<Mutation> mutations;
+
+    /**
+     * 合并前的条数
+     */
+    private final int originalCount;
+
+    /**
+     * 被合并或覆盖而丢弃的cell数
+     */
+    private final int droppedCells;
+
+    /**
+     * 减少的条数
+     */
+    public int getRemovedMutations() {
+        return originalCount - mutations.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.spring4all.spring.boot.starter.hbase.write;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 方法执行期间HBaseTemplate的写入合并为一个批次，方法正常返回时写入，抛出异常时丢弃，
+ * 标注在类上时对所有public方法生效
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ * @see WriteBatchScope
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Documented
+public @interface HBaseBatch {
+}
@@ -0,0 +1,31 @@
+package com.spring4all.spring.boot.starter.hbase.write;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * 在{@link HBaseBatch}标注的方法执行期间打开{@link WriteBatchScope}
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+@Aspect
+public class HBaseBatchAspect {
+
+    private final HBaseTemplate hbaseTemplate;
+
+    public HBaseBatchAspect(HBaseTemplate hbaseTemplate) {
+        this.hbaseTemplate = hbaseTemplate;
+    }
+
+    @Around("@annotation(com.spring4all.spring.boot.starter.hbase.write.HBaseBatch) || @within(com.spring4all.spring.boot.starter.hbase.write.HBaseBatch)")
+    public Object around(ProceedingJoinPoint pjp) throws Throwable {
+        try (WriteBatchScope batch = hbaseTemplate.openWriteBatch()) {
+            final Object result = pjp.proceed();
+            batch.commit();
+            return result;
+        }
+    }
+}
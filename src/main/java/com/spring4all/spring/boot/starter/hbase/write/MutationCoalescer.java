@@ -0,0 +1,291 @@
+package com.spring4all.spring.boot.starter.hbase.write;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Durability;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 写入前合并同一批次内的数据
+ * <ul>
+ * <li>同一行连续的Put合并为一个Put，相同列、相同时间戳的cell只保留最后一个</li>
+ * <li>Delete之前的Put中会被该Delete覆盖的cell直接丢弃，Delete本身保留</li>
+ * <li>按rowKey排序，同一行内保持原有顺序</li>
+ * </ul>
+ * 带有属性(TTL、ACL等)或durability不同的Put，以及Increment、Append不参与合并，只保持原有顺序。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class MutationCoalescer {
+
+    private final boolean sortByRow;
+
+    private final LongAdder removedMutations = new LongAdder();
+
+    private final LongAdder droppedCells = new LongAdder();
+
+    public MutationCoalescer() {
+        this(true);
+    }
+
+    /**
+     * @param sortByRow 是否按rowKey排序，排序后发送到同一region server的数据是连续的
+     */
+    public MutationCoalescer(boolean sortByRow) {
+        this.sortByRow = sortByRow;
+    }
+
+    /**
+     * 合并数据，不修改传入的Mutation
+     *
+     * @param mutations 待写入的数据
+     * @return 合并结果
+     */
+    public CoalesceResult coalesce(List<? extends Mutation> mutations) {
+        final Map<ByteBuffer, RowState> rows = new LinkedHashMap<>();
+        for (Mutation mutation : mutations) {
+            rows.computeIfAbsent(ByteBuffer.wrap(mutation.getRow()), row -> new RowState()).add(mutation);
+        }
+
+        final List<RowState> states = new ArrayList<>(rows.values());
+        if (sortByRow) {
+            states.sort((a, b) -> Bytes.BYTES_COMPARATOR.compare(a.row, b.row));
+        }
+
+        final List<Mutation> result = new ArrayList<>(mutations.size());
+        int dropped = 0;
+        for (RowState state : states) {
+            dropped += state.droppedCells;
+            for (Object entry : state.entries) {
+                if (entry instanceof PutBuilder) {
+                    final PutBuilder builder = (PutBuilder) entry;
+                    if (!builder.cells.isEmpty()) {
+                        result.add(builder.build());
+                    }
+                } else {
+                    result.add((Mutation) entry);
+                }
+            }
+        }
+
+        removedMutations.add(mutations.size() - result.size());
+        droppedCells.add(dropped);
+        return new CoalesceResult(result, mutations.size(), dropped);
+    }
+
+    /**
+     * 累计减少的条数
+     */
+    public long getRemovedMutations() {
+        return removedMutations.sum();
+    }
+
+    /**
+     * 累计丢弃的cell数
+     */
+    public long getDroppedCells() {
+        return droppedCells.sum();
+    }
+
+    /**
+     * 判断时间戳为deleteTs的删除标记是否会覆盖时间戳为cellTs的cell
+     */
+    private static boolean masks(long deleteTs, long cellTs) {
+        if (deleteTs == HConstants.LATEST_TIMESTAMP) {
+            // 服务端以写入时间作为删除时间，之前写入的cell都会被覆盖
+            return cellTs == HConstants.LATEST_TIMESTAMP || cellTs <= System.currentTimeMillis();
+        }
+        return cellTs != HConstants.LATEST_TIMESTAMP && cellTs <= deleteTs;
+    }
+
+    private static class RowState {
+
+        private byte[] row;
+
+        /**
+         * 按原有顺序排列的{@link PutBuilder}或其他Mutation
+         */
+        private final List<Object> entries = new ArrayList<>();
+
+        private PutBuilder current;
+
+        private int droppedCells;
+
+        private void add(Mutation mutation) {
+            if (row == null) {
+                row = mutation.getRow();
+            }
+            if (mutation instanceof Put && isMergeable((Put) mutation)) {
+                if (current == null || current.durability != mutation.getDurability()) {
+                    current = new PutBuilder(row, mutation.getDurability());
+                    entries.add(current);
+                }
+                droppedCells += current.merge((Put) mutation);
+                return;
+            }
+            if (mutation instanceof Delete) {
+                for (Object entry : entries) {
+                    if (entry instanceof PutBuilder) {
+                        droppedCells += ((PutBuilder) entry).apply((Delete) mutation);
+                    }
+                }
+            }
+            // Delete及其他类型的操作之后的Put不能再合并到之前的Put中，否则会改变先后顺序
+            current = null;
+            entries.add(mutation);
+        }
+
+        private static boolean isMergeable(Put put) {
+            return put.getAttributesMap().isEmpty();
+        }
+    }
+
+    private static class PutBuilder {
+
+        private final byte[] row;
+
+        private final Durability durability;
+
+        private final Map<CellKey, Cell> cells = new LinkedHashMap<>();
+
+        private Put original;
+
+        private boolean modified;
+
+        private PutBuilder(byte[] row, Durability durability) {
+            this.row = row;
+            this.durability = durability;
+        }
+
+        private int merge(Put put) {
+            if (original == null) {
+                original = put;
+            } else {
+                modified = true;
+            }
+            int replaced = 0;
+            for (List<Cell> familyCells : put.getFamilyCellMap().values()) {
+                for (Cell cell : familyCells) {
+                    if (cells.put(new CellKey(cell), cell) != null) {
+                        replaced++;
+                    }
+                }
+            }
+            return replaced;
+        }
+
+        private int apply(Delete delete) {
+            final List<Cell> markers = new ArrayList<>();
+            delete.getFamilyCellMap().values().forEach(markers::addAll);
+
+            int dropped = 0;
+            for (Iterator<Map.Entry<CellKey, Cell>> iterator = cells.entrySet().iterator(); iterator.hasNext(); ) {
+                final Cell cell = iterator.next().getValue();
+                if (isDeleted(delete, markers, cell)) {
+                    iterator.remove();
+                    dropped++;
+                }
+            }
+            if (dropped > 0) {
+                modified = true;
+            }
+            return dropped;
+        }
+
+        private static boolean isDeleted(Delete delete, List<Cell> markers, Cell cell) {
+            if (markers.isEmpty()) {
+                // 整行删除
+                return masks(delete.getTimeStamp(), cell.getTimestamp());
+            }
+            for (Cell marker : markers) {
+                if (!CellUtil.matchingFamily(marker, cell)) {
+                    continue;
+                }
+                final KeyValue.Type type = KeyValue.Type.codeToType(marker.getTypeByte());
+                if (type == KeyValue.Type.DeleteFamily && masks(marker.getTimestamp(), cell.getTimestamp())) {
+                    return true;
+                }
+                if (type == KeyValue.Type.DeleteColumn && CellUtil.matchingQualifier(marker, cell)
+                        && masks(marker.getTimestamp(), cell.getTimestamp())) {
+                    return true;
+                }
+                // 只删除单个版本时，仅在时间戳明确相同时覆盖
+                final boolean sameVersion = marker.getTimestamp() != HConstants.LATEST_TIMESTAMP
+                        && marker.getTimestamp() == cell.getTimestamp();
+                if (type == KeyValue.Type.DeleteFamilyVersion && sameVersion) {
+                    return true;
+                }
+                if (type == KeyValue.Type.Delete && sameVersion && CellUtil.matchingQualifier(marker, cell)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private Put build() {
+            if (!modified && original != null) {
+                return original;
+            }
+            final Put put = new Put(row);
+            put.setDurability(durability);
+            try {
+                for (Cell cell : cells.values()) {
+                    put.add(cell);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return put;
+        }
+    }
+
+    private static class CellKey {
+
+        private final byte[] family;
+
+        private final byte[] qualifier;
+
+        private final long timestamp;
+
+        private final int hash;
+
+        private CellKey(Cell cell) {
+            this.family = CellUtil.cloneFamily(cell);
+            this.qualifier = CellUtil.cloneQualifier(cell);
+            this.timestamp = cell.getTimestamp();
+            this.hash = 31 * (31 * Bytes.hashCode(family) + Bytes.hashCode(qualifier)) + Long.hashCode(timestamp);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CellKey)) {
+                return false;
+            }
+            final CellKey other = (CellKey) o;
+            return timestamp == other.timestamp && Bytes.equals(family, other.family) && Bytes.equals(qualifier, other.qualifier);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.spring4all.spring.boot.starter.hbase.write;
+
+import org.apache.hadoop.hbase.client.Mutation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 绑定到线程的写入缓存，按表保存范围内的Mutation
+ * <p>
+ * 只保存Mutation的引用，加入批次后不要再修改同一个Mutation对象。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class WriteBatch {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBatch.class);
+
+    private final Map<String, List<Mutation>> mutations = new LinkedHashMap<>();
+
+    private final Consumer<WriteBatch> flusher;
+
+    private final Runnable unbind;
+
+    private int depth;
+
+    private int size;
+
+    private boolean rollbackOnly;
+
+    /**
+     * @param flusher 最外层提交时写入数据
+     * @param unbind  最外层结束时从线程解绑，解绑后的写入不再进入该批次
+     */
+    public WriteBatch(Consumer<WriteBatch> flusher, Runnable unbind) {
+        this.flusher = flusher;
+        this.unbind = unbind;
+    }
+
+    public WriteBatchScope open() {
+        depth++;
+        return new Scope(depth == 1);
+    }
+
+    public void add(String tableName, List<? extends Mutation> mutations) {
+        this.mutations.computeIfAbsent(tableName, table -> new ArrayList<>()).addAll(mutations);
+        size += mutations.size();
+    }
+
+    /**
+     * @return 按表分组的数据，同一张表内保持加入的顺序
+     */
+    public Map<String, List<Mutation>> getMutations() {
+        return mutations;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void discard() {
+        if (size > 0) {
+            LOGGER.debug("批量写入未提交，丢弃{}条数据", size);
+        }
+        mutations.clear();
+        size = 0;
+    }
+
+    private class Scope implements WriteBatchScope {
+
+        private final boolean outermost;
+
+        private boolean committed;
+
+        private boolean closed;
+
+        Scope(boolean outermost) {
+            this.outermost = outermost;
+        }
+
+        @Override
+        public void commit() {
+            Assert.state(!closed && !committed, "Write batch scope is already completed");
+            committed = true;
+            if (!outermost) {
+                return;
+            }
+            unbind.run();
+            if (rollbackOnly) {
+                discard();
+                throw new IllegalStateException("Write batch was rolled back by an inner scope");
+            }
+            try {
+                flusher.accept(WriteBatch.this);
+            } finally {
+                mutations.clear();
+                size = 0;
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            depth--;
+            if (!outermost) {
+                if (!committed) {
+                    rollbackOnly = true;
+                }
+                return;
+            }
+            unbind.run();
+            if (!committed) {
+                discard();
+            }
+        }
+    }
+}
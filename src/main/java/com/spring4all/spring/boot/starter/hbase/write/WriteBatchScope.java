@@ -0,0 +1,29 @@
+package com.spring4all.spring.boot.starter.hbase.write;
+
+/**
+ * 批量写入范围，范围内HBaseTemplate的saveOrUpdate只缓存在当前线程，提交时合并、排序后一次写入
+ * <pre>
+ * try (WriteBatchScope batch = hbaseTemplate.openWriteBatch()) {
+ *     hbaseTemplate.saveOrUpdate(...);
+ *     hbaseTemplate.saveOrUpdates(...);
+ *     batch.commit();
+ * }
+ * </pre>
+ * 嵌套的范围加入最外层的批次，只有最外层提交时写入；任一层未提交就关闭时，整个批次在最外层丢弃。
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public interface WriteBatchScope extends AutoCloseable {
+
+    /**
+     * 提交，最外层提交时写入缓存的数据，写入失败时抛出异常
+     */
+    void commit();
+
+    /**
+     * 未提交时丢弃缓存的数据
+     */
+    @Override
+    void close();
+}
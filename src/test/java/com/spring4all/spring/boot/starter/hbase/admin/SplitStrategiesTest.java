@@ -0,0 +1,70 @@
+package com.spring4all.spring.boot.starter.hbase.admin;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class SplitStrategiesTest {
+
+    @Test
+    public void uniformHexUsesShortestPrefix() {
+        final byte[][] keys = SplitStrategies.uniformHex(4).splitKeys();
+        assertEquals(Arrays.asList("4", "8", "c"), toStrings(keys));
+        final byte[][] wide = SplitStrategies.uniformHex(32).splitKeys();
+        assertEquals(31, wide.length);
+        assertEquals("08", Bytes.toString(wide[0]));
+        assertSorted(wide);
+    }
+
+    @Test
+    public void uniformBytesSplitsUnsignedSpace() {
+        final byte[][] keys = SplitStrategies.uniformBytes(4).splitKeys();
+        assertEquals(3, keys.length);
+        assertArrayEquals(new byte[]{0x40, 0, 0, 0}, keys[0]);
+        assertArrayEquals(new byte[]{(byte) 0xC0, 0, 0, 0}, keys[2]);
+        assertSorted(keys);
+    }
+
+    @Test
+    public void saltedKeysFallIntoBuckets() {
+        final byte[][] keys = SplitStrategies.salted(8).splitKeys();
+        assertEquals(7, keys.length);
+        assertSorted(keys);
+        final byte[] salted = SplitStrategies.salt(Bytes.toBytes("row-1"), 8);
+        assertTrue(salted[0] >= 0 && salted[0] < 8);
+        assertEquals("row-1", Bytes.toString(salted, 1, salted.length - 1));
+    }
+
+    @Test
+    public void quantilesSkipDuplicates() {
+        final List<byte[]> sample = new ArrayList<>();
+        for (String key : Arrays.asList("a", "a", "a", "a", "a", "a", "b", "c")) {
+            sample.add(Bytes.toBytes(key));
+        }
+        assertEquals(Arrays.asList("a", "b"), toStrings(SplitStrategies.quantiles(sample, 4)));
+        assertEquals(0, SplitStrategies.quantiles(new ArrayList<>(), 4).length);
+    }
+
+    private static List<String> toStrings(byte[][] keys) {
+        final List<String> strings = new ArrayList<>();
+        for (byte[] key : keys) {
+            strings.add(Bytes.toString(key));
+        }
+        return strings;
+    }
+
+    private static void assertSorted(byte[][] keys) {
+        for (int i = 1; i < keys.length; i++) {
+            assertTrue(Bytes.compareTo(keys[i - 1], keys[i]) < 0);
+        }
+    }
+}
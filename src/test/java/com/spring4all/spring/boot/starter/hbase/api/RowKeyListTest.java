@@ -0,0 +1,73 @@
+package com.spring4all.spring.boot.starter.hbase.api;
+
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.PrefixFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class RowKeyListTest {
+
+    @Test
+    public void storesKeysContiguously() {
+        final RowKeyList rowKeys = new RowKeyList(1, 1);
+        for (int i = 0; i < 100; i++) {
+            rowKeys.add(Bytes.toBytes(String.format("row-%03d", i)));
+        }
+        assertEquals(100, rowKeys.size());
+        assertEquals(700, rowKeys.getDataSize());
+        assertEquals("row-042", Bytes.toString(rowKeys.get(42)));
+        assertTrue(rowKeys.isSorted());
+        assertTrue(rowKeys.contains(Bytes.toBytes("row-099")));
+        assertFalse(rowKeys.contains(Bytes.toBytes("row-100")));
+        assertEquals(0, rowKeys.indexOf(Bytes.toBytes("row-000")));
+    }
+
+    @Test
+    public void appendsRangeAndFallsBackToLinearSearch() {
+        final RowKeyList rowKeys = new RowKeyList();
+        final byte[] buffer = Bytes.toBytes("xxb|a");
+        rowKeys.append(buffer, 2, 1);
+        rowKeys.append(buffer, 4, 1);
+        assertFalse(rowKeys.isSorted());
+        assertEquals(1, rowKeys.indexOf(Bytes.toBytes("a")));
+        assertTrue(rowKeys.contains(Bytes.toBytes("b")));
+    }
+
+    @Test
+    public void findRowKeysCopiesScanAndSkipsSplitRows() {
+        final InMemoryHBase hbase = new InMemoryHBase();
+        hbase.createTable("keys", "f");
+        final HBaseTemplate template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        try {
+            for (int i = 0; i < 5; i++) {
+                final Put put = new Put(Bytes.toBytes("row" + i));
+                for (int q = 0; q < 3; q++) {
+                    put.addColumn(Bytes.toBytes("f"), Bytes.toBytes("q" + q), Bytes.toBytes(q));
+                }
+                template.saveOrUpdate("keys", put);
+            }
+            final PrefixFilter filter = new PrefixFilter(Bytes.toBytes("row"));
+            final Scan scan = new Scan(Bytes.toBytes("row1"), Bytes.toBytes("row4")).setFilter(filter).setBatch(1);
+
+            final RowKeyList rowKeys = template.findRowKeys("keys", scan);
+            assertEquals(3, rowKeys.size());
+            assertEquals("row3", Bytes.toString(rowKeys.get(2)));
+            assertTrue(rowKeys.isSorted());
+            // 调用方的scan不变，可以再次使用
+            assertSame(filter, scan.getFilter());
+            assertEquals(1, scan.getBatch());
+            assertEquals(3, template.findRowKeys("keys", scan).size());
+        } finally {
+            template.destroy();
+        }
+    }
+}
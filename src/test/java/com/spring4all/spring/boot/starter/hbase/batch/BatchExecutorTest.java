@@ -0,0 +1,135 @@
+package com.spring4all.spring.boot.starter.hbase.batch;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class BatchExecutorTest {
+
+    private static final String TABLE = "batch";
+
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+
+    private final InMemoryHBase hbase = new InMemoryHBase();
+
+    private HBaseTemplate template;
+
+    @Before
+    public void setUp() {
+        hbase.createTable(TABLE, "f");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        template.saveOrUpdate(TABLE, put("existing"));
+        hbase.getFaults().reset();
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void mixesActionsAndReportsInOrder() {
+        final List<Integer> succeeded = new ArrayList<>();
+        final List<Row> actions = Arrays.asList(put("a"), new Get(Bytes.toBytes("existing")),
+                new Delete(Bytes.toBytes("existing")), new Increment(Bytes.toBytes("c")).addColumn(FAMILY, Bytes.toBytes("n"), 3));
+        final BatchResult result = new BatchExecutor(template, 0, 0).batch(TABLE, actions, new BatchCallback() {
+            @Override
+            public void onSuccess(int index, Row action, Result value) {
+                succeeded.add(index);
+            }
+        });
+
+        assertFalse(result.hasFailures());
+        assertEquals(Arrays.asList(0, 1, 2, 3), succeeded);
+        assertEquals("existing", Bytes.toString(result.getResult(1).getRow()));
+        assertEquals(3L, Bytes.toLong(result.getResult(3).getValue(FAMILY, Bytes.toBytes("n"))));
+        assertEquals(2, hbase.getRowCount(TABLE));
+    }
+
+    @Test
+    public void resubmitsOnlyFailedActions() {
+        hbase.getFaults().failNext(2);
+        final List<Row> actions = Arrays.asList(put("a"), put("b"), put("c"));
+        final BatchResult result = new BatchExecutor(template, 3, 0).batch(TABLE, actions, null);
+
+        assertFalse(result.hasFailures());
+        assertEquals(2, result.getRetriedActions());
+        // 第一次提交3个操作，第二次只提交失败的2个
+        assertEquals(2, hbase.getFaults().getCalls("batch"));
+        assertEquals(4, hbase.getRowCount(TABLE));
+    }
+
+    @Test
+    public void reportsFailureWhenRetriesAreExhausted() {
+        hbase.getFaults().failNext(3);
+        final List<Integer> failed = new ArrayList<>();
+        final BatchResult result = new BatchExecutor(template, 1, 0).batch(TABLE, Arrays.asList(put("a"), put("b")),
+                new BatchCallback() {
+                    @Override
+                    public void onFailure(int index, Row action, Throwable cause) {
+                        failed.add(index);
+                    }
+                });
+
+        // 第一次两个都失败，重试时a再次失败、b成功
+        assertEquals(Collections.singletonList(0), result.getFailedIndexes());
+        assertEquals(Collections.singletonList(0), failed);
+        assertFalse(result.isSuccess(0));
+        assertNotNull(result.getError(0));
+        assertNull(result.getResult(0));
+        assertTrue(result.isSuccess(1));
+        assertEquals(2, result.getRetriedActions());
+    }
+
+    @Test
+    public void doesNotRetryIncrementOrDoNotRetryErrors() {
+        hbase.getFaults().failNext(1);
+        final Increment increment = new Increment(Bytes.toBytes("c")).addColumn(FAMILY, Bytes.toBytes("n"), 1);
+        final BatchResult incremented = new BatchExecutor(template, 3, 0).batch(TABLE, Collections.singletonList(increment), null);
+        assertTrue(incremented.hasFailures());
+        assertEquals(0, incremented.getRetriedActions());
+        assertEquals(1, hbase.getRowCount(TABLE));
+
+        hbase.getFaults().faultFactory(() -> new DoNotRetryIOException("No such column family")).failNext(1);
+        final BatchResult rejected = new BatchExecutor(template, 3, 0).batch(TABLE, Collections.singletonList(put("a")), null);
+        assertTrue(rejected.getError(0) instanceof DoNotRetryIOException);
+        assertEquals(0, rejected.getRetriedActions());
+    }
+
+    @Test
+    public void missingResultIsFailure() {
+        final BatchResult result = new BatchResult(new Object[]{null, Result.EMPTY_RESULT}, 0);
+        assertFalse(result.isSuccess(0));
+        assertNotNull(result.getError(0));
+        assertTrue(result.isSuccess(1));
+        assertNull(result.getError(1));
+        assertEquals(Collections.singletonList(0), result.getFailedIndexes());
+        assertTrue(result.hasFailures());
+    }
+
+    private static Put put(String row) {
+        return new Put(Bytes.toBytes(row)).addColumn(FAMILY, Bytes.toBytes("name"), Bytes.toBytes(row));
+    }
+}
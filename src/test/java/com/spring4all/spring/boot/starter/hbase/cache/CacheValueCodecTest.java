@@ -0,0 +1,49 @@
+package com.spring4all.spring.boot.starter.hbase.cache;
+
+import com.spring4all.spring.boot.starter.hbase.codec.CompressedValueCodec;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodec;
+import org.junit.Test;
+import org.springframework.cache.support.NullValue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class CacheValueCodecTest {
+
+    private final ValueCodec<Object> codec = new CacheValueCodec();
+
+    @Test
+    public void roundTripsCommonTypes() {
+        for (Object value : Arrays.asList("张三", 42, 7L, 1.5d, true, new BigDecimal("3.14"), new Date(1000L))) {
+            assertEquals(value, codec.decode(codec.encode(value)));
+        }
+        assertSame(NullValue.INSTANCE, codec.decode(codec.encode(NullValue.INSTANCE)));
+        assertArrayEquals(new byte[]{1, 2}, (byte[]) codec.decode(codec.encode(new byte[]{1, 2})));
+    }
+
+    @Test
+    public void smallNumbersAreCompact() {
+        assertEquals(2, codec.encode(5L).length);
+        assertEquals(1, codec.encode(NullValue.INSTANCE).length);
+    }
+
+    @Test
+    public void serializableValuesUseJavaSerialization() {
+        final ArrayList<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+        final ValueCodec<Object> compressed = new CompressedValueCodec<>(codec);
+        assertEquals(value, compressed.decode(compressed.encode(value)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonSerializableValues() {
+        codec.encode(new Object());
+    }
+}
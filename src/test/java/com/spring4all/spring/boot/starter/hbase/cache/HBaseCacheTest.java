@@ -0,0 +1,197 @@
+package com.spring4all.spring.boot.starter.hbase.cache;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseCacheTest {
+
+    private InMemoryHBase hbase;
+
+    private HBaseTemplate template;
+
+    @Before
+    public void setUp() {
+        hbase = new InMemoryHBase();
+        hbase.createTable("spring_cache", "c");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void putThenGetHitsNearCache() {
+        final HBaseCache cache = newCache("users", Duration.ofMinutes(1), 100);
+        cache.put(1, "张三");
+
+        assertEquals("张三", cache.get(1, String.class));
+        assertEquals(1, cache.getNearHits());
+        assertEquals(0, cache.getRemoteHits());
+        assertNull(cache.get(2));
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void revalidatesAgainstWritesFromOtherInstances() throws InterruptedException {
+        final HBaseCache writer = newCache("users", Duration.ofMinutes(1), 100);
+        final HBaseCache reader = newCache("users", Duration.ZERO, 100);
+        writer.put(1, "张三");
+
+        assertEquals("张三", reader.get(1, String.class));
+        assertEquals(1, reader.getRemoteHits());
+        // 超过校验间隔
+        Thread.sleep(5);
+        assertEquals("张三", reader.get(1, String.class));
+        assertEquals(1, reader.getRevalidations());
+        assertEquals(1, reader.getNearHits());
+
+        writer.put(1, "李四");
+        Thread.sleep(5);
+        assertEquals("李四", reader.get(1, String.class));
+        assertEquals(2, reader.getRevalidations());
+        assertEquals(2, reader.getRemoteHits());
+    }
+
+    @Test
+    public void evictRemovesValueAndLaterPutIsVisible() {
+        final HBaseCache cache = newCache("users", Duration.ofMinutes(1), 100);
+        final HBaseCache other = newCache("users", Duration.ZERO, 0);
+        cache.put(1, "张三");
+        assertEquals("张三", other.get(1, String.class));
+
+        cache.evict(1);
+        assertNull(cache.get(1));
+        assertNull(other.get(1));
+        assertEquals(0, hbase.getRowCount("spring_cache"));
+
+        // 删除使用本实例的版本作为时间戳，紧接着的写入版本更大，不会被删除标记遮住
+        cache.put(1, "李四");
+        assertEquals("李四", other.get(1, String.class));
+    }
+
+    /**
+     * 内存HBase不保留删除标记，直接校验删除使用的时间戳：
+     * 不指定时间戳时服务端使用自己的时间，可能遮住本实例之后以较小版本写入的值
+     */
+    @Test
+    public void evictDeletesAtGeneratedVersion() {
+        final List<Mutation> mutations = new ArrayList<>();
+        final HBaseTemplate recording = new HBaseTemplate(hbase.getConfiguration()) {
+            @Override
+            public void saveOrUpdate(String tableName, Mutation mutation) {
+                mutations.add(mutation);
+                super.saveOrUpdate(tableName, mutation);
+            }
+        };
+        recording.setConnection(hbase.getConnection());
+        try {
+            final HBaseCacheSettings settings = new HBaseCacheSettings();
+            final HBaseCache cache = new HBaseCache("users", recording, settings, new CacheValueCodec());
+            cache.put(1, "张三");
+            cache.evict(1);
+            cache.put(1, "李四");
+
+            assertEquals(3, mutations.size());
+            final long firstVersion = ((Put) mutations.get(0)).getTimeStamp();
+            final Delete delete = (Delete) mutations.get(1);
+            final List<Cell> markers = delete.getFamilyCellMap().get(Bytes.toBytes(settings.getFamily()));
+            assertEquals(1, markers.size());
+            final long deleteVersion = markers.get(0).getTimestamp();
+            assertNotEquals(HConstants.LATEST_TIMESTAMP, deleteVersion);
+            assertTrue(deleteVersion > firstVersion);
+            assertTrue(((Put) mutations.get(2)).getTimeStamp() > deleteVersion);
+            assertEquals("李四", newCache("users", Duration.ZERO, 0).get(1, String.class));
+        } finally {
+            recording.destroy();
+        }
+    }
+
+    @Test
+    public void putIfAbsentKeepsExistingValue() {
+        final HBaseCache cache = newCache("users", Duration.ofMinutes(1), 100);
+        assertNull(cache.putIfAbsent(1, "张三"));
+
+        final Cache.ValueWrapper existing = cache.putIfAbsent(1, "李四");
+        assertNotNull(existing);
+        assertEquals("张三", existing.get());
+        assertEquals("张三", newCache("users", Duration.ZERO, 0).get(1, String.class));
+    }
+
+    @Test
+    public void clearOnlyRemovesRowsOfThisCache() {
+        final HBaseCache users = newCache("users", Duration.ofMinutes(1), 100);
+        final HBaseCache orders = newCache("orders", Duration.ofMinutes(1), 100);
+        for (int i = 0; i < 10; i++) {
+            users.put(i, "user" + i);
+            orders.put(i, "order" + i);
+        }
+
+        users.clear();
+        assertEquals(0, users.getNearCacheSize());
+        assertEquals(10, hbase.getRowCount("spring_cache"));
+        assertNull(users.get(3));
+        assertEquals("order3", orders.get(3, String.class));
+
+        users.put(3, "user3");
+        assertEquals("user3", newCache("users", Duration.ZERO, 0).get(3, String.class));
+    }
+
+    @Test
+    public void nearCacheIsBounded() {
+        final HBaseCache cache = newCache("users", Duration.ofMinutes(1), 20);
+        for (int i = 0; i < 200; i++) {
+            cache.put(i, "user" + i);
+        }
+        assertTrue(cache.getNearCacheSize() <= 20);
+        for (int i = 0; i < 200; i++) {
+            assertEquals("user" + i, cache.get(i, String.class));
+        }
+        assertTrue(cache.getNearCacheSize() <= 20);
+        assertTrue(cache.getRemoteHits() > 0);
+    }
+
+    @Test
+    public void nearCacheKeepsNewerVersion() {
+        final NearCache nearCache = new NearCache(3);
+        nearCache.put("a", new NearCache.Entry("new", 2, Long.MAX_VALUE, 0));
+        nearCache.putIfNewer("a", new NearCache.Entry("old", 1, Long.MAX_VALUE, 0));
+        assertEquals("new", nearCache.get("a").value);
+
+        for (int i = 0; i < 10; i++) {
+            nearCache.put("k" + i, new NearCache.Entry(i, 1, Long.MAX_VALUE, 0));
+        }
+        assertTrue(nearCache.size() > 0 && nearCache.size() <= 3);
+        nearCache.clear();
+        assertEquals(0, nearCache.size());
+    }
+
+    private HBaseCache newCache(String name, Duration refresh, int nearCacheSize) {
+        final HBaseCacheSettings settings = new HBaseCacheSettings();
+        settings.setNearCacheRefresh(refresh);
+        settings.setNearCacheSize(nearCacheSize);
+        return new HBaseCache(name, template, settings, new CacheValueCodec());
+    }
+}
@@ -0,0 +1,125 @@
+package com.spring4all.spring.boot.starter.hbase.codec;
+
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class ValueCodecsTest {
+
+    @Test
+    public void fixedWidthRoundTrip() {
+        assertEquals(Integer.valueOf(-42), ValueCodecs.INT.decode(ValueCodecs.INT.encode(-42)));
+        assertEquals(4, ValueCodecs.INT.encode(7).length);
+        assertEquals(Long.valueOf(Long.MIN_VALUE), ValueCodecs.LONG.decode(ValueCodecs.LONG.encode(Long.MIN_VALUE)));
+        assertEquals(3.5d, ValueCodecs.DOUBLE.decode(ValueCodecs.DOUBLE.encode(3.5d)), 0);
+        final Date now = new Date();
+        assertEquals(now, ValueCodecs.DATE.decode(ValueCodecs.DATE.encode(now)));
+    }
+
+    @Test
+    public void varLong() {
+        assertEquals(1, ValueCodecs.VAR_LONG.encode(0L).length);
+        assertEquals(1, ValueCodecs.VAR_LONG.encode(-1L).length);
+        assertEquals(2, ValueCodecs.VAR_LONG.encode(300L).length);
+        for (long value : new long[]{0, 1, -1, 63, -64, 300, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            assertEquals(Long.valueOf(value), ValueCodecs.VAR_LONG.decode(ValueCodecs.VAR_LONG.encode(value)));
+        }
+        assertEquals(Integer.valueOf(-12345), ValueCodecs.VAR_INT.decode(ValueCodecs.VAR_INT.encode(-12345)));
+    }
+
+    @Test
+    public void compressedLargeValue() {
+        final ValueCodec<String> codec = ValueCodecs.compressed(ValueCodecs.STRING);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            builder.append("{\"name\":\"JThink\",\"age\":").append(i).append('}');
+        }
+        final String json = builder.toString();
+        final byte[] bytes = codec.encode(json);
+        assertTrue(bytes.length < Bytes.toBytes(json).length);
+        assertEquals(json, codec.decode(bytes));
+
+        final byte[] small = codec.encode("abc");
+        assertEquals(4, small.length);
+        assertEquals("abc", codec.decode(small));
+    }
+
+    @Test
+    public void schemaRoundTrip() {
+        final ColumnSchema schema = new ColumnSchema()
+                .column("age", ValueCodecs.INT)
+                .column("f", "score", ValueCodecs.VAR_LONG);
+        final Map<String, Object> values = new HashMap<>();
+        values.put("name", "JThink");
+        values.put("age", 18);
+        values.put("score", 99L);
+
+        final Put put = schema.toPut(Bytes.toBytes("row1"), "f", values);
+        final Result result = Result.create(put.getFamilyCellMap().get(Bytes.toBytes("f")));
+        final Map<String, Object> decoded = schema.decode(result);
+
+        assertEquals("JThink", decoded.get("name"));
+        assertEquals(18, decoded.get("age"));
+        assertEquals(99L, decoded.get("score"));
+    }
+
+    @Test
+    public void beanRowMapperReadsLegacyStrings() {
+        final Put put = new Put(Bytes.toBytes("row1"))
+                .addColumn(Bytes.toBytes("f"), Bytes.toBytes("name"), Bytes.toBytes("JThink"))
+                .addColumn(Bytes.toBytes("f"), Bytes.toBytes("age"), Bytes.toBytes("18"))
+                .addColumn(Bytes.toBytes("f"), Bytes.toBytes("unknown"), Bytes.toBytes("x"));
+        final Person person = new BeanRowMapper<>(Person.class).mapRow(Result.create(put.getFamilyCellMap().get(Bytes.toBytes("f"))), 0);
+
+        assertEquals("JThink", person.getName());
+        assertEquals(18, person.getAge());
+    }
+
+    @Test
+    public void beanRowMapperWithTypedSchema() {
+        final ColumnSchema schema = ColumnSchema.forBean(Person.class);
+        final Person source = new Person();
+        source.setName("JThink");
+        source.setAge(18);
+        final Put put = schema.toPut(Bytes.toBytes("row1"), "f", source);
+        assertEquals(4, put.get(Bytes.toBytes("f"), Bytes.toBytes("age")).get(0).getValueLength());
+
+        final Person person = new BeanRowMapper<>(Person.class, schema).mapRow(Result.create(put.getFamilyCellMap().get(Bytes.toBytes("f"))), 0);
+        assertEquals("JThink", person.getName());
+        assertEquals(18, person.getAge());
+    }
+
+    public static class Person {
+
+        private String name;
+
+        private int age;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public void setAge(int age) {
+            this.age = age;
+        }
+    }
+}
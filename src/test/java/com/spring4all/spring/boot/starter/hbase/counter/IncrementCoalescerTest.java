@@ -0,0 +1,194 @@
+package com.spring4all.spring.boot.starter.hbase.counter;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class IncrementCoalescerTest {
+
+    private static final String TABLE = "counter";
+
+    private static final long NEVER = TimeUnit.HOURS.toMillis(1);
+
+    private final InMemoryHBase hbase = new InMemoryHBase();
+
+    private HBaseTemplate template;
+
+    private IncrementCoalescer coalescer;
+
+    @Before
+    public void setUp() {
+        hbase.createTable(TABLE, "c");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+    }
+
+    @After
+    public void tearDown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+        template.destroy();
+    }
+
+    @Test
+    public void concurrentIncrementsAreNotLost() throws Exception {
+        coalescer = new IncrementCoalescer(template, 5, 100);
+        final int threads = 8;
+        final int perThread = 2000;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            final String row = "row" + (i % 2);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int j = 0; j < perThread; j++) {
+                    coalescer.increment(TABLE, row, "c", "hits", 1);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        coalescer.flush();
+
+        assertEquals(threads / 2 * perThread, counter("row0"));
+        assertEquals(threads / 2 * perThread, counter("row1"));
+        assertEquals(0, coalescer.getFailedRows());
+    }
+
+    @Test
+    public void flushesWhenPendingIncrementsReachLimit() throws Exception {
+        coalescer = new IncrementCoalescer(template, NEVER, 10);
+        for (int i = 0; i < 9; i++) {
+            coalescer.increment(TABLE, "row", "c", "hits", 1);
+        }
+        assertEquals(9, coalescer.getPendingIncrements());
+        assertEquals(0, counter("row"));
+
+        coalescer.increment(TABLE, "row", "c", "hits", 1);
+        awaitCounter("row", 10);
+        assertEquals(0, coalescer.getPendingIncrements());
+    }
+
+    @Test
+    public void flushesOnInterval() throws Exception {
+        coalescer = new IncrementCoalescer(template, 20, Long.MAX_VALUE);
+        coalescer.increment(TABLE, "row", "c", "hits", 3);
+        coalescer.increment(TABLE, "row", "c", "misses", 2);
+        awaitCounter("row", 3);
+        assertEquals(2, counter("row", "misses"));
+        // 两列合并为一个increment
+        assertEquals(1, coalescer.getFlushedRows());
+    }
+
+    @Test
+    public void closeDrainsPendingIncrements() {
+        coalescer = new IncrementCoalescer(template, NEVER, Long.MAX_VALUE);
+        coalescer.increment(TABLE, "row", "c", "hits", 5);
+        coalescer.increment(TABLE, "other", "c", "hits", 7);
+        coalescer.close();
+
+        assertEquals(5, counter("row"));
+        assertEquals(7, counter("other"));
+        try {
+            coalescer.increment(TABLE, "row", "c", "hits", 1);
+            fail();
+        } catch (IllegalStateException expected) {
+            // 关闭后不再接收
+        }
+    }
+
+    @Test
+    public void failedFlushIsRetriedOnNextFlush() {
+        coalescer = new IncrementCoalescer(template, NEVER, Long.MAX_VALUE);
+        final List<Increment> failed = new CopyOnWriteArrayList<>();
+        coalescer.setListener((tableName, increments, cause) -> failed.addAll(increments));
+        coalescer.increment(TABLE, "row", "c", "hits", 4);
+        coalescer.increment(TABLE, "other", "c", "hits", 1);
+
+        hbase.getFaults().failNext(1);
+        coalescer.flush();
+        assertEquals(1, failed.size());
+        assertEquals(1, coalescer.getFailedRows());
+        assertEquals(1, coalescer.getFlushedRows());
+        final String failedRow = Bytes.toString(failed.get(0).getRow());
+        final String flushedRow = "row".equals(failedRow) ? "other" : "row";
+        assertEquals(0, counter(failedRow));
+
+        coalescer.increment(TABLE, failedRow, "c", "hits", 10);
+        coalescer.increment(TABLE, flushedRow, "c", "hits", 10);
+        coalescer.flush();
+        assertEquals(1, failed.size());
+        assertEquals(4 + 1 + 20, counter("row") + counter("other"));
+        assertEquals(3, coalescer.getFlushedRows());
+    }
+
+    @Test
+    public void addToEvictedCounterIsRerouted() {
+        coalescer = new IncrementCoalescer(template, NEVER, Long.MAX_VALUE);
+        final CounterCell cell = new CounterCell(TABLE, "row", "c", "hits");
+        coalescer.increment(TABLE, "row", "c", "hits", 1);
+        coalescer.flush();
+        final IncrementCoalescer.Counter stale = coalescer.getCounter(cell);
+        assertNotNull(stale);
+
+        // 连续两次没有增量后移除，再一次flush后从已移除列表中丢弃
+        coalescer.flush();
+        coalescer.flush();
+        coalescer.flush();
+        assertNull(coalescer.getCounter(cell));
+
+        // 移除前取得引用的线程累加时被拒绝，增量不会留在已丢弃的计数器中
+        assertFalse(stale.add(5));
+        coalescer.flush();
+        assertEquals(1, counter("row"));
+
+        coalescer.increment(TABLE, "row", "c", "hits", 5);
+        assertNotSame(stale, coalescer.getCounter(cell));
+        coalescer.flush();
+        assertEquals(6, counter("row"));
+    }
+
+    private void awaitCounter(String row, long expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (counter(row) != expected && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertEquals(expected, counter(row));
+    }
+
+    private long counter(String row) {
+        return counter(row, "hits");
+    }
+
+    private long counter(String row, String qualifier) {
+        final byte[] value = template.execute(TABLE, (Table table) -> table.get(new Get(Bytes.toBytes(row))))
+                .getValue(Bytes.toBytes("c"), Bytes.toBytes(qualifier));
+        return value == null ? 0 : Bytes.toLong(value);
+    }
+}
@@ -0,0 +1,176 @@
+package com.spring4all.spring.boot.starter.hbase.delete;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.api.RowMapper;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.filter.CompareFilter;
+import org.apache.hadoop.hbase.filter.SingleColumnValueFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseRangeDeleterTest {
+
+    private static final String TABLE = "events";
+
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+
+    private static final RowMapper<String> ROW_KEY = (result, rowNum) -> Bytes.toString(result.getRow());
+
+    private final InMemoryHBase hbase = new InMemoryHBase();
+
+    private HBaseTemplate template;
+
+    @Before
+    public void setUp() throws Exception {
+        final HTableDescriptor descriptor = new HTableDescriptor(TableName.valueOf(TABLE));
+        descriptor.addFamily(new HColumnDescriptor(FAMILY));
+        hbase.createTable(descriptor, new byte[][]{Bytes.toBytes("r3"), Bytes.toBytes("r6")});
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        for (int i = 0; i < 9; i++) {
+            template.saveOrUpdate(TABLE, new Put(Bytes.toBytes("r" + i))
+                    .addColumn(FAMILY, Bytes.toBytes("type"), Bytes.toBytes(i % 2 == 0 ? "even" : "odd"))
+                    .addColumn(FAMILY, Bytes.toBytes("value"), Bytes.toBytes(i)));
+        }
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void fallsBackToScanWhenEndpointIsNotLoaded() {
+        final CountingEndpoint endpoint = new CountingEndpoint(null);
+        template.setBulkDeleteEndpoint(endpoint);
+
+        final RangeDeleteStats stats = template.deleteRange(request().startRow("r2").stopRow("r7").build());
+        assertFalse(stats.isServerSide());
+        assertEquals(3, stats.getRegions());
+        assertEquals(5, stats.getRows());
+        assertEquals(0, endpoint.calls.get());
+        assertEquals(Arrays.asList("r0", "r1", "r7", "r8"), template.find(TABLE, new Scan(), ROW_KEY));
+    }
+
+    @Test
+    public void reportsProgressPerBatchAndRegion() {
+        final AtomicLong lastProgress = new AtomicLong();
+        final AtomicInteger progressCalls = new AtomicInteger();
+        final LongAdder regionRows = new LongAdder();
+        final AtomicInteger regions = new AtomicInteger();
+        final RangeDeleteListener listener = new RangeDeleteListener() {
+            @Override
+            public void onProgress(String tableName, long deletedRows) {
+                progressCalls.incrementAndGet();
+                lastProgress.accumulateAndGet(deletedRows, Math::max);
+            }
+
+            @Override
+            public void onRegionCompleted(String tableName, ScanRange range, long rows) {
+                regions.incrementAndGet();
+                regionRows.add(rows);
+            }
+        };
+
+        final RangeDeleteStats stats = template.deleteRange(request().batchSize(2).listener(listener).build());
+        assertEquals(9, stats.getRows());
+        assertEquals(9, lastProgress.get());
+        // 每个region3行，batchSize为2时每个region提交两批
+        assertEquals(6, progressCalls.get());
+        assertEquals(3, regions.get());
+        assertEquals(9, regionRows.sum());
+        assertEquals(0, hbase.getRowCount(TABLE));
+    }
+
+    @Test
+    public void deletesOnlyRowsMatchingFilter() {
+        final SingleColumnValueFilter odd = new SingleColumnValueFilter(FAMILY, Bytes.toBytes("type"),
+                CompareFilter.CompareOp.EQUAL, Bytes.toBytes("odd"));
+        odd.setFilterIfMissing(true);
+
+        final RangeDeleteStats stats = template.deleteRange(request().filter(odd).build());
+        assertEquals(4, stats.getRows());
+        assertEquals(Arrays.asList("r0", "r2", "r4", "r6", "r8"), template.find(TABLE, new Scan(), ROW_KEY));
+    }
+
+    @Test
+    public void usesEndpointWhenLoaded() {
+        final CountingEndpoint endpoint = new CountingEndpoint(42L);
+        template.setBulkDeleteEndpoint(endpoint);
+        final LongAdder progress = new LongAdder();
+        final RangeDeleteListener listener = new RangeDeleteListener() {
+            @Override
+            public void onProgress(String tableName, long deletedRows) {
+                progress.add(deletedRows);
+            }
+        };
+
+        final RangeDeleteStats stats = template.deleteRange(request().listener(listener).build());
+        assertTrue(stats.isServerSide());
+        assertEquals(0, stats.getRegions());
+        assertEquals(42, stats.getRows());
+        assertEquals(42, progress.sum());
+        assertEquals(1, endpoint.calls.get());
+        assertEquals(9, hbase.getRowCount(TABLE));
+
+        final RangeDeleteStats clientSide = template.deleteRange(request().useEndpoint(false).build());
+        assertFalse(clientSide.isServerSide());
+        assertEquals(9, clientSide.getRows());
+        assertEquals(1, endpoint.calls.get());
+    }
+
+    private static RangeDeleteRequest.RangeDeleteRequestBuilder request() {
+        return RangeDeleteRequest.builder().tableName(TABLE).parallelism(2);
+    }
+
+    /**
+     * rows为null时按表描述检查协处理器，内存表上未加载
+     */
+    private static class CountingEndpoint implements BulkDeleteEndpoint {
+
+        private final Long rows;
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingEndpoint(Long rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public String getCoprocessorClassName() {
+            return "org.apache.hadoop.hbase.coprocessor.example.BulkDeleteEndpoint";
+        }
+
+        @Override
+        public boolean isAvailable(Connection connection, String tableName) throws IOException {
+            return rows != null || BulkDeleteEndpoint.super.isAvailable(connection, tableName);
+        }
+
+        @Override
+        public long delete(Connection connection, String tableName, Scan scan, int batchSize) {
+            calls.incrementAndGet();
+            return rows;
+        }
+    }
+}
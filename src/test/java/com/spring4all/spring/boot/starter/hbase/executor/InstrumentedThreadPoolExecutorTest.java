@@ -0,0 +1,133 @@
+package com.spring4all.spring.boot.starter.hbase.executor;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class InstrumentedThreadPoolExecutorTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private InstrumentedThreadPoolExecutor executor;
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void abortCountsRejections() {
+        executor = saturated(RejectionPolicy.ABORT, 0);
+        try {
+            executor.execute(() -> {
+            });
+            fail();
+        } catch (RejectedExecutionException expected) {
+            // 队列已满
+        }
+        assertEquals(1, executor.getRejectedCount());
+        assertEquals(1, executor.getQueueCapacity());
+    }
+
+    @Test
+    public void callerRunsOnSubmittingThread() {
+        executor = saturated(RejectionPolicy.CALLER_RUNS, 0);
+        final AtomicReference<Thread> runner = new AtomicReference<>();
+        executor.execute(() -> runner.set(Thread.currentThread()));
+        assertSame(Thread.currentThread(), runner.get());
+        assertEquals(1, executor.getRejectedCount());
+    }
+
+    @Test
+    public void blockWaitsForQueueThenRejects() {
+        executor = saturated(RejectionPolicy.BLOCK, 50);
+        final long begin = System.nanoTime();
+        try {
+            executor.execute(() -> {
+            });
+            fail();
+        } catch (RejectedExecutionException expected) {
+            // 等待超时
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin) >= 40);
+        assertEquals(1, executor.getRejectedCount());
+    }
+
+    @Test
+    public void blockAcceptsWhenQueueDrains() throws InterruptedException {
+        executor = saturated(RejectionPolicy.BLOCK, 5000);
+        final CountDownLatch done = new CountDownLatch(1);
+        new Thread(() -> {
+            sleep(50);
+            release.countDown();
+        }).start();
+        executor.execute(done::countDown);
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(1, executor.getRejectedCount());
+    }
+
+    @Test
+    public void namesPlatformThreads() throws InterruptedException {
+        executor = new InstrumentedThreadPoolExecutor(1, 1, 1000, 1, RejectionPolicy.ABORT, 0,
+                ThreadType.PLATFORM, "hbase-test-");
+        final AtomicReference<String> name = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            name.set(Thread.currentThread().getName());
+            done.countDown();
+        });
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals("hbase-test-0", name.get());
+    }
+
+    /**
+     * 一个线程被占用、队列中有一个任务的线程池
+     */
+    private InstrumentedThreadPoolExecutor saturated(RejectionPolicy policy, long blockTimeoutMs) {
+        final InstrumentedThreadPoolExecutor pool = new InstrumentedThreadPoolExecutor(1, 1, 1000, 1, policy,
+                blockTimeoutMs, ThreadType.PLATFORM, "hbase-test-");
+        final CountDownLatch started = new CountDownLatch(1);
+        pool.execute(() -> {
+            started.countDown();
+            await(release);
+        });
+        try {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+        pool.execute(() -> {
+        });
+        assertEquals(0, pool.getQueue().remainingCapacity());
+        return pool;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
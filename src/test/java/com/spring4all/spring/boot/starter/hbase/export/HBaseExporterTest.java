@@ -0,0 +1,171 @@
+package com.spring4all.spring.boot.starter.hbase.export;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseExporterTest {
+
+    private static final String TABLE = "people";
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final InMemoryHBase hbase = new InMemoryHBase();
+
+    private HBaseTemplate template;
+
+    private Path outputDir;
+
+    @Before
+    public void setUp() throws Exception {
+        createTable("r3", "r6");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        outputDir = folder.getRoot().toPath().resolve("export");
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void exportsEachRegionAndSkipsCompletedOnResume() throws IOException {
+        final ExportStats first = template.export(request().build());
+        assertEquals(3, first.getExportedRegions());
+        assertEquals(9, first.getRows());
+        assertEquals(expectedRows(), exportedRows());
+        assertEquals(3, Files.readAllLines(outputDir.resolve(HBaseExporter.CHECKPOINT_FILE)).size());
+
+        final ExportStats second = template.export(request().build());
+        assertEquals(0, second.getExportedRegions());
+        assertEquals(3, second.getSkippedRegions());
+        assertEquals(0, second.getRows());
+        assertEquals(expectedRows(), exportedRows());
+    }
+
+    @Test
+    public void resumeAfterRegionChangeExportsOnlyMissingRanges() throws Exception {
+        final ExportStats partial = template.export(request().stopRow("r5").build());
+        assertEquals(5, partial.getRows());
+
+        // region边界变化：[r3, r6)拆分合并为[r2, r7)
+        hbase.dropTable(TABLE);
+        createTable("r2", "r7");
+
+        final ExportStats resumed = template.export(request().build());
+        assertEquals(4, resumed.getRows());
+        assertEquals(1, resumed.getSkippedRegions());
+        assertEquals(expectedRows(), exportedRows());
+    }
+
+    @Test
+    public void removesPartsMissingFromCheckpoint() throws IOException {
+        Files.createDirectories(outputDir);
+        Files.write(outputDir.resolve("part-0123456789abcdef.csv"), "rowkey\nr1,f,name,1,x\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(outputDir.resolve("part-fedcba9876543210.csv.inprogress"), "rowkey\n".getBytes(StandardCharsets.UTF_8));
+
+        template.export(request().build());
+        assertFalse(Files.exists(outputDir.resolve("part-0123456789abcdef.csv")));
+        assertFalse(Files.exists(outputDir.resolve("part-fedcba9876543210.csv.inprogress")));
+        assertEquals(expectedRows(), exportedRows());
+    }
+
+    @Test
+    public void restartWithoutResumeReplacesPreviousParts() throws IOException {
+        template.export(request().stopRow("r5").build());
+        final ExportStats restarted = template.export(request().resume(false).build());
+        assertEquals(3, restarted.getExportedRegions());
+        assertEquals(9, restarted.getRows());
+        assertEquals(expectedRows(), exportedRows());
+        assertEquals(3, Files.readAllLines(outputDir.resolve(HBaseExporter.CHECKPOINT_FILE)).size());
+    }
+
+    @Test
+    public void clipRemovesCompletedIntervals() {
+        final List<ScanRange> completed = Arrays.asList(range("", "b"), range("c", "d"), range("f", ""));
+        final List<ScanRange> remaining = HBaseExporter.clip(range("a", "g"), completed);
+        assertEquals(2, remaining.size());
+        assertEquals("[b, c)", remaining.get(0).toString());
+        assertEquals("[d, f)", remaining.get(1).toString());
+
+        assertTrue(HBaseExporter.clip(range("a", "b"), completed).isEmpty());
+        assertEquals("[b, )", HBaseExporter.clip(range("b", ""), Collections.singletonList(range("a", "b"))).get(0).toString());
+    }
+
+    private ExportRequest.ExportRequestBuilder request() {
+        return ExportRequest.builder().tableName(TABLE).outputDir(outputDir).parallelism(2);
+    }
+
+    private void createTable(String... splits) throws Exception {
+        final HTableDescriptor descriptor = new HTableDescriptor(TableName.valueOf(TABLE));
+        descriptor.addFamily(new HColumnDescriptor("f"));
+        final byte[][] splitKeys = new byte[splits.length][];
+        for (int i = 0; i < splits.length; i++) {
+            splitKeys[i] = Bytes.toBytes(splits[i]);
+        }
+        hbase.createTable(descriptor, splitKeys);
+        final HBaseTemplate writer = new HBaseTemplate(hbase.getConfiguration());
+        writer.setConnection(hbase.getConnection());
+        for (int i = 0; i < 9; i++) {
+            writer.saveOrUpdate(TABLE, new Put(Bytes.toBytes("r" + i)).addColumn(Bytes.toBytes("f"), Bytes.toBytes("name"), Bytes.toBytes("n" + i)));
+        }
+        writer.destroy();
+    }
+
+    private static List<String> expectedRows() {
+        final List<String> rows = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            rows.add("r" + i);
+        }
+        return rows;
+    }
+
+    /**
+     * 所有分片中的rowKey，排序后返回，重复导出时会出现重复值
+     */
+    private List<String> exportedRows() throws IOException {
+        final List<String> rows = new ArrayList<>();
+        try (DirectoryStream<Path> parts = Files.newDirectoryStream(outputDir, "part-*.csv")) {
+            for (Path part : parts) {
+                final List<String> lines = Files.readAllLines(part, StandardCharsets.UTF_8);
+                for (String line : lines.subList(1, lines.size())) {
+                    rows.add(line.substring(0, line.indexOf(',')));
+                }
+            }
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private static ScanRange range(String start, String stop) {
+        return new ScanRange(Bytes.toBytes(start), Bytes.toBytes(stop));
+    }
+}
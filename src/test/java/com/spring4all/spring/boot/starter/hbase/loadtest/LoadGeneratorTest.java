@@ -0,0 +1,74 @@
+package com.spring4all.spring.boot.starter.hbase.loadtest;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class LoadGeneratorTest {
+
+    @Test
+    public void runsMixedWorkloadAgainstInMemoryHBase() {
+        final InMemoryHBase hbase = new InMemoryHBase();
+        hbase.createTable("load", "cf");
+        final HBaseTemplate template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        try {
+            final Workload workload = Workload.builder()
+                    .tableName("load")
+                    .recordCount(500)
+                    .getWeight(1).multiGetWeight(1).scanPageWeight(1).writeWeight(1)
+                    .build();
+            final LoadGenerator generator = new LoadGenerator(template);
+            generator.load(workload);
+            assertEquals(500, hbase.getRowCount("load"));
+
+            final LoadReport report = generator.run(workload, LoadProfile.builder()
+                    .threads(2)
+                    .warmup(Duration.ZERO)
+                    .duration(Duration.ofSeconds(30))
+                    .maxOperations(400)
+                    .build());
+            assertEquals(400, report.getOperations());
+            assertEquals(0, report.getErrors());
+            assertEquals(OperationType.values().length, report.getStats().size());
+            assertTrue(report.getThroughput() > 0);
+            assertEquals(500, hbase.getRowCount("load"));
+        } finally {
+            template.destroy();
+        }
+    }
+
+    @Test
+    public void zipfianFavoursFirstRanks() {
+        final KeyChooser.Zipfian zipfian = new KeyChooser.Zipfian(1000);
+        final Random random = new Random(1);
+        int hottest = 0;
+        for (int i = 0; i < 10000; i++) {
+            final long rank = zipfian.nextRank(random);
+            assertTrue(rank >= 0 && rank < 1000);
+            if (rank == 0) {
+                hottest++;
+            }
+            final long key = zipfian.next(random);
+            assertTrue(key >= 0 && key < 1000);
+        }
+        // theta=0.99时排名第一的行约占1000行总请求的13%
+        assertTrue(hottest > 1000);
+    }
+
+    @Test
+    public void rowKeysSortByIndex() {
+        final Workload workload = Workload.builder().tableName("t").build();
+        assertEquals("user0000000042", LoadGenerator.rowKey(workload, 42));
+        assertTrue(LoadGenerator.rowKey(workload, 9).compareTo(LoadGenerator.rowKey(workload, 10)) < 0);
+    }
+}
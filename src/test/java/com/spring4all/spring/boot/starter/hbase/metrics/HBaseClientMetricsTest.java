@@ -0,0 +1,77 @@
+package com.spring4all.spring.boot.starter.hbase.metrics;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.diagnostics.SlowOperationLog;
+import com.spring4all.spring.boot.starter.hbase.executor.InstrumentedThreadPoolExecutor;
+import com.spring4all.spring.boot.starter.hbase.executor.RejectionPolicy;
+import com.spring4all.spring.boot.starter.hbase.executor.ThreadType;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaLimits;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaManager;
+import com.spring4all.spring.boot.starter.hbase.quota.QuotaMode;
+import com.spring4all.spring.boot.starter.hbase.write.MutationCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseClientMetricsTest {
+
+    private final HBaseTemplate template = new HBaseTemplate(HBaseConfiguration.create());
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private InstrumentedThreadPoolExecutor executor;
+
+    @After
+    public void tearDown() {
+        template.destroy();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void bindsOnlyConfiguredFeatures() {
+        new HBaseClientMetrics(template, null).bindTo(registry);
+
+        assertNotNull(registry.find("hbase.client.counter.pending").gauge());
+        assertEquals(0, registry.find("hbase.client.counter.pending").gauge().value(), 0);
+        assertNull(registry.find("hbase.client.executor.rejected").functionCounter());
+        assertNull(registry.find("hbase.client.mutator.coalesced").functionCounter());
+        assertNull(registry.find("hbase.client.slow.operations").functionCounter());
+        assertNull(registry.find("hbase.client.quota.throttled").functionCounter());
+        // 未使用计数器时不创建
+        assertFalse(template.isIncrementCoalescerCreated());
+    }
+
+    @Test
+    public void bindsExecutorAndFeatures() {
+        executor = new InstrumentedThreadPoolExecutor(1, 2, 1000, 16, RejectionPolicy.ABORT, 0,
+                ThreadType.PLATFORM, "hbase-test-");
+        template.setMutationCoalescer(new MutationCoalescer());
+        template.setSlowOperationLog(new SlowOperationLog(100, false));
+        final QuotaLimits limits = new QuotaLimits();
+        limits.setReadRequestsPerSecond(10d);
+        template.setQuotaManager(new QuotaManager(Collections.singletonMap("people_table", limits), null, QuotaMode.REJECT, 0));
+
+        new HBaseClientMetrics(template, executor, Tags.of("cluster", "test")).bindTo(registry);
+
+        assertEquals(0, registry.find("hbase.client.executor.rejected").tag("cluster", "test").functionCounter().count(), 0);
+        assertEquals(16, registry.find("hbase.client.executor.queue.remaining").gauge().value(), 0);
+        assertNotNull(registry.find("executor.pool.size").tag("name", "hbase.client").gauge());
+        assertNotNull(registry.find("hbase.client.mutator.coalesced").functionCounter());
+        assertNotNull(registry.find("hbase.client.mutator.dropped.cells").functionCounter());
+        assertNotNull(registry.find("hbase.client.slow.operations").functionCounter());
+        assertNotNull(registry.find("hbase.client.quota.rejected").tag("limiter", "table:people_table").functionCounter());
+    }
+}
@@ -0,0 +1,142 @@
+package com.spring4all.spring.boot.starter.hbase.mock;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.api.RowMapper;
+import com.spring4all.spring.boot.starter.hbase.batch.BatchResult;
+import com.spring4all.spring.boot.starter.hbase.write.WriteBatchScope;
+import org.apache.hadoop.hbase.HColumnDescriptor;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Row;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.PrefixFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class InMemoryHBaseTest {
+
+    private static final String TABLE = "user";
+
+    private static final byte[] FAMILY = Bytes.toBytes("info");
+
+    private static final RowMapper<String> ROW_KEY = (result, rowNum) -> Bytes.toString(result.getRow());
+
+    private final InMemoryHBase hbase = new InMemoryHBase();
+
+    private HBaseTemplate template;
+
+    @Before
+    public void setUp() {
+        hbase.createTable(TABLE, "info");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        for (int i = 0; i < 10; i++) {
+            template.saveOrUpdate(TABLE, put("row" + i, "name", "n" + i));
+        }
+        hbase.getFaults().reset();
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void getReturnsLatestValue() {
+        template.saveOrUpdate(TABLE, put("row1", "name", "updated"));
+        final String name = template.get(TABLE, "row1", (result, rowNum) -> Bytes.toString(result.getValue(FAMILY, Bytes.toBytes("name"))));
+        assertEquals("updated", name);
+        assertEquals(10, hbase.getRowCount(TABLE));
+    }
+
+    @Test
+    public void pagesForwardAndBackward() {
+        assertEquals(Arrays.asList("row0", "row1", "row2"), template.findFirstPage(TABLE, "row0", "row9", 3, ROW_KEY));
+        assertEquals(Arrays.asList("row9", "row8", "row7"), template.findLastPage(TABLE, "row0", "row9~", 3, ROW_KEY));
+    }
+
+    @Test
+    public void scanAppliesFilterAndBatch() {
+        template.saveOrUpdate(TABLE, put("row10", "age", "1"));
+        final Scan scan = new Scan().setFilter(new PrefixFilter(Bytes.toBytes("row1")));
+        assertEquals(Arrays.asList("row1", "row10"), template.find(TABLE, scan, ROW_KEY));
+
+        final Scan batched = new Scan(Bytes.toBytes("row10"), Bytes.toBytes("row11")).setBatch(1);
+        assertEquals(Arrays.asList("row10", "row10"), template.find(TABLE, batched, ROW_KEY));
+    }
+
+    @Test
+    public void keepsConfiguredVersions() throws Exception {
+        final HTableDescriptor descriptor = new HTableDescriptor(TableName.valueOf("versions"));
+        descriptor.addFamily(new HColumnDescriptor(FAMILY).setMaxVersions(2));
+        hbase.createTable(descriptor, null);
+        final byte[] row = Bytes.toBytes("r");
+        for (long ts = 1; ts <= 3; ts++) {
+            template.saveOrUpdate("versions", new Put(row).addColumn(FAMILY, Bytes.toBytes("q"), ts, Bytes.toBytes(ts)));
+        }
+        final Result result = template.execute("versions", (Table table) -> table.get(new Get(row).setMaxVersions()));
+        assertEquals(2, result.size());
+        assertEquals(3L, result.rawCells()[0].getTimestamp());
+    }
+
+    @Test
+    public void injectedFaultSurfacesAsSystemException() {
+        hbase.getFaults().failNext(1);
+        try {
+            template.get(TABLE, "row1", ROW_KEY);
+            fail();
+        } catch (HBaseSystemException expected) {
+            // 注入的故障
+        }
+        assertEquals("row1", template.get(TABLE, "row1", ROW_KEY));
+        assertEquals(2, hbase.getFaults().getCalls("get"));
+    }
+
+    @Test
+    public void batchRetriesFailedActions() {
+        template.setBatchRetrySettings(3, 0);
+        hbase.getFaults().failNext(1);
+        final List<Row> actions = new ArrayList<>();
+        actions.add(put("row20", "name", "a"));
+        actions.add(new Get(Bytes.toBytes("row1")));
+        final BatchResult result = template.batch(TABLE, actions, null);
+        assertFalse(result.hasFailures());
+        assertEquals(1, result.getRetriedActions());
+        assertEquals("row1", Bytes.toString(result.getResult(1).getRow()));
+        assertEquals(11, hbase.getRowCount(TABLE));
+    }
+
+    @Test
+    public void writeBatchFlushesOnce() {
+        try (WriteBatchScope scope = template.openWriteBatch()) {
+            for (int i = 0; i < 5; i++) {
+                template.saveOrUpdate(TABLE, put("batch" + i, "name", "b"));
+            }
+            assertEquals(0, hbase.getFaults().getCalls("flush"));
+            scope.commit();
+        }
+        assertEquals(1, hbase.getFaults().getCalls("flush"));
+        assertEquals(15, hbase.getRowCount(TABLE));
+    }
+
+    private static Put put(String row, String qualifier, String value) {
+        return new Put(Bytes.toBytes(row)).addColumn(FAMILY, Bytes.toBytes(qualifier), Bytes.toBytes(value));
+    }
+}
@@ -0,0 +1,112 @@
+package com.spring4all.spring.boot.starter.hbase.quota;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class QuotaManagerTest {
+
+    @Test
+    public void bucketAllowsDebtAndDelaysNextRequest() {
+        final TokenBucket bucket = new TokenBucket(10);
+        assertEquals(0, bucket.reserve(30, 0));
+        final long wait = bucket.reserve(1, Long.MAX_VALUE);
+        assertTrue("wait " + wait, wait > 1_500_000_000L);
+        assertEquals(-1, bucket.reserve(1, 0));
+    }
+
+    @Test
+    public void rejectModeFailsWhenTableLimitExhausted() throws Exception {
+        final QuotaManager manager = new QuotaManager(limits("people_table", 1), null, QuotaMode.REJECT, 0);
+        manager.acquireReads("people_table", 5);
+        try {
+            manager.acquireReads("people_table", 1);
+            fail();
+        } catch (QuotaExceededException expected) {
+            // expected
+        }
+        manager.acquireReads("other_table", 100);
+        assertEquals(1, manager.getLimiters().iterator().next().getRejected());
+    }
+
+    @Test
+    public void callerLimitAppliesOnlyWithinScope() throws Exception {
+        final QuotaManager manager = new QuotaManager(null, limits("report-job", 1), QuotaMode.REJECT, 0);
+        manager.acquireReads("people_table", 5);
+        manager.acquireReads("people_table", 5);
+        assertFalse(manager.isLimited("people_table"));
+
+        try (CallerContext.Scope ignored = CallerContext.open("report-job")) {
+            assertTrue(manager.isLimited("people_table"));
+            manager.acquireReads("people_table", 5);
+            try {
+                manager.acquireReads("people_table", 1);
+                fail();
+            } catch (QuotaExceededException expected) {
+                // expected
+            }
+        }
+        assertNull(CallerContext.current());
+    }
+
+    @Test
+    public void callerRejectionRefundsTableTokens() throws Exception {
+        final QuotaManager manager = new QuotaManager(limits("people_table", 10), limits("report-job", 1), QuotaMode.REJECT, 0);
+        try (CallerContext.Scope ignored = CallerContext.open("report-job")) {
+            manager.acquireReads("people_table", 5);
+            for (int i = 0; i < 20; i++) {
+                try {
+                    manager.acquireReads("people_table", 5);
+                    fail();
+                } catch (QuotaExceededException expected) {
+                    assertTrue(expected.getMessage().contains("caller:report-job"));
+                }
+            }
+        }
+        // 表上只消耗了第一次的5个令牌，其他调用方不受影响
+        manager.acquireReads("people_table", 5);
+    }
+
+    @Test
+    public void writesThroughTemplateDoNotConsumeReadTokens() {
+        final InMemoryHBase hbase = new InMemoryHBase();
+        hbase.createTable("people_table", "f");
+        final HBaseTemplate template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        template.setQuotaManager(new QuotaManager(limits("people_table", 1), null, QuotaMode.REJECT, 0));
+        try {
+            final Put put = new Put(Bytes.toBytes("row1")).addColumn(Bytes.toBytes("f"), Bytes.toBytes("name"), Bytes.toBytes("张三"));
+            assertFalse(template.batch("people_table", Collections.singletonList(put), null).hasFailures());
+
+            // 每秒1个令牌，允许透支一次：批量写入不消耗读令牌，两次读取都能通过
+            assertEquals("张三", template.get("people_table", "row1", (result, rowNum) -> Bytes.toString(result.value())));
+            assertArrayEquals(new boolean[]{true}, template.exists("people_table", "row1"));
+            try {
+                template.findColumns("people_table", "row1", "f", null, 10);
+                fail();
+            } catch (HBaseSystemException e) {
+                assertTrue(e.getCause() instanceof QuotaExceededException);
+            }
+        } finally {
+            template.destroy();
+        }
+    }
+
+    private static Map<String, QuotaLimits> limits(String name, double readsPerSecond) {
+        final QuotaLimits limits = new QuotaLimits();
+        limits.setReadRequestsPerSecond(readsPerSecond);
+        return Collections.singletonMap(name, limits);
+    }
+}
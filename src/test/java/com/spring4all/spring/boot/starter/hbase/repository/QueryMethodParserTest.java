@@ -0,0 +1,96 @@
+package com.spring4all.spring.boot.starter.hbase.repository;
+
+import lombok.Data;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class QueryMethodParserTest {
+
+    private final EntityMetadata<People> entity = new EntityMetadata<>(People.class);
+
+    @Test
+    public void prefixAndTimeBecomeScanRange() throws Exception {
+        final QueryPlan plan = parse("findByRowKeyPrefixAndTimeBetween", String.class, long.class, long.class);
+        assertEquals(QueryPlan.Kind.FIND, plan.getKind());
+        assertEquals(0, plan.getLimit());
+
+        final Scan scan = plan.toScan(new Object[]{"135", 100L, 200L});
+        assertArrayEquals(Bytes.toBytes("135"), scan.getStartRow());
+        assertArrayEquals(Bytes.toBytes("136"), scan.getStopRow());
+        assertEquals(100L, scan.getTimeRange().getMin());
+        assertEquals(200L, scan.getTimeRange().getMax());
+        assertEquals(2, scan.getFamilyMap().get(Bytes.toBytes("cf")).size());
+    }
+
+    @Test
+    public void topAndColumnOperator() throws Exception {
+        final QueryPlan plan = parse("findTop100ByRowKeyPrefixAndAgeGreaterThan", String.class, int.class);
+        assertEquals(100, plan.getLimit());
+        assertEquals(2, plan.getConditions().size());
+        assertEquals("age", plan.getConditions().get(1).getProperty());
+        assertEquals(100, plan.toScan(new Object[]{"135", 18}).getCaching());
+    }
+
+    @Test
+    public void singleResultLimitsToOneRow() {
+        assertEquals(1, parse("findByName", String.class).getLimit());
+        assertEquals(QueryPlan.Kind.EXISTS, parse("existsByRowKeyPrefix", String.class).getKind());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void unknownPropertyFails() {
+        parse("findByNickname", String.class);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void parameterCountMismatchFails() {
+        parse("findByRowKeyPrefixAndTimeBetween", String.class, long.class);
+    }
+
+    private QueryPlan parse(String name, Class<?>... parameterTypes) {
+        for (Method method : Queries.class.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == parameterTypes.length) {
+                return QueryMethodParser.parse(method, entity);
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    @Data
+    @HBaseEntity(table = "people_table", family = "cf")
+    public static class People {
+
+        @RowKey
+        private String mobile;
+
+        private String name;
+
+        private int age;
+    }
+
+    interface Queries {
+
+        List<People> findByRowKeyPrefixAndTimeBetween(String prefix, long from, long to);
+
+        List<People> findByRowKeyPrefixAndTimeBetween(String prefix, long from);
+
+        List<People> findTop100ByRowKeyPrefixAndAgeGreaterThan(String prefix, int age);
+
+        Optional<People> findByName(String name);
+
+        boolean existsByRowKeyPrefix(String prefix);
+
+        List<People> findByNickname(String nickname);
+    }
+}
@@ -0,0 +1,139 @@
+package com.spring4all.spring.boot.starter.hbase.resilience;
+
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.DoNotRetryIOException;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Connection;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.regionserver.NoSuchColumnFamilyException;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class CircuitBreakerTest {
+
+    @Test
+    public void opensWhenFailureRateReached() {
+        final CircuitBreaker breaker = new CircuitBreaker("rs1:16020", new CircuitBreakerSettings(0.5, 1000, 4, 10, 60000));
+        breaker.record(true, 1);
+        breaker.record(false, 1);
+        breaker.record(true, 1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        breaker.record(false, 1);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        assertEquals(1, breaker.getRejectedCalls());
+    }
+
+    @Test
+    public void slowCallsCountAsFailures() {
+        final CircuitBreaker breaker = new CircuitBreaker("rs1:16020", new CircuitBreakerSettings(0.5, 100, 2, 10, 60000));
+        breaker.record(true, 500);
+        breaker.record(true, 500);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void halfOpenAllowsSingleTrial() throws InterruptedException {
+        final CircuitBreaker breaker = new CircuitBreaker("rs1:16020", new CircuitBreakerSettings(0.5, 1000, 1, 10, 10));
+        breaker.record(false, 1);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        Thread.sleep(20);
+
+        assertTrue(breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+        breaker.record(true, 1);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    public void clientErrorsDoNotOpenBreaker() throws Exception {
+        final InMemoryHBase hbase = new InMemoryHBase();
+        hbase.createTable("users", "f");
+        final RegionServerGuard guard = new RegionServerGuard(new CircuitBreakerSettings(0.5, 1000, 1, 10, 60000), new RetryBudget(0.1, 0), 0, 0);
+        final List<byte[]> rows = Collections.singletonList(Bytes.toBytes("row1"));
+        final Connection connection = hbase.getConnection();
+        try (Table table = connection.getTable(TableName.valueOf("users"))) {
+            for (Exception error : Arrays.asList(new NoSuchColumnFamilyException("missing"),
+                    new DoNotRetryIOException("bad request"), new IllegalArgumentException("No columns to insert"))) {
+                try {
+                    guard.call(connection, table, rows, () -> {
+                        throw error;
+                    });
+                    fail();
+                } catch (Exception e) {
+                    assertSame(error, e);
+                }
+            }
+            final CircuitBreaker breaker = guard.getBreakers().iterator().next();
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+            try {
+                guard.call(connection, table, rows, () -> {
+                    throw new IOException("Connection reset by peer");
+                });
+                fail();
+            } catch (IOException e) {
+                assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+            }
+        }
+    }
+
+    @Test
+    public void errorDuringTrialReleasesPermit() throws Exception {
+        final InMemoryHBase hbase = new InMemoryHBase();
+        hbase.createTable("users", "f");
+        final RegionServerGuard guard = new RegionServerGuard(new CircuitBreakerSettings(0.5, 1000, 1, 10, 10), new RetryBudget(0.1, 0), 0, 0);
+        final List<byte[]> rows = Collections.singletonList(Bytes.toBytes("row1"));
+        final Connection connection = hbase.getConnection();
+        try (Table table = connection.getTable(TableName.valueOf("users"))) {
+            try {
+                guard.call(connection, table, rows, () -> {
+                    throw new IOException("Connection reset by peer");
+                });
+                fail();
+            } catch (IOException expected) {
+            }
+            final CircuitBreaker breaker = guard.getBreakers().iterator().next();
+            assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+            Thread.sleep(20);
+
+            try {
+                guard.call(connection, table, rows, () -> {
+                    throw new AssertionError("boom");
+                });
+                fail();
+            } catch (AssertionError e) {
+                assertEquals("boom", e.getMessage());
+            }
+            // 试探许可已释放，下一次调用仍可试探
+            assertEquals("ok", guard.call(connection, table, rows, () -> "ok"));
+            assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        }
+    }
+
+    @Test
+    public void retryBudgetFailsFastWhenExhausted() {
+        final RetryBudget budget = new RetryBudget(0.1, 0);
+        assertTrue(budget.canRetry());
+        budget.withdraw();
+        assertFalse(budget.canRetry());
+        for (int i = 0; i < 11; i++) {
+            budget.deposit();
+        }
+        assertTrue(budget.canRetry());
+    }
+}
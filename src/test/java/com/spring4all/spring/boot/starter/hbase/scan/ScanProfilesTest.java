@@ -0,0 +1,75 @@
+package com.spring4all.spring.boot.starter.hbase.scan;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class ScanProfilesTest {
+
+    @Test
+    public void pageProfileUsesPageSizeCaching() {
+        final ScanProfiles profiles = new ScanProfiles();
+        final Scan scan = profiles.get(ScanProfile.PAGE).forPageSize(2000).applyTo(new Scan());
+
+        assertEquals(2001, scan.getCaching());
+        assertFalse(scan.isSmall());
+        assertTrue(scan.getCacheBlocks());
+    }
+
+    @Test
+    public void findDoesNotModifyCallerScan() {
+        final InMemoryHBase hbase = new InMemoryHBase();
+        hbase.createTable("t_export", "f");
+        final HBaseTemplate template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        try {
+            template.saveOrUpdate("t_export",
+                    new Put(Bytes.toBytes("row")).addColumn(Bytes.toBytes("f"), Bytes.toBytes("q"), Bytes.toBytes(1)));
+            template.getScanProfiles().bindTable("t_export", ScanProfile.EXPORT);
+            final Scan scan = new Scan();
+
+            assertEquals(1, template.find("t_export", scan, (result, rowNum) -> result).size());
+            assertEquals(1, template.find("t_export", scan, ScanProfile.POINT, (result, rowNum) -> result).size());
+            assertEquals(-1, scan.getCaching());
+            assertTrue(scan.getCacheBlocks());
+            assertFalse(scan.isSmall());
+        } finally {
+            template.destroy();
+        }
+    }
+
+    @Test
+    public void explicitScanSettingsWin() {
+        final ScanProfiles profiles = new ScanProfiles();
+        final Scan scan = new Scan();
+        scan.setCaching(50);
+        profiles.get(ScanProfile.EXPORT).applyTo(scan);
+
+        assertEquals(50, scan.getCaching());
+        assertFalse(scan.getCacheBlocks());
+        assertEquals(4L * 1024 * 1024, scan.getMaxResultSize());
+    }
+
+    @Test
+    public void registerMergesWithBuiltIn() {
+        final ScanProfiles profiles = new ScanProfiles();
+        profiles.register(ScanProfile.EXPORT, new ScanProfile(5000, null, null, null, null));
+        profiles.bindTable("t_export", ScanProfile.EXPORT);
+
+        final Scan scan = profiles.applyTableProfile("t_export", new Scan());
+        assertEquals(5000, scan.getCaching());
+        assertFalse(scan.getCacheBlocks());
+
+        final Scan other = profiles.applyTableProfile("t_other", new Scan());
+        assertTrue(other.getCacheBlocks());
+    }
+}
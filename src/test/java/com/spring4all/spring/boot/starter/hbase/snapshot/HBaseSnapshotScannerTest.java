@@ -0,0 +1,151 @@
+package com.spring4all.spring.boot.starter.hbase.snapshot;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.HRegionInfo;
+import org.apache.hadoop.hbase.HTableDescriptor;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseSnapshotScannerTest {
+
+    private static final TableName TABLE = TableName.valueOf("people_table");
+
+    private InMemoryHBase hbase;
+
+    private HBaseTemplate template;
+
+    private Table table;
+
+    @Before
+    public void setUp() throws IOException {
+        hbase = new InMemoryHBase();
+        hbase.createTable("people_table", "f");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        for (String row : Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h")) {
+            template.saveOrUpdate("people_table", new Put(Bytes.toBytes(row))
+                    .addColumn(Bytes.toBytes("f"), Bytes.toBytes("name"), Bytes.toBytes(row)));
+        }
+        table = hbase.getConnection().getTable(TABLE);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        table.close();
+        template.destroy();
+    }
+
+    @Test
+    public void restoresOnceAndScansRegionsInRange() {
+        final RecordingSnapshotFiles files = new RecordingSnapshotFiles("c", "f");
+        final Set<String> rows = new ConcurrentSkipListSet<>();
+        final long count = new HBaseSnapshotScanner(template, files).scan(SnapshotScanRequest.builder()
+                .tableName("people_table")
+                .snapshotName("people_snapshot")
+                .restoreDir("/tmp/hbase-restore")
+                .scan(new Scan(Bytes.toBytes("d"), Bytes.toBytes("g")))
+                .parallelism(2)
+                .build(), result -> rows.add(Bytes.toString(result.getRow())));
+
+        assertEquals(3, count);
+        assertEquals(new ConcurrentSkipListSet<>(Arrays.asList("d", "e", "f")), rows);
+        assertEquals(1, files.restores.get());
+        assertEquals("people_snapshot", files.snapshotName);
+        // 第一个region与扫描范围不相交，不会打开
+        final List<String> opened = new ArrayList<>(files.opened);
+        Collections.sort(opened);
+        assertEquals(Arrays.asList("c", "f"), opened);
+        assertEquals(1, files.deletes.get());
+    }
+
+    @Test
+    public void deletesRestoreDirWhenConsumerFails() {
+        final RecordingSnapshotFiles files = new RecordingSnapshotFiles("e");
+        try {
+            new HBaseSnapshotScanner(template, files).scan(SnapshotScanRequest.builder()
+                    .tableName("people_table")
+                    .snapshotName("people_snapshot")
+                    .restoreDir("/tmp/hbase-restore")
+                    .parallelism(1)
+                    .build(), result -> {
+                throw new IllegalStateException("下游不可用");
+            });
+            fail();
+        } catch (HBaseSystemException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(1, files.restores.get());
+        assertEquals(1, files.deletes.get());
+    }
+
+    /**
+     * 按split key划分region，扫描时读取内存表，记录恢复、打开和删除的次数
+     */
+    private class RecordingSnapshotFiles implements SnapshotFiles {
+
+        private final List<HRegionInfo> regions = new ArrayList<>();
+
+        private final AtomicInteger restores = new AtomicInteger();
+
+        private final AtomicInteger deletes = new AtomicInteger();
+
+        private final List<String> opened = Collections.synchronizedList(new ArrayList<>());
+
+        private volatile String snapshotName;
+
+        private RecordingSnapshotFiles(String... splitKeys) {
+            byte[] start = HConstants.EMPTY_START_ROW;
+            for (String splitKey : splitKeys) {
+                regions.add(new HRegionInfo(TABLE, start, Bytes.toBytes(splitKey)));
+                start = Bytes.toBytes(splitKey);
+            }
+            regions.add(new HRegionInfo(TABLE, start, HConstants.EMPTY_END_ROW));
+            // 恢复结果中的region无序
+            Collections.reverse(regions);
+        }
+
+        @Override
+        public Restored restore(SnapshotScanRequest request, String snapshotName, Path restoreDir) {
+            restores.incrementAndGet();
+            this.snapshotName = snapshotName;
+            return new Restored(null, restoreDir, new HTableDescriptor(TABLE), regions);
+        }
+
+        @Override
+        public ResultScanner open(Restored restored, HRegionInfo region, Scan scan) throws IOException {
+            opened.add(Bytes.toString(region.getStartKey()));
+            return table.getScanner(scan);
+        }
+
+        @Override
+        public void delete(Restored restored) {
+            deletes.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.spring4all.spring.boot.starter.hbase.spool;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * 通过注入故障的内存连接驱动HBaseTemplate写入spool并重放
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class WriteSpoolReplayTest {
+
+    private static final String TABLE = "orders";
+
+    private static final byte[] CF = Bytes.toBytes("f");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final InMemoryHBase hbase = new InMemoryHBase();
+
+    /**
+     * 调用线程直接写入时剩余的失败次数
+     */
+    private final AtomicInteger directFailures = new AtomicInteger();
+
+    /**
+     * 重放线程的写入是否全部失败
+     */
+    private final AtomicBoolean replayBlocked = new AtomicBoolean(true);
+
+    private HBaseTemplate template;
+
+    private WriteSpool spool;
+
+    @Before
+    public void setUp() throws IOException {
+        hbase.createTable(TABLE, "f");
+        // faultFactory返回null时不注入故障，按线程区分直接写入和重放
+        hbase.getFaults().failureRate(1.0).faultFactory(() -> {
+            if (Thread.currentThread().getName().startsWith("hbase-spool-replayer")) {
+                return replayBlocked.get() ? new IOException("Replay blocked") : null;
+            }
+            return directFailures.getAndDecrement() > 0 ? new IOException("Injected fault") : null;
+        });
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        spool = new WriteSpool(folder.getRoot().toPath(), 1024 * 1024, 4, false);
+        template.setWriteSpool(spool, 10);
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void spoolsOnlyFailedActionsAndKeepsNewerWrites() throws Exception {
+        directFailures.set(1);
+        template.saveOrUpdates(TABLE, Arrays.asList(put("r1", "old"), put("r2", "old"), put("r3", "old")));
+        assertEquals(1, spool.getSpooledBatches());
+        assertEquals(2, hbase.getRowCount(TABLE));
+        assertNull(value("r1"));
+
+        // spool中有数据时后续写入排在后面
+        template.saveOrUpdate(TABLE, put("r4", "queued"));
+        assertEquals(2, spool.getSpooledBatches());
+        assertNull(value("r4"));
+
+        // 其他客户端在重放之前直接写入更新的值
+        TimeUnit.MILLISECONDS.sleep(5);
+        final HBaseTemplate other = new HBaseTemplate(hbase.getConfiguration());
+        other.setConnection(hbase.getConnection());
+        other.saveOrUpdate(TABLE, put("r1", "new"));
+        other.destroy();
+
+        replayBlocked.set(false);
+        awaitReplayed(2);
+
+        assertEquals("new", value("r1"));
+        assertEquals("old", value("r2"));
+        assertEquals("queued", value("r4"));
+        assertEquals(4, hbase.getRowCount(TABLE));
+    }
+
+    @Test
+    public void incrementFailsFastInsteadOfSpooling() {
+        directFailures.set(1);
+        final Mutation increment = new Increment(Bytes.toBytes("counter")).addColumn(CF, Bytes.toBytes("n"), 1);
+        try {
+            template.saveOrUpdates(TABLE, Collections.singletonList(increment));
+            fail();
+        } catch (HBaseSystemException expected) {
+            // Increment不写入spool
+        }
+        assertEquals(0, spool.getSpooledBatches());
+
+        template.saveOrUpdates(TABLE, Collections.singletonList(increment));
+        assertEquals(1L, Bytes.toLong(template.get(TABLE, "counter", (result, rowNum) -> result.getValue(CF, Bytes.toBytes("n")))));
+    }
+
+    @Test
+    public void rejectedWritesAreThrownInsteadOfSpooled() throws Exception {
+        try {
+            template.saveOrUpdate(TABLE, rejectedPut("bad"));
+            fail();
+        } catch (HBaseSystemException expected) {
+            // 列族不存在，重试也不会成功
+        }
+        assertEquals(0, spool.getSpooledBatches());
+
+        // 部分失败时只暂存可以重试的操作，仍然抛出异常
+        directFailures.set(1);
+        try {
+            template.saveOrUpdates(TABLE, Arrays.asList(put("r1", "v1"), rejectedPut("bad")));
+            fail();
+        } catch (HBaseSystemException expected) {
+            // 有操作被拒绝
+        }
+        assertEquals(1, spool.getSpooledBatches());
+
+        replayBlocked.set(false);
+        awaitReplayed(1);
+        assertEquals("v1", value("r1"));
+        assertEquals(0, spool.getDeadLetters());
+    }
+
+    @Test
+    public void poisonedEntryDoesNotBlockLaterWrites() throws Exception {
+        spool.append(TABLE, Arrays.asList(put("r1", "v1"), rejectedPut("bad")));
+        template.saveOrUpdate(TABLE, put("r2", "v2"));
+        assertEquals(2, spool.getSpooledBatches());
+
+        replayBlocked.set(false);
+        awaitReplayed(2);
+        assertEquals("v1", value("r1"));
+        assertEquals("v2", value("r2"));
+        assertEquals(1, spool.getDeadLetters());
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath().resolve(WriteSpool.DEAD_LETTER_DIR))) {
+            assertEquals(1, files.count());
+        }
+
+        // spool清空后直接写入
+        template.saveOrUpdate(TABLE, put("r3", "v3"));
+        assertEquals(2, spool.getSpooledBatches());
+        assertEquals("v3", value("r3"));
+    }
+
+    private void awaitReplayed(long batches) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while ((spool.getReplayedBatches() < batches || !spool.isEmpty()) && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertEquals(batches, spool.getReplayedBatches());
+        assertTrue(spool.isEmpty());
+    }
+
+    private String value(String row) {
+        return template.get(TABLE, row, (result, rowNum) -> Bytes.toString(result.getValue(CF, Bytes.toBytes("q"))));
+    }
+
+    /**
+     * 写入不存在的列族，服务端返回{@link org.apache.hadoop.hbase.regionserver.NoSuchColumnFamilyException}
+     */
+    private static Put rejectedPut(String row) {
+        return new Put(Bytes.toBytes(row)).addColumn(Bytes.toBytes("missing"), Bytes.toBytes("q"), Bytes.toBytes("v"));
+    }
+
+    private static Put put(String row, String value) {
+        return new Put(Bytes.toBytes(row)).addColumn(CF, Bytes.toBytes("q"), Bytes.toBytes(value));
+    }
+}
@@ -0,0 +1,128 @@
+package com.spring4all.spring.boot.starter.hbase.spool;
+
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class WriteSpoolTest {
+
+    private static final byte[] CF = Bytes.toBytes("f");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void replaysInOrderAndKeepsMutationContent() throws IOException {
+        final Path dir = folder.getRoot().toPath();
+        try (WriteSpool spool = new WriteSpool(dir, 1024 * 1024, 4, false)) {
+            assertTrue(spool.isEmpty());
+            spool.append("t1", Arrays.asList(put("r1", "v1"), new Delete(Bytes.toBytes("r2"))));
+            spool.append("t2", Collections.singletonList(put("r3", "v3")));
+
+            final SpoolEntry first = spool.peek();
+            assertEquals("t1", first.getTableName());
+            assertEquals(2, first.getMutations().size());
+            final Mutation put = first.getMutations().get(0);
+            assertTrue(put instanceof Put);
+            assertEquals("v1", Bytes.toString(CellUtil.cloneValue(((Put) put).get(CF, Bytes.toBytes("q")).get(0))));
+            assertTrue(first.getMutations().get(1) instanceof Delete);
+
+            // 未确认前重复读取同一批
+            assertEquals("t1", spool.peek().getTableName());
+            spool.commit(first);
+            assertEquals("t2", spool.peek().getTableName());
+        }
+    }
+
+    @Test
+    public void recoversUnreplayedDataAfterReopen() throws IOException {
+        final Path dir = folder.getRoot().toPath();
+        try (WriteSpool spool = new WriteSpool(dir, 1024 * 1024, 4, false)) {
+            spool.append("t1", Collections.singletonList(put("r1", "v1")));
+            spool.append("t1", Collections.singletonList(put("r2", "v2")));
+            spool.commit(spool.peek());
+        }
+        try (WriteSpool spool = new WriteSpool(dir, 1024 * 1024, 4, false)) {
+            final SpoolEntry entry = spool.peek();
+            assertArrayEquals(Bytes.toBytes("r2"), entry.getMutations().get(0).getRow());
+            spool.commit(entry);
+            assertNull(spool.peek());
+            assertTrue(spool.isEmpty());
+        }
+    }
+
+    @Test
+    public void rollsSegmentsAndRejectsWhenFull() throws IOException {
+        final Path dir = folder.getRoot().toPath();
+        final List<Mutation> batch = Collections.singletonList(put("r1", "v1"));
+        try (WriteSpool spool = new WriteSpool(dir, 256, 2, false)) {
+            int appended = 0;
+            try {
+                while (appended < 100) {
+                    spool.append("t1", batch);
+                    appended++;
+                }
+                fail("Spool should be full");
+            } catch (IOException expected) {
+                assertTrue(appended > 1);
+            }
+            int replayed = 0;
+            for (SpoolEntry entry = spool.peek(); entry != null; entry = spool.peek()) {
+                spool.commit(entry);
+                replayed++;
+            }
+            assertEquals(appended, replayed);
+        }
+    }
+
+    @Test
+    public void stampsCellsWithoutTimestamp() throws IOException {
+        final Put explicit = new Put(Bytes.toBytes("r2")).addColumn(CF, Bytes.toBytes("q"), 5L, Bytes.toBytes("v"));
+        final Delete row = new Delete(Bytes.toBytes("r3"));
+        final Delete family = new Delete(Bytes.toBytes("r4")).addFamily(CF);
+        final Delete latestVersion = new Delete(Bytes.toBytes("r5")).addColumn(CF, Bytes.toBytes("q"));
+        try (WriteSpool spool = new WriteSpool(folder.getRoot().toPath(), 1024 * 1024, 4, false)) {
+            spool.append("t1", Arrays.asList(put("r1", "v1"), explicit, row, family, latestVersion), 1000L);
+            final List<Mutation> mutations = spool.peek().getMutations();
+
+            assertEquals(1000L, ((Put) mutations.get(0)).get(CF, Bytes.toBytes("q")).get(0).getTimestamp());
+            assertEquals(5L, ((Put) mutations.get(1)).get(CF, Bytes.toBytes("q")).get(0).getTimestamp());
+            assertEquals(1000L, mutations.get(2).getTimeStamp());
+            assertEquals(1000L, mutations.get(3).getFamilyCellMap().get(CF).get(0).getTimestamp());
+            // 只删除最新版本时由服务端查找版本
+            assertEquals(HConstants.LATEST_TIMESTAMP, mutations.get(4).getFamilyCellMap().get(CF).get(0).getTimestamp());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonIdempotentMutations() throws IOException {
+        try (WriteSpool spool = new WriteSpool(folder.getRoot().toPath(), 1024 * 1024, 4, false)) {
+            spool.append("t1", Collections.singletonList(new Increment(Bytes.toBytes("r1")).addColumn(CF, Bytes.toBytes("n"), 1)));
+        }
+    }
+
+    private static Put put(String row, String value) {
+        final Put put = new Put(Bytes.toBytes(row));
+        put.addColumn(CF, Bytes.toBytes("q"), Bytes.toBytes(value));
+        return put;
+    }
+}
@@ -0,0 +1,35 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class FileCheckpointStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void savesCheckpointsPerRegion() throws Exception {
+        final FileCheckpointStore store = new FileCheckpointStore(folder.getRoot().toPath());
+        assertTrue(store.load("ns:people_table").isEmpty());
+
+        store.save("ns:people_table", "", 1000);
+        store.save("ns:people_table", "\\x00\\x01", 2000);
+        store.save("ns:people_table", "", 3000);
+
+        final Map<String, Long> checkpoints = new FileCheckpointStore(folder.getRoot().toPath()).load("ns:people_table");
+        assertEquals(2, checkpoints.size());
+        assertEquals(Long.valueOf(3000), checkpoints.get(""));
+        assertEquals(Long.valueOf(2000), checkpoints.get("\\x00\\x01"));
+        assertTrue(store.load("other_table").isEmpty());
+    }
+}
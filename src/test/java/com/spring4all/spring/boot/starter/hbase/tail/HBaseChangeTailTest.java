@@ -0,0 +1,140 @@
+package com.spring4all.spring.boot.starter.hbase.tail;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseSystemException;
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseChangeTailTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+
+    private static final byte[] QUALIFIER = Bytes.toBytes("name");
+
+    private InMemoryHBase hbase;
+
+    private HBaseTemplate template;
+
+    private RecordingCheckpointStore store;
+
+    private List<String> events;
+
+    @Before
+    public void setUp() {
+        hbase = new InMemoryHBase();
+        hbase.createTable("people_table", "f");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+        for (int i = 1; i <= 3; i++) {
+            template.saveOrUpdate("people_table", new Put(Bytes.toBytes("row" + i))
+                    .addColumn(FAMILY, QUALIFIER, 1000L, Bytes.toBytes("name" + i)));
+        }
+        events = new ArrayList<>();
+        store = new RecordingCheckpointStore(events);
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void checkpointAdvancesAfterConsumerReturns() {
+        final ChangeTailStats stats = new HBaseChangeTail(template).poll(request(), result -> {
+            final String row = Bytes.toString(result.getRow());
+            events.add("begin " + row);
+            events.add("end " + row);
+        });
+
+        assertEquals(1, stats.getRegions());
+        assertEquals(3, stats.getRows());
+        assertEquals(Arrays.asList("begin row1", "end row1", "begin row2", "end row2", "begin row3", "end row3",
+                "save " + stats.getCheckpoint()), events);
+        assertEquals(Long.valueOf(stats.getCheckpoint()), store.checkpoints.get(""));
+
+        // checkpoint之后没有新的写入，不会重复投递
+        final List<Result> redelivered = new ArrayList<>();
+        assertEquals(0, new HBaseChangeTail(template).poll(request(), redelivered::add).getRows());
+        assertTrue(redelivered.isEmpty());
+    }
+
+    @Test
+    public void consumerFailureRedeliversSameCells() {
+        final List<String> delivered = new ArrayList<>();
+        try {
+            new HBaseChangeTail(template).poll(request(), result -> {
+                if (Bytes.equals(Bytes.toBytes("row2"), result.getRow())) {
+                    throw new IllegalStateException("下游不可用");
+                }
+                delivered.add(describe(result));
+            });
+            fail();
+        } catch (HBaseSystemException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        assertEquals(Arrays.asList("row1=name1@1000"), delivered);
+        assertTrue(store.checkpoints.isEmpty());
+
+        delivered.clear();
+        final ChangeTailStats stats = new HBaseChangeTail(template).poll(request(), result -> delivered.add(describe(result)));
+        assertEquals(3, stats.getRows());
+        assertEquals(Arrays.asList("row1=name1@1000", "row2=name2@1000", "row3=name3@1000"), delivered);
+        assertEquals(Long.valueOf(stats.getCheckpoint()), store.checkpoints.get(""));
+    }
+
+    private ChangeTailRequest request() {
+        return ChangeTailRequest.builder()
+                .tableName("people_table")
+                .checkpointStore(store)
+                .parallelism(1)
+                .bufferSize(1)
+                .build();
+    }
+
+    private static String describe(Result result) {
+        return Bytes.toString(result.getRow()) + '=' + Bytes.toString(result.getValue(FAMILY, QUALIFIER))
+                + '@' + result.getColumnLatestCell(FAMILY, QUALIFIER).getTimestamp();
+    }
+
+    /**
+     * 保存checkpoint时记录到事件列表，用于校验与消费的先后顺序
+     */
+    private static class RecordingCheckpointStore implements CheckpointStore {
+
+        private final Map<String, Long> checkpoints = new HashMap<>();
+
+        private final List<String> events;
+
+        private RecordingCheckpointStore(List<String> events) {
+            this.events = events;
+        }
+
+        @Override
+        public Map<String, Long> load(String tableName) {
+            return new HashMap<>(checkpoints);
+        }
+
+        @Override
+        public void save(String tableName, String region, long checkpoint) {
+            checkpoints.put(region, checkpoint);
+            events.add("save " + checkpoint);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.spring4all.spring.boot.starter.hbase.timeseries;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.codec.ValueCodecs;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 内存表上没有协处理器，服务端聚合只能覆盖LAST和回退到客户端扫描的情况
+ *
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class HBaseTimeSeriesTest {
+
+    private static final String TABLE = "metrics";
+
+    private final InMemoryHBase hbase = new InMemoryHBase();
+
+    private HBaseTemplate template;
+
+    @Before
+    public void setUp() {
+        hbase.createTable(TABLE, "m");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void downsamplesIntoBuckets() {
+        final HBaseTimeSeries timeSeries = load(TimeSeriesKeyCodec.NATURAL);
+        final List<TimeSeriesPoint> avg = timeSeries.query(query(Aggregation.AVG).parallelism(3).build());
+        assertEquals(10, avg.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(i * 100, avg.get(i).getTimestamp());
+            assertEquals(i * 100 + 45, avg.get(i).getValue(), 0);
+        }
+
+        assertBucket(timeSeries, Aggregation.MIN, 300, 300);
+        assertBucket(timeSeries, Aggregation.MAX, 300, 390);
+        assertBucket(timeSeries, Aggregation.SUM, 300, 3450);
+        assertBucket(timeSeries, Aggregation.COUNT, 300, 10);
+        assertBucket(timeSeries, Aggregation.LAST, 300, 390);
+    }
+
+    @Test
+    public void reversedKeysReturnAscendingBuckets() {
+        final HBaseTimeSeries timeSeries = load(TimeSeriesKeyCodec.REVERSED);
+        final List<TimeSeriesPoint> points = timeSeries.query(query(Aggregation.LAST).startTime(150).endTime(480).build());
+        assertEquals(4, points.size());
+        assertEquals(100, points.get(0).getTimestamp());
+        assertEquals(190, points.get(0).getValue(), 0);
+        assertEquals(400, points.get(3).getTimestamp());
+        assertEquals(470, points.get(3).getValue(), 0);
+    }
+
+    @Test
+    public void lastOnServerReadsLatestPointOfEachBucket() {
+        for (TimeSeriesKeyCodec codec : new TimeSeriesKeyCodec[]{TimeSeriesKeyCodec.NATURAL, TimeSeriesKeyCodec.REVERSED}) {
+            hbase.truncateAll();
+            final HBaseTimeSeries timeSeries = load(codec);
+            final List<TimeSeriesPoint> points = timeSeries.query(query(Aggregation.LAST)
+                    .startTime(150).endTime(480).serverSide(true).build());
+            assertEquals(4, points.size());
+            assertEquals(190, points.get(0).getValue(), 0);
+            assertEquals(290, points.get(1).getValue(), 0);
+            assertEquals(390, points.get(2).getValue(), 0);
+            // 最后一个时间桶只到480，不包含下一个时间桶的点
+            assertEquals(470, points.get(3).getValue(), 0);
+        }
+    }
+
+    @Test
+    public void manyBucketsFallBackToOneClientScan() {
+        final HBaseTimeSeries timeSeries = load(TimeSeriesKeyCodec.NATURAL);
+        final TimeSeriesQuery query = query(Aggregation.MAX).serverSide(true).parallelism(1).maxServerSideBuckets(4).build();
+        assertFalse(HBaseTimeSeries.isServerSide(query, new long[]{0, 1000}));
+        assertTrue(HBaseTimeSeries.isServerSide(query, new long[]{50, 400}));
+
+        // 内存表没有协处理器，只有回退到客户端扫描时才能得到结果
+        final List<TimeSeriesPoint> points = timeSeries.query(query);
+        assertEquals(10, points.size());
+        assertEquals(990, points.get(9).getValue(), 0);
+    }
+
+    private void assertBucket(HBaseTimeSeries timeSeries, Aggregation aggregation, long bucket, double expected) {
+        for (TimeSeriesPoint point : timeSeries.query(query(aggregation).build())) {
+            if (point.getTimestamp() == bucket) {
+                assertEquals(aggregation.name(), expected, point.getValue(), 0);
+                return;
+            }
+        }
+        fail("No bucket " + bucket);
+    }
+
+    /**
+     * d1每10ms一个点，值为时间戳；d2的值用于确认查询不会越过entity
+     */
+    private HBaseTimeSeries load(TimeSeriesKeyCodec codec) {
+        final HBaseTimeSeries timeSeries = new HBaseTimeSeries(template, codec);
+        for (long t = 0; t < 1000; t += 10) {
+            timeSeries.save(TABLE, "d1|", "m", "v", t, t, ValueCodecs.LONG);
+            timeSeries.save(TABLE, "d2|", "m", "v", t, 1_000_000L, ValueCodecs.LONG);
+        }
+        return timeSeries;
+    }
+
+    private static TimeSeriesQuery.TimeSeriesQueryBuilder query(Aggregation aggregation) {
+        return TimeSeriesQuery.builder()
+                .tableName(TABLE).entity("d1|")
+                .family("m").qualifier("v")
+                .startTime(0).endTime(1000)
+                .bucketMs(100)
+                .aggregation(aggregation);
+    }
+}
@@ -0,0 +1,50 @@
+package com.spring4all.spring.boot.starter.hbase.timeseries;
+
+import com.spring4all.spring.boot.starter.hbase.scan.ScanRange;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class TimeSeriesKeyCodecTest {
+
+    @Test
+    public void reversedKeysSortNewestFirst() {
+        final TimeSeriesKeyCodec codec = TimeSeriesKeyCodec.REVERSED;
+        final byte[] older = codec.encode("d1", 1000);
+        final byte[] newer = codec.encode("d1", 2000);
+        assertTrue(Bytes.compareTo(newer, older) < 0);
+        assertEquals(2000, codec.decodeTimestamp(newer, 0, newer.length));
+    }
+
+    @Test
+    public void reversedRangeCoversWindow() {
+        final TimeSeriesKeyCodec codec = TimeSeriesKeyCodec.REVERSED;
+        final ScanRange range = codec.range("d1", 1000, 2000);
+        assertTrue(contains(range, codec.encode("d1", 1000)));
+        assertTrue(contains(range, codec.encode("d1", 1999)));
+        assertFalse(contains(range, codec.encode("d1", 2000)));
+        assertFalse(contains(range, codec.encode("d1", 999)));
+    }
+
+    @Test
+    public void splitsOnBucketBoundaries() {
+        final List<long[]> windows = HBaseTimeSeries.split(TimeSeriesQuery.builder()
+                .startTime(50).endTime(1050).bucketMs(100).parallelism(4).build());
+        assertEquals(4, windows.size());
+        assertEquals(50, windows.get(0)[0]);
+        assertEquals(300, windows.get(0)[1]);
+        assertEquals(300, windows.get(1)[0]);
+        assertEquals(1050, windows.get(windows.size() - 1)[1]);
+    }
+
+    private static boolean contains(ScanRange range, byte[] row) {
+        return Bytes.compareTo(row, range.getStartRow()) >= 0 && Bytes.compareTo(row, range.getStopRow()) < 0;
+    }
+}
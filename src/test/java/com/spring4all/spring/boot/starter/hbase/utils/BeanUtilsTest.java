@@ -37,11 +37,11 @@ public class BeanUtilsTest {
     @Test
     public void mapToBean() {
         final HashMap<String, Object> map = Maps.newHashMap();
-        map.put("scannerCaching", "55430");
+        map.put("scannerCaching", 55430);
         final HBaseProperties bean = new HBaseProperties();
         BeanUtils.mapToBean(map, bean);
 
-        assertEquals("55430", bean.getScannerCaching());
+        assertEquals(55430, bean.getScannerCaching());
         assertEquals(map.get("scannerCaching"), bean.getScannerCaching());
 
 
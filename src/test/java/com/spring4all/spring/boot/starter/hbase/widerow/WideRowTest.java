@@ -0,0 +1,134 @@
+package com.spring4all.spring.boot.starter.hbase.widerow;
+
+import com.spring4all.spring.boot.starter.hbase.api.HBaseTemplate;
+import com.spring4all.spring.boot.starter.hbase.mock.InMemoryHBase;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class WideRowTest {
+
+    private static final int COLUMNS = 25;
+
+    private InMemoryHBase hbase;
+
+    private HBaseTemplate template;
+
+    @Before
+    public void setUp() {
+        hbase = new InMemoryHBase();
+        hbase.createTable("events", "e", "m");
+        template = new HBaseTemplate(hbase.getConfiguration());
+        template.setConnection(hbase.getConnection());
+
+        final Put put = new Put(Bytes.toBytes("user-001"));
+        for (int i = 0; i < COLUMNS; i++) {
+            put.addColumn(Bytes.toBytes("e"), qualifier(i), Bytes.toBytes(i));
+        }
+        put.addColumn(Bytes.toBytes("m"), Bytes.toBytes("name"), Bytes.toBytes("张三"));
+        template.saveOrUpdate("events", put);
+    }
+
+    @After
+    public void tearDown() {
+        template.destroy();
+    }
+
+    @Test
+    public void findColumnsPagesByBinaryQualifier() {
+        final List<byte[]> qualifiers = new ArrayList<>();
+        final List<Integer> pageSizes = new ArrayList<>();
+        byte[] next = null;
+        do {
+            final WideRowPage page = template.findColumns("events", "user-001", "e", next, 10);
+            pageSizes.add(page.getCells().size());
+            for (Cell cell : page.getCells()) {
+                qualifiers.add(CellUtil.cloneQualifier(cell));
+            }
+            next = page.getNextColumn();
+        } while (next != null);
+
+        assertEquals(3, pageSizes.size());
+        assertEquals(Integer.valueOf(5), pageSizes.get(2));
+        assertEquals(COLUMNS, qualifiers.size());
+        for (int i = 0; i < COLUMNS; i++) {
+            assertArrayEquals(qualifier(i), qualifiers.get(i));
+        }
+
+        final WideRowPage missing = template.findColumns("events", "user-404", "e", null, 10);
+        assertTrue(missing.getCells().isEmpty());
+        assertFalse(missing.hasNext());
+    }
+
+    @Test
+    public void streamRowSplitsRowIntoChunks() {
+        final List<Integer> chunkSizes = new ArrayList<>();
+        final WideRowStats stats = template.streamRow(request(null), cells -> {
+            chunkSizes.add(cells.length);
+            return true;
+        });
+
+        assertTrue(stats.isComplete());
+        assertEquals(3, stats.getChunks());
+        assertEquals(COLUMNS, stats.getCells());
+        assertEquals(10, stats.getMaxChunkCells());
+        assertEquals(Integer.valueOf(5), chunkSizes.get(2));
+    }
+
+    @Test
+    public void streamRowStopsAndResumesFromColumn() {
+        final List<byte[]> read = new ArrayList<>();
+        final WideRowStats stopped = template.streamRow(request(null), cells -> {
+            for (Cell cell : cells) {
+                read.add(CellUtil.cloneQualifier(cell));
+            }
+            return false;
+        });
+        assertFalse(stopped.isComplete());
+        assertEquals(1, stopped.getChunks());
+        assertEquals(10, read.size());
+
+        final byte[] resumeFrom = qualifier(read.size());
+        final WideRowStats resumed = template.streamRow(request(resumeFrom), cells -> {
+            for (Cell cell : cells) {
+                read.add(CellUtil.cloneQualifier(cell));
+            }
+            return true;
+        });
+        assertTrue(resumed.isComplete());
+        assertEquals(COLUMNS - 10, resumed.getCells());
+        for (int i = 0; i < COLUMNS; i++) {
+            assertArrayEquals(qualifier(i), read.get(i));
+        }
+    }
+
+    private static WideRowRequest request(byte[] startColumn) {
+        return WideRowRequest.builder()
+                .tableName("events")
+                .row(Bytes.toBytes("user-001"))
+                .family("e")
+                .startColumn(startColumn)
+                .batchSize(10)
+                .build();
+    }
+
+    /**
+     * 不是合法UTF-8的列名，按字符串传递时会被替换成U+FFFD
+     */
+    private static byte[] qualifier(int index) {
+        return new byte[]{(byte) 0xFF, (byte) index};
+    }
+}
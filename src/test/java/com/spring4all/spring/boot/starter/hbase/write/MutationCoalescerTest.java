@@ -0,0 +1,86 @@
+package com.spring4all.spring.boot.starter.hbase.write;
+
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.client.Delete;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Mutation;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class MutationCoalescerTest {
+
+    private static final byte[] CF = Bytes.toBytes("f");
+
+    @Test
+    public void mergesPutsOfSameRow() {
+        final List<Mutation> mutations = Arrays.asList(
+                put("r1", "a", "1"), put("r1", "b", "2"), put("r1", "a", "3"));
+
+        final CoalesceResult result = new MutationCoalescer().coalesce(mutations);
+
+        assertEquals(1, result.getMutations().size());
+        assertEquals(2, result.getRemovedMutations());
+        assertEquals(1, result.getDroppedCells());
+        final Put merged = (Put) result.getMutations().get(0);
+        assertEquals("3", Bytes.toString(CellUtil.cloneValue(merged.get(CF, Bytes.toBytes("a")).get(0))));
+        assertTrue(merged.has(CF, Bytes.toBytes("b")));
+    }
+
+    @Test
+    public void dropsCellsMaskedByLaterDelete() {
+        final Delete delete = new Delete(Bytes.toBytes("r1"));
+        delete.addColumns(CF, Bytes.toBytes("a"));
+        final List<Mutation> mutations = Arrays.asList(put("r1", "a", "1"), put("r1", "b", "2"), delete);
+
+        final CoalesceResult result = new MutationCoalescer().coalesce(mutations);
+
+        assertEquals(2, result.getMutations().size());
+        final Put put = (Put) result.getMutations().get(0);
+        assertFalse(put.has(CF, Bytes.toBytes("a")));
+        assertTrue(put.has(CF, Bytes.toBytes("b")));
+        assertSame(delete, result.getMutations().get(1));
+    }
+
+    @Test
+    public void putAfterDeleteIsNotMergedBeforeIt() {
+        final Delete delete = new Delete(Bytes.toBytes("r1"));
+        final List<Mutation> mutations = Arrays.asList(put("r1", "a", "1"), delete, put("r1", "a", "2"));
+
+        final CoalesceResult result = new MutationCoalescer().coalesce(mutations);
+
+        assertEquals(2, result.getMutations().size());
+        assertSame(delete, result.getMutations().get(0));
+        assertSame(mutations.get(2), result.getMutations().get(1));
+    }
+
+    @Test
+    public void keepsIncrementsAndSortsByRow() {
+        final Increment increment = new Increment(Bytes.toBytes("r1"));
+        increment.addColumn(CF, Bytes.toBytes("c"), 1);
+        final List<Mutation> mutations = Arrays.asList(put("r2", "a", "1"), increment, put("r1", "a", "1"));
+
+        final CoalesceResult result = new MutationCoalescer().coalesce(mutations);
+
+        assertEquals(3, result.getMutations().size());
+        assertSame(increment, result.getMutations().get(0));
+        assertSame(mutations.get(2), result.getMutations().get(1));
+        assertSame(mutations.get(0), result.getMutations().get(2));
+        assertEquals(0, result.getRemovedMutations());
+    }
+
+    private static Put put(String row, String qualifier, String value) {
+        final Put put = new Put(Bytes.toBytes(row));
+        put.addColumn(CF, Bytes.toBytes(qualifier), Bytes.toBytes(value));
+        return put;
+    }
+}
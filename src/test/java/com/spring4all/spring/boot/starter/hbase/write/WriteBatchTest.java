@@ -0,0 +1,68 @@
+package com.spring4all.spring.boot.starter.hbase.write;
+
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author zhaogd
+ * @date 2026/10/19
+ */
+public class WriteBatchTest {
+
+    private final List<Integer> flushed = new ArrayList<>();
+
+    private final AtomicInteger unbound = new AtomicInteger();
+
+    private final WriteBatch batch = new WriteBatch(b -> flushed.add(b.size()), unbound::incrementAndGet);
+
+    @Test
+    public void outermostCommitFlushesOnce() {
+        try (WriteBatchScope outer = batch.open()) {
+            add("t1", "r1");
+            try (WriteBatchScope inner = batch.open()) {
+                add("t2", "r2");
+                inner.commit();
+            }
+            assertTrue(flushed.isEmpty());
+            outer.commit();
+        }
+        assertEquals(Collections.singletonList(2), flushed);
+        assertEquals(0, batch.size());
+        assertTrue(unbound.get() > 0);
+    }
+
+    @Test
+    public void closeWithoutCommitDiscards() {
+        try (WriteBatchScope ignored = batch.open()) {
+            add("t1", "r1");
+        }
+        assertTrue(flushed.isEmpty());
+        assertEquals(0, batch.size());
+    }
+
+    @Test
+    public void innerRollbackFailsOuterCommit() {
+        try (WriteBatchScope outer = batch.open()) {
+            add("t1", "r1");
+            try (WriteBatchScope ignored = batch.open()) {
+                add("t1", "r2");
+            }
+            outer.commit();
+            fail();
+        } catch (IllegalStateException expected) {
+            assertTrue(flushed.isEmpty());
+        }
+    }
+
+    private void add(String table, String row) {
+        batch.add(table, Collections.singletonList(new Put(Bytes.toBytes(row))));
+    }
+}